@@ -0,0 +1,25 @@
+package luvx.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar - runs the benchmarks matching the optional regex with the GC
+ * profiler attached, so every run reports ops/s next to gc.alloc.rate.norm (bytes/op), and
+ * writes jmh-result.json for comparing releases.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : BenchmarkRunner.class.getPackageName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 1 ? args[1] : "jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,81 @@
+package luvx.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import luvx.Frag_I;
+import luvx.demo.AdvancedElement;
+import luvx.demo.DemoComment;
+import luvx.demo.DemoContainer;
+import luvx.demo.DemoText;
+import luvx.demo.FutureElement;
+import luvx.demo.SuperElement;
+import luvx.examples.LuvMLStyleDslDemo;
+import luvx.examples.dsl.*;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+
+/** Inputs shared by the benchmarks - sizes are driven by the @Param values */
+final class BenchmarkTrees {
+
+    private BenchmarkTrees() {}
+
+    /** html with `copies` full LuvMLStyleDslDemo documents in its body */
+    static DslContainerElement documents(int copies) {
+        var body = body();
+        for (int i = 0; i < copies; i++) {
+            body.addChild(LuvMLStyleDslDemo.createBeautifulDocument());
+        }
+        return html(body);
+    }
+
+    /** A report of `sections` sections with 20 rows each - about 200 nodes per section */
+    static DslContainerElement report(int sections) {
+        var report = DslElements.main(id("report"));
+        for (int s = 0; s < sections; s++) {
+            var section = section(id("s" + s), className("report-section"), h2("Section " + s));
+            for (int r = 0; r < 20; r++) {
+                section.addChild(div(className(r % 2 == 0 ? "row even" : "row odd"),
+                    span("Item " + s + "." + r),
+                    span(text("Revenue: "), styledText("€" + (s * 1_000 + r * 7), "font-weight: bold")),
+                    p("Notes for item " + r + " with <markup> & \"quotes\"")));
+            }
+            report.addChild(section);
+        }
+        return report;
+    }
+
+    /** Fragments for the varargs/flatten path: `width` fragments, every 4th one a nested DslFrags */
+    static DslFrag_I[] fragments(int width) {
+        var fragments = new DslFrag_I[width];
+        for (int i = 0; i < width; i++) {
+            fragments[i] = switch (i % 4) {
+                case 0 -> className("c" + i);
+                case 1 -> text("text " + i);
+                case 2 -> span("span " + i);
+                default -> frags(text("a"), br(), text("b"));
+            };
+        }
+        return fragments;
+    }
+
+    /** Mixed node population, cycling through DSL and demo implementations */
+    @SuppressWarnings("rawtypes")
+    static List<Frag_I> mixedPopulation(int size) {
+        var population = new ArrayList<Frag_I>(size);
+        for (int i = 0; i < size; i++) {
+            population.add(switch (i % 9) {
+                case 0 -> new DslText("text " + i);
+                case 1 -> div(text("container"));
+                case 2 -> new DslSelfClosingElement("br");
+                case 3 -> new DemoText("demo " + i);
+                case 4 -> new DemoComment("comment " + i);
+                case 5 -> new DemoContainer("section");
+                case 6 -> new SuperElement("super-tag");
+                case 7 -> new FutureElement("future-tag");
+                default -> new AdvancedElement("advanced-tag");
+            });
+        }
+        return population;
+    }
+}
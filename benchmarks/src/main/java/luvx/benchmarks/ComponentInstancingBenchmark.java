@@ -0,0 +1,84 @@
+package luvx.benchmarks;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import luvx.examples.dsl.DslAttribute;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.dsl.DslFrag_I;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.MarkupComponent;
+import luvx.examples.render.Utf8ByteRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+
+/**
+ * {@code boxes} labelled boxes (g / rect / 2 x text): built as a node graph per box and
+ * rendered, the prebuilt graph only rendered, and stamped by a MarkupComponent from columns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ComponentInstancingBenchmark {
+
+    @Param({"100", "10000"})
+    int boxes;
+
+    private double[] xs, ys;
+    private String[] labels;
+    private Map<String, ?> columns;
+    private DslContainerElement prebuilt;
+    private final MarkupComponent component = MarkupComponent.define(
+            box(slotFormat("transform", "translate({x}, {y})"), slotAttr("data-id", "label"), slot("label")));
+    private final Utf8ByteRenderer renderer = new Utf8ByteRenderer();
+    private final ByteArrayChannel channel = new ByteArrayChannel(1 << 22);
+
+    @Setup
+    public void setup() {
+        xs = new double[boxes];
+        ys = new double[boxes];
+        labels = new String[boxes];
+        for (int i = 0; i < boxes; i++) {
+            xs[i] = i % 100 * 110 + 0.5;
+            ys[i] = i / 100 * 80;
+            labels[i] = "Series " + i;
+        }
+        columns = Map.of("x", xs, "y", ys, "label", labels);
+        prebuilt = build();
+    }
+
+    private static DslContainerElement box(DslAttribute transform, DslAttribute id, DslFrag_I label) {
+        return g(transform, id,
+                rect(x(0), y(0), width(90), height(60), fill("rgba(255,255,255,0.1)"), stroke("white")),
+                textSvg(45, 20, label).withAttribute("text-anchor", "middle"),
+                textSvg(45, 40, text("values")).withAttribute("font-size", "10"));
+    }
+
+    private DslContainerElement build() {
+        var group = g();
+        for (int i = 0; i < boxes; i++) {
+            group.addChild(box(transform("translate(" + xs[i] + ", " + ys[i] + ")"), DslAttribute.of("data-id", labels[i]), text(labels[i])));
+        }
+        return group;
+    }
+
+    @Benchmark
+    public long buildAndRender() throws IOException {
+        return renderer.render(build(), channel.reset());
+    }
+
+    @Benchmark
+    public long renderPrebuilt() throws IOException {
+        return renderer.render(prebuilt, channel.reset());
+    }
+
+    @Benchmark
+    public long instances() throws IOException {
+        return component.render(boxes, columns, channel.reset(), renderer);
+    }
+}
@@ -0,0 +1,60 @@
+package luvx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import luvx.examples.LuvMLStyleDslDemo;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.dsl.DslFrag_I;
+import org.openjdk.jmh.annotations.*;
+
+import static luvx.examples.dsl.DslElements.*;
+
+/**
+ * Tree construction: the demo document and SVG, and the element(...) varargs/flatten path. The
+ * sizes live in separate states, so each benchmark forks only for the parameter it uses.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConstructionBenchmark {
+
+    @State(Scope.Thread)
+    public static class Copies {
+        @Param({"1", "10", "100"})
+        int copies;
+    }
+
+    @State(Scope.Thread)
+    public static class Width {
+        @Param({"4", "64", "1024"})
+        int width;
+
+        DslFrag_I[] fragments;
+
+        @Setup
+        public void setup() {
+            fragments = BenchmarkTrees.fragments(width);
+        }
+    }
+
+    @Benchmark
+    public DslContainerElement beautifulDocument(Copies state) {
+        return BenchmarkTrees.documents(state.copies);
+    }
+
+    @Benchmark
+    public DslContainerElement beautifulSvg(Copies state) {
+        var root = svg();
+        for (int i = 0; i < state.copies; i++) {
+            root.addChild(LuvMLStyleDslDemo.createBeautifulSVG());
+        }
+        return root;
+    }
+
+    /** div(...) goes through element(tag, fragments...) including nested DslFrags flattening */
+    @Benchmark
+    public DslContainerElement elementVarargsFlatten(Width state) {
+        return div(state.fragments);
+    }
+}
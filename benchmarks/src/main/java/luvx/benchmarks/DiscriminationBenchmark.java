@@ -0,0 +1,39 @@
+package luvx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import luvx.Frag_I;
+import luvx.demo.ComprehensiveLuvXDemo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Nested fragType()/nodeType() switches over mixed node populations (9 implementations).
+ * TypeDiscriminationDemo.getDetailedType is DispatchBenchmark.ftypeWrappers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class DiscriminationBenchmark {
+
+    @Param({"64", "4096"})
+    int population;
+
+    private List<Frag_I> nodes;
+
+    @Setup
+    public void setup() {
+        nodes = BenchmarkTrees.mixedPopulation(population);
+    }
+
+    @Benchmark
+    public void zeroCastDiscrimination(Blackhole blackhole) {
+        for (var node : nodes) {
+            blackhole.consume(ComprehensiveLuvXDemo.demonstrateZeroCastDiscrimination(node));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package luvx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import luvx.Attr_I;
+import luvx.Comment_I;
+import luvx.ContainerElement_I;
+import luvx.Element_I;
+import luvx.Frag_I;
+import luvx.Text_I;
+import luvx.VoidElement_I;
+import luvx.examples.TypeDiscriminationDemo;
+import luvx.examples.dispatch.FragKind;
+import luvx.examples.dispatch.FragVisitor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Classifying mixed nodes: nested ftype wrappers vs. FragKind (ClassValue + tableswitch),
+ * FragVisitor and a plain type-pattern switch over the luvx interfaces.
+ * Watch gc.alloc.rate.norm - only the wrappers should allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class DispatchBenchmark {
+
+    private static final FragVisitor<Integer> VISITOR = new FragVisitor<>() {
+        @Override public Integer attr(Attr_I<?> attr) { return 0; }
+        @Override public Integer text(Text_I<?> text) { return 1; }
+        @Override public Integer comment(Comment_I<?> comment) { return 2; }
+        @Override public Integer element(Element_I<?> element) { return 3; }
+        @Override public Integer other(Object frag) { return 4; }
+    };
+
+    @Param({"64", "4096"})
+    int population;
+
+    private List<Frag_I> nodes;
+
+    @Setup
+    public void setup() {
+        nodes = BenchmarkTrees.mixedPopulation(population);
+    }
+
+    @Benchmark
+    public void ftypeWrappers(Blackhole blackhole) {
+        for (var node : nodes) {
+            blackhole.consume(TypeDiscriminationDemo.getDetailedType(node));
+        }
+    }
+
+    @Benchmark
+    public void fragKindSwitch(Blackhole blackhole) {
+        for (var node : nodes) {
+            var kind = FragKind.of(node);
+            blackhole.consume(kind.isElement() ? 3 : switch (kind) {
+                case ATTR -> 0;
+                case TEXT -> 1;
+                case COMMENT -> 2;
+                default -> 4;
+            });
+        }
+    }
+
+    @Benchmark
+    public void fragVisitor(Blackhole blackhole) {
+        for (var node : nodes) {
+            blackhole.consume(FragVisitor.dispatch(node, VISITOR));
+        }
+    }
+
+    @Benchmark
+    public void patternSwitch(Blackhole blackhole) {
+        for (Object node : nodes) {
+            blackhole.consume(switch (node) {
+                case Attr_I<?> attr -> 0;
+                case Text_I<?> text -> 1;
+                case Comment_I<?> comment -> 2;
+                case VoidElement_I<?> element -> 3;
+                case ContainerElement_I<?> element -> 3;
+                case Element_I<?> element -> 3;
+                default -> 4;
+            });
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package luvx.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.escape.Escaper;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.MarkupSerializer;
+import luvx.examples.render.Utf8ByteRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import static luvx.examples.dsl.DslElements.*;
+
+/**
+ * Text escaping on clean ASCII, mixed and escape-heavy input: Escaper's scan + bulk copy into a
+ * direct buffer vs. the one-store-per-char loop it replaced, plus both renderers end to end.
+ * One op is one pass over {@code length} chars.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EscapingBenchmark {
+
+    private static final byte[][] TEXT_ESCAPES = new byte[128][];
+    static {
+        TEXT_ESCAPES['&'] = new byte[] {'&', 'a', 'm', 'p', ';'};
+        TEXT_ESCAPES['<'] = new byte[] {'&', 'l', 't', ';'};
+        TEXT_ESCAPES['>'] = new byte[] {'&', 'g', 't', ';'};
+    }
+
+    @Param({"clean", "mixed", "heavy"})
+    String input;
+
+    @Param({"64", "16384"})
+    int length;
+
+    private String text;
+    private DslContainerElement paragraph;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(16384 * Escaper.MAX_BYTES_PER_CHAR);
+    private final byte[] scratch = new byte[1024];
+    private final Utf8ByteRenderer renderer = new Utf8ByteRenderer();
+    private final ByteArrayChannel channel = new ByteArrayChannel(1 << 20);
+    private final StringBuilder chars = new StringBuilder(1 << 20);
+
+    @Setup
+    public void setup() {
+        String unit = switch (input) {
+            case "clean" -> "The quick brown fox jumps over the lazy dog while the renderer streams bytes. ";
+            case "mixed" -> "Fish & chips cost <5 € at \"Joe's\" - the quick brown fox jumps over the lazy dog. ";
+            default -> "<a&b>\"c\"&<>";
+        };
+        text = unit.repeat(length / unit.length() + 1).substring(0, length);
+        paragraph = p(text);
+    }
+
+    @Benchmark
+    public int escaperUtf8() {
+        buf.clear();
+        Escaper.encodeUtf8(text, 0, text.length(), text.length(), Escaper.Context.TEXT, buf, scratch);
+        return buf.position();
+    }
+
+    @Benchmark
+    public int perCharLoopUtf8() {
+        int p = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                byte[] entity = TEXT_ESCAPES[c];
+                if (entity == null) {
+                    buf.put(p++, (byte) c);
+                } else {
+                    buf.put(p, entity);
+                    p += entity.length;
+                }
+            } else if (c < 0x800) {
+                buf.put(p++, (byte) (0xC0 | (c >> 6)));
+                buf.put(p++, (byte) (0x80 | (c & 0x3F)));
+            } else {
+                buf.put(p++, (byte) (0xE0 | (c >> 12)));
+                buf.put(p++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                buf.put(p++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return p;
+    }
+
+    @Benchmark
+    public String escaperString() {
+        return Escaper.escape(text, Escaper.Context.TEXT);
+    }
+
+    @Benchmark
+    public long renderParagraphUtf8() throws IOException {
+        return renderer.render(paragraph, channel.reset());
+    }
+
+    @Benchmark
+    public int serializeParagraph() throws IOException {
+        chars.setLength(0);
+        MarkupSerializer.COMPACT.serialize(paragraph, chars);
+        return chars.length();
+    }
+}
@@ -0,0 +1,85 @@
+package luvx.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.dsl.DslNumbers;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.Utf8ByteRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+
+/**
+ * Numeric attribute values: DslNumbers writing bytes vs. String.valueOf(double) + getBytes, on
+ * whole, short decimal and computed (17 digit) values, plus a chart of circles rendered with
+ * numbers stored as doubles. One op formats {@code VALUES} numbers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NumberFormattingBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"whole", "short", "computed"})
+    String values;
+
+    private final double[] numbers = new double[VALUES];
+    private final byte[] out = new byte[VALUES * DslNumbers.MAX_LENGTH];
+    private DslContainerElement chart;
+    private final Utf8ByteRenderer renderer = new Utf8ByteRenderer();
+    private final ByteArrayChannel channel = new ByteArrayChannel(1 << 20);
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42);
+        for (int i = 0; i < VALUES; i++) {
+            numbers[i] = switch (values) {
+                case "whole" -> random.nextInt(4000);
+                case "short" -> random.nextInt(40000) / 10.0;
+                default -> random.nextDouble() * 4000;
+            };
+        }
+        chart = svg(width(4000), height(3000));
+        for (int i = 0; i + 2 < VALUES; i += 3) {
+            chart.addChild(circle(cx(numbers[i]), cy(numbers[i + 1]), r(numbers[i + 2] / 100)));
+        }
+    }
+
+    @Benchmark
+    public int dslNumbers() {
+        int p = 0;
+        for (double v : numbers) p = DslNumbers.write(v, -1, out, p);
+        return p;
+    }
+
+    @Benchmark
+    public int fixedPrecision() {
+        int p = 0;
+        for (double v : numbers) p = DslNumbers.write(v, 2, out, p);
+        return p;
+    }
+
+    @Benchmark
+    public int stringValueOf() {
+        int p = 0;
+        for (double v : numbers) {
+            byte[] bytes = String.valueOf(v).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(bytes, 0, out, p, bytes.length);
+            p += bytes.length;
+        }
+        return p;
+    }
+
+    @Benchmark
+    public long renderChart() throws IOException {
+        return renderer.render(chart, channel.reset());
+    }
+}
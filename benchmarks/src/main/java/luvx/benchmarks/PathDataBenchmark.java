@@ -0,0 +1,62 @@
+package luvx.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.dsl.DslPathData;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.Utf8ByteRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import static luvx.examples.dsl.DslElements.*;
+
+/**
+ * A line of {@code points} points as a path: d built by hand with a StringBuilder and rendered
+ * as a String attribute, vs. DslPathData encoded at render time - absolute, and relative with
+ * one decimal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PathDataBenchmark {
+
+    @Param({"1000", "100000"})
+    int points;
+
+    private double[] xs, ys;
+    private DslContainerElement absolute, relative;
+    private final Utf8ByteRenderer renderer = new Utf8ByteRenderer();
+    private final ByteArrayChannel channel = new ByteArrayChannel(1 << 22);
+
+    @Setup
+    public void setup() {
+        xs = new double[points];
+        ys = new double[points];
+        for (int i = 0; i < points; i++) {
+            xs[i] = i * 0.04;
+            ys[i] = 150 + 80 * Math.sin(i / 900.0) + 20 * Math.sin(i / 37.0);
+        }
+        absolute = path(DslPathData.create().lineTo(xs, ys));
+        relative = path(DslPathData.create().lineTo(xs, ys).relative().precision(1));
+    }
+
+    @Benchmark
+    public long handBuiltString() throws IOException {
+        var d = new StringBuilder(points * 32);
+        for (int i = 0; i < points; i++) d.append(i == 0 ? "M" : " L").append(xs[i]).append(' ').append(ys[i]);
+        return renderer.render(path(DslPathData.create()).withAttribute("d", d.toString()), channel.reset());
+    }
+
+    @Benchmark
+    public long pathDataAbsolute() throws IOException {
+        return renderer.render(absolute, channel.reset());
+    }
+
+    @Benchmark
+    public long pathDataRelative() throws IOException {
+        return renderer.render(relative, channel.reset());
+    }
+}
@@ -0,0 +1,53 @@
+package luvx.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.MarkupSerializer;
+import luvx.examples.render.Utf8ByteRenderer;
+import org.openjdk.jmh.annotations.*;
+
+/** Full-tree serialization - String output and direct UTF-8 bytes */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int sections;
+
+    private DslContainerElement report;
+    private DslContainerElement document;
+    private final Utf8ByteRenderer renderer = new Utf8ByteRenderer();
+    private final ByteArrayChannel channel = new ByteArrayChannel(1 << 20);
+
+    @Setup
+    public void setup() {
+        report = BenchmarkTrees.report(sections);
+        document = BenchmarkTrees.documents(Math.max(1, sections / 10));
+    }
+
+    @Benchmark
+    public String reportToMarkup() {
+        return MarkupSerializer.COMPACT.toMarkup(report);
+    }
+
+    @Benchmark
+    public long reportToUtf8() throws IOException {
+        return renderer.render(report, channel.reset());
+    }
+
+    @Benchmark
+    public String documentToPrettyMarkup() {
+        return MarkupSerializer.PRETTY.toMarkup(document);
+    }
+
+    @Benchmark
+    public long documentToUtf8() throws IOException {
+        return renderer.render(document, channel.reset());
+    }
+}
@@ -0,0 +1,53 @@
+package luvx.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.StyleHoisting;
+import luvx.examples.render.Utf8ByteRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+
+/**
+ * A report of {@code rows} rows with two styled spans each, rendered with inline styles and
+ * with the style hoisting pass (census walk included).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StyleHoistingBenchmark {
+
+    @Param({"100", "10000"})
+    int rows;
+
+    private DslContainerElement page;
+    private final Utf8ByteRenderer inline = new Utf8ByteRenderer();
+    private final Utf8ByteRenderer hoisting = new Utf8ByteRenderer().withStyleHoisting(StyleHoisting.repeatedAtLeast(3));
+    private final ByteArrayChannel channel = new ByteArrayChannel(1 << 22);
+
+    @Setup
+    public void setup() {
+        var report = div(className("report"));
+        for (int i = 0; i < rows; i++) {
+            report.addChild(p(text("Row "), styledText(String.valueOf(i), "font-weight: bold"),
+                    text(" of the report "), styledText("(draft)", "color: gray; font-size: 12px")));
+        }
+        page = html(head(title("Report"), style("body { font-family: sans-serif }")), body(report));
+    }
+
+    @Benchmark
+    public long inlineStyles() throws IOException {
+        return inline.render(page, channel.reset());
+    }
+
+    @Benchmark
+    public long hoistedStyles() throws IOException {
+        return hoisting.render(page, channel.reset());
+    }
+}
@@ -2,6 +2,8 @@ package luvx.demo;
 
 import java.util.List;
 import java.util.Map;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslStyleMap;
 import luvx.rendering_behavior.BlockMarkupRendering;
 import luvx.ContainerElement_I;
 import luvx.rendering_behavior.MarkupRenderingBehavior_I;
@@ -17,8 +19,8 @@ public class AdvancedElement implements AdvancedElementMixin<AdvancedElement>,
 
     private final String tagName;
     private final java.util.List<Node_I<?>> children = new java.util.ArrayList<>();
-    private final java.util.Map<String, String> attributes = new java.util.HashMap<>();
-    private final java.util.Map<String, String> customStyles = new java.util.HashMap<>();
+    private final java.util.Map<String, String> attributes = new DslAttributeMap();
+    private final java.util.Map<String, String> customStyles = new DslStyleMap(attributes); // lives in the style attribute
     private long timestamp;
     
     private final MarkupRenderingBehavior_I markupRenderingBehavior;
@@ -6,6 +6,10 @@ package luvx.demo;
  */
 public interface Cacheable<I extends Cacheable<I>> {
 
+    /**
+     * Identity of this instance, not of its content - renderers with a RenderCache attached
+     * address Cacheable subtrees by a content hash of their own.
+     */
     default String getCacheKey() {
         return "cache_" + System.identityHashCode(this);
     }
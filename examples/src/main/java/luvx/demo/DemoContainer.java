@@ -2,6 +2,7 @@ package luvx.demo;
 
 import java.util.List;
 import java.util.Map;
+import luvx.examples.dsl.DslAttributeMap;
 import luvx.rendering_behavior.BlockMarkupRendering;
 import luvx.ContainerElement_I;
 import luvx.Node_I;
@@ -18,7 +19,7 @@ public class DemoContainer implements ContainerElement_I<DemoContainer>,
 
     private final String tagName;
     private final java.util.List<Node_I<?>> children = new java.util.ArrayList<>();
-    private final java.util.Map<String, String> attributes = new java.util.HashMap<>();
+    private final java.util.Map<String, String> attributes = new DslAttributeMap();
 
     public DemoContainer(String tagName) {
         this.tagName = tagName;
@@ -2,6 +2,8 @@ package luvx.demo;
 
 import java.util.List;
 import java.util.Map;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslStyleMap;
 import luvx.rendering_behavior.BlockMarkupRendering;
 import luvx.ContainerElement_I;
 import luvx.rendering_behavior.InlineMarkupRendering;
@@ -20,8 +22,8 @@ public class FluentElement implements FluentElementMixin<FluentElement>,
 
     private final String tagName;
     private final java.util.List<Node_I<?>> children = new java.util.ArrayList<>();
-    private final java.util.Map<String, String> attributes = new java.util.HashMap<>();
-    private final java.util.Map<String, String> styles = new java.util.HashMap<>();
+    private final java.util.Map<String, String> attributes = new DslAttributeMap();
+    private final java.util.Map<String, String> styles = new DslStyleMap(attributes); // lives in the style attribute
     private final java.util.Set<String> classes = new java.util.HashSet<>();
     private final String customData = "fluent-enabled";
 
@@ -0,0 +1,112 @@
+package luvx.examples;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import luvx.examples.arena.ArenaDocument;
+import luvx.examples.arena.ArenaElement;
+import luvx.examples.dsl.*;
+import luvx.examples.render.Utf8ByteRenderer;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * A 200,000 rect SVG built as an object tree with the DSL and as an ArenaDocument, rendered
+ * by the same Utf8ByteRenderer - bytes must match. Compares retained heap per node, build
+ * time, and what a rebuild into a reset() arena allocates. Run with a fixed heap, e.g.
+ * {@code -Xms2g -Xmx2g}, for stable numbers.
+ */
+public class ArenaDocumentDemo {
+
+    static final String[] FILLS = {"#667eea", "#764ba2", "#f093fb", "#4facfe", "#43e97b"};
+
+    static DslContainerElement createDslChart(int rects) {
+        var chart = svg(width(4000), height(3000), viewBox(0, 0, 4000, 3000));
+        for (int i = 0; i < rects; i++) {
+            chart.addChild(rect(x(i % 400 * 10), y(i / 400 * 6), width(8), height(4 + i % 5), fill(FILLS[i % FILLS.length])));
+        }
+        return chart;
+    }
+
+    static ArenaElement buildArenaChart(ArenaDocument doc, int rects) {
+        int chart = doc.element("svg");
+        doc.attribute(chart, "width", "4000")
+           .attribute(chart, "height", "3000")
+           .attribute(chart, "viewBox", "0 0 4000 3000");
+        for (int i = 0; i < rects; i++) {
+            int rect = doc.element(chart, "rect");
+            doc.attribute(rect, "x", String.valueOf(i % 400 * 10))
+               .attribute(rect, "y", String.valueOf(i / 400 * 6))
+               .attribute(rect, "width", "8")
+               .attribute(rect, "height", String.valueOf(4 + i % 5))
+               .attribute(rect, "fill", FILLS[i % FILLS.length]);
+        }
+        return doc.elementView(chart);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rects = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int nodes = rects + 1;
+
+        System.out.println("Struct-of-Arrays Arena Documents");
+        System.out.println("================================");
+        System.out.printf("%,d <rect> elements with 5 attributes each%n%n", rects);
+
+        var renderer = new Utf8ByteRenderer();
+        var arena = new ArenaDocument(nodes);
+        byte[] expected = renderer.renderToBytes(createDslChart(rects));
+        byte[] actual = renderer.renderToBytes(buildArenaChart(arena, rects));
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("Arena rendering differs from the DSL tree");
+        }
+        System.out.printf("✓ Arena renders byte-identical to the DSL tree (%,d bytes)%n", actual.length);
+
+        // retained heap - fresh arena sized exactly, so it is comparable to the tree
+        long dslBytes = retained(() -> createDslChart(rects));
+        long arenaBytes = retained(() -> {
+            var doc = new ArenaDocument(nodes);
+            buildArenaChart(doc, rects);
+            return doc;
+        });
+        System.out.printf("%nRetained heap   DSL tree %6.1f bytes/node   arena %6.1f bytes/node  (%.1fx smaller)%n",
+                (double) dslBytes / nodes, (double) arenaBytes / nodes, (double) dslBytes / arenaBytes);
+        System.out.printf("Arena arrays + pool tables alone: %.1f bytes/node%n", (double) arena.footprintBytes() / nodes);
+
+        // build time, arena recycled between builds
+        long dslNanos = bestOf(15, () -> createDslChart(rects));
+        long arenaNanos = bestOf(15, () -> {
+            arena.reset();
+            return buildArenaChart(arena, rects);
+        });
+        System.out.printf("%nBuild           DSL tree %6.2f ms   arena (reset + rebuild) %6.2f ms%n", dslNanos / 1e6, arenaNanos / 1e6);
+
+        // allocation of a rebuild: only the attribute value Strings, no node, list or map objects
+        long arenaAllocated = allocatedBy(() -> {
+            arena.reset();
+            return buildArenaChart(arena, rects);
+        });
+        long dslAllocated = allocatedBy(() -> createDslChart(rects));
+        System.out.printf("Allocated       DSL tree %6.1f bytes/node   arena %6.1f bytes/node%n",
+                (double) dslAllocated / nodes, (double) arenaAllocated / nodes);
+
+        var stale = arena.elementView(0);
+        arena.reset();
+        try {
+            stale.tagName();
+            throw new IllegalStateException("Stale view was not detected");
+        } catch (IllegalStateException expectedFailure) {
+            System.out.println("\n✓ Views taken before reset() are rejected: " + expectedFailure.getMessage());
+        }
+    }
+
+    private static long allocatedBy(Supplier<Object> build) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        build.get(); // warm
+        long before = threads.getThreadAllocatedBytes(thread);
+        build.get();
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+}
@@ -0,0 +1,66 @@
+package luvx.examples;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+import luvx.examples.dsl.DslAttributeMap;
+
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Heap footprint of per-element attribute storage: HashMap vs shape-backed DslAttributeMap.
+ *
+ * Holds N maps per case and measures the retained heap delta after GC - the same attribute
+ * sets the DSL produces (styled text, a link, an SVG rect). Run with a fixed heap, e.g.
+ * {@code -Xms2g -Xmx2g}, for stable numbers.
+ */
+public class AttributeFootprintDemo {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.println("Attribute Storage Footprint (" + n + " elements per case)");
+        System.out.println("=====================================================");
+
+        compare("1 attribute  (styledText style)", n, "style");
+        compare("2 attributes (a href + class)", n, "href", "class");
+        compare("6 attributes (svg rect)", n, "x", "y", "width", "height", "fill", "stroke");
+
+        try {
+            new DslAttributeMap().put(null, "x");
+            check(false, "null attribute name rejected");
+        } catch (NullPointerException expected) {
+            System.out.println("\n✓ A null attribute name fails at put: " + expected.getMessage());
+        }
+    }
+
+    private static void compare(String label, int n, String... keys) {
+        long hashMapBytes = retainedBytes(n, i -> fill(new HashMap<>(), keys, i));
+        long compactBytes = retainedBytes(n, i -> fill(new DslAttributeMap(), keys, i));
+
+        System.out.printf("%n%s%n", label);
+        System.out.printf("  HashMap:         %6.1f bytes/element%n", (double) hashMapBytes / n);
+        System.out.printf("  DslAttributeMap: %6.1f bytes/element  (%.0f%% smaller)%n",
+                (double) compactBytes / n, 100.0 * (hashMapBytes - compactBytes) / hashMapBytes);
+    }
+
+    // values are shared constants so only the storage itself is measured
+    private static final String[] VALUES = {"0", "10", "white", "#667eea", "revolution", "font-weight: bold"};
+
+    private static Map<String, String> fill(Map<String, String> map, String[] keys, int element) {
+        for (int k = 0; k < keys.length; k++) {
+            map.put(keys[k], VALUES[(element + k) % VALUES.length]);
+        }
+        return map;
+    }
+
+    private static long retainedBytes(int n, IntFunction<Map<String, String>> factory) {
+        long before = usedAfterGc();
+        var holder = new Object[n];
+        for (int i = 0; i < n; i++) holder[i] = factory.apply(i);
+        long after = usedAfterGc();
+        long arrayBytes = 16L + 4L * n; // the holder itself, compressed oops
+        if (holder[n - 1] == null) throw new IllegalStateException(); // keep holder reachable
+        return after - before - arrayBytes;
+    }
+}
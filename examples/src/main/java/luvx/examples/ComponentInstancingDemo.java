@@ -0,0 +1,127 @@
+package luvx.examples;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.MarkupComponent;
+import luvx.examples.render.MarkupTemplate;
+import luvx.examples.render.Utf8ByteRenderer;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Component instancing: the feature box of LuvMLStyleDslDemo defined once with slots, then
+ * stamped out from struct-of-arrays columns (double[] x, String[] title ...) instead of
+ * building a g / rect / text graph per box. Checks the bytes against separately built boxes and
+ * compares time and allocation for a chart of many boxes.
+ */
+public class ComponentInstancingDemo {
+
+    static final MarkupComponent FEATURE_BOX = MarkupComponent.define(LuvMLStyleDslDemo.featureBox(
+            slotFormat("transform", "translate({x}, {y})"), slot("title"), slot("subtitle"), slot("code")));
+
+    public static void main(String[] args) throws IOException {
+        int boxes = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        System.out.println("Component Instancing");
+        System.out.println("====================");
+        System.out.println(FEATURE_BOX);
+
+        // the three boxes of the demo page
+        var renderer = new Utf8ByteRenderer();
+        var three = Map.of(
+                "x", new double[] {50, 160, 270},
+                "y", new int[] {200, 200, 200},
+                "title", new String[] {"Union", "self()", "Zero"},
+                "subtitle", new String[] {"Types", "Pattern", "Cast"},
+                "code", new String[] {"A | B", "I self()", "var x = t.text() && <T>"});
+        var built = g(
+                LuvMLStyleDslDemo.featureBox(50, 200, "Union", "Types", "A | B"),
+                LuvMLStyleDslDemo.featureBox(160, 200, "self()", "Pattern", "I self()"),
+                LuvMLStyleDslDemo.featureBox(270, 200, "Zero", "Cast", "var x = t.text() && <T>"));
+        byte[] expected = renderer.renderToBytes(built);
+        byte[] stamped = FEATURE_BOX.renderToBytes(3, three, renderer);
+        check(Arrays.equals(Arrays.copyOfRange(expected, 3, expected.length - 4), stamped), "three boxes");
+        System.out.println("✓ 3 instances from columns = 3 separately built boxes (" + stamped.length + " bytes, text escaped per slot)");
+
+        var boxed = new HashMap<String, Object>(three);
+        boxed.put("x", new Object[] {50.0, 160, 270L});
+        check(Arrays.equals(FEATURE_BOX.renderToBytes(3, boxed, renderer), stamped), "boxed numbers");
+        System.out.println("✓ Boxed numbers in an Object[] column write like a double[] column - 50, not 50.0");
+        var odd = div(className("a\uFDD0b"));
+        check(new String(renderer.renderToBytes(odd), StandardCharsets.UTF_8).contains("class=\"a\uFDD0b\""), "noncharacter inside a value");
+        System.out.println("✓ An ordinary attribute holding the slot marker mid-value still renders");
+
+        try {
+            FEATURE_BOX.instances(3, Map.of("x", new double[3]));
+            check(false, "missing columns rejected");
+        } catch (IllegalArgumentException expectedFailure) {
+            System.out.println("✓ Missing column rejected: " + expectedFailure.getMessage());
+        }
+
+        // a chart of many boxes: columns are the data the chart already has
+        double[] xs = new double[boxes], ys = new double[boxes];
+        String[] titles = new String[boxes], subtitles = new String[boxes], codes = new String[boxes];
+        for (int i = 0; i < boxes; i++) {
+            xs[i] = i % 100 * 110 + 0.5;
+            ys[i] = i / 100 * 80;
+            titles[i] = "Series " + i;
+            subtitles[i] = i % 2 == 0 ? "even" : "odd";
+            codes[i] = "n = " + i * 7;
+        }
+        var columns = Map.of("x", xs, "y", ys, "title", titles, "subtitle", subtitles, "code", codes);
+
+        // the page holds the instances in a template slot
+        var page = MarkupTemplate.compile(chart(g(slot("boxes"))));
+        var out = new ByteArrayChannel(1 << 20);
+        long treeBytes = renderer.render(chart(boxes(xs, ys, titles, subtitles, codes)), out.reset());
+        byte[] treeOutput = out.toByteArray();
+        long instancedBytes = page.render(Map.of("boxes", FEATURE_BOX.instances(boxes, columns)), out.reset(), renderer);
+        check(Arrays.equals(treeOutput, out.toByteArray()), "chart output");
+        System.out.printf("✓ %,d instances inside a page template = the built tree (%,d bytes)%n", boxes, instancedBytes);
+        check(treeBytes == instancedBytes, "sizes");
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().threadId();
+        long[] tree = {Long.MAX_VALUE, 0}, instanced = {Long.MAX_VALUE, 0};
+        for (int round = 0; round < 5; round++) { // best of 5
+            long allocated = threads.getThreadAllocatedBytes(tid);
+            long start = System.nanoTime();
+            renderer.render(chart(boxes(xs, ys, titles, subtitles, codes)), out.reset());
+            tree[0] = Math.min(tree[0], System.nanoTime() - start);
+            tree[1] = threads.getThreadAllocatedBytes(tid) - allocated;
+
+            allocated = threads.getThreadAllocatedBytes(tid);
+            start = System.nanoTime();
+            page.render(Map.of("boxes", FEATURE_BOX.instances(boxes, columns)), out.reset(), renderer);
+            instanced[0] = Math.min(instanced[0], System.nanoTime() - start);
+            instanced[1] = threads.getThreadAllocatedBytes(tid) - allocated;
+        }
+        System.out.printf("%n%,d boxes (best of 5):%n", boxes);
+        System.out.printf("  build %,d nodes + render: %7.1f ms, %,12d bytes allocated%n", boxes * 8, tree[0] / 1e6, tree[1]);
+        System.out.printf("  component instances:       %7.1f ms, %,12d bytes allocated  (%.1fx faster)%n",
+                instanced[0] / 1e6, instanced[1], (double) tree[0] / instanced[0]);
+        check(instanced[1] < 64 * 1024, "instancing allocates next to nothing");
+        System.out.println("✓ No node graph per instance - columns go straight into the output buffer");
+    }
+
+    static DslContainerElement chart(DslContainerElement content) {
+        return svg(xmlns("http://www.w3.org/2000/svg"), viewBox(0, 0, 11000, 80000), content);
+    }
+
+    /** What the chart looks like without instancing - one g / rect / 3 x text graph per box */
+    static DslContainerElement boxes(double[] xs, double[] ys, String[] titles, String[] subtitles, String[] codes) {
+        var group = g();
+        for (int i = 0; i < xs.length; i++) {
+            group.addChild(LuvMLStyleDslDemo.featureBox(xs[i], ys[i], titles[i], subtitles[i], codes[i]));
+        }
+        return group;
+    }
+}
@@ -0,0 +1,97 @@
+package luvx.examples;
+
+import java.nio.charset.StandardCharsets;
+import luvx.Node_I;
+import java.util.Arrays;
+import luvx.examples.diff.DslPatchOp;
+import luvx.examples.diff.DslTreeDiff;
+import luvx.examples.dsl.*;
+import luvx.examples.render.ContentHash;
+import luvx.examples.render.MarkupSerializer;
+import luvx.examples.render.ParallelRenderer;
+import luvx.examples.render.Utf8ByteRenderer;
+import luvx.examples.walk.TreeWalker;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Machine-generated nesting far beyond what recursion survives: a 1,000,001 level div chain
+ * and a DslFrags chain just as deep, walked, flattened and serialized iteratively - and hashed,
+ * frozen, edited, diffed and split for parallel rendering the same way.
+ */
+public class DeepTreeDemo {
+
+    static final int DEPTH = 1_000_000;
+
+    public static void main(String[] args) {
+        System.out.println("Iterative Walks on Deep Trees");
+        System.out.println("=============================");
+
+        DslContainerElement root = div(text("bottom & <end>"));
+        for (int i = 0; i < DEPTH; i++) {
+            root = div(root);
+        }
+        int levels = DEPTH + 1;
+
+        // enter/leave pairing, depth and skip control
+        var walker = new TreeWalker();
+        int[] stats = new int[3]; // entered, left, max depth
+        walker.walk(root, new TreeWalker.Visitor<RuntimeException>() {
+            @Override public TreeWalker.Action enter(Node_I<?> node, int depth) {
+                stats[0]++;
+                stats[2] = Math.max(stats[2], depth);
+                return TreeWalker.Action.CONTINUE;
+            }
+            @Override public void leave(Node_I<?> node, int depth) {
+                stats[1]++;
+            }
+        });
+        check(stats[0] == levels + 1 && stats[1] == stats[0] && stats[2] == levels, "walk counts " + stats[0] + "/" + stats[1] + "/" + stats[2]);
+        System.out.printf("✓ Walked %,d nodes, max depth %,d, every enter matched by a leave%n", stats[0], stats[2]);
+
+        int[] entered = {0};
+        walker.walk(root, (node, depth) -> {
+            entered[0]++;
+            return depth == 10 ? TreeWalker.Action.SKIP_CHILDREN : TreeWalker.Action.CONTINUE;
+        });
+        check(entered[0] == 11, "skip-subtree entered " + entered[0]);
+        boolean completed = walker.walk(root, (node, depth) -> depth == 500_000 ? TreeWalker.Action.STOP : TreeWalker.Action.CONTINUE);
+        check(!completed, "stop");
+        System.out.println("✓ SKIP_CHILDREN prunes at depth 10, STOP ends the walk at depth 500,000");
+
+        var expected = new StringBuilder(levels * 11 + 32);
+        expected.append("<div>".repeat(levels)).append("bottom &amp; &lt;end&gt;").append("</div>".repeat(levels));
+        long start = System.nanoTime();
+        var markup = MarkupSerializer.COMPACT.toMarkup(root);
+        long serialized = System.nanoTime();
+        var bytes = new Utf8ByteRenderer().renderToBytes(root);
+        long rendered = System.nanoTime();
+        check(markup.contentEquals(expected), "MarkupSerializer output");
+        check(new String(bytes, StandardCharsets.UTF_8).contentEquals(expected), "Utf8ByteRenderer output");
+        System.out.printf("✓ %,d levels serialized: MarkupSerializer %.0f ms, Utf8ByteRenderer %.0f ms (%,d bytes)%n",
+                levels, (serialized - start) / 1e6, (rendered - serialized) / 1e6, bytes.length);
+
+        // the other tree passes: content hash, freeze, path-copying edit, diff, parallel split
+        var frozen = root.freeze();
+        check(ContentHash.of(frozen).equals(ContentHash.of(root)), "hash of the frozen copy");
+        var bottom = new int[levels]; // all zeros: first child down to the text
+        var edited = frozen.copyWithNodeAt(bottom, old -> text("changed"));
+        check(!ContentHash.of(edited).equals(ContentHash.of(frozen)), "hash sees the edit");
+        var ops = DslTreeDiff.diff(frozen, edited);
+        check(ops.size() == 1 && ops.get(0) instanceof DslPatchOp.ReplaceText replace && replace.path().length == levels, "one ReplaceText at the bottom");
+        check(DslTreeDiff.diff(root, frozen).isEmpty(), "no ops between equal trees");
+        check(Arrays.equals(new ParallelRenderer().renderToBytes(root), bytes), "ParallelRenderer output");
+        System.out.printf("✓ ContentHash, freeze, copyWithNodeAt, DslTreeDiff and ParallelRenderer handle %,d levels%n", levels);
+
+        // DslFrags nested DEPTH deep, flattened by the builder
+        DslFrag_I frags = text("leaf");
+        for (int i = 0; i < DEPTH; i++) {
+            frags = frags(className("c"), frags);
+        }
+        var flat = div(frags);
+        check(flat.childNodes().size() == 1 && "c".equals(flat.attr("class")), "flattening");
+        System.out.printf("✓ DslFrags nested %,d deep flattened into %s%n", DEPTH, MarkupSerializer.COMPACT.toMarkup(flat));
+    }
+}
@@ -0,0 +1,78 @@
+package luvx.examples;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Measuring and checking helpers shared by the demos. Timings are printed, never asserted -
+ * they depend on the machine and what else runs on it.
+ */
+final class DemoSupport {
+
+    private DemoSupport() {}
+
+    /** A measured step - its result is returned so the work can't be optimized away */
+    interface Timed {
+        Object run() throws Exception;
+    }
+
+    static void check(boolean condition, String what) {
+        if (!condition) throw new IllegalStateException("Failed: " + what);
+    }
+
+    /** Fastest of the given number of runs, in nanoseconds */
+    static long bestOf(int rounds, Timed run) throws Exception {
+        return bestOf(rounds, 0, run);
+    }
+
+    /** Runs for warmupMillis first, so the JIT has compiled the hot paths, then times the rounds */
+    static long bestOf(int rounds, long warmupMillis, Timed run) throws Exception {
+        long warmUntil = System.nanoTime() + warmupMillis * 1_000_000L;
+        while (System.nanoTime() < warmUntil) run.run();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /** Heap kept reachable by what build returns */
+    static long retained(Timed build) throws Exception {
+        long before = usedAfterGc();
+        Object kept = build.run();
+        long after = usedAfterGc();
+        if (kept == null) throw new IllegalStateException(); // keep it reachable
+        return after - before;
+    }
+
+    static long usedAfterGc() {
+        var runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Discards what is written, counting the bytes */
+    static final class CountingChannel implements WritableByteChannel {
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            bytes += n;
+            return n;
+        }
+
+        @Override public boolean isOpen() { return true; }
+        @Override public void close() {}
+    }
+}
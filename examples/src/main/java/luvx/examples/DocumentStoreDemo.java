@@ -0,0 +1,121 @@
+package luvx.examples;
+
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import luvx.Node_I;
+import luvx.examples.dsl.*;
+import luvx.examples.render.Utf8ByteRenderer;
+import luvx.examples.store.DocumentStoreWriter;
+import luvx.examples.store.MappedDocumentStore;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+
+/**
+ * Tens of thousands of prebuilt product pages (plus the showcase document and SVG) written
+ * to a memory-mapped store, reopened, and rendered from lazy views - output must match the
+ * original trees byte for byte.
+ */
+public class DocumentStoreDemo {
+
+    static DslContainerElement createProductPage(int product) {
+        var features = ul(className("features"));
+        for (int f = 0; f < 5; f++) {
+            features.addChild(li("Feature " + f + " of product #" + product));
+        }
+        return html(
+            head(meta(charset("UTF-8")), title("Product #" + product + " – LuvX Store")),
+            body(
+                header(h1("Product #" + product), a(href("/products/" + product + "/reviews"), "Reviews")),
+                DslElements.main(className("product"),
+                    p(text("Price: "), styledText("€" + (product % 500 + 9) + ".99", "font-weight: bold")),
+                    p("Ships in " + (product % 7 + 1) + " days. <Limited> stock & \"fast\" delivery."),
+                    features,
+                    input(type("number"), name("quantity"), value("1"))),
+                footer(p("© LuvX Store"))));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        System.out.println("Memory-Mapped Document Store");
+        System.out.println("============================");
+
+        var file = Files.createTempFile("luvx-documents", ".store");
+        try {
+            var renderer = new Utf8ByteRenderer();
+            long start = System.nanoTime();
+            try (var writer = DocumentStoreWriter.create(file)) {
+                writer.add("showcase", LuvMLStyleDslDemo.createBeautifulDocument());
+                writer.add("showcase.svg", LuvMLStyleDslDemo.createBeautifulSVG());
+                for (int i = 0; i < products; i++) {
+                    writer.add("product/" + i, createProductPage(i));
+                }
+                try {
+                    writer.add("rejected", rejectedPage());
+                    throw new IllegalStateException("Too many attributes were stored");
+                } catch (IllegalArgumentException expected) {
+                    // its strings were written to the buffer, never to the file
+                }
+                writer.add("retried", retriedPage());
+            }
+            long writeNanos = System.nanoTime() - start;
+
+            MappedDocumentStore.open(file); // class loading and first map out of the measurement
+            start = System.nanoTime();
+            var store = MappedDocumentStore.open(file);
+            long openNanos = System.nanoTime() - start;
+            System.out.printf("%,d documents, %,d byte file, written in %.0f ms, opened in %.1f µs%n",
+                    store.size(), store.fileSize(), writeNanos / 1e6, openNanos / 1e3);
+
+            check(renderer, LuvMLStyleDslDemo.createBeautifulDocument(), store.document("showcase"));
+            check(renderer, LuvMLStyleDslDemo.createBeautifulSVG(), store.document("showcase.svg"));
+            for (int i = 0; i < products; i++) {
+                check(renderer, createProductPage(i), store.document(i + 2));
+            }
+            check(renderer, retriedPage(), store.document("retried"));
+            if (store.document("rejected") != null) throw new IllegalStateException("Failed document was stored");
+            System.out.println("✓ Every stored document renders byte-identical to its original tree");
+            System.out.println("✓ A failed add() leaves nothing behind - the next document reuses none of its strings");
+
+            if (store.document("product/" + (products - 1)) == null || store.document("product/none") != null) {
+                throw new IllegalStateException("Name lookup failed");
+            }
+            System.out.println("✓ Lookup by name: binary search over the mapped name index");
+
+            // random access: each lookup decodes only the nodes its render touches
+            var random = new Random(42);
+            int lookups = 10_000;
+            long bytes = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                bytes += renderer.renderToBytes(store.document("product/" + random.nextInt(products))).length;
+            }
+            long lookupNanos = System.nanoTime() - start;
+            System.out.printf("%n%,d random lookups + renders: %.1f µs each (%,d bytes)%n", lookups, lookupNanos / 1e3 / lookups, bytes);
+
+            var views = store.document("showcase");
+            System.out.printf("Root view <%s> has %d children, decoded on demand%n", views.tagName(), views.childNodes().size());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Shares its text with retriedPage(), then fails on an element with too many attributes */
+    private static DslContainerElement rejectedPage() {
+        var crowded = div();
+        for (int i = 0; i <= 0xFFFF; i++) crowded.withAttribute("data-" + i, "x");
+        return div(p("Written by a failed add"), crowded);
+    }
+
+    private static DslContainerElement retriedPage() {
+        return div(p("Written by a failed add"), p("and stored by the next one"));
+    }
+
+    private static void check(Utf8ByteRenderer renderer, Node_I<?> original, Node_I<?> stored) {
+        if (!Arrays.equals(renderer.renderToBytes(original), renderer.renderToBytes(stored))) {
+            throw new IllegalStateException("Stored document renders differently: " + stored);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package luvx.examples;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import luvx.examples.escape.Escaper;
+import luvx.examples.render.MarkupSerializer;
+import luvx.examples.render.Utf8ByteRenderer;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Escaper: one escaping mode per output context. Shows what each mode writes, checks that the
+ * char and UTF-8 paths agree on random input, and times the bulk-copying encoder against a
+ * char-by-char loop on clean ASCII, mixed and escape-heavy text.
+ */
+public class EscapingDemo {
+
+    public static void main(String[] args) {
+        System.out.println("Context-Aware Escaping");
+        System.out.println("======================");
+
+        String sample = "Tom & \"Jerry\" <b>café</b>";
+        for (var context : Escaper.Context.values()) {
+            System.out.printf("%-9s %s%n", context, Escaper.escape(sample, context));
+        }
+
+        // by default an href is an ordinary attribute value; URL encoding is opt-in
+        var link = a(href("/search?q=café au lait&lang=fr"), className("x & y"), text("Search"));
+        String plain = MarkupSerializer.COMPACT.toMarkup(link);
+        check(plain.equals("<a href=\"/search?q=café au lait&amp;lang=fr\" class=\"x &amp; y\">Search</a>"), plain);
+        check(Arrays.equals(new Utf8ByteRenderer().renderToBytes(link), plain.getBytes(StandardCharsets.UTF_8)), "renderers agree");
+        System.out.println("✓ " + plain);
+        String markup = MarkupSerializer.COMPACT.withUrlEncoding(true).toMarkup(link);
+        check(markup.equals("<a href=\"/search?q=caf%C3%A9%20au%20lait&amp;lang=fr\" class=\"x &amp; y\">Search</a>"), markup);
+        check(Arrays.equals(new Utf8ByteRenderer().withUrlEncoding(true).renderToBytes(link), markup.getBytes(StandardCharsets.UTF_8)), "renderers agree on URLs");
+        System.out.println("✓ withUrlEncoding(true): " + markup);
+        check(Escaper.escape("/a%20b?x=1#top", Escaper.Context.URL).equals("/a%20b?x=1#top"), "encoded URL unchanged");
+        System.out.println("✓ Already encoded URLs pass through unchanged");
+
+        // char path (serializer, interning) and UTF-8 path (renderers) must agree on anything
+        var random = new SplittableRandom(42);
+        String alphabet = "abc xyz&<>\"'%\n\téß€😀\uD800";
+        var buf = ByteBuffer.allocate(64 * Escaper.MAX_BYTES_PER_CHAR);
+        byte[] scratch = new byte[7]; // tiny on purpose - bulk copies go in pieces
+        for (int round = 0; round < 20_000; round++) {
+            var sb = new StringBuilder();
+            for (int i = random.nextInt(60); i > 0; i--) {
+                sb.append(random.nextInt(3) == 0 ? "clean ascii run of twenty" : String.valueOf(alphabet.charAt(random.nextInt(alphabet.length()))));
+            }
+            String s = sb.length() > 60 ? sb.substring(0, 60) : sb.toString();
+            for (var context : Escaper.Context.values()) {
+                buf.clear();
+                int end = Escaper.encodeUtf8(s, 0, s.length(), s.length(), context, buf, scratch);
+                byte[] expected = Escaper.escape(s, context).getBytes(StandardCharsets.UTF_8);
+                check(end == s.length() && Arrays.equals(Arrays.copyOf(buf.array(), buf.position()), expected), context + " on " + s);
+            }
+        }
+        System.out.println("✓ Char and UTF-8 paths agree on 20,000 random strings in every context");
+
+        // throughput: bulk runs vs one byte store per char
+        System.out.println();
+        var prose = new StringBuilder();
+        var mixed = new StringBuilder();
+        var heavy = new StringBuilder();
+        while (prose.length() < 64 * 1024) {
+            prose.append("The quick brown fox jumps over the lazy dog while the renderer streams bytes. ");
+            mixed.append("Fish & chips cost <5 € at \"Joe's\" - the quick brown fox jumps over the lazy dog. ");
+            heavy.append("<a&b>\"c\"&<>");
+        }
+        var out = ByteBuffer.allocateDirect(prose.length() * Escaper.MAX_BYTES_PER_CHAR);
+        for (var input : new String[][] {{"clean ASCII", prose.toString()}, {"mixed", mixed.toString()}, {"escape-heavy", heavy.toString()}}) {
+            String s = input[1];
+            double perChar = bestOf(() -> perCharUtf8(s, out));
+            double bulk = bestOf(() -> {
+                out.clear();
+                Escaper.encodeUtf8(s, 0, s.length(), s.length(), Escaper.Context.TEXT, out, SCRATCH);
+            });
+            System.out.printf("%-13s per-char loop %,6.0f MB/s   Escaper %,6.0f MB/s   (%.1fx)%n",
+                    input[0], s.length() / perChar / 1e6 * 1e9, s.length() / bulk / 1e6 * 1e9, perChar / bulk);
+        }
+    }
+
+    private static final byte[] SCRATCH = new byte[1024];
+    private static final byte[][] TEXT_ESCAPES = new byte[128][];
+    static {
+        TEXT_ESCAPES['&'] = "&amp;".getBytes(StandardCharsets.US_ASCII);
+        TEXT_ESCAPES['<'] = "&lt;".getBytes(StandardCharsets.US_ASCII);
+        TEXT_ESCAPES['>'] = "&gt;".getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /** The renderer's loop before Escaper: a table check and one ByteBuffer store per char */
+    private static void perCharUtf8(String s, ByteBuffer buf) {
+        buf.clear();
+        int p = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                byte[] entity = TEXT_ESCAPES[c];
+                if (entity == null) {
+                    buf.put(p++, (byte) c);
+                } else {
+                    buf.put(p, entity);
+                    p += entity.length;
+                }
+            } else if (c < 0x800) {
+                buf.put(p++, (byte) (0xC0 | (c >> 6)));
+                buf.put(p++, (byte) (0x80 | (c & 0x3F)));
+            } else {
+                buf.put(p++, (byte) (0xE0 | (c >> 12)));
+                buf.put(p++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                buf.put(p++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        buf.position(p);
+    }
+
+    /** Best nanoseconds per run after a one second warm-up */
+    private static double bestOf(Runnable run) {
+        long warmUntil = System.nanoTime() + 1_000_000_000L;
+        while (System.nanoTime() < warmUntil) run.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 200; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,137 @@
+package luvx.examples;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import luvx.Node_I;
+import luvx.examples.render.ContentHash;
+import luvx.examples.render.MarkupSerializer;
+import luvx.examples.render.Utf8ByteRenderer;
+import luvx.examples.snapshot.Snapshots;
+import luvx.examples.store.DocumentStoreWriter;
+import luvx.examples.store.MappedDocumentStore;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Text nodes that reference text instead of holding a copy: slices of a loaded listing and
+ * regions of a log file. Output matches plain text nodes; a log far larger than anything we'd
+ * load renders, hashes, snapshots and stores with a few hundred KB of heap allocated.
+ */
+public class FileTextDemo {
+
+    public static void main(String[] args) throws IOException {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+
+        System.out.println("File and Slice Text");
+        System.out.println("===================");
+
+        var renderer = new Utf8ByteRenderer();
+        var dir = Files.createTempDirectory("luvx-filetext");
+        try {
+            // a small log - fits in a String, so we can compare with plain text nodes
+            var log = dir.resolve("small.log");
+            writeLog(log, 4);
+            String content = Files.readString(log);
+            var expected = renderer.renderToBytes(div(id("log"), pre(text(content))));
+            check(Arrays.equals(expected, renderer.renderToBytes(div(id("log"), pre(fileText(log))))), "file text renders like text");
+            check(MarkupSerializer.COMPACT.toMarkup(pre(fileText(log))).equals(MarkupSerializer.COMPACT.toMarkup(pre(text(content)))), "serializer");
+            System.out.printf("✓ fileText of a %,d byte log renders like text(...) - both renderers%n", Files.size(log));
+
+            int from = content.indexOf("ERROR"), to = content.indexOf('\n', content.indexOf("ERROR", from + 1));
+            long offset = content.substring(0, from).getBytes(StandardCharsets.UTF_8).length;
+            long length = content.substring(from, to).getBytes(StandardCharsets.UTF_8).length;
+            var excerpt = pre(fileText(log, offset, length));
+            check(Arrays.equals(renderer.renderToBytes(excerpt), renderer.renderToBytes(pre(text(content.substring(from, to))))), "region");
+            System.out.printf("✓ Region [%,d +%,d) renders like the substring it covers%n", offset, length);
+
+            // slices of a String or StringBuilder - no substring copies
+            var listing = new StringBuilder(content);
+            check(Arrays.equals(renderer.renderToBytes(pre(textSlice(content, from, to))), renderer.renderToBytes(excerpt)), "String slice");
+            check(Arrays.equals(renderer.renderToBytes(pre(textSlice(listing, from, to))), renderer.renderToBytes(excerpt)), "StringBuilder slice");
+            check(MarkupSerializer.COMPACT.toMarkup(pre(textSlice(listing, from, to))).equals(MarkupSerializer.COMPACT.toMarkup(excerpt)), "serializer slice");
+            System.out.println("✓ textSlice over a String and a StringBuilder renders like the excerpt");
+
+            // inside style / script nothing is escaped - every chunk goes to the channel as read
+            var css = dir.resolve("site.css");
+            Files.writeString(css, "a > b { content: \"&\"; }\n".repeat(50_000));
+            check(Arrays.equals(renderer.renderToBytes(style(fileText(css))), renderer.renderToBytes(style(Files.readString(css)))), "raw text");
+            System.out.println("✓ Raw text (style) from a file is written as is");
+
+            // hashing, snapshots and the store stream the region too - checked on the small log
+            var logged = div(p("before"), pre(fileText(log)), p("after"));
+            var inMemory = renderer.renderToBytes(div(p("before"), pre(text(content)), p("after")));
+            check(ContentHash.of(logged).equals(ContentHash.of(div(p("before"), pre(fileText(log)), p("after")))), "stable hash");
+            check(!ContentHash.of(logged).equals(ContentHash.of(div(p("before"), pre(fileText(log, 1, -1)), p("after")))), "hash sees the bytes");
+            check(Arrays.equals(renderer.renderToBytes(Snapshots.fromBytes(Snapshots.toBytes(logged))), inMemory), "snapshot round trip");
+            var storeFile = dir.resolve("pages.store");
+            try (var store = DocumentStoreWriter.create(storeFile)) {
+                store.add("log", logged); // slots written before the file text are patched in the file
+            }
+            check(Arrays.equals(renderer.renderToBytes(MappedDocumentStore.open(storeFile).document("log")), inMemory), "store round trip");
+            System.out.println("✓ ContentHash, snapshots and the document store read the file in chunks");
+
+            // the big one: never loaded, rendered to a file
+            var big = dir.resolve("big.log");
+            writeLog(big, megabytes);
+            var page = html(body(h1("Nightly run"), pre(fileText(big))));
+            var target = dir.resolve("page.html");
+            var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            renderTo(renderer, page, target); // warm-up
+            long allocatedBefore = threads.getThreadAllocatedBytes(Thread.currentThread().threadId());
+            long start = System.nanoTime();
+            long written = renderTo(renderer, page, target);
+            long nanos = System.nanoTime() - start;
+            long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().threadId()) - allocatedBefore;
+            check(written == Files.size(target) && written > Files.size(big), "big render size");
+            System.out.printf("%nRendered a %,d MB log into a %,d MB page in %.2f s, %,d KB allocated on the heap%n",
+                    Files.size(big) >> 20, written >> 20, nanos / 1e9, allocated >> 10);
+            check(allocated < 1 << 20, "heap allocation independent of file size");
+            System.out.println("✓ The log never reached the heap");
+
+            allocatedBefore = threads.getThreadAllocatedBytes(Thread.currentThread().threadId());
+            check(ContentHash.of(page) != null, "hash");
+            Snapshots.write(dir.resolve("page.snapshot"), page);
+            try (var store = DocumentStoreWriter.create(storeFile)) {
+                store.add("page", page);
+            }
+            allocated = threads.getThreadAllocatedBytes(Thread.currentThread().threadId()) - allocatedBefore;
+            check(Files.size(dir.resolve("page.snapshot")) > Files.size(big) && Files.size(storeFile) > Files.size(big), "big snapshot and store");
+            System.out.printf("Hashed, snapshotted and stored it with %,d KB allocated%n", allocated >> 10);
+            check(allocated < 1 << 20, "hash, snapshot and store allocation independent of file size");
+            System.out.println("✓ So did hashing, the snapshot and the store");
+        } finally {
+            try (var files = Files.walk(dir)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static long renderTo(Utf8ByteRenderer renderer, Node_I<?> page, Path target) throws IOException {
+        try (var out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return renderer.render(page, out);
+        }
+    }
+
+    /** Mostly clean log lines; every 2000th one has markup-ish text that needs escaping */
+    private static void writeLog(Path path, int megabytes) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            long size = 0;
+            for (int line = 0; size < (long) megabytes << 20; line++) {
+                String text = line % 2000 == 1999
+                        ? "2026-10-17T03:12:" + line % 60 + " ERROR queue <jobs> full & retrying – attempt " + line + "\n"
+                        : "2026-10-17T03:12:" + line % 60 + " INFO  worker-" + line % 8 + " processed batch " + line + " in " + line % 97 + " ms\n";
+                writer.write(text);
+                size += text.length();
+            }
+        }
+    }
+}
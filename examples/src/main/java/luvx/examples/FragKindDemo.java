@@ -0,0 +1,85 @@
+package luvx.examples;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import luvx.Frag_I;
+import luvx.demo.AdvancedElement;
+import luvx.demo.DemoComment;
+import luvx.demo.DemoContainer;
+import luvx.demo.DemoText;
+import luvx.demo.FutureElement;
+import luvx.demo.SuperElement;
+import luvx.examples.dispatch.FragKind;
+import luvx.examples.dispatch.FragVisitor;
+import luvx.examples.dsl.*;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+
+/**
+ * Nested ftype wrapper switches vs. FragKind: same answers, but FragKind allocates nothing
+ * per classification. Allocation is read from the thread's allocated-bytes counter.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class FragKindDemo {
+
+    static final List<Frag_I> POPULATION = List.of(
+        new DslText("text"), div(text("container")), br(), styledText("styled", "color: red"), id("main"),
+        new DemoText("demo"), new DemoComment("comment"), new DemoContainer("section"),
+        new SuperElement("super-tag"), new FutureElement("future-tag"), new AdvancedElement("advanced-tag"));
+
+    /** Stateless, so a single instance serves every dispatch */
+    static final FragVisitor<String> DESCRIBE = new FragVisitor<>() {
+        @Override public String text(luvx.Text_I<?> text) { return "text of " + text.text().length() + " chars"; }
+        @Override public String attr(luvx.Attr_I<?> attr) { return "attribute " + attr.name(); }
+        @Override public String element(luvx.Element_I<?> element) { return "<" + element.tagName() + ">"; }
+        @Override public String other(Object frag) { return frag.getClass().getSimpleName(); }
+    };
+
+    public static void main(String[] args) {
+        System.out.println("Allocation-Free Fragment Dispatch");
+        System.out.println("=================================");
+
+        for (var frag : POPULATION) {
+            var kind = FragKind.of(frag);
+            var detailed = TypeDiscriminationDemo.getDetailedType(frag);
+            if (!kind.label().equals(detailed)) {
+                throw new IllegalStateException(frag.getClass().getName() + ": " + kind + " vs " + detailed);
+            }
+            System.out.printf("  %-22s %-18s %s%n", frag.getClass().getSimpleName(), kind, FragVisitor.dispatch(frag, DESCRIBE));
+        }
+        System.out.println("✓ FragKind agrees with getDetailedType for every implementation");
+
+        int rounds = 2_000_000;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            measure("ftype wrappers ", rounds, frag -> TypeDiscriminationDemo.getDetailedType(frag).length());
+            measure("FragKind switch", rounds, frag -> FragKind.of(frag).ordinal());
+            measure("FragVisitor    ", rounds, frag -> FragVisitor.dispatch(frag, KIND_ORDINAL));
+        }
+    }
+
+    static final FragVisitor<Integer> KIND_ORDINAL = new FragVisitor<>() {
+        @Override public Integer other(Object frag) { return 0; }
+        @Override public Integer element(luvx.Element_I<?> element) { return 1; }
+        @Override public Integer text(luvx.Text_I<?> text) { return 2; }
+    };
+
+    interface Classifier {
+        int classify(Frag_I frag);
+    }
+
+    private static void measure(String label, int rounds, Classifier classifier) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        int n = POPULATION.size();
+        long sink = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += classifier.classify(POPULATION.get(i % n));
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        System.out.printf("  %s %6.2f ns/op  %6.1f bytes/op  (%d)%n", label, (double) nanos / rounds, (double) allocated / rounds, sink & 1);
+    }
+}
@@ -0,0 +1,158 @@
+package luvx.examples;
+
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import luvx.examples.dsl.*;
+import luvx.examples.diff.DslPatchOp;
+import luvx.examples.diff.DslTreeDiff;
+import luvx.examples.render.Utf8ByteRenderer;
+import luvx.examples.snapshot.Snapshots;
+import luvx.examples.store.DocumentStoreWriter;
+import luvx.examples.store.MappedDocumentStore;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Data-driven containers: rows pulled from a cursor-like iterator, a stream supplier or an
+ * indexed row function while rendering, windows of rows, and attributes evaluated at render
+ * time. Output matches the materialized tree; the heap stays flat on a 1M row table.
+ */
+public class LazyChildrenDemo {
+
+    static DslContainerElement row(int i) {
+        return li(className(i % 2 == 0 ? "even" : "odd"), span("Order #" + i), text(" – €" + (i % 997) + ".00 & more"));
+    }
+
+    /** Stands in for a database cursor: produces each row when asked, holds none */
+    static Iterator<DslContainerElement> cursor(int rows, int[] heapSampleAt, long[] heapSamples) {
+        return new Iterator<>() {
+            int i, sample;
+
+            @Override public boolean hasNext() { return i < rows; }
+
+            @Override
+            public DslContainerElement next() {
+                if (sample < heapSampleAt.length && i == heapSampleAt[sample]) heapSamples[sample++] = usedAfterGc();
+                return row(i++);
+            }
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.println("Lazy Child Sources");
+        System.out.println("==================");
+
+        var renderer = new Utf8ByteRenderer();
+        var materialized = ul(className("orders"));
+        for (int i = 0; i < 1_000; i++) materialized.addChild(row(i));
+        byte[] expected = renderer.renderToBytes(div(materialized));
+
+        var indexed = DslLazyContainerElement.indexed("ul", 1_000, LazyChildrenDemo::row).with(className("orders"));
+        var supplied = DslLazyContainerElement.of("ul", () -> IntStream.range(0, 1_000).mapToObj(LazyChildrenDemo::row)).with(className("orders"));
+        var streamed = DslLazyContainerElement.of("ul", IntStream.range(0, 1_000).mapToObj(LazyChildrenDemo::row)).with(className("orders"));
+        for (var lazy : new DslLazyContainerElement[] {indexed, supplied, supplied, streamed}) {
+            if (!Arrays.equals(expected, renderer.renderToBytes(div(lazy)))) {
+                throw new IllegalStateException("Lazy container renders differently");
+            }
+        }
+        try {
+            renderer.renderToBytes(streamed);
+            throw new IllegalStateException("One-shot source rendered twice");
+        } catch (IllegalStateException expectedFailure) {
+            // consumed by the first render
+        }
+        System.out.println("✓ Indexed, stream-supplier and one-shot stream sources render like the materialized list");
+
+        // snapshots and stores pull lazy children once, through their iterator - one-shot sources included
+        var nestedExpected = renderer.renderToBytes(section(materialized, materialized));
+        var snapshot = Snapshots.fromBytes(Snapshots.toBytes(DslLazyContainerElement.indexed("section", 2, i -> oneShot())));
+        if (!Arrays.equals(nestedExpected, renderer.renderToBytes(snapshot))) throw new IllegalStateException("Snapshot of lazy children differs");
+        var file = Files.createTempFile("luvx-lazy", ".store");
+        try {
+            try (var writer = DocumentStoreWriter.create(file)) {
+                writer.add("nested", DslLazyContainerElement.indexed("section", 2, i -> oneShot()));
+                writer.add("flat", div(oneShot()));
+            }
+            var store = MappedDocumentStore.open(file);
+            if (!Arrays.equals(nestedExpected, renderer.renderToBytes(store.document("nested")))
+                    || !Arrays.equals(expected, renderer.renderToBytes(store.document("flat")))) {
+                throw new IllegalStateException("Stored lazy children differ");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        // a diff replaces a lazy container whole instead of pulling its children
+        var oldList = oneShot();
+        var newList = oneShot();
+        var ops = DslTreeDiff.diff(div(oldList), div(newList));
+        if (ops.size() != 1 || !(ops.get(0) instanceof DslPatchOp.ReplaceNode)
+                || !Arrays.equals(expected, renderer.renderToBytes(div(oldList)))) {
+            throw new IllegalStateException("Diff pulled lazy children: " + ops);
+        }
+        System.out.println("✓ Snapshots and stores stream lazy children; diffs replace them whole - one-shot sources stay renderable");
+
+        // windows: an indexed source only builds the rows inside
+        var built = new AtomicInteger();
+        var table = DslLazyContainerElement.indexed("ul", rows, i -> {
+            built.incrementAndGet();
+            return row(i);
+        });
+        var page = renderer.renderToBytes(table.window(500_000, 500_025));
+        var direct = ul();
+        for (int i = 500_000; i < 500_025; i++) direct.addChild(row(i));
+        if (built.get() != 25 || !Arrays.equals(renderer.renderToBytes(direct), page)) {
+            throw new IllegalStateException("Window touched " + built.get() + " rows");
+        }
+        System.out.printf("✓ window(500000, 500025) of %,d rows built exactly %d rows (%,d bytes)%n", rows, built.get(), page.length);
+
+        // deferred attributes are evaluated per render
+        var renders = new AtomicInteger();
+        var stamped = DslLazyContainerElement.of("ul", () -> IntStream.range(0, 2).mapToObj(LazyChildrenDemo::row))
+                .setAttribute("data-render", () -> String.valueOf(renders.incrementAndGet()));
+        String first = new String(renderer.renderToBytes(stamped)), second = new String(renderer.renderToBytes(stamped));
+        if (!first.contains("data-render=\"1\"") || !second.contains("data-render=\"2\"")) {
+            throw new IllegalStateException("Deferred attribute not evaluated per render");
+        }
+        System.out.println("✓ Supplier attributes evaluated at render time: " + second.substring(0, second.indexOf('>') + 1));
+
+        // numeric attributes stay doubles, so a precision setting treats both kinds of element alike
+        var rounded = new Utf8ByteRenderer().withNumberPrecision(2);
+        var lazyBar = DslLazyContainerElement.of("g", () -> IntStream.range(0, 2).mapToObj(LazyChildrenDemo::row)).with(x(1 / 3.0), y(0.1 + 0.2));
+        var eagerBar = g(x(1 / 3.0), y(0.1 + 0.2), row(0), row(1));
+        String bar = new String(rounded.renderToBytes(lazyBar));
+        check(bar.equals(new String(rounded.renderToBytes(eagerBar))), "lazy and eager numbers");
+        System.out.println("✓ Numeric attributes of a lazy element format like an eager one's: " + bar.substring(0, bar.indexOf('>') + 1));
+
+        // materialized cost vs streaming from a cursor
+        long before = usedAfterGc();
+        var all = ul(className("orders"));
+        for (int i = 0; i < rows; i++) all.addChild(row(i));
+        long materializedBytes = usedAfterGc() - before;
+        if (all.childNodes().size() != rows) throw new IllegalStateException();
+        all = null;
+        System.out.printf("%nMaterialized %,d row list retains %,d MB%n", rows, materializedBytes >> 20);
+
+        int[] sampleAt = {1, rows / 2, rows - 1};
+        long[] samples = new long[3];
+        var out = new CountingChannel();
+        long start = System.nanoTime();
+        renderer.render(html(body(DslLazyContainerElement.of("ul", cursor(rows, sampleAt, samples)).with(className("orders")))), out);
+        long nanos = System.nanoTime() - start;
+        System.out.printf("Cursor-driven render: %,d rows, %,d MB in %.2f s%n", rows, out.bytes >> 20, nanos / 1e9);
+        System.out.printf("Heap used after GC at row 1 / middle / end: %,d KB / %,d KB / %,d KB%n",
+                samples[0] >> 10, samples[1] >> 10, samples[2] >> 10);
+        if (samples[2] - samples[0] > 8 << 20) throw new IllegalStateException("Heap grew while rendering");
+        System.out.println("✓ Resident memory stays flat while rows stream through");
+    }
+
+    private static DslLazyContainerElement oneShot() {
+        return DslLazyContainerElement.of("ul", IntStream.range(0, 1_000).mapToObj(LazyChildrenDemo::row)).with(className("orders"));
+    }
+}
@@ -1,6 +1,7 @@
 package luvx.examples;
 
 import luvx.examples.dsl.*;
+import luvx.examples.render.MarkupSerializer;
 import luvx.ftype.*;
 
 import static luvx.examples.dsl.DslElements.*;
@@ -53,7 +54,7 @@ public class LuvMLStyleDslDemo {
     /**
      * Document styles - separate function for clean organization
      */
-    private static DslContainerElement createStyles() {
+    static DslContainerElement createStyles() {
         return style(
             "body { font-family: 'Arial', sans-serif; margin: 0; padding: 20px; }",
             ".container { max-width: 1200px; margin: 0 auto; }",
@@ -80,7 +81,7 @@ public class LuvMLStyleDslDemo {
     /**
      * Header section - separate function for modularity
      */
-    private static DslContainerElement createHeader() {
+    static DslContainerElement createHeader() {
         return header(className("header"),
             h1("LuvX: Revolutionary Java Design"),
             p(
@@ -96,7 +97,7 @@ public class LuvMLStyleDslDemo {
     /**
      * Main content - broken into logical sections
      */
-    private static DslContainerElement createMainContent() {
+    static DslContainerElement createMainContent() {
         return DslElements.main(
             createUnionTypesSection(),
             createSelfPatternSection(), 
@@ -185,7 +186,7 @@ public class LuvMLStyleDslDemo {
     /**
      * Footer section
      */
-    private static DslContainerElement createFooter() {
+    static DslContainerElement createFooter() {
         return footer(
             p("Built with LuvX - Revolutionary Java Design Pattern"),
             div(
@@ -301,29 +302,24 @@ public class LuvMLStyleDslDemo {
     
     private static DslContainerElement createSVGFeatureBoxes() {
         return g(
-            // Union Types box
-            g(transform("translate(50, 200)"),
-                rect(x(0), y(0), width(90), height(60), fill("rgba(255,255,255,0.1)"), stroke("white")),
-                textSvg(45, 20, "Union").withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "12"),
-                textSvg(45, 35, "Types").withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "12"), 
-                textSvg(45, 50, "A | B").withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "10")
-            ),
-            
-            // self() Pattern box
-            g(transform("translate(160, 200)"),
-                rect(x(0), y(0), width(90), height(60), fill("rgba(255,255,255,0.1)"), stroke("white")),
-                textSvg(45, 20, "self()").withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "12"),
-                textSvg(45, 35, "Pattern").withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "12"),
-                textSvg(45, 50, "I self()").withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "10")
-            ),
-            
-            // Zero Cast box  
-            g(transform("translate(270, 200)"),
-                rect(x(0), y(0), width(90), height(60), fill("rgba(255,255,255,0.1)"), stroke("white")),
-                textSvg(45, 20, "Zero").withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "12"),
-                textSvg(45, 35, "Cast").withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "12"),
-                textSvg(45, 50, "var x = t.text()").withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "10")
-            )
+            featureBox(50, 200, "Union", "Types", "A | B"),
+            featureBox(160, 200, "self()", "Pattern", "I self()"),
+            featureBox(270, 200, "Zero", "Cast", "var x = t.text()")
+        );
+    }
+
+    static DslContainerElement featureBox(double x, double y, String title, String subtitle, String code) {
+        return featureBox(transform("translate(" + DslNumbers.toString(x) + ", " + DslNumbers.toString(y) + ")"),
+                text(title), text(subtitle), text(code));
+    }
+
+    /** One box - with DslSlot / slotFormat holes it is the definition of a MarkupComponent */
+    static DslContainerElement featureBox(DslAttribute transform, DslFrag_I title, DslFrag_I subtitle, DslFrag_I code) {
+        return g(transform,
+            rect(x(0), y(0), width(90), height(60), fill("rgba(255,255,255,0.1)"), stroke("white")),
+            textSvg(45, 20, title).withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "12"),
+            textSvg(45, 35, subtitle).withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "12"),
+            textSvg(45, 50, code).withAttribute("text-anchor", "middle").withAttribute("fill", "white").withAttribute("font-size", "10")
         );
     }
 
@@ -384,6 +380,22 @@ public class LuvMLStyleDslDemo {
             ))
         );
         System.out.println("Multi-line element: " + discriminateElement(multiLineDemo));
+        
+        // Trees render straight to markup - no string concatenation in user code
+        System.out.println("\n=== Streaming Markup Serialization ===");
+        System.out.println("HTML markup: " + MarkupSerializer.COMPACT.toMarkup(htmlDoc).length() + " chars");
+        System.out.println(MarkupSerializer.PRETTY.toMarkup(svgGraphic));
+        System.out.println(MarkupSerializer.PRETTY.toMarkup(multiLineDemo));
+        
+        // Freeze once, share across requests, personalize by path copying
+        System.out.println("\n=== Frozen, Shared Trees ===");
+        var sharedDoc = createBeautifulDocument().freeze();
+        var personalized = sharedDoc.copyWithNodeAt(new int[] {0, 0}, // html > head > title
+                                                    node -> title("Welcome back - LuvX Revolutionary Design"));
+        System.out.println("Frozen document: " + discriminateElement(sharedDoc) + ", frozen=" + sharedDoc.isFrozen());
+        var personalizedHead = (DslContainerElement) personalized.childNodes().get(0);
+        System.out.println("Personalized title: " + MarkupSerializer.COMPACT.toMarkup(personalizedHead.childNodes().get(0)));
+        System.out.println("Body shared with original: " + (personalized.childNodes().get(1) == sharedDoc.childNodes().get(1)));
     }
     
     private static String discriminateElement(DslFrag_I element) {
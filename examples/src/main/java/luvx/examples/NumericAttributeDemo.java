@@ -0,0 +1,157 @@
+package luvx.examples;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.dsl.DslNumbers;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.MarkupSerializer;
+import luvx.examples.render.ParallelRenderer;
+import luvx.examples.render.Utf8ByteRenderer;
+import luvx.examples.render.Utf8MarkupSink;
+import luvx.examples.snapshot.Snapshots;
+import luvx.examples.store.DocumentStoreWriter;
+import luvx.examples.store.MappedDocumentStore;
+import luvx.examples.stream.DslStream;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Numeric attributes: width(400), cx(12.5) ... keep their double and the renderers format it
+ * into the output - shortest round trip, or a fixed precision. Checks the formatter against
+ * Double.toString on random doubles, then measures output size and render-time allocation for
+ * a chart of many shapes.
+ */
+public class NumericAttributeDemo {
+
+    public static void main(String[] args) throws IOException {
+        int shapes = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        System.out.println("Numeric Attributes");
+        System.out.println("==================");
+
+        var logo = svg(width(400), height(300), viewBox(0, 0, 400, 300), circle(cx(200), cy(150), r(12.5), strokeWidth(0.1)));
+        String markup = MarkupSerializer.COMPACT.toMarkup(logo);
+        check(markup.equals("<svg width=\"400\" height=\"300\" viewBox=\"0 0 400 300\"><circle cx=\"200\" cy=\"150\" r=\"12.5\" stroke-width=\"0.1\"></circle></svg>"), markup);
+        check(Arrays.equals(new Utf8ByteRenderer().renderToBytes(logo), markup.getBytes(StandardCharsets.UTF_8)), "renderers agree");
+        check(logo.attr("width").equals("400"), "attr() formats");
+        System.out.println("✓ " + markup);
+
+        // shortest round trip: same value as Double.toString, no ".0", never longer
+        var random = new SplittableRandom(7);
+        byte[] digits = new byte[DslNumbers.MAX_LENGTH];
+        for (int round = 0; round < 1_000_000; round++) {
+            double v = switch (round % 4) {
+                case 0 -> Double.longBitsToDouble(random.nextLong()); // anything, NaN included
+                case 1 -> random.nextInt(-100_000, 100_000) / 100.0;  // typical coordinates
+                case 2 -> random.nextDouble() * 1000;                 // 16-17 digit fractions
+                default -> random.nextInt(-5000, 5000) * Math.pow(10, random.nextInt(-12, 25));
+            };
+            String s = new String(digits, 0, DslNumbers.write(v, -1, digits, 0), StandardCharsets.ISO_8859_1);
+            if (v != v || Double.isInfinite(v)) {
+                check(s.equals(Double.toString(v)), s);
+                continue;
+            }
+            check(Double.parseDouble(s) == v, v + " -> " + s);
+            check(v == 0 || new BigDecimal(s).compareTo(new BigDecimal(Double.toString(v))) == 0, v + " -> " + s + " differs from Double.toString");
+            check(!s.endsWith(".0") && !s.contains(".0e") && (s.length() <= Double.toString(v).length() || v == Math.rint(v)), v + " -> " + s);
+        }
+        System.out.println("✓ 1,000,000 random doubles round trip, with the digits of Double.toString and never longer (whole numbers stay plain)");
+        for (double v : new double[] {400.0, -0.0, 0.1 + 0.2, 1e21, 1.5e-9, 123456.789, -2.5}) {
+            System.out.printf("  %-22s -> %s%n", Double.toString(v), DslNumbers.toString(v));
+        }
+
+        // fixed precision shrinks computed coordinates further
+        check(DslNumbers.toString(3.14159, 2).equals("3.14"), "3.14");
+        check(DslNumbers.toString(2.5, 2).equals("2.5"), "trailing zeros dropped");
+        check(DslNumbers.toString(-0.001, 2).equals("0"), "no -0");
+        check(DslNumbers.toString(1e20, 2).equals("1e20"), "too large to round");
+        var point = circle(cx(1 / 3.0), cy(2 / 3.0), r(10));
+        String rounded = MarkupSerializer.COMPACT.withNumberPrecision(2).toMarkup(point);
+        check(rounded.equals("<circle cx=\"0.33\" cy=\"0.67\" r=\"10\"></circle>"), rounded);
+        check(Arrays.equals(new Utf8ByteRenderer().withNumberPrecision(2).renderToBytes(point), rounded.getBytes(StandardCharsets.UTF_8)), "precision agrees");
+        System.out.println("✓ Fixed precision: " + MarkupSerializer.COMPACT.toMarkup(point) + " -> " + rounded);
+
+        // snapshots and the store keep the double, so the precision still applies after a round trip
+        var precise = new Utf8ByteRenderer().withNumberPrecision(2);
+        check(Arrays.equals(precise.renderToBytes(Snapshots.fromBytes(Snapshots.toBytes(point))), rounded.getBytes(StandardCharsets.UTF_8)), "snapshot keeps numbers");
+        var storeFile = Files.createTempFile("luvx-numbers", ".store");
+        try {
+            try (var store = DocumentStoreWriter.create(storeFile)) {
+                store.add("point", point);
+            }
+            check(Arrays.equals(precise.renderToBytes(MappedDocumentStore.open(storeFile).document("point")), rounded.getBytes(StandardCharsets.UTF_8)), "store keeps numbers");
+        } finally {
+            Files.delete(storeFile);
+        }
+        System.out.println("✓ Snapshots and the document store keep numbers as doubles - rounded the same after a round trip");
+
+        // streaming writes the same bytes
+        var streamed = new ByteArrayChannel();
+        try (var sink = new Utf8MarkupSink(streamed)) {
+            DslStream.write(sink, c -> c.svg(s -> {
+                s.attr(width(400), height(300), viewBox(0, 0, 400, 300)).attr("data-scale", 1);
+                s.circle(cx(200), cy(150), r(12.5), strokeWidth(0.1));
+            }));
+        }
+        var tree = svg(width(400), height(300), viewBox(0, 0, 400, 300), circle(cx(200), cy(150), r(12.5), strokeWidth(0.1))).setAttribute("data-scale", 1);
+        check(Arrays.equals(streamed.toByteArray(), new Utf8ByteRenderer().renderToBytes(tree)), "stream");
+        System.out.println("✓ DslStream writes numeric attributes like the node renderer");
+
+        // a chart: output size and what rendering allocates
+        var chart = chart(shapes);
+        var renderer = new Utf8ByteRenderer();
+        var rounding = new Utf8ByteRenderer().withNumberPrecision(1);
+        var out = new ByteArrayChannel(1 << 20);
+        long shortest = renderer.render(chart, out.reset());
+        long fixed = rounding.render(chart, out.reset());
+        check(Arrays.equals(new ParallelRenderer(ForkJoinPool.commonPool(), 500).withNumberPrecision(1).renderToBytes(chart),
+                rounding.renderToBytes(chart)), "parallel workers round too");
+        long before = MarkupSerializer.COMPACT.toMarkup(legacyChart(shapes)).getBytes(StandardCharsets.UTF_8).length;
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().threadId();
+        for (int i = 0; i < 5; i++) renderer.render(chart, out.reset()); // warm-up
+        long allocatedBefore = threads.getThreadAllocatedBytes(tid);
+        long start = System.nanoTime();
+        renderer.render(chart, out.reset());
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(tid) - allocatedBefore;
+
+        System.out.printf("%nChart with %,d circles (3 coordinates each):%n", shapes);
+        System.out.printf("  String.valueOf(double) values: %,10d bytes%n", before);
+        System.out.printf("  shortest round trip:           %,10d bytes (%.0f%% smaller)%n", shortest, 100.0 * (before - shortest) / before);
+        System.out.printf("  1 decimal:                     %,10d bytes (%.0f%% smaller)%n", fixed, 100.0 * (before - fixed) / before);
+        System.out.printf("  render: %.1f ms, %,d bytes allocated%n", nanos / 1e6, allocated);
+        check(shortest < before && fixed < shortest, "smaller output");
+        check(allocated < 64 * 1024, "numbers formatted without allocating");
+        System.out.println("✓ Numbers go straight into the output buffer - no String per attribute");
+    }
+
+    static DslContainerElement chart(int shapes) {
+        var chart = svg(width(4000), height(3000), viewBox(0, 0, 4000, 3000));
+        for (int i = 0; i < shapes; i++) {
+            chart.addChild(circle(cx(i % 400 * 10 + 0.5), cy(i * 0.037), r(2 + i % 7 / 4.0)));
+        }
+        return chart;
+    }
+
+    /** The same chart the way the attributes used to be made - String.valueOf per value */
+    static DslContainerElement legacyChart(int shapes) {
+        var chart = svg().withAttribute("width", "4000.0").withAttribute("height", "3000.0").withAttribute("viewBox", "0.0 0.0 4000.0 3000.0");
+        for (int i = 0; i < shapes; i++) {
+            chart.addChild(circle().withAttribute("cx", String.valueOf(i % 400 * 10 + 0.5))
+                    .withAttribute("cy", String.valueOf(i * 0.037))
+                    .withAttribute("r", String.valueOf(2 + i % 7 / 4.0)));
+        }
+        return chart;
+    }
+}
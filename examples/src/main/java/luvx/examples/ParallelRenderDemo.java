@@ -0,0 +1,69 @@
+package luvx.examples;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import luvx.examples.dsl.*;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.ParallelRenderer;
+import luvx.examples.render.Utf8ByteRenderer;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * A wide report (hundreds of independent sections) rendered by the sequential Utf8ByteRenderer
+ * and by ParallelRenderer - output must match byte for byte on 1, 2 and 4 workers. Times are
+ * printed for pools of up to as many workers as there are cores.
+ */
+public class ParallelRenderDemo {
+
+    static DslContainerElement createReport(int sections, int rowsPerSection) {
+        var report = DslElements.main(id("report"));
+        for (int s = 0; s < sections; s++) {
+            var section = section(id("s" + s), className("report-section"), h2("Section " + s + " – Q" + (s % 4 + 1)));
+            for (int r = 0; r < rowsPerSection; r++) {
+                section.addChild(div(className(r % 2 == 0 ? "row even" : "row odd"),
+                    span("Item " + s + "." + r),
+                    span(text("Revenue: "), styledText("€" + (s * 1_000 + r * 7), "font-weight: bold")),
+                    p("Notes for item " + r + " with <markup> & \"quotes\" that need escaping")));
+            }
+            report.addChild(section);
+        }
+        return report.freeze();
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Fork-Join Parallel Rendering");
+        System.out.println("============================");
+
+        var report = createReport(400, 60);
+        byte[] expected = new Utf8ByteRenderer().renderToBytes(report);
+        var channel = new ByteArrayChannel(expected.length);
+
+        var sequential = new Utf8ByteRenderer();
+        long baseline = bestOf(40, () -> sequential.render(report, channel.reset()));
+        System.out.printf("Report: %,d bytes, sequential %.2f ms%n%n", expected.length, baseline / 1e6);
+
+        // output must not depend on the pool size, whatever this machine has
+        for (int workers : new int[] {1, 2, 4}) {
+            try (var pool = new ForkJoinPool(workers)) {
+                var parallel = new ParallelRenderer(pool, ParallelRenderer.DEFAULT_SPLIT_THRESHOLD);
+                check(Arrays.equals(expected, parallel.renderToBytes(report)), "parallel output with " + workers + " workers");
+            }
+        }
+        System.out.println("✓ Parallel output byte-identical to the sequential renderer with 1, 2 and 4 workers");
+
+        // timings only up to the cores there are - more workers than cores measures the scheduler
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%nworkers   time (ms)   vs sequential   (%d core(s) available)%n", cores);
+        for (int workers = 1; workers <= cores; workers = workers < cores ? Math.min(cores, workers * 2) : cores + 1) {
+            try (var pool = new ForkJoinPool(workers)) {
+                var parallel = new ParallelRenderer(pool, ParallelRenderer.DEFAULT_SPLIT_THRESHOLD);
+                long nanos = bestOf(40, () -> parallel.render(report, channel.reset()));
+                System.out.printf("%7d   %9.2f   %12.2fx%n", workers, nanos / 1e6, (double) baseline / nanos);
+            }
+        }
+        if (cores == 1) System.out.println("One core: the table shows the task overhead only, not a speedup");
+    }
+}
@@ -0,0 +1,139 @@
+package luvx.examples;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import luvx.examples.dsl.DslPathData;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.MarkupSerializer;
+import luvx.examples.render.Utf8ByteRenderer;
+import luvx.examples.render.Utf8MarkupSink;
+import luvx.examples.stream.DslStream;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * path / polyline / polygon with geometry in primitive buffers (DslPathData). A 100k point
+ * series is encoded into the output at render time - absolute, relative, rounded - and each
+ * encoding is parsed back to check it still draws the same points.
+ */
+public class PathDataDemo {
+
+    private static final Pattern TOKEN = Pattern.compile("[MmLlCcQqZz]|-?(?:\\d+\\.?\\d*|\\.\\d+)(?:e-?\\d+)?");
+
+    public static void main(String[] args) throws IOException {
+        int points = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        System.out.println("SVG Path Data");
+        System.out.println("=============");
+
+        var shape = path(pathData().moveTo(10, 10).lineTo(90, 10).lineTo(90, 50.5)
+                        .quadTo(50, 90, 10, 50.5).curveTo(0, 40, 0.25, -20, 10, 10).close(), fill("#667eea"));
+        String markup = MarkupSerializer.COMPACT.toMarkup(shape);
+        check(markup.equals("<path d=\"M10 10 90 10 90 50.5Q50 90 10 50.5C0 40 .25-20 10 10Z\" fill=\"#667eea\"></path>"), markup);
+        check(Arrays.equals(new Utf8ByteRenderer().renderToBytes(shape), markup.getBytes(StandardCharsets.UTF_8)), "renderers agree");
+        System.out.println("✓ " + markup);
+
+        var triangle = polygon(DslPathData.points(0, 0, 10.5f, 0, 5, 8.66f), stroke("#333"));
+        String polygonMarkup = MarkupSerializer.COMPACT.toMarkup(triangle);
+        check(polygonMarkup.equals("<polygon points=\"0 0 10.5 0 5 8.66\" stroke=\"#333\"></polygon>"), polygonMarkup);
+        System.out.println("✓ " + polygonMarkup + "  (float coordinates, written with float digits)");
+
+        // a long series, one point per x
+        double[] xs = new double[points], ys = new double[points];
+        for (int i = 0; i < points; i++) {
+            xs[i] = i * 0.04;
+            ys[i] = 150 + 80 * Math.sin(i / 900.0) + 20 * Math.sin(i / 37.0);
+        }
+        var series = pathData().lineTo(xs, ys);
+
+        // what building d by hand used to look like
+        var handBuilt = new StringBuilder();
+        for (int i = 0; i < points; i++) handBuilt.append(i == 0 ? "M" : " L").append(xs[i]).append(' ').append(ys[i]);
+        long handBuiltBytes = handBuilt.length();
+
+        var renderer = new Utf8ByteRenderer();
+        var out = new ByteArrayChannel(1 << 22);
+        System.out.printf("%n%,d point line:%n", points);
+        System.out.printf("  hand-built d String:        %,10d bytes (and a %,d char temporary)%n", handBuiltBytes, handBuiltBytes);
+        long absolute = encode(renderer, out, series, xs, ys, 1e-9, "absolute");
+        long absoluteRounded = encode(renderer, out, series.precision(1), xs, ys, 0.05 + 1e-9, "absolute, 1 decimal");
+        long relativeRounded = encode(renderer, out, series.relative(), xs, ys, 0.05 + 1e-9, "relative, 1 decimal");
+        long relative = encode(renderer, out, series.precision(-1), xs, ys, 1e-6, "relative, shortest");
+        check(absolute < handBuiltBytes && absoluteRounded < absolute && relativeRounded < absoluteRounded, "each option shrinks the output");
+        check(relative > absolute, "full-precision deltas are long");
+        System.out.printf("  relative with 1 decimal is %.0f%% smaller than the hand-built String;%n", 100.0 * (handBuiltBytes - relativeRounded) / handBuiltBytes);
+        System.out.println("  unrounded, the deltas carry as many digits as the coordinates - relative needs a precision");
+        System.out.println("✓ Every encoding parses back to the same points - rounding errors don't accumulate");
+        series.precision(1);
+
+        var chart = svg(width(4000), height(300), path(series, stroke("#764ba2"), fill("none")));
+        check(MarkupSerializer.COMPACT.toMarkup(chart).equals(new String(renderer.renderToBytes(chart), StandardCharsets.UTF_8)), "serializer");
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().threadId();
+        for (int i = 0; i < 5; i++) renderer.render(chart, out.reset()); // warm-up
+        long allocatedBefore = threads.getThreadAllocatedBytes(tid);
+        long start = System.nanoTime();
+        long written = renderer.render(chart, out.reset());
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(tid) - allocatedBefore;
+        System.out.printf("%nRendered the chart (%,d bytes) in %.1f ms, %,d bytes allocated%n", written, nanos / 1e6, allocated);
+        check(allocated < 64 * 1024, "geometry encoded without allocating");
+        System.out.println("✓ Geometry goes from the double[] into the output buffer - no d String");
+
+        // the streaming DSL writes the same bytes
+        var streamed = new ByteArrayChannel();
+        try (var sink = new Utf8MarkupSink(streamed)) {
+            DslStream.write(sink, c -> c.svg(s -> {
+                s.attr(width(4000), height(300));
+                s.path(series, stroke("#764ba2"), fill("none"));
+            }));
+        }
+        check(Arrays.equals(streamed.toByteArray(), renderer.renderToBytes(chart)), "stream");
+        System.out.println("✓ DslStream path(...) writes the same bytes");
+    }
+
+    private static long encode(Utf8ByteRenderer renderer, ByteArrayChannel out, DslPathData data, double[] xs, double[] ys,
+                               double tolerance, String label) throws IOException {
+        long bytes = renderer.render(path(data), out.reset());
+        String markup = new String(out.toByteArray(), StandardCharsets.US_ASCII);
+        String d = markup.substring(markup.indexOf("d=\"") + 3, markup.lastIndexOf('"'));
+        var drawn = endPoints(d);
+        check(drawn.size() == xs.length * 2, label + " point count");
+        for (int i = 0; i < xs.length; i++) {
+            check(Math.abs(drawn.get(2 * i) - xs[i]) <= tolerance && Math.abs(drawn.get(2 * i + 1) - ys[i]) <= tolerance,
+                    label + " point " + i + " drawn at " + drawn.get(2 * i) + "," + drawn.get(2 * i + 1));
+        }
+        System.out.printf("  %-27s %,10d bytes  %s...%n", label + ":", bytes, d.substring(0, 40));
+        return bytes;
+    }
+
+    /** Absolute end points of an M / L path, the way a browser reads it */
+    private static List<Double> endPoints(String d) {
+        var points = new ArrayList<Double>();
+        var matcher = TOKEN.matcher(d);
+        char command = 0;
+        double x = 0, y = 0;
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (Character.isLetter(token.charAt(0))) {
+                command = token.charAt(0);
+                continue;
+            }
+            matcher.find();
+            double a = Double.parseDouble(token), b = Double.parseDouble(matcher.group());
+            boolean relative = Character.isLowerCase(command);
+            x = relative ? x + a : a;
+            y = relative ? y + b : b;
+            points.add(x);
+            points.add(y);
+        }
+        return points;
+    }
+}
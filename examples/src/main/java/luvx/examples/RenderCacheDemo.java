@@ -0,0 +1,111 @@
+package luvx.examples;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import luvx.demo.DemoText;
+import luvx.demo.SuperElement;
+import luvx.examples.dsl.*;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.ContentHash;
+import luvx.examples.render.RenderCache;
+import luvx.examples.render.Utf8ByteRenderer;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Content-addressed fragment caching: Cacheable widgets (SuperElement) rendered through a
+ * Utf8ByteRenderer with a RenderCache attached.
+ */
+public class RenderCacheDemo {
+
+    /** A sidebar widget - the same content is rebuilt for every page, as real code would */
+    static SuperElement createWidget(String title, int items) {
+        var widget = new SuperElement("aside");
+        widget.attributes().put("class", "widget");
+        widget.addChild(new DemoText(title));
+        for (int i = 0; i < items; i++) {
+            widget.addChild(new DemoText(" item " + i + " <" + title + ">"));
+        }
+        return widget;
+    }
+
+    static DslContainerElement createPage(int widgets) {
+        var page = div(className("container"), h1("Dashboard"));
+        for (int i = 0; i < widgets; i++) {
+            page.addChild(createWidget("Widget " + (i % 4), 50)); // only 4 distinct widgets
+        }
+        return page;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Content-Addressed Render Cache");
+        System.out.println("==============================");
+
+        // equal trees, different instances -> same key
+        System.out.println("Key A: " + ContentHash.of(createWidget("Widget 0", 50)));
+        System.out.println("Key B: " + ContentHash.of(createWidget("Widget 0", 50)));
+        System.out.println("Key C: " + ContentHash.of(createWidget("Widget 1", 50)));
+
+        // numbers and path data are hashed as stored: a big chart key formats nothing
+        double[] xs = new double[10_000], ys = new double[10_000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = i * 0.5;
+            ys[i] = Math.sin(i / 100.0) * 40;
+        }
+        var chart = path(DslPathData.create().lineTo(xs, ys)).withAttribute("stroke-width", 1.5);
+        var key = ContentHash.of(chart);
+        check(key.equals(ContentHash.of(path(DslPathData.create().lineTo(xs, ys)).withAttribute("stroke-width", 1.5))), "equal paths");
+        check(!key.equals(ContentHash.of(path(DslPathData.create().lineTo(xs, ys)).withAttribute("stroke-width", 2))), "number");
+        ys[5_000] += 1e-9;
+        check(!key.equals(ContentHash.of(path(DslPathData.create().lineTo(xs, ys)).withAttribute("stroke-width", 1.5))), "moved point");
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().threadId();
+        for (int i = 0; i < 1_000; i++) ContentHash.of(chart); // warm up
+        long allocated = threads.getThreadAllocatedBytes(tid);
+        ContentHash.of(chart);
+        allocated = threads.getThreadAllocatedBytes(tid) - allocated;
+        check(allocated < 4096, "hashing a path allocated " + allocated + " bytes");
+        System.out.printf("✓ A 10,000-point path hashes from its coordinates: %d bytes allocated per key%n", allocated);
+
+        var page = createPage(40);
+        var cache = new RenderCache(1024 * 1024);
+        var plain = new Utf8ByteRenderer();
+        var cached = new Utf8ByteRenderer().withCache(cache);
+
+        byte[] expected = plain.renderToBytes(page);
+        if (!Arrays.equals(expected, cached.renderToBytes(page)) || !Arrays.equals(expected, cached.renderToBytes(page))) {
+            throw new IllegalStateException("Cached render differs from plain render");
+        }
+        System.out.println("\n✓ Cached output identical to plain render (" + expected.length + " bytes)");
+        System.out.println("After 2 renders: " + cache.stats());
+
+        var channel = new ByteArrayChannel(expected.length);
+        long plainNanos = bestOf(2_000, () -> plain.render(page, channel.reset()));
+        long cachedNanos = bestOf(2_000, () -> cached.render(page, channel.reset()));
+        System.out.printf("%nPer render: plain %.1f µs, cached %.1f µs (%.1fx), hit ratio %.3f%n",
+                plainNanos / 1e3, cachedNanos / 1e3, (double) plainNanos / cachedNanos, cache.stats().hitRatio());
+
+        // byte budget smaller than the 4 widgets -> LRU evictions
+        var tiny = new RenderCache(2 * 1024);
+        new Utf8ByteRenderer().withCache(tiny).renderToBytes(page);
+        System.out.println("\nWith a 2 KiB budget: " + tiny.stats());
+
+        // single flight: 16 threads render the same cold page at once
+        var cold = new RenderCache(1024 * 1024);
+        var start = new CountDownLatch(1);
+        try (var pool = Executors.newFixedThreadPool(16)) {
+            for (int t = 0; t < 16; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    return new Utf8ByteRenderer().withCache(cold).renderToBytes(page);
+                });
+            }
+            start.countDown();
+        }
+        System.out.println("16 concurrent cold renders: " + cold.stats() + " - misses == distinct widgets (4)");
+    }
+}
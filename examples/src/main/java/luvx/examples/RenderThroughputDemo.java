@@ -0,0 +1,107 @@
+package luvx.examples;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import luvx.examples.dsl.*;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.MarkupSerializer;
+import luvx.examples.render.Utf8ByteRenderer;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+
+/**
+ * Rough bytes/sec comparison of the two ways to get markup bytes out of a DSL tree:
+ *
+ * - baseline: MarkupSerializer into a StringBuilder, then toString().getBytes(UTF_8)
+ * - Utf8ByteRenderer: straight into a reusable direct ByteBuffer flushed to a channel
+ *
+ * Plain System.nanoTime() loops with warmup - good enough to see the order of magnitude,
+ * not a substitute for a proper harness.
+ */
+public class RenderThroughputDemo {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int sections = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+
+        System.out.println("Render Throughput: StringBuilder + getBytes vs Utf8ByteRenderer");
+        System.out.println("================================================================");
+
+        measure("createBeautifulDocument()", LuvMLStyleDslDemo.createBeautifulDocument(), 20_000);
+        measure("createBeautifulSVG()", LuvMLStyleDslDemo.createBeautifulSVG(), 20_000);
+        measure("large page (" + sections + " sections)", createLargePage(sections), 20);
+    }
+
+    /**
+     * A report-like page: many sections with mixed ASCII / non-ASCII text and attributes
+     */
+    static DslContainerElement createLargePage(int sections) {
+        var content = new DslFrag_I[sections];
+        for (int i = 0; i < sections; i++) {
+            content[i] = section(className("revolution"), id("section-" + i),
+                h2("Section " + i + " – überblick"),
+                p(text("Row "), styledText(String.valueOf(i), "font-weight: bold"), text(" of the <generated> report & more")),
+                ul(
+                    li("first item"),
+                    li("second item"),
+                    li("third item ✓")
+                ),
+                div(className("code-block"), multiLineTexts("a < b", "b > c", "\"quoted\""))
+            );
+        }
+        return html(head(title("Large report")), body(DslElements.main(content)));
+    }
+
+    private static void measure(String label, DslContainerElement tree, int iterations) {
+        var renderer = new Utf8ByteRenderer();
+        var channel = new ByteArrayChannel(64 * 1024);
+
+        // both must produce the same bytes before we compare speed
+        byte[] expected = MarkupSerializer.COMPACT.toMarkup(tree).getBytes(StandardCharsets.UTF_8);
+        if (!Arrays.equals(expected, renderer.renderToBytes(tree))) {
+            throw new IllegalStateException("Utf8ByteRenderer output differs from MarkupSerializer for " + label);
+        }
+
+        Runnable baseline = () -> {
+            var sb = new StringBuilder(expected.length);
+            try {
+                MarkupSerializer.COMPACT.serialize(tree, sb);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (sb.toString().getBytes(StandardCharsets.UTF_8).length != expected.length) throw new IllegalStateException();
+        };
+        Runnable direct = () -> {
+            try {
+                if (renderer.render(tree, channel.reset()) != expected.length) throw new IllegalStateException();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        double baselineRate = bytesPerSecond(baseline, iterations, expected.length);
+        double directRate = bytesPerSecond(direct, iterations, expected.length);
+
+        System.out.printf("%n%s - %,d bytes per render%n", label, expected.length);
+        System.out.printf("  StringBuilder + getBytes(UTF_8): %,10.1f MB/s%n", baselineRate / 1e6);
+        System.out.printf("  Utf8ByteRenderer -> channel:     %,10.1f MB/s  (%.2fx)%n", directRate / 1e6, directRate / baselineRate);
+    }
+
+    private static double bytesPerSecond(Runnable render, int iterations, int bytesPerRender) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < iterations; i++) render.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) render.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) bytesPerRender * iterations / (best / 1e9);
+    }
+}
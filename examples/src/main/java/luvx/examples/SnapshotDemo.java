@@ -0,0 +1,199 @@
+package luvx.examples;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+import luvx.Element_I;
+import luvx.Node_I;
+import luvx.Text_I;
+import luvx.VoidElement_I;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.composable.HasTextContent;
+import luvx.examples.dsl.*;
+import luvx.examples.render.Utf8ByteRenderer;
+import luvx.examples.snapshot.Snapshots;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Warm start from binary snapshots: the showcase document, its SVG and a big report are
+ * snapshotted, loaded back and compared - rendering must match byte for byte - and load
+ * time is set against rebuilding through the DSL and against Java serialization.
+ *
+ * The DSL types are not Serializable, so the Java serialization baseline round-trips an
+ * equivalent Serializable mirror (tag, LinkedHashMap attributes, ArrayList children) and
+ * converts it back into DSL nodes.
+ */
+public class SnapshotDemo {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Binary Snapshots for Warm Start");
+        System.out.println("===============================");
+
+        var renderer = new Utf8ByteRenderer();
+        compare(renderer, "showcase document", LuvMLStyleDslDemo::createBeautifulDocument);
+        compare(renderer, "showcase SVG", LuvMLStyleDslDemo::createBeautifulSVG);
+        compare(renderer, "report 400×60", () -> ParallelRenderDemo.createReport(400, 60));
+
+        // template holes survive the trip
+        var template = div(slot("greeting", "Hello"), a(slotAttr("href", "link"), "more"));
+        var loaded = (DslContainerElement) Snapshots.fromBytes(Snapshots.toBytes(template));
+        if (!(loaded.childNodes().get(0) instanceof DslSlot slot) || !slot.name().equals("greeting")
+                || !"link".equals(DslSlot.slotNameOf(((DslContainerElement) loaded.childNodes().get(1)).attr("href")))) {
+            throw new IllegalStateException("Template slots lost in the snapshot");
+        }
+        System.out.println("\nSmall trees built from string literals rebuild faster than any decoder can run - snapshots");
+        System.out.println("pay off for big, data-derived trees, and for shipping trees between nodes.");
+        System.out.println("\n✓ DslSlot text and attribute holes round-trip");
+
+        // every truncation and single-byte corruption either loads or fails with an IOException
+        byte[] snapshot = Snapshots.toBytes(LuvMLStyleDslDemo.createBeautifulDocument());
+        int rejected = 0;
+        for (int at = 0; at < snapshot.length; at++) {
+            var corrupt = snapshot.clone();
+            corrupt[at] = (byte) ~corrupt[at];
+            for (var bytes : new byte[][] {Arrays.copyOf(snapshot, at), corrupt}) {
+                try {
+                    Snapshots.fromBytes(bytes);
+                } catch (UncheckedIOException expected) {
+                    rejected++;
+                }
+            }
+        }
+        System.out.printf("✓ %,d truncated and corrupted copies: %,d rejected with an IOException, none with anything else%n",
+                2 * snapshot.length, rejected);
+
+        // warm start: first call builds and writes the snapshot, later calls load it
+        var file = Files.createTempFile("luvx-showcase", ".snapshot");
+        Files.delete(file);
+        try {
+            int[] builds = {0};
+            Supplier<Node_I<?>> build = () -> {
+                builds[0]++;
+                return LuvMLStyleDslDemo.createBeautifulDocument();
+            };
+            var cold = Snapshots.loadOrBuild(file, build);
+            var warm = Snapshots.loadOrBuild(file, build);
+            if (builds[0] != 1 || !Arrays.equals(renderer.renderToBytes(cold), renderer.renderToBytes(warm))) {
+                throw new IllegalStateException("Warm start did not load the snapshot");
+            }
+            var good = Files.readAllBytes(file);
+            byte[][] damaged = {
+                    {1, 2, 3},
+                    Arrays.copyOf(good, good.length / 2),
+                    {'L', 'U', 'V', 'S', 1, 3, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}}; // a 2 GB tag name
+            for (var bytes : damaged) {
+                Files.write(file, bytes); // rebuilt, not thrown
+                Snapshots.loadOrBuild(file, build);
+            }
+            if (builds[0] != 1 + damaged.length) throw new IllegalStateException("Damaged snapshot was not rebuilt");
+            System.out.printf("✓ Warm start: built once, then loaded from %s (%,d bytes); damaged files rebuilt%n",
+                    file.getFileName(), Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void compare(Utf8ByteRenderer renderer, String label, Supplier<? extends Node_I<?>> build) throws Exception {
+        var tree = build.get();
+        byte[] snapshot = Snapshots.toBytes(tree);
+        byte[] javaSerialized = javaSerialize(Mirror.of(tree));
+        byte[] expected = renderer.renderToBytes(tree);
+        if (!Arrays.equals(expected, renderer.renderToBytes(Snapshots.fromBytes(snapshot)))
+                || !Arrays.equals(expected, renderer.renderToBytes(javaDeserialize(javaSerialized).toNode()))) {
+            throw new IllegalStateException(label + ": round trip renders differently");
+        }
+
+        long rebuild = bestOf(30, 1_000, build::get);
+        long load = bestOf(30, 1_000, () -> Snapshots.fromBytes(snapshot));
+        long java = bestOf(30, 1_000, () -> javaDeserialize(javaSerialized).toNode());
+        System.out.printf("%n%s (%,d bytes as HTML)%n", label, expected.length);
+        System.out.printf("  rebuild via DSL       %8.1f µs%n", rebuild / 1e3);
+        System.out.printf("  snapshot load         %8.1f µs  %,9d bytes  (%.1fx rebuild speed)%n", load / 1e3, snapshot.length, (double) rebuild / load);
+        System.out.printf("  Java serialization    %8.1f µs  %,9d bytes%n", java / 1e3, javaSerialized.length);
+    }
+
+    // --- Java serialization baseline ---
+
+    static final class Mirror implements Serializable {
+        private static final long serialVersionUID = 1L;
+        static final byte TEXT = 0, CONTAINER = 1, VOID = 2, STYLED = 3;
+
+        byte kind;
+        String tag, text;
+        LinkedHashMap<String, String> attributes;
+        ArrayList<Mirror> children;
+
+        static Mirror of(Node_I<?> node) {
+            var mirror = new Mirror();
+            if (node instanceof Text_I<?> text) {
+                mirror.kind = TEXT;
+                mirror.text = text.text();
+                return mirror;
+            }
+            var element = (Element_I<?>) node;
+            mirror.tag = element.tagName();
+            mirror.attributes = element instanceof HasAttributes<?> a ? new LinkedHashMap<>(a.attributes()) : new LinkedHashMap<>();
+            if (element instanceof VoidElement_I<?>) {
+                mirror.kind = VOID;
+                if (element instanceof HasTextContent<?> hasText) {
+                    mirror.kind = STYLED;
+                    mirror.text = hasText.textContent();
+                }
+            } else {
+                mirror.kind = CONTAINER;
+                mirror.children = new ArrayList<>();
+                for (var child : ((HasChildNodes<?>) element).childNodes()) mirror.children.add(of(child));
+            }
+            return mirror;
+        }
+
+        Node_I<?> toNode() {
+            switch (kind) {
+                case TEXT: return new DslText(text);
+                case STYLED: return new DslStyledText(text, attributes.get("style"));
+                case VOID: {
+                    var element = new DslSelfClosingElement(tag);
+                    attributes.forEach(element::setAttribute);
+                    return element;
+                }
+                default: {
+                    var element = new DslContainerElement(tag);
+                    attributes.forEach(element::setAttribute);
+                    for (var child : children) element.addChild(child.toNode());
+                    return element;
+                }
+            }
+        }
+    }
+
+    private static byte[] javaSerialize(Mirror mirror) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(mirror);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Mirror javaDeserialize(byte[] bytes) {
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (Mirror) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package luvx.examples;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import luvx.examples.dsl.*;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.Utf8ByteRenderer;
+import luvx.examples.render.Utf8MarkupSink;
+import luvx.examples.stream.DslStream;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * The same chart page written with DslElements (a node tree, then rendered) and with
+ * DslStream (events straight to the channel) - bytes must match. Then a chart far too big
+ * to hold as a tree streams to a discarding channel with flat heap.
+ */
+public class StreamingDslDemo {
+
+    static final String[] FILLS = {"#667eea", "#764ba2", "#f093fb", "#4facfe", "#43e97b"};
+
+    static DslContainerElement chartTree(int bars) {
+        var chart = svg(width(4000), height(3000), viewBox(0, 0, 4000, 3000));
+        for (int i = 0; i < bars; i++) {
+            chart.addChild(rect(x(i % 400 * 10), y(i / 400 * 6), width(8), height(4 + i % 5), fill(FILLS[i % FILLS.length])));
+        }
+        return html(
+            head(title("Chart & <Legend>"), style("svg { border: 1px solid #ccc; }", "rect:hover { opacity: .5 }")),
+            body(
+                h1("Bars"),
+                p(text("Total: "), styledText(bars + " bars", "font-weight: bold"), br(), text("Drawn below.")),
+                chart));
+    }
+
+    static DslStream.Body chartStream(int bars) {
+        return c -> c.html(h -> {
+            h.head(hd -> hd.title("Chart & <Legend>").style("svg { border: 1px solid #ccc; }", "rect:hover { opacity: .5 }"));
+            h.body(b -> {
+                b.h1("Bars");
+                b.p(p -> p.text("Total: ").styledText(bars + " bars", "font-weight: bold").br().text("Drawn below."));
+                b.svg(s -> {
+                    s.attr(width(4000), height(3000), viewBox(0, 0, 4000, 3000));
+                    for (int i = 0; i < bars; i++) {
+                        s.rect(x(i % 400 * 10), y(i / 400 * 6), width(8), height(4 + i % 5), fill(FILLS[i % FILLS.length]));
+                    }
+                });
+            });
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        int hugeBars = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        System.out.println("Streaming DSL");
+        System.out.println("=============");
+
+        var renderer = new Utf8ByteRenderer();
+        byte[] expected = renderer.renderToBytes(chartTree(10_000));
+        var out = new ByteArrayChannel(expected.length);
+        try (var sink = new Utf8MarkupSink(renderer, out)) {
+            DslStream.write(sink, chartStream(10_000));
+        }
+        if (!Arrays.equals(expected, out.toByteArray())) {
+            throw new IllegalStateException("Streamed output differs from the rendered tree");
+        }
+        System.out.printf("✓ DslStream output byte-identical to the DslElements tree (%,d bytes)%n", expected.length);
+
+        // prebuilt trees can be embedded in a stream
+        out.reset();
+        try (var sink = new Utf8MarkupSink(renderer, out)) {
+            DslStream.write(sink, c -> c.div(d -> d.attr(id("wrap")).node(chartTree(3))));
+        }
+        if (!Arrays.equals(renderer.renderToBytes(div(id("wrap"), chartTree(3))), out.toByteArray())) {
+            throw new IllegalStateException("Embedded node renders differently");
+        }
+        System.out.println("✓ node(...) embeds a prebuilt tree in the stream");
+
+        // tree cost at a size that still fits, for comparison
+        int treeBars = 500_000;
+        long treeRetained = retained(() -> chartTree(treeBars));
+        System.out.printf("%nDslElements tree of %,d bars retains %,d MB (%.0f bytes/bar)%n",
+                treeBars, treeRetained >> 20, (double) treeRetained / treeBars);
+
+        // huge stream: sample the retained heap along the way - it must stay flat
+        var discard = new CountingChannel();
+        long[] samples = new long[3];
+        int[] sampleAt = {1, hugeBars / 2, hugeBars - 1};
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getThreadAllocatedBytes(Thread.currentThread().threadId());
+        long start = System.nanoTime();
+        try (var sink = new Utf8MarkupSink(renderer, discard)) {
+            DslStream.write(sink, c -> c.svg(s -> {
+                s.attr(width(4000), height(3000));
+                for (int i = 0, sample = 0; i < hugeBars; i++) {
+                    s.rect(x(i % 400 * 10), y(i / 400 % 500 * 6), width(8), height(4 + i % 5), fill(FILLS[i % FILLS.length]));
+                    if (sample < sampleAt.length && i == sampleAt[sample]) samples[sample++] = usedAfterGc();
+                }
+            }));
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().threadId()) - allocatedBefore;
+        System.out.printf("Streamed %,d bars: %,d MB in %.2f s (%.0f bars/s), %.0f transient bytes allocated/bar%n",
+                hugeBars, discard.bytes >> 20, nanos / 1e9, hugeBars / (nanos / 1e9), (double) allocated / hugeBars);
+        System.out.printf("Heap used after GC at bar 1 / middle / end: %,d KB / %,d KB / %,d KB%n",
+                samples[0] >> 10, samples[1] >> 10, samples[2] >> 10);
+        if (samples[2] - samples[0] > 8 << 20) throw new IllegalStateException("Heap grew while streaming");
+        System.out.println("✓ Heap stays flat while streaming - O(depth), not O(document)");
+    }
+}
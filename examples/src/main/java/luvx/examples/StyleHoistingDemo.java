@@ -0,0 +1,201 @@
+package luvx.examples;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import luvx.demo.FluentElement;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.dsl.DslLazyContainerElement;
+import luvx.examples.dsl.DslSelfClosingElement;
+import luvx.examples.dsl.DslStyleMap;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.MarkupSerializer;
+import luvx.examples.render.StyleHoisting;
+import luvx.examples.render.Utf8ByteRenderer;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Style hoisting: a report with thousands of identically styled spans rendered as is, and with
+ * repeated inline styles moved into generated classes. Checks every element ends up with the
+ * same declarations either way, then compares output size.
+ */
+public class StyleHoistingDemo {
+
+    private static final Pattern START_TAG = Pattern.compile("<([a-z]+)((?:\\s+[a-z-]+(?:=\"[^\"]*\")?)*)\\s*>");
+    private static final Pattern ATTRIBUTE = Pattern.compile("([a-z-]+)=\"([^\"]*)\"");
+    private static final Pattern RULE = Pattern.compile("\\.([A-Za-z0-9_-]+)\\{([^}]*)}");
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+
+        System.out.println("Style Hoisting");
+        System.out.println("==============");
+
+        var hoisting = StyleHoisting.repeatedAtLeast(3);
+        var page = report(rows, true);
+        var plan = hoisting.plan(page);
+        System.out.println(hoisting + " -> " + plan.hoistedSets() + " classes: " + plan.rules());
+
+        String inline = MarkupSerializer.COMPACT.toMarkup(page);
+        String hoisted = MarkupSerializer.COMPACT.withStyleHoisting(hoisting).toMarkup(page);
+        var renderer = new Utf8ByteRenderer().withStyleHoisting(hoisting);
+        check(Arrays.equals(renderer.renderToBytes(page), hoisted.getBytes(StandardCharsets.UTF_8)), "renderers agree");
+        check(Arrays.equals(new Utf8ByteRenderer().renderToBytes(page), inline.getBytes(StandardCharsets.UTF_8)), "off by default");
+        System.out.println("✓ Utf8ByteRenderer and MarkupSerializer write the same hoisted markup");
+
+        // every element keeps its declarations and its own classes
+        var before = styling(inline);
+        var after = styling(hoisted);
+        check(before.size() == after.size(), "element count");
+        for (int i = 0; i < before.size(); i++) {
+            check(before.get(i).equals(after.get(i)), "element " + i + ": " + before.get(i) + " vs " + after.get(i));
+        }
+        System.out.printf("✓ %,d elements carry the same declarations and classes, inline or hoisted%n", before.size());
+        check(hoisted.contains("<span class=\"tag lx-s"), "merged into an existing class attribute");
+        check(hoisted.contains("style=\"color: #c00; text-decoration: underline\""), "rare style stays inline");
+        check(hoisted.contains("style=\"background: url(&quot;data:image/png;base64,AAAA&quot;)\""), "below the threshold");
+        check(count(hoisted, "style=\"") == 3, "three styles left inline");
+        System.out.println("✓ \"font-weight: bold\" and \"font-weight:bold;\" share a class; styles used once or twice stay inline");
+
+        int inlineBytes = inline.getBytes(StandardCharsets.UTF_8).length, hoistedBytes = hoisted.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("%n%,d rows:%n", rows);
+        System.out.printf("  inline styles:  %,10d bytes, %,7d style attributes%n", inlineBytes, count(inline, "style=\""));
+        System.out.printf("  hoisted:        %,10d bytes, %,7d style attributes  (%.0f%% smaller)%n",
+                hoistedBytes, count(hoisted, "style=\""), 100.0 * (inlineBytes - hoistedBytes) / inlineBytes);
+        check(hoistedBytes < inlineBytes * 0.8, "smaller output");
+
+        var out = new ByteArrayChannel(1 << 20);
+        var plain = new Utf8ByteRenderer();
+        long plainNanos = bestOf(20, () -> plain.render(page, out.reset()));
+        long hoistedNanos = bestOf(20, () -> renderer.render(page, out.reset()));
+        System.out.printf("  render: %.2f ms inline, %.2f ms with the hoisting pass%n", plainNanos / 1e6, hoistedNanos / 1e6);
+        System.out.println("✓ The browser parses " + plan.hoistedSets() + " rules instead of thousands of style attributes");
+
+        // no style element: the rules get one of their own at the end of head
+        String withoutBlock = MarkupSerializer.COMPACT.withStyleHoisting(hoisting).toMarkup(report(10, false));
+        check(withoutBlock.contains("<style>.lx-s0{font-weight:bold!important}"), withoutBlock);
+        check(withoutBlock.indexOf("</style></head>") > 0, "style closes head");
+        System.out.println("✓ Without a style element the rules go into a new one closing head");
+        // nowhere to put rules: a fragment renders unchanged
+        var fragment = div(styledText("a", "color: red"), styledText("b", "color: red"), styledText("c", "color: red"));
+        check(MarkupSerializer.COMPACT.withStyleHoisting(hoisting).toMarkup(fragment).equals(MarkupSerializer.COMPACT.toMarkup(fragment)), "fragment");
+        System.out.println("✓ A fragment without head or style renders unchanged");
+
+        // !important beats animations and script-set inline styles: such pages are left alone unless asked
+        var serializer = MarkupSerializer.COMPACT.withStyleHoisting(hoisting);
+        var scripted = report(10, true);
+        ((DslContainerElement) scripted.childNodes().get(1)).addChild(new DslContainerElement("script").addChild(text("tick()")));
+        check(serializer.toMarkup(scripted).equals(MarkupSerializer.COMPACT.toMarkup(scripted)), "script");
+        var handler = report(10, true);
+        ((DslContainerElement) handler.childNodes().get(1)).addChild(button(onClick("tick()"), "Go"));
+        check(serializer.toMarkup(handler).equals(MarkupSerializer.COMPACT.toMarkup(handler)), "event handler");
+        var animated = report(10, false);
+        ((DslContainerElement) animated.childNodes().get(0)).addChild(style("@keyframes pulse { to { color: red } }"));
+        check(serializer.toMarkup(animated).equals(MarkupSerializer.COMPACT.toMarkup(animated)), "keyframes");
+        var linked = report(10, false);
+        ((DslContainerElement) linked.childNodes().get(0)).addChild(new DslSelfClosingElement("link").withAttribute("rel", "Stylesheet").withAttribute("href", "site.css"));
+        check(serializer.toMarkup(linked).equals(MarkupSerializer.COMPACT.toMarkup(linked)), "linked stylesheet");
+        check(MarkupSerializer.COMPACT.withStyleHoisting(hoisting.assumingStaticStyles()).toMarkup(scripted).contains("class=\"lx-s0\""), "opted in");
+        System.out.println("✓ Scripts, handlers, @keyframes and linked stylesheets keep inline styles, unless assumingStaticStyles()");
+
+        // a media-scoped style element would scope the rules: they get a style element of their own
+        var printOnly = report(10, false);
+        ((DslContainerElement) printOnly.childNodes().get(0)).addChild(style("body { color: black }").withAttribute("media", "print"));
+        String scoped = serializer.toMarkup(printOnly);
+        check(scoped.contains("<style media=\"print\">body { color: black }</style><style>.lx-s0{"), scoped);
+        check(scoped.indexOf("</style></head>") > 0, "new style closes head");
+        System.out.println("✓ A style element with a media attribute is left alone, the rules go into a new one");
+
+        // lazy children are pulled while rendering, not planned: they keep their inline styles
+        var withLazy = report(10, true);
+        ((DslContainerElement) withLazy.childNodes().get(1)).addChild(
+                DslLazyContainerElement.indexed("div", 3, i -> styledText("lazy " + i, "font-weight: bold")));
+        String lazyHoisted = serializer.toMarkup(withLazy);
+        check(lazyHoisted.contains("class=\"lx-s0\""), "hoisted outside");
+        check(count(lazyHoisted, "style=\"font-weight: bold\"") == 3, lazyHoisted);
+        check(Arrays.equals(renderer.renderToBytes(withLazy), lazyHoisted.getBytes(StandardCharsets.UTF_8)), "renderers agree on lazy");
+        System.out.println("✓ Elements under a lazy element keep their inline styles, even ones matching a hoisted set");
+
+        // the style map writes through: entry setValue, iterator remove, put(null)
+        var styled = new FluentElement("div").setStyle("color", "red").setStyle("margin", "0").setStyle("padding", "1px");
+        var styles = new DslStyleMap(styled.attributes());
+        for (var entry : styles.entrySet()) {
+            if (entry.getKey().equals("color")) entry.setValue("blue");
+        }
+        for (var it = styles.entrySet().iterator(); it.hasNext(); ) {
+            if (it.next().getKey().equals("margin")) it.remove();
+        }
+        check(styled.attributes().get("style").equals("color: blue; padding: 1px"), styled.attributes().get("style"));
+        styles.put("padding", null);
+        check(styled.attributes().get("style").equals("color: blue") && !styles.containsKey("padding"), "put null removes");
+        styles.entrySet().clear();
+        check(!styled.attributes().containsKey("style"), "cleared");
+        System.out.println("✓ DslStyleMap entries, iterator remove and put(property, null) write back to the style attribute");
+    }
+
+    /** A report page: a styled span or two per row, as the generators write them */
+    static DslContainerElement report(int rows, boolean styleBlock) {
+        var head = head(title("Report"));
+        if (styleBlock) head.addChild(style("body { font-family: sans-serif }"));
+        var table = div(className("report"));
+        for (int i = 0; i < rows; i++) {
+            table.addChild(p(text("Row "), styledText(String.valueOf(i), i % 2 == 0 ? "font-weight: bold" : "font-weight:bold;"),
+                    text(" of the report "), styledText("(draft)", "color: gray; font-size: 12px")));
+            if (i % 100 == 0) {
+                table.addChild(span(className("tag"), text("checkpoint")).withAttribute("style", "color: gray; font-size: 12px"));
+            }
+        }
+        table.addChild(new FluentElement("div").setStyle("color", "#c00").setStyle("text-decoration", "underline")); // style map, used once
+        table.addChild(styledText("logo", "background: url(\"data:image/png;base64,AAAA\")"));
+        table.addChild(styledText("logo", "background: url(\"data:image/png;base64,AAAA\")"));
+        return html(head, body(table));
+    }
+
+    /** Per element: tag, classes it was given, declarations from its style attribute or hoisted classes */
+    private static List<String> styling(String markup) {
+        var rules = new HashMap<String, String>();
+        Matcher styleBlock = Pattern.compile("<style>(.*?)</style>", Pattern.DOTALL).matcher(markup);
+        while (styleBlock.find()) {
+            for (Matcher rule = RULE.matcher(styleBlock.group(1)); rule.find(); ) rules.put(rule.group(1), rule.group(2).replace("!important", ""));
+        }
+        var elements = new ArrayList<String>();
+        for (Matcher tag = START_TAG.matcher(markup); tag.find(); ) {
+            var attributes = new HashMap<String, String>();
+            for (Matcher attribute = ATTRIBUTE.matcher(tag.group(2)); attribute.find(); ) {
+                attributes.put(attribute.group(1), attribute.group(2).replace("&quot;", "\""));
+            }
+            var declarations = new ArrayList<String>();
+            var classes = new ArrayList<String>();
+            for (var name : attributes.getOrDefault("class", "").split(" ")) {
+                if (rules.containsKey(name)) declarations.addAll(normalized(rules.get(name)));
+                else if (!name.isEmpty()) classes.add(name);
+            }
+            declarations.addAll(normalized(attributes.get("style")));
+            elements.add(tag.group(1) + classes + declarations);
+        }
+        return elements;
+    }
+
+    private static List<String> normalized(String style) {
+        var declarations = new ArrayList<String>();
+        for (var declaration : DslStyleMap.declarations(style)) {
+            int colon = declaration.indexOf(':');
+            declarations.add(declaration.substring(0, colon).trim().toLowerCase(Locale.ROOT) + ":" + declaration.substring(colon + 1).trim());
+        }
+        return declarations;
+    }
+
+    private static int count(String s, String what) {
+        int n = 0;
+        for (int i = s.indexOf(what); i >= 0; i = s.indexOf(what, i + 1)) n++;
+        return n;
+    }
+}
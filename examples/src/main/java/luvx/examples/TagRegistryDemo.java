@@ -0,0 +1,110 @@
+package luvx.examples;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import luvx.Node_I;
+import luvx.examples.dsl.*;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.MarkupSerializer;
+import luvx.examples.render.Utf8ByteRenderer;
+import luvx.examples.render.Utf8MarkupSink;
+import luvx.examples.snapshot.Snapshots;
+import luvx.examples.stream.DslStream;
+import luvx.examples.walk.TreeWalker;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * DslTags: DSL nodes carry int tag ids; tokens and content models come from the registry.
+ * Walks the showcase document switching on ids, and checks the registry's invariants.
+ */
+public class TagRegistryDemo {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Integer Tag Registry");
+        System.out.println("====================");
+
+        // ids straight from the factories - no String lookup when building
+        var page = LuvMLStyleDslDemo.createBeautifulDocument();
+        int[] counts = new int[3]; // headings, layout sections, other
+        new TreeWalker().walk(page, new TreeWalker.Visitor<RuntimeException>() {
+            @Override
+            public TreeWalker.Action enter(Node_I<?> node, int depth) {
+                if (node instanceof DslTagged tagged) {
+                    switch (tagged.tagId()) {
+                        case DslTags.H1, DslTags.H2, DslTags.H3 -> counts[0]++;
+                        case DslTags.HEADER, DslTags.MAIN, DslTags.SECTION, DslTags.FOOTER -> counts[1]++;
+                        default -> counts[2]++;
+                    }
+                }
+                return TreeWalker.Action.CONTINUE;
+            }
+        });
+        System.out.printf("Showcase document: %d headings, %d layout sections, %d other elements%n", counts[0], counts[1], counts[2]);
+
+        // every registered tag: tokens are its name encoded once
+        for (int id = 0; id < DslTags.size(); id++) {
+            String name = DslTags.name(id);
+            if (DslTags.id(name) != id
+                    || !Arrays.equals(DslTags.utf8OpenTag(id), ("<" + name).getBytes(StandardCharsets.UTF_8))
+                    || !Arrays.equals(DslTags.utf8CloseTag(id), ("</" + name + ">").getBytes(StandardCharsets.UTF_8))
+                    || !DslTags.openTag(id).equals("<" + name) || !DslTags.closeTag(id).equals("</" + name + ">")) {
+                throw new IllegalStateException("Registry entry " + id + " (" + name + ") inconsistent");
+            }
+        }
+        System.out.printf("✓ %d known tags, ids and pre-encoded tokens consistent%n", DslTags.size());
+
+        // content models as RawTextElement_T / EscapableRawTextElement_T classify them
+        check(DslTags.isRawText(DslTags.STYLE) && DslTags.isRawText(DslTags.SCRIPT), "style/script are raw text");
+        check(DslTags.isEscapableRawText(DslTags.TITLE) && DslTags.isEscapableRawText(DslTags.TEXTAREA), "title/textarea are escapable raw text");
+        check(DslTags.isVoid(DslTags.BR) && DslTags.isVoid(DslTags.IMG) && DslTags.isVoid(DslTags.META), "br/img/meta are void");
+        check(DslTags.content(DslTags.DIV) == DslTags.Content.NORMAL, "div is normal content");
+        System.out.println("✓ Content models: style/script raw text, title/textarea escapable raw text, br/img/meta void");
+
+        // tags outside the table are registered once, on first use
+        int before = DslTags.size();
+        var custom = new DslContainerElement("luvx-card");
+        var again = new DslContainerElement("luvx-card");
+        check(custom.tagId() == before && again.tagId() == before && DslTags.size() == before + 1, "custom tag registered once");
+        check(DslTags.lookup("never-used") == -1, "lookup does not register");
+        System.out.println("✓ Custom tag <luvx-card> got id " + custom.tagId() + ", reused by later nodes");
+
+        // tag names read back from a snapshot are looked up, never registered
+        int registered = DslTags.size();
+        var restored = (DslContainerElement) Snapshots.fromBytes(Snapshots.toBytes(div(new DslContainerElement("luvx-card"))));
+        var foreign = DslContainerElement.ofUntrustedTag("luvx-card-" + registered); // a name only the file knows
+        var read = (DslContainerElement) Snapshots.fromBytes(Snapshots.toBytes(foreign));
+        check(DslTags.size() == registered && foreign.tagId() == -1 && read.tagId() == -1 && read.tagName().equals(foreign.tagName()), "snapshot names not registered");
+        check(((DslTagged) restored.childNodes().get(0)).tagId() == custom.tagId(), "known names keep their id");
+        check(MarkupSerializer.COMPACT.toMarkup(read).equals(MarkupSerializer.COMPACT.toMarkup(foreign))
+                && Arrays.equals(new Utf8ByteRenderer().renderToBytes(read), new Utf8ByteRenderer().renderToBytes(foreign)), "unregistered tag renders");
+        System.out.println("✓ Snapshot trees keep unknown tag names on the element, the registry stays at " + DslTags.size());
+
+        // void content model decides the end tag, whatever class the element is
+        var meta = meta(charset("UTF-8"));
+        var stream = new ByteArrayChannel(256);
+        try (var sink = new Utf8MarkupSink(stream)) {
+            DslStream.write(sink, c -> c.meta(charset("UTF-8")));
+        }
+        String expected = "<meta charset=\"UTF-8\">";
+        check(MarkupSerializer.COMPACT.toMarkup(meta).equals(expected), MarkupSerializer.COMPACT.toMarkup(meta));
+        check(new String(new Utf8ByteRenderer().renderToBytes(meta), StandardCharsets.UTF_8).equals(expected), "byte renderer writes no </meta>");
+        check(new String(stream.toByteArray(), StandardCharsets.UTF_8).equals(expected), "stream writes no </meta>");
+        System.out.println("✓ " + expected + " from the tree and the stream renderers - no end tag");
+
+        check(p("x").tagId() == DslTags.P && br().tagId() == DslTags.BR && styledText("x", "y").tagId() == DslTags.SPAN, "factory ids");
+        System.out.println("✓ DslElements factories build nodes by id");
+
+        // a full registry stops registering; new names stay with their elements (run last - it fills the registry)
+        for (int i = 0; DslTags.size() < DslTags.MAX_TAGS; i++) DslTags.id("luvx-filler-" + i);
+        var late = new DslContainerElement("luvx-late").addChild(new DslSelfClosingElement("luvx-late-void"));
+        var lazyLate = DslLazyContainerElement.of("luvx-late-list", List.of(p("x")).iterator());
+        check(late.tagId() == -1 && DslTags.id("luvx-late") == -1 && DslTags.size() == DslTags.MAX_TAGS, "no id past the cap");
+        check(MarkupSerializer.COMPACT.toMarkup(late).equals("<luvx-late><luvx-late-void></luvx-late>"), MarkupSerializer.COMPACT.toMarkup(late));
+        check(new String(new Utf8ByteRenderer().renderToBytes(lazyLate), StandardCharsets.UTF_8).equals("<luvx-late-list><p>x</p></luvx-late-list>"), "lazy past the cap");
+        System.out.printf("✓ Past %,d tags new names render unregistered instead of failing%n", DslTags.MAX_TAGS);
+    }
+}
@@ -0,0 +1,93 @@
+package luvx.examples;
+
+import java.util.Arrays;
+import java.util.Map;
+import luvx.examples.dsl.*;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.MarkupTemplate;
+import luvx.examples.render.Utf8ByteRenderer;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Landing-page rendering: full tree render per request vs. a compiled MarkupTemplate that
+ * only serializes its holes.
+ *
+ * The page reuses the static sections of LuvMLStyleDslDemo; per request only the visitor name,
+ * the profile link and the visit counter change.
+ */
+public class TemplateRenderingDemo {
+
+    private static final int ITERATIONS = 20_000;
+
+    /** The landing page with holes where the per-request data goes */
+    static DslContainerElement createLandingTemplate() {
+        return createLandingPage(slot("userName"), slotAttr("href", "profileUrl"), slot("visits", "0"));
+    }
+
+    /** The same page with concrete values - what a per-request rebuild would produce */
+    static DslContainerElement createLandingPage(String userName, String profileUrl, int visits) {
+        return createLandingPage(text(userName), href(profileUrl), text(String.valueOf(visits)));
+    }
+
+    private static DslContainerElement createLandingPage(DslFrag_I userName, DslAttribute profileLink, DslFrag_I visits) {
+        return html(
+            head(
+                title("LuvX Revolutionary Design"),
+                meta(charset("UTF-8")),
+                meta(name("viewport"), content("width=device-width, initial-scale=1.0")),
+                LuvMLStyleDslDemo.createStyles()
+            ),
+            body(
+                div(className("container"),
+                    LuvMLStyleDslDemo.createHeader(),
+                    p(text("Welcome back, "), userName, text("! This is visit #"), visits, text(".")),
+                    a(profileLink, "Your profile"),
+                    LuvMLStyleDslDemo.createMainContent(),
+                    LuvMLStyleDslDemo.createFooter()
+                )
+            )
+        );
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Template Compilation: Static Chunks + Dynamic Holes");
+        System.out.println("===================================================");
+
+        var template = MarkupTemplate.compile(createLandingTemplate());
+        System.out.println(template);
+
+        var renderer = new Utf8ByteRenderer();
+        var values = Map.of("userName", "Ada <Lovelace>", "profileUrl", "/users/ada?tab=1&x=\"y\"", "visits", 42);
+
+        // the template must produce exactly what rendering the rebuilt tree produces
+        byte[] expected = renderer.renderToBytes(createLandingPage("Ada <Lovelace>", "/users/ada?tab=1&x=\"y\"", 42));
+        byte[] actual = template.renderToBytes(values, renderer);
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("Template output differs from full render");
+        }
+        System.out.println("✓ Template output identical to full render (" + actual.length + " bytes)");
+
+        var channel = new ByteArrayChannel(template.expectedSize());
+        long rebuild = bestOf(5, 500, batch(() -> renderer.render(createLandingPage("Ada <Lovelace>", "/users/ada", 42), channel.reset())));
+        long rerender = bestOf(5, 500, batch(() -> renderer.render(createLandingTemplate(), channel.reset())));
+        long compiled = bestOf(5, 500, batch(() -> template.render(values, channel.reset(), renderer)));
+
+        System.out.printf("%nPer request (%,d iterations, best of 5):%n", ITERATIONS);
+        System.out.printf("  rebuild tree + render:  %8.2f µs%n", rebuild / 1e3 / ITERATIONS);
+        System.out.printf("  render full tree:       %8.2f µs%n", rerender / 1e3 / ITERATIONS);
+        System.out.printf("  compiled template:      %8.2f µs  (%.1fx vs rebuild, %.1fx vs render)%n",
+                compiled / 1e3 / ITERATIONS, (double) rebuild / compiled, (double) rerender / compiled);
+        System.out.println("  expected size for buffers: " + template.expectedSize() + " bytes");
+    }
+
+    /** ITERATIONS runs of the step, timed as one */
+    private static Timed batch(Timed step) {
+        return () -> {
+            for (int i = 0; i < ITERATIONS; i++) step.run();
+            return step;
+        };
+    }
+}
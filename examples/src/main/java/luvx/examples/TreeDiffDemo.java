@@ -0,0 +1,189 @@
+package luvx.examples;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import luvx.Node_I;
+import luvx.composable.HasChildNodes;
+import luvx.examples.diff.DslPatchOp;
+import luvx.examples.diff.DslTreeDiff;
+import luvx.examples.diff.DslTreePatcher;
+import luvx.examples.dsl.*;
+import luvx.examples.render.MarkupSerializer;
+
+import static luvx.examples.dsl.DslElements.*;
+import static luvx.examples.dsl.DslAttributes.*;
+import static luvx.examples.DemoSupport.*;
+
+/**
+ * Diff / patch instead of re-rendering: a ~100k node feed is rebuilt from a model with 1% of
+ * it changed, DslTreeDiff computes the edit script and DslTreePatcher applies it to the old
+ * tree, which must then serialize exactly like the new one.
+ */
+public class TreeDiffDemo {
+
+    record Row(String id, String title, String body, String cls) {}
+
+    static DslContainerElement createFeed(List<List<Row>> sections) {
+        var feed = DslElements.main(id("feed"));
+        for (int s = 0; s < sections.size(); s++) {
+            var section = section(id("section-" + s), h2("Section " + s));
+            for (var row : sections.get(s)) {
+                section.addChild(article(id(row.id()), className(row.cls()),
+                    h3(row.title()),
+                    p(text(row.body()), styledText(" (edited)", "color: gray")),
+                    ul(li("share"), li("reply"), li("like"))));
+            }
+            feed.addChild(section);
+        }
+        return feed;
+    }
+
+    static List<List<Row>> createModel(int sectionCount, int rowsPerSection) {
+        var sections = new ArrayList<List<Row>>();
+        int next = 0;
+        for (int s = 0; s < sectionCount; s++) {
+            var rows = new ArrayList<Row>();
+            for (int r = 0; r < rowsPerSection; r++, next++) {
+                rows.add(new Row("row-" + next, "Title " + next, "Body of post " + next, "post"));
+            }
+            sections.add(rows);
+        }
+        return sections;
+    }
+
+    /** Touches roughly `changes` nodes: retitles, class flips, inserts, removes and moves */
+    static List<List<Row>> churn(List<List<Row>> model, int changes, long seed) {
+        var random = new Random(seed);
+        var sections = new ArrayList<List<Row>>();
+        for (var rows : model) sections.add(new ArrayList<>(rows));
+        int inserted = 0;
+        for (int c = 0; c < changes; c++) {
+            var rows = sections.get(random.nextInt(sections.size()));
+            int at = random.nextInt(rows.size());
+            var row = rows.get(at);
+            switch (random.nextInt(10)) {
+                case 0 -> rows.add(random.nextInt(rows.size() + 1), new Row("new-" + seed + "-" + inserted++, "Fresh", "Just posted", "post new"));
+                case 1 -> rows.remove(at);
+                case 2 -> rows.add(random.nextInt(rows.size()), rows.remove(at));
+                case 3, 4 -> rows.set(at, new Row(row.id(), row.title(), row.body(), "post highlighted"));
+                default -> rows.set(at, new Row(row.id(), row.title() + " (updated)", row.body(), row.cls()));
+            }
+        }
+        return sections;
+    }
+
+    static int countNodes(Node_I<?> node) {
+        int count = 1;
+        if (node instanceof HasChildNodes<?> parent) {
+            for (var child : parent.childNodes()) count += countNodes(child);
+        }
+        return count;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Keyed Tree Diff / Patch");
+        System.out.println("=======================");
+
+        // small, readable example
+        var before = ul(li(id("a"), text("A")), li(id("b"), text("B")), li(id("c"), text("C")), li(id("d"), text("D")));
+        var after = ul(li(id("d"), text("D")), li(id("a"), text("A!")), li(id("c"), className("done"), text("C")), li(id("e"), text("E")));
+        var small = DslTreeDiff.diff(before, after);
+        small.forEach(op -> System.out.println("  " + op));
+        verify(DslTreePatcher.apply(before, small), after);
+
+        // numbers and path data are patched in typed, not as their String form
+        var chart = g(rect(x(1.5), y(2)), path(DslPathData.create().moveTo(0, 0).lineTo(10, 10)));
+        var moved = g(rect(x(1.25), y(2)), path(DslPathData.create().moveTo(0, 0).lineTo(10, 12)));
+        var typed = DslTreeDiff.diff(chart, moved);
+        check(typed.size() == 2 && typed.get(0) instanceof DslPatchOp.SetNumberAttribute
+                && typed.get(1) instanceof DslPatchOp.SetPathAttribute, "typed ops: " + typed);
+        DslTreePatcher.apply(chart, typed);
+        var rect = (DslAttributeMap) ((DslContainerElement) chart.childNodes().get(0)).attributes();
+        var line = (DslAttributeMap) ((DslContainerElement) chart.childNodes().get(1)).attributes();
+        check(rect.isNumberAt(0) && rect.numberAt(0) == 1.25 && line.isPathAt(0), "patched attributes stay typed");
+        check(DslTreeDiff.diff(chart, moved).isEmpty(), "nothing left to patch");
+        System.out.println("✓ Numeric and path attributes are patched as a double and as path data: " + typed);
+
+        // reordering: random shuffles with inserts and removals, and one wide container
+        var random = new Random(7);
+        for (int trial = 0; trial < 5_000; trial++) {
+            var old = shuffledList(random, random.nextInt(24), null);
+            var shuffled = shuffledList(random, random.nextInt(24), old);
+            check(sameMarkup(DslTreePatcher.apply(old, DslTreeDiff.diff(old, shuffled)), shuffled), "shuffle " + trial);
+        }
+        var wideOld = shuffledList(random, 50_000, null);
+        var wideNew = shuffledList(random, 50_000, wideOld);
+        long wideStart = System.nanoTime();
+        var wideOps = DslTreeDiff.diff(wideOld, wideNew);
+        long wideNanos = System.nanoTime() - wideStart;
+        check(sameMarkup(DslTreePatcher.apply(wideOld, wideOps), wideNew), "wide shuffle");
+        System.out.printf("✓ 5,000 random reorders patch correctly; 50,000 shuffled children diff in %.1f ms (%,d ops)%n",
+                wideNanos / 1e6, wideOps.size());
+
+        var model = createModel(100, 84);
+        var changed = churn(model, 1_000, 42);
+        var newTree = createFeed(changed);
+        int nodes = countNodes(newTree);
+
+        List<DslPatchOp> ops = null;
+        long bestDiff = Long.MAX_VALUE, bestApply = Long.MAX_VALUE;
+        for (int round = 0; round < 30; round++) {
+            var oldTree = createFeed(model);
+            long start = System.nanoTime();
+            ops = DslTreeDiff.diff(oldTree, newTree);
+            long diffed = System.nanoTime();
+            var patched = DslTreePatcher.apply(oldTree, ops);
+            long applied = System.nanoTime();
+            bestDiff = Math.min(bestDiff, diffed - start);
+            bestApply = Math.min(bestApply, applied - diffed);
+            if (round == 0) verify(patched, newTree);
+        }
+
+        var counts = new TreeMap<String, Integer>();
+        for (var op : ops) counts.merge(op.getClass().getSimpleName(), 1, Integer::sum);
+        System.out.printf("%nTree: %,d nodes, 1%% churn -> %,d ops %s%n", nodes, ops.size(), counts);
+        System.out.printf("Diff: %.2f ms (%.0f ns/node), apply: %.3f ms%n", bestDiff / 1e6, (double) bestDiff / nodes, bestApply / 1e6);
+
+        long bestRender = Long.MAX_VALUE;
+        for (int round = 0; round < 30; round++) {
+            long start = System.nanoTime();
+            MarkupSerializer.COMPACT.toMarkup(newTree);
+            bestRender = Math.min(bestRender, System.nanoTime() - start);
+        }
+        System.out.printf("Full re-serialization for comparison: %.2f ms%n", bestRender / 1e6);
+    }
+
+    /**
+     * A ul of keyed items, with an unkeyed one now and then. Given a previous list, keeps a
+     * random part of its items in shuffled order and mixes in new ones.
+     */
+    private static DslContainerElement shuffledList(Random random, int size, DslContainerElement previous) {
+        var ids = new ArrayList<String>();
+        if (previous != null) {
+            for (var child : previous.childNodes()) {
+                var id = ((DslContainerElement) child).attributes().get("id");
+                if (id != null && random.nextInt(8) != 0) ids.add(id);
+            }
+            Collections.shuffle(ids, random);
+        }
+        while (ids.size() < size) ids.add(random.nextInt(ids.size() + 1), "n" + random.nextInt(1 << 30));
+        var list = ul();
+        for (var id : ids) list.addChild(random.nextInt(10) == 0 ? li("unkeyed") : li(id(id), text(id)));
+        return list;
+    }
+
+    private static boolean sameMarkup(Node_I<?> patched, Node_I<?> expected) {
+        return MarkupSerializer.COMPACT.toMarkup(patched).equals(MarkupSerializer.COMPACT.toMarkup(expected));
+    }
+
+    private static void verify(Node_I<?> patched, Node_I<?> expected) {
+        var actual = MarkupSerializer.COMPACT.toMarkup(patched);
+        if (!actual.equals(MarkupSerializer.COMPACT.toMarkup(expected))) {
+            throw new IllegalStateException("Patched tree differs from the new tree:\n" + actual);
+        }
+        System.out.println("✓ Patched tree serializes identically to the new tree");
+    }
+}
@@ -0,0 +1,187 @@
+package luvx.examples.arena;
+
+import java.util.Arrays;
+import luvx.Node_I;
+
+/**
+ * Struct-of-arrays document for bulk generation (millions of SVG shapes, table cells): a node
+ * is an int index into parallel arrays, strings live once in a {@link StringPool}, and the
+ * whole thing is recycled per request with {@link #reset()} - no object per node, element,
+ * text or attribute.
+ *
+ *   kind[n]         ELEMENT or TEXT
+ *   name[n]         pool id of the tag, or of the text
+ *   firstChild[n], lastChild[n], nextSibling[n], childCount[n]
+ *   attrStart[n], attrCount[n]   range in attrNames / attrValues
+ *
+ * Build top-down; an element's attributes go right after it, before the next element is
+ * created (that keeps them one contiguous range). {@link #view} wraps a node in a flyweight
+ * ArenaElement / ArenaText, so renderers and discrimination code work on it unchanged.
+ * Views are only valid until the next reset().
+ */
+public final class ArenaDocument {
+
+    public static final int NONE = -1;
+    static final byte ELEMENT = 0, TEXT = 1;
+
+    private final StringPool strings = new StringPool();
+
+    private byte[] kind;
+    private int[] name;
+    private int[] firstChild;
+    private int[] lastChild;
+    private int[] nextSibling;
+    private int[] childCount;
+    private int[] attrStart;
+    private int[] attrCount;
+    private int size;
+
+    private int[] attrNames;
+    private int[] attrValues;
+    private int attrSize;
+
+    private int lastElement = NONE;
+    private int generation;
+
+    public ArenaDocument() { this(1024); }
+
+    public ArenaDocument(int expectedNodes) {
+        int capacity = Math.max(16, expectedNodes);
+        kind = new byte[capacity];
+        name = new int[capacity];
+        firstChild = new int[capacity];
+        lastChild = new int[capacity];
+        nextSibling = new int[capacity];
+        childCount = new int[capacity];
+        attrStart = new int[capacity];
+        attrCount = new int[capacity];
+        attrNames = new int[capacity];
+        attrValues = new int[capacity];
+    }
+
+    /** A parentless element - normally the root */
+    public int element(String tag) {
+        return element(NONE, tag);
+    }
+
+    public int element(int parent, String tag) {
+        int node = add(parent, ELEMENT, strings.intern(tag));
+        attrStart[node] = attrSize;
+        lastElement = node;
+        return node;
+    }
+
+    public int text(int parent, String text) {
+        return add(parent, TEXT, strings.intern(text));
+    }
+
+    /** Sets an attribute of the element created last; a repeated name overwrites the value */
+    public ArenaDocument attribute(int element, String attributeName, String value) {
+        if (element != lastElement) {
+            throw new IllegalStateException("Attributes must be added right after their element - node " + element + " is not the last element created");
+        }
+        int nameId = strings.intern(attributeName);
+        int valueId = value == null ? NONE : strings.intern(value);
+        int start = attrStart[element], end = start + attrCount[element];
+        for (int a = start; a < end; a++) {
+            if (attrNames[a] == nameId) {
+                attrValues[a] = valueId;
+                return this;
+            }
+        }
+        if (attrSize == attrNames.length) {
+            attrNames = Arrays.copyOf(attrNames, attrSize * 2);
+            attrValues = Arrays.copyOf(attrValues, attrSize * 2);
+        }
+        attrNames[attrSize] = nameId;
+        attrValues[attrSize] = valueId;
+        attrSize++;
+        attrCount[element]++;
+        return this;
+    }
+
+    /** Empties the document, keeping every array (and the pool's) for the next build */
+    public void reset() {
+        strings.reset();
+        size = 0;
+        attrSize = 0;
+        lastElement = NONE;
+        generation++; // invalidates outstanding views
+    }
+
+    public int size() { return size; }
+
+    /** Flyweight view of a node - ArenaElement or ArenaText */
+    public Node_I<?> view(int node) {
+        checkNode(node);
+        return kind[node] == ELEMENT ? new ArenaElement(this, node, generation) : new ArenaText(this, node, generation);
+    }
+
+    public ArenaElement elementView(int node) {
+        checkNode(node);
+        if (kind[node] != ELEMENT) throw new IllegalArgumentException("Node " + node + " is not an element");
+        return new ArenaElement(this, node, generation);
+    }
+
+    /** Bytes held by the arena arrays and the pool's tables (pooled Strings not included) */
+    public long footprintBytes() {
+        long nodeArrays = 16L + kind.length + 7L * (16L + 4L * name.length);
+        long attributeArrays = 2L * (16L + 4L * attrNames.length);
+        return nodeArrays + attributeArrays + strings.footprintBytes();
+    }
+
+    // --- accessors for the views ---
+
+    void checkGeneration(int viewGeneration) {
+        if (viewGeneration != generation) {
+            throw new IllegalStateException("Arena view used after reset() - views are only valid for the document they were taken from");
+        }
+    }
+
+    String nameOf(int node) { return strings.get(name[node]); }
+    int firstChild(int node) { return firstChild[node]; }
+    int nextSibling(int node) { return nextSibling[node]; }
+    int childCount(int node) { return childCount[node]; }
+    int attrStart(int node) { return attrStart[node]; }
+    int attrCount(int node) { return attrCount[node]; }
+    String attrName(int a) { return strings.get(attrNames[a]); }
+    String attrValue(int a) { return attrValues[a] == NONE ? null : strings.get(attrValues[a]); }
+
+    private int add(int parent, byte nodeKind, int nameId) {
+        if (parent != NONE) {
+            checkNode(parent);
+            if (kind[parent] != ELEMENT) throw new IllegalArgumentException("Parent " + parent + " is a text node");
+        }
+        if (size == kind.length) grow();
+        int node = size++;
+        kind[node] = nodeKind;
+        name[node] = nameId;
+        firstChild[node] = NONE;
+        lastChild[node] = NONE;
+        nextSibling[node] = NONE;
+        childCount[node] = 0;
+        attrCount[node] = 0;
+        if (parent != NONE) {
+            if (lastChild[parent] == NONE) firstChild[parent] = node; else nextSibling[lastChild[parent]] = node;
+            lastChild[parent] = node;
+            childCount[parent]++;
+        }
+        return node;
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= size) throw new IndexOutOfBoundsException("No node " + node + " in a document of " + size);
+    }
+
+    private void grow() {
+        int capacity = kind.length * 2;
+        kind = Arrays.copyOf(kind, capacity);
+        name = Arrays.copyOf(name, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        lastChild = Arrays.copyOf(lastChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        childCount = Arrays.copyOf(childCount, capacity);
+        attrStart = Arrays.copyOf(attrStart, capacity);
+        attrCount = Arrays.copyOf(attrCount, capacity);
+    }
+}
@@ -0,0 +1,132 @@
+package luvx.examples.arena;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import luvx.ContainerElement_I;
+import luvx.Node_I;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.rendering_behavior.BlockMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Flyweight element view over an {@link ArenaDocument} node - a doc reference and an index,
+ * created on demand. childNodes() and attributes() are read-only views over the arena arrays.
+ * Two views of the same node are equal.
+ */
+public final class ArenaElement implements ContainerElement_I<ArenaElement>, HasAttributes<ArenaElement>, HasChildNodes<ArenaElement> {
+    private final ArenaDocument doc;
+    private final int node;
+    private final int generation;
+
+    ArenaElement(ArenaDocument doc, int node, int generation) {
+        this.doc = doc;
+        this.node = node;
+        this.generation = generation;
+    }
+
+    public ArenaDocument document() { return doc; }
+    public int index() { return node; }
+
+    @Override public ArenaElement self() { return this; }
+
+    @Override
+    public String tagName() {
+        doc.checkGeneration(generation);
+        return doc.nameOf(node);
+    }
+
+    @Override
+    public List<? extends Node_I<?>> childNodes() {
+        doc.checkGeneration(generation);
+        return new Children();
+    }
+
+    @Override
+    public Map<String, String> attributes() {
+        doc.checkGeneration(generation);
+        return new Attributes();
+    }
+
+    @Override
+    public String attr(String name) {
+        doc.checkGeneration(generation);
+        for (int a = doc.attrStart(node), end = a + doc.attrCount(node); a < end; a++) {
+            if (doc.attrName(a).equals(name)) return doc.attrValue(a);
+        }
+        return null;
+    }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return BlockMarkupRendering.I;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ArenaElement other && other.doc == doc && other.node == node && other.generation == generation;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(doc) * 31 + node;
+    }
+
+    @Override
+    public String toString() {
+        return "<" + tagName() + "> #" + node;
+    }
+
+    /** Child ids are collected once per list, so get(i) is O(1) for the renderers' indexed loops */
+    private final class Children extends AbstractList<Node_I<?>> implements RandomAccess {
+        private final int[] ids;
+
+        Children() {
+            ids = new int[doc.childCount(node)];
+            for (int i = 0, child = doc.firstChild(node); child != ArenaDocument.NONE; child = doc.nextSibling(child)) {
+                ids[i++] = child;
+            }
+        }
+
+        @Override public Node_I<?> get(int index) { return doc.view(ids[index]); }
+        @Override public int size() { return ids.length; }
+    }
+
+    private final class Attributes extends AbstractMap<String, String> {
+        @Override public int size() { return doc.attrCount(node); }
+        @Override public String get(Object key) { return key instanceof String name ? attr(name) : null; }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override public int size() { return doc.attrCount(node); }
+
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        int a = doc.attrStart(node);
+                        final int end = a + doc.attrCount(node);
+
+                        @Override public boolean hasNext() { return a < end; }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (a >= end) throw new NoSuchElementException();
+                            doc.checkGeneration(generation);
+                            var entry = new SimpleImmutableEntry<>(doc.attrName(a), doc.attrValue(a));
+                            a++;
+                            return entry;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
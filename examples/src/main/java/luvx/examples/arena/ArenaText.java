@@ -0,0 +1,47 @@
+package luvx.examples.arena;
+
+import luvx.Text_I;
+import luvx.composable.HasTextContent;
+import luvx.rendering_behavior.InlineMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Flyweight text view over an {@link ArenaDocument} node
+ */
+public final class ArenaText implements Text_I<ArenaText>, HasTextContent<ArenaText> {
+    private final ArenaDocument doc;
+    private final int node;
+    private final int generation;
+
+    ArenaText(ArenaDocument doc, int node, int generation) {
+        this.doc = doc;
+        this.node = node;
+        this.generation = generation;
+    }
+
+    @Override public ArenaText self() { return this; }
+
+    @Override
+    public String text() {
+        doc.checkGeneration(generation);
+        return doc.nameOf(node);
+    }
+
+    @Override public String textContent() { return text(); }
+    @Override public String toString() { return text(); }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return InlineMarkupRendering.I;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ArenaText other && other.doc == doc && other.node == node && other.generation == generation;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(doc) * 31 + node;
+    }
+}
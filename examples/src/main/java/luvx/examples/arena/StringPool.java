@@ -0,0 +1,69 @@
+package luvx.examples.arena;
+
+import java.util.Arrays;
+
+/**
+ * Deduplicating String → int id table for {@link ArenaDocument}. Open addressing over an
+ * int[] (no boxed keys, no entry objects), ids are dense from 0 in first-seen order.
+ */
+public final class StringPool {
+
+    private String[] strings = new String[256];
+    private int[] table = new int[512]; // id + 1, 0 = empty slot
+    private int size;
+
+    public int intern(String s) {
+        int mask = table.length - 1;
+        for (int slot = mix(s.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return add(s, slot);
+            }
+            if (strings[entry - 1].equals(s)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    public String get(int id) {
+        return strings[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Forgets every string but keeps the arrays for the next document */
+    public void reset() {
+        Arrays.fill(strings, 0, size, null);
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+
+    /** Bytes held by the pool's own arrays (the Strings themselves not included) */
+    long footprintBytes() {
+        return 16L + 4L * strings.length + 16L + 4L * table.length;
+    }
+
+    private int add(String s, int slot) {
+        if (size == strings.length) strings = Arrays.copyOf(strings, size * 2);
+        strings[size] = s;
+        table[slot] = ++size;
+        if (size * 2 > table.length) rehash();
+        return size - 1;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(strings[id].hashCode()) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = id + 1;
+        }
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,58 @@
+package luvx.examples.diff;
+
+import java.util.Arrays;
+import luvx.Node_I;
+import luvx.examples.dsl.DslNumbers;
+import luvx.examples.dsl.DslPathData;
+
+/**
+ * One edit produced by {@link DslTreeDiff} - a union of records, consumed by
+ * {@link DslTreePatcher} (or shipped to a client that mirrors the tree).
+ *
+ * Paths are child indexes from the root and refer to the tree as it is after all previous
+ * ops in the list have been applied. Child ops address the parent, node ops the node itself.
+ */
+public sealed interface DslPatchOp {
+
+    int[] path();
+
+    record SetAttribute(int[] path, String name, String value) implements DslPatchOp {
+        @Override public String toString() { return "SetAttribute" + Arrays.toString(path) + " " + name + "=\"" + value + "\""; }
+    }
+
+    /** A numeric attribute, kept as a double so the patched tree formats it like the new one */
+    record SetNumberAttribute(int[] path, String name, double value) implements DslPatchOp {
+        @Override public String toString() { return "SetNumberAttribute" + Arrays.toString(path) + " " + name + "=" + DslNumbers.toString(value); }
+    }
+
+    /** Path geometry (d or points), the new tree's DslPathData by reference */
+    record SetPathAttribute(int[] path, String name, DslPathData value) implements DslPatchOp {
+        @Override public String toString() { return "SetPathAttribute" + Arrays.toString(path) + " " + name + " (" + value.commandCount() + " commands)"; }
+    }
+
+    record RemoveAttribute(int[] path, String name) implements DslPatchOp {
+        @Override public String toString() { return "RemoveAttribute" + Arrays.toString(path) + " " + name; }
+    }
+
+    record ReplaceText(int[] path, String text) implements DslPatchOp {
+        @Override public String toString() { return "ReplaceText" + Arrays.toString(path) + " \"" + text + "\""; }
+    }
+
+    /** Whole node swapped - kinds or tags differ, or the node type cannot be patched in place */
+    record ReplaceNode(int[] path, Node_I<?> node) implements DslPatchOp {
+        @Override public String toString() { return "ReplaceNode" + Arrays.toString(path) + " " + node.getClass().getSimpleName(); }
+    }
+
+    record InsertChild(int[] path, int index, Node_I<?> node) implements DslPatchOp {
+        @Override public String toString() { return "InsertChild" + Arrays.toString(path) + " @" + index + " " + node.getClass().getSimpleName(); }
+    }
+
+    /** Child removed at from, then re-inserted at to (an index into the shortened list) */
+    record MoveChild(int[] path, int from, int to) implements DslPatchOp {
+        @Override public String toString() { return "MoveChild" + Arrays.toString(path) + " " + from + "->" + to; }
+    }
+
+    record RemoveChild(int[] path, int index) implements DslPatchOp {
+        @Override public String toString() { return "RemoveChild" + Arrays.toString(path) + " @" + index; }
+    }
+}
@@ -0,0 +1,384 @@
+package luvx.examples.diff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import luvx.Element_I;
+import luvx.Node_I;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.composable.HasTextContent;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslText;
+import luvx.examples.render.ContentHash;
+import luvx.examples.walk.LazyChildNodes;
+
+/**
+ * Minimal edit script between two trees built from the luvx.examples.dsl types (other Node_I
+ * implementations are compared by content and replaced whole when they differ).
+ *
+ * - same element class + tag: attributes are diffed, children reconciled, depth first on an
+ *   explicit stack (any depth, no StackOverflowError)
+ * - DslText vs DslText: ReplaceText when the text changed
+ * - identical instances (shared frozen subtrees) are skipped without looking inside
+ * - elements with lazy children (LazyChildNodes) are replaced whole - the diff doesn't pull
+ *   their children, which would consume a one-shot source before it renders
+ *
+ * Children are matched by their {@code key} attribute, falling back to {@code id}; unkeyed
+ * children match by position among the unkeyed ones. Matched children that keep their relative
+ * order (longest increasing subsequence) stay put, only the others are moved, so a single
+ * reordered row costs one MoveChild. Cost is linear in tree size plus O(children log children)
+ * per container whose children were reordered, inserted or removed.
+ */
+public final class DslTreeDiff {
+
+    private final List<DslPatchOp> ops = new ArrayList<>();
+    private int[] path = new int[32];
+    private int depth;
+
+    // matched child pairs still to diff - an explicit stack, popped in document order
+    private Node_I<?>[] pendingOld = new Node_I<?>[32];
+    private Node_I<?>[] pendingNew = new Node_I<?>[32];
+    private int[] pendingDepth = new int[32];
+    private int[] pendingIndex = new int[32];
+    private int pending;
+
+    private DslTreeDiff() {}
+
+    public static List<DslPatchOp> diff(Node_I<?> oldRoot, Node_I<?> newRoot) {
+        var diff = new DslTreeDiff();
+        diff.schedule(oldRoot, newRoot, 0, -1);
+        while (diff.pending > 0) {
+            int p = --diff.pending;
+            var oldNode = diff.pendingOld[p];
+            var newNode = diff.pendingNew[p];
+            diff.pendingOld[p] = null;
+            diff.pendingNew[p] = null;
+            diff.moveTo(diff.pendingDepth[p], diff.pendingIndex[p]);
+            diff.diffNode(oldNode, newNode);
+        }
+        return diff.ops;
+    }
+
+    private void diffNode(Node_I<?> oldNode, Node_I<?> newNode) {
+        if (oldNode == newNode) return;
+
+        if (oldNode instanceof DslText oldText && newNode instanceof DslText newText) {
+            if (!Objects.equals(oldText.text(), newText.text())) {
+                ops.add(new DslPatchOp.ReplaceText(currentPath(), newText.text()));
+            }
+            return;
+        }
+        if (isSameElement(oldNode, newNode)) {
+            if (!(oldNode instanceof HasChildNodes<?>) && oldNode instanceof HasTextContent<?> oldText
+                    && !Objects.equals(oldText.textContent(), ((HasTextContent<?>) newNode).textContent())) {
+                ops.add(new DslPatchOp.ReplaceNode(currentPath(), newNode)); // DslStyledText content is final
+                return;
+            }
+            if (oldNode instanceof HasAttributes<?> oldAttributes) {
+                diffAttributes(oldAttributes.attributes(), ((HasAttributes<?>) newNode).attributes());
+            }
+            if (oldNode instanceof HasChildNodes<?> oldParent) {
+                diffChildren(oldParent.childNodes(), ((HasChildNodes<?>) newNode).childNodes());
+            }
+            return;
+        }
+        if (oldNode.getClass() == newNode.getClass() && !(oldNode instanceof Element_I<?>)
+                && ContentHash.of(oldNode).equals(ContentHash.of(newNode))) {
+            return;
+        }
+        ops.add(new DslPatchOp.ReplaceNode(currentPath(), newNode));
+    }
+
+    private static boolean isSameElement(Node_I<?> oldNode, Node_I<?> newNode) {
+        return oldNode.getClass() == newNode.getClass() && !(oldNode instanceof LazyChildNodes)
+                && oldNode instanceof Element_I<?> oldElement
+                && Objects.equals(oldElement.tagName(), ((Element_I<?>) newNode).tagName());
+    }
+
+    private void diffAttributes(Map<String, String> oldAttributes, Map<String, String> newAttributes) {
+        if (oldAttributes.isEmpty() && newAttributes.isEmpty()) return;
+        if (oldAttributes instanceof DslAttributeMap oldMap && newAttributes instanceof DslAttributeMap newMap
+                && oldMap.size() == newMap.size()) {
+            // common case: same keys in the same order, at most some values changed
+            boolean sameKeys = true;
+            for (int i = 0, n = oldMap.size(); i < n && sameKeys; i++) {
+                sameKeys = oldMap.keyAt(i).equals(newMap.keyAt(i));
+            }
+            if (sameKeys) {
+                int[] here = null;
+                for (int i = 0, n = newMap.size(); i < n; i++) {
+                    if (!sameValue(oldMap, i, newMap, i)) {
+                        if (here == null) here = currentPath();
+                        ops.add(set(here, newAttributes, newMap.keyAt(i)));
+                    }
+                }
+                return;
+            }
+        }
+        // set/remove keeps surviving keys in place and appends new ones - if that would not give
+        // the new order, rewrite them all so rendered output matches byte for byte
+        var oldKeys = keys(oldAttributes);
+        var newKeys = keys(newAttributes);
+        var survivors = new ArrayList<String>(newKeys.size());
+        for (var key : oldKeys) {
+            if (newAttributes.containsKey(key)) survivors.add(key);
+        }
+        int s = 0;
+        boolean orderKept = true;
+        for (var key : newKeys) {
+            if (!oldAttributes.containsKey(key)) continue;
+            if (!key.equals(survivors.get(s++))) {
+                orderKept = false;
+                break;
+            }
+        }
+        if (orderKept) {
+            // appended keys must also come last in the new order
+            boolean seenNew = false;
+            for (var key : newKeys) {
+                boolean isNew = !oldAttributes.containsKey(key);
+                if (seenNew && !isNew) {
+                    orderKept = false;
+                    break;
+                }
+                seenNew |= isNew;
+            }
+        }
+        int[] here = null;
+        for (var key : oldKeys) {
+            if (!orderKept || !newAttributes.containsKey(key)) {
+                if (here == null) here = currentPath();
+                ops.add(new DslPatchOp.RemoveAttribute(here, key));
+            }
+        }
+        for (var key : newKeys) {
+            if (orderKept && oldAttributes.containsKey(key) && sameValue(oldAttributes, newAttributes, key)) continue;
+            if (here == null) here = currentPath();
+            ops.add(set(here, newAttributes, key));
+        }
+    }
+
+    /** Keys in order - a DslAttributeMap's without formatting its values through entrySet() */
+    private static List<String> keys(Map<String, String> attributes) {
+        if (!(attributes instanceof DslAttributeMap compact)) return new ArrayList<>(attributes.keySet());
+        var keys = new ArrayList<String>(compact.size());
+        for (int i = 0, n = compact.size(); i < n; i++) keys.add(compact.keyAt(i));
+        return keys;
+    }
+
+    private static boolean sameValue(Map<String, String> oldAttributes, Map<String, String> newAttributes, String key) {
+        if (oldAttributes instanceof DslAttributeMap oldMap && newAttributes instanceof DslAttributeMap newMap) {
+            return sameValue(oldMap, oldMap.shape().indexOf(key), newMap, newMap.shape().indexOf(key));
+        }
+        return Objects.equals(oldAttributes.get(key), newAttributes.get(key));
+    }
+
+    /** Same type and value - a number that became a String (or back) is a change */
+    private static boolean sameValue(DslAttributeMap oldMap, int i, DslAttributeMap newMap, int j) {
+        if (newMap.isNumberAt(j)) {
+            return oldMap.isNumberAt(i) && Double.doubleToLongBits(oldMap.numberAt(i)) == Double.doubleToLongBits(newMap.numberAt(j));
+        }
+        if (newMap.isPathAt(j)) return oldMap.isPathAt(i) && oldMap.pathAt(i).sameGeometry(newMap.pathAt(j));
+        return !oldMap.isNumberAt(i) && !oldMap.isPathAt(i) && Objects.equals(oldMap.valueAt(i), newMap.valueAt(j));
+    }
+
+    /** The op setting key to its new value, typed as the new map holds it */
+    private static DslPatchOp set(int[] here, Map<String, String> attributes, String key) {
+        if (attributes instanceof DslAttributeMap compact) {
+            int i = compact.shape().indexOf(key);
+            if (compact.isNumberAt(i)) return new DslPatchOp.SetNumberAttribute(here, key, compact.numberAt(i));
+            if (compact.isPathAt(i)) return new DslPatchOp.SetPathAttribute(here, key, compact.pathAt(i));
+            return new DslPatchOp.SetAttribute(here, key, compact.valueAt(i));
+        }
+        return new DslPatchOp.SetAttribute(here, key, attributes.get(key));
+    }
+
+    private void diffChildren(List<? extends Node_I<?>> oldChildren, List<? extends Node_I<?>> newChildren) {
+        int oldCount = oldChildren.size(), newCount = newChildren.size();
+
+        // match new children to old ones: by key, else positionally among unkeyed children
+        Map<String, Integer> oldByKey = null;
+        var unkeyedOld = new int[oldCount];
+        int unkeyedOldCount = 0;
+        for (int i = 0; i < oldCount; i++) {
+            var key = keyOf(oldChildren.get(i));
+            if (key == null) {
+                unkeyedOld[unkeyedOldCount++] = i;
+            } else {
+                if (oldByKey == null) oldByKey = new HashMap<>();
+                oldByKey.putIfAbsent(key, i);
+            }
+        }
+        var oldMatched = new boolean[oldCount];
+        var matchOfNew = new int[newCount];
+        int nextUnkeyed = 0;
+        for (int j = 0; j < newCount; j++) {
+            matchOfNew[j] = -1;
+            var key = keyOf(newChildren.get(j));
+            Integer i = key == null
+                    ? (nextUnkeyed < unkeyedOldCount ? unkeyedOld[nextUnkeyed++] : null)
+                    : (oldByKey == null ? null : oldByKey.get(key));
+            if (i != null && !oldMatched[i]) {
+                oldMatched[i] = true;
+                matchOfNew[j] = i;
+            }
+        }
+
+        boolean structureChanged = oldCount != newCount;
+        for (int j = 0; j < newCount && !structureChanged; j++) {
+            structureChanged = matchOfNew[j] != j;
+        }
+        if (structureChanged) {
+            reorder(oldCount, newChildren, oldMatched, matchOfNew);
+        }
+
+        for (int j = newCount - 1; j >= 0; j--) { // reversed onto the stack, so the first child is diffed first
+            if (matchOfNew[j] >= 0) {
+                schedule(oldChildren.get(matchOfNew[j]), newChildren.get(j), depth + 1, j);
+            }
+        }
+    }
+
+    /**
+     * Emits removals, then places new children right to left, each directly before its
+     * successor: matched children on the longest increasing run stay, the rest move.
+     *
+     * Indexes come from a Fenwick tree over fixed slots instead of a simulated list. A child
+     * placed before a staying child S ends up in the block right in front of S, so every such
+     * block gets its slots ahead of S in old order, the block after the last stayer at the end.
+     */
+    private void reorder(int oldCount, List<? extends Node_I<?>> newChildren, boolean[] oldMatched, int[] matchOfNew) {
+        int[] here = currentPath();
+        for (int i = oldCount - 1; i >= 0; i--) {
+            if (!oldMatched[i]) ops.add(new DslPatchOp.RemoveChild(here, i));
+        }
+
+        // surviving old children in old order, and where each has to end up
+        int newCount = newChildren.size();
+        var targetOfOld = new int[oldCount];
+        for (int j = 0; j < newCount; j++) {
+            if (matchOfNew[j] >= 0) targetOfOld[matchOfNew[j]] = j;
+        }
+        var survivorOld = new int[oldCount];
+        var targets = new int[oldCount];
+        int survivors = 0;
+        for (int i = 0; i < oldCount; i++) {
+            if (oldMatched[i]) {
+                survivorOld[survivors] = i;
+                targets[survivors++] = targetOfOld[i];
+            }
+        }
+        var stays = longestIncreasingRun(targets, survivors);
+        var staysOld = new boolean[oldCount];
+
+        // slots: survivors in old order, with each stayer's block of placed children just before it
+        var slotOfOld = new int[oldCount];
+        var slotOfNew = new int[newCount];
+        int slots = 0, placedUpTo = 0; // new children before placedUpTo have their slots
+        for (int s = 0; s < survivors; s++) {
+            if (stays[s]) {
+                staysOld[survivorOld[s]] = true;
+                for (int target = targets[s]; placedUpTo < target; placedUpTo++) slotOfNew[placedUpTo] = slots++;
+                placedUpTo++;
+            }
+            slotOfOld[survivorOld[s]] = slots++;
+        }
+        while (placedUpTo < newCount) slotOfNew[placedUpTo++] = slots++;
+
+        var present = new FenwickTree(slots);
+        for (int s = 0; s < survivors; s++) present.add(slotOfOld[survivorOld[s]], 1);
+        for (int j = newCount - 1; j >= 0; j--) {
+            int matched = matchOfNew[j];
+            if (matched >= 0 && staysOld[matched]) continue;
+            if (matched < 0) {
+                ops.add(new DslPatchOp.InsertChild(here, present.countBefore(slotOfNew[j]), newChildren.get(j)));
+            } else {
+                int from = present.countBefore(slotOfOld[matched]);
+                present.add(slotOfOld[matched], -1);
+                int to = present.countBefore(slotOfNew[j]);
+                if (from != to) ops.add(new DslPatchOp.MoveChild(here, from, to));
+            }
+            present.add(slotOfNew[j], 1);
+        }
+    }
+
+    /** Counts of present slots, prefix sums in O(log n) */
+    private static final class FenwickTree {
+        private final int[] tree;
+
+        FenwickTree(int size) {
+            tree = new int[size + 1];
+        }
+
+        void add(int slot, int delta) {
+            for (int i = slot + 1; i < tree.length; i += i & -i) tree[i] += delta;
+        }
+
+        /** Present slots below this one - the child index a node there has */
+        int countBefore(int slot) {
+            int count = 0;
+            for (int i = slot; i > 0; i -= i & -i) count += tree[i];
+            return count;
+        }
+    }
+
+    /** Marks one longest strictly increasing subsequence of values[0..n) - O(n log n) */
+    private static boolean[] longestIncreasingRun(int[] values, int n) {
+        var tailIndex = new int[n];
+        var previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            int lo = 0, hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[tailIndex[mid]] < values[i]) lo = mid + 1; else hi = mid;
+            }
+            previous[i] = lo > 0 ? tailIndex[lo - 1] : -1;
+            tailIndex[lo] = i;
+            if (lo == length) length++;
+        }
+        var run = new boolean[n];
+        for (int i = length > 0 ? tailIndex[length - 1] : -1; i >= 0; i = previous[i]) {
+            run[i] = true;
+        }
+        return run;
+    }
+
+    private static String keyOf(Node_I<?> node) {
+        if (node instanceof HasAttributes<?> withAttributes) {
+            var key = withAttributes.attr("key");
+            return key != null ? key : withAttributes.attr("id");
+        }
+        return null;
+    }
+
+    private int[] currentPath() {
+        return Arrays.copyOf(path, depth);
+    }
+
+    private void schedule(Node_I<?> oldNode, Node_I<?> newNode, int atDepth, int index) {
+        if (pending == pendingOld.length) {
+            int capacity = pending * 2;
+            pendingOld = Arrays.copyOf(pendingOld, capacity);
+            pendingNew = Arrays.copyOf(pendingNew, capacity);
+            pendingDepth = Arrays.copyOf(pendingDepth, capacity);
+            pendingIndex = Arrays.copyOf(pendingIndex, capacity);
+        }
+        pendingOld[pending] = oldNode;
+        pendingNew[pending] = newNode;
+        pendingDepth[pending] = atDepth;
+        pendingIndex[pending] = index;
+        pending++;
+    }
+
+    /** Path of a scheduled pair: its ancestors' indexes are still in place, depth first */
+    private void moveTo(int atDepth, int index) {
+        if (atDepth > path.length) path = Arrays.copyOf(path, Math.max(atDepth, path.length * 2));
+        if (atDepth > 0) path[atDepth - 1] = index;
+        depth = atDepth;
+    }
+}
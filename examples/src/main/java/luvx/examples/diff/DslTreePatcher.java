@@ -0,0 +1,81 @@
+package luvx.examples.diff;
+
+import java.util.List;
+import java.util.Map;
+import luvx.Node_I;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslNumbers;
+import luvx.examples.dsl.DslText;
+
+/**
+ * Applies a {@link DslTreeDiff} edit script to a live (mutable) tree, in place.
+ *
+ * Inserted and replacing nodes are the instances from the new tree, not copies - freeze() the
+ * new tree first if both sides keep being edited. Frozen targets throw
+ * UnsupportedOperationException; patch those with the copyWith* methods instead. Numeric and
+ * path attributes stay typed in a DslAttributeMap; other maps get their String form.
+ */
+public final class DslTreePatcher {
+
+    private DslTreePatcher() {}
+
+    /** Patches root in place; returns the root, which is a different node only if it was replaced */
+    public static Node_I<?> apply(Node_I<?> root, List<DslPatchOp> ops) {
+        for (var op : ops) {
+            switch (op) {
+                case DslPatchOp.SetAttribute set -> attributesOf(resolve(root, set.path())).put(set.name(), set.value());
+                case DslPatchOp.SetNumberAttribute set -> {
+                    var attributes = attributesOf(resolve(root, set.path()));
+                    if (attributes instanceof DslAttributeMap compact) compact.putNumber(set.name(), set.value());
+                    else attributes.put(set.name(), DslNumbers.toString(set.value()));
+                }
+                case DslPatchOp.SetPathAttribute set -> {
+                    var attributes = attributesOf(resolve(root, set.path()));
+                    if (attributes instanceof DslAttributeMap compact) compact.putPath(set.name(), set.value());
+                    else attributes.put(set.name(), DslAttributeMap.isPoints(set.name()) ? set.value().pointList() : set.value().d());
+                }
+                case DslPatchOp.RemoveAttribute remove -> attributesOf(resolve(root, remove.path())).remove(remove.name());
+                case DslPatchOp.ReplaceText text -> root = replace(root, text.path(), new DslText(text.text()));
+                case DslPatchOp.ReplaceNode replace -> root = replace(root, replace.path(), replace.node());
+                case DslPatchOp.InsertChild insert -> childrenOf(resolve(root, insert.path())).add(insert.index(), insert.node());
+                case DslPatchOp.MoveChild move -> {
+                    var children = childrenOf(resolve(root, move.path()));
+                    children.add(move.to(), children.remove(move.from()));
+                }
+                case DslPatchOp.RemoveChild remove -> childrenOf(resolve(root, remove.path())).remove(remove.index());
+            }
+        }
+        return root;
+    }
+
+    private static Node_I<?> resolve(Node_I<?> root, int[] path) {
+        Node_I<?> node = root;
+        for (int index : path) {
+            node = ((HasChildNodes<?>) node).childNodes().get(index);
+        }
+        return node;
+    }
+
+    private static Node_I<?> replace(Node_I<?> root, int[] path, Node_I<?> replacement) {
+        if (path.length == 0) return replacement;
+        Node_I<?> parent = root;
+        for (int i = 0; i < path.length - 1; i++) {
+            parent = ((HasChildNodes<?>) parent).childNodes().get(path[i]);
+        }
+        childrenOf(parent).set(path[path.length - 1], replacement);
+        return root;
+    }
+
+    private static Map<String, String> attributesOf(Node_I<?> node) {
+        if (node instanceof HasAttributes<?> withAttributes) return withAttributes.attributes();
+        throw new IllegalArgumentException("Patch addresses a node without attributes: " + node.getClass().getSimpleName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Node_I<?>> childrenOf(Node_I<?> node) {
+        if (node instanceof HasChildNodes<?> parent) return (List<Node_I<?>>) parent.childNodes();
+        throw new IllegalArgumentException("Patch addresses a node without children: " + node.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,79 @@
+package luvx.examples.dispatch;
+
+import luvx.Attr_I;
+import luvx.CData_I;
+import luvx.Comment_I;
+import luvx.ContainerElement_I;
+import luvx.Doctype_I;
+import luvx.Element_I;
+import luvx.EscapableRawTextElement_I;
+import luvx.ProcessingInstruction_I;
+import luvx.RawTextElement_I;
+import luvx.Text_I;
+import luvx.VoidElement_I;
+
+/**
+ * Leaf kind of a fragment - the same answer as walking fragType() → nodeType() → elementType()
+ * → ..., but without allocating a wrapper per level.
+ *
+ * The kind is a property of the implementing class, computed once per class and cached in a
+ * ClassValue, so {@link #of} is one map probe and the switch on the result is a tableswitch.
+ * Use {@link FragVisitor} for zero-cast typed access to the node.
+ */
+public enum FragKind {
+    ATTR("Attribute"),
+    TEXT("Text"),
+    COMMENT("Comment"),
+    CDATA("CData"),
+    DOCTYPE("Doctype"),
+    VOID_ELEMENT("VoidElement"),
+    PROCESSING_INSTRUCTION("ProcessingInstruction"),
+    CONTAINER_ELEMENT("ContainerElement"),
+    RAW_TEXT_ELEMENT("RawTextElement"),
+    ESCAPABLE_RAW_TEXT_ELEMENT("EscapableRawTextElement"),
+    /** Element_I without one of the known element sub-interfaces */
+    ELEMENT("Element"),
+    OTHER("Other");
+
+    private static final ClassValue<FragKind> KINDS = new ClassValue<>() {
+        @Override
+        protected FragKind computeValue(Class<?> type) {
+            return classify(type);
+        }
+    };
+
+    private final String label;
+
+    FragKind(String label) {
+        this.label = label;
+    }
+
+    /** Name as printed by TypeDiscriminationDemo.getDetailedType */
+    public String label() {
+        return label;
+    }
+
+    public boolean isElement() {
+        return ordinal() >= VOID_ELEMENT.ordinal() && this != OTHER;
+    }
+
+    public static FragKind of(Object frag) {
+        return frag == null ? OTHER : KINDS.get(frag.getClass());
+    }
+
+    // most specific interfaces first - raw-text elements may also be containers
+    private static FragKind classify(Class<?> type) {
+        if (Attr_I.class.isAssignableFrom(type)) return ATTR;
+        if (Text_I.class.isAssignableFrom(type)) return TEXT;
+        if (Comment_I.class.isAssignableFrom(type)) return COMMENT;
+        if (CData_I.class.isAssignableFrom(type)) return CDATA;
+        if (Doctype_I.class.isAssignableFrom(type)) return DOCTYPE;
+        if (ProcessingInstruction_I.class.isAssignableFrom(type)) return PROCESSING_INSTRUCTION;
+        if (VoidElement_I.class.isAssignableFrom(type)) return VOID_ELEMENT;
+        if (EscapableRawTextElement_I.class.isAssignableFrom(type)) return ESCAPABLE_RAW_TEXT_ELEMENT;
+        if (RawTextElement_I.class.isAssignableFrom(type)) return RAW_TEXT_ELEMENT;
+        if (ContainerElement_I.class.isAssignableFrom(type)) return CONTAINER_ELEMENT;
+        if (Element_I.class.isAssignableFrom(type)) return ELEMENT;
+        return OTHER;
+    }
+}
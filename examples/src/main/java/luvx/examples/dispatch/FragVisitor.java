@@ -0,0 +1,56 @@
+package luvx.examples.dispatch;
+
+import luvx.Attr_I;
+import luvx.CData_I;
+import luvx.Comment_I;
+import luvx.ContainerElement_I;
+import luvx.Doctype_I;
+import luvx.Element_I;
+import luvx.EscapableRawTextElement_I;
+import luvx.ProcessingInstruction_I;
+import luvx.RawTextElement_I;
+import luvx.Text_I;
+import luvx.VoidElement_I;
+
+/**
+ * Typed callbacks per {@link FragKind} - the zero-cast API of the nested ftype switches
+ * without the wrapper allocations. Unhandled element kinds fall back to {@link #element},
+ * everything else to {@link #other}.
+ *
+ * Keep visitors stateless (or reuse one instance) and dispatching allocates nothing.
+ */
+public interface FragVisitor<R> {
+
+    default R attr(Attr_I<?> attr) { return other(attr); }
+    default R text(Text_I<?> text) { return other(text); }
+    default R comment(Comment_I<?> comment) { return other(comment); }
+    default R cdata(CData_I<?> cdata) { return other(cdata); }
+    default R doctype(Doctype_I<?> doctype) { return other(doctype); }
+    default R voidElement(VoidElement_I<?> element) { return element(element); }
+    default R processingInstruction(ProcessingInstruction_I<?> pi) { return element(pi); }
+    default R containerElement(ContainerElement_I<?> element) { return element(element); }
+    default R rawTextElement(RawTextElement_I<?> element) { return element(element); }
+    default R escapableRawTextElement(EscapableRawTextElement_I<?> element) { return element(element); }
+    default R element(Element_I<?> element) { return other(element); }
+
+    default R other(Object frag) {
+        throw new IllegalArgumentException("Unhandled fragment kind " + FragKind.of(frag) + ": " + frag.getClass().getName());
+    }
+
+    static <R> R dispatch(Object frag, FragVisitor<R> visitor) {
+        return switch (FragKind.of(frag)) {
+            case ATTR -> visitor.attr((Attr_I<?>) frag);
+            case TEXT -> visitor.text((Text_I<?>) frag);
+            case COMMENT -> visitor.comment((Comment_I<?>) frag);
+            case CDATA -> visitor.cdata((CData_I<?>) frag);
+            case DOCTYPE -> visitor.doctype((Doctype_I<?>) frag);
+            case VOID_ELEMENT -> visitor.voidElement((VoidElement_I<?>) frag);
+            case PROCESSING_INSTRUCTION -> visitor.processingInstruction((ProcessingInstruction_I<?>) frag);
+            case CONTAINER_ELEMENT -> visitor.containerElement((ContainerElement_I<?>) frag);
+            case RAW_TEXT_ELEMENT -> visitor.rawTextElement((RawTextElement_I<?>) frag);
+            case ESCAPABLE_RAW_TEXT_ELEMENT -> visitor.escapableRawTextElement((EscapableRawTextElement_I<?>) frag);
+            case ELEMENT -> visitor.element((Element_I<?>) frag);
+            case OTHER -> visitor.other(frag);
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package luvx.examples.dsl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import luvx.Attr_I;
+import luvx.examples.escape.Escaper;
+
+/**
+ * Attribute implementation - implements Attr_I from Frag_I hierarchy
+ *
+ * Immutable, so instances obtained from {@link #of(String, String)} are interned flyweights,
+ * shared across threads, with their escaped markup ({@code  name="value"}) and its UTF-8
+ * encoding computed once at creation. Plain {@code new DslAttribute(...)} instances compute
+ * them lazily on first use.
+ *
+ * Numeric attributes ({@link #of(String, double)}) keep the primitive - elements store it as is
+ * and the renderers format it into their output buffer, see {@link DslNumbers}. value() formats
+ * it on demand.
+ */
+public class DslAttribute implements DslFrag_I, Attr_I<DslAttribute> {
+
+    /** Per name cap - keeps per-row values like id("row-" + i) from taking over the pool */
+    static final int MAX_VALUES_PER_NAME = 256;
+
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<String, DslAttribute>> INTERNED = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String value;
+    private final boolean numeric;
+    private final double number;
+    private volatile String markup;
+    private volatile byte[] utf8;
+
+    public DslAttribute(String name, String value) {
+        this.name = DslAttributeNames.intern(name);
+        this.value = value;
+        this.numeric = false;
+        this.number = 0;
+    }
+
+    public DslAttribute(String name, double number) {
+        this.name = DslAttributeNames.intern(name);
+        this.value = null;
+        this.numeric = true;
+        this.number = number;
+    }
+
+    /**
+     * Interned flyweight for this name/value pair - repeated constants such as
+     * charset("UTF-8") or type("text") return the same instance every time.
+     */
+    public static DslAttribute of(String name, String value) {
+        if (value == null) return new DslAttribute(name, null);
+        var byValue = INTERNED.get(name);
+        if (byValue == null) {
+            if (INTERNED.size() >= DslAttributeNames.MAX_NAMES) return new DslAttribute(name, value);
+            byValue = INTERNED.computeIfAbsent(DslAttributeNames.intern(name), n -> new ConcurrentHashMap<>());
+        }
+        var attribute = byValue.get(value);
+        if (attribute != null) return attribute;
+
+        attribute = new DslAttribute(name, value);
+        attribute.utf8(); // precompute before publishing
+        if (byValue.size() < MAX_VALUES_PER_NAME) {
+            var raced = byValue.putIfAbsent(value, attribute);
+            if (raced != null) return raced;
+        }
+        return attribute;
+    }
+
+    /**
+     * Numeric attribute - not interned, values are as open-ended as per-row ids and the
+     * renderers write them without a flyweight anyway.
+     */
+    public static DslAttribute of(String name, double value) {
+        return new DslAttribute(name, value);
+    }
+
+    /**
+     * The interned flyweight for this pair if there is one, without creating it -
+     * renderers use it to emit the pre-encoded form.
+     */
+    public static DslAttribute lookup(String name, String value) {
+        if (value == null) return null;
+        var byValue = INTERNED.get(name);
+        return byValue == null ? null : byValue.get(value);
+    }
+
+    @Override public DslAttribute self() { return this; }
+    @Override public String name() { return name; }
+    @Override public String value() { return numeric ? DslNumbers.toString(number) : value; }
+
+    public boolean isNumber() { return numeric; }
+
+    /** The primitive value of a numeric attribute */
+    public double number() { return number; }
+
+    /** {@code  name="escaped value"} including the leading space */
+    public String markup() {
+        var m = markup;
+        if (m == null) {
+            if (numeric) {
+                m = " " + name + "=\"" + DslNumbers.toString(number) + "\""; // digits need no escaping
+            } else {
+                m = value == null ? " " + name : " " + name + "=\"" + Escaper.escape(value, Escaper.Context.ATTRIBUTE) + "\"";
+            }
+            markup = m;
+        }
+        return m;
+    }
+
+    /** {@link #markup()} encoded as UTF-8 - callers must not modify the array */
+    public byte[] utf8() {
+        var bytes = utf8;
+        if (bytes == null) {
+            utf8 = bytes = markup().getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,247 @@
+package luvx.examples.dsl;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact attribute map - a shared {@link DslAttributeShape} for the keys plus an exactly-sized
+ * value array, instead of a HashMap with its table and one entry object per attribute.
+ *
+ * Full Map contract (so HasAttributes.attributes().put(...) style mixins keep working),
+ * iteration in insertion order, null values allowed (boolean attributes). Null keys are rejected
+ * when put - renderers, the token cache and the differ all rely on attribute names.
+ * Renderers can skip the iterator through {@link #keyAt(int)} / {@link #valueAt(int)}.
+ *
+ * Numeric values ({@link #putNumber(String, double)}) stay primitive in a side array; the map
+ * view formats them on access, renderers check {@link #isNumberAt(int)} and write
+ * {@link #numberAt(int)} without a String. Path geometry ({@link #putPath(String, DslPathData)})
+ * works the same way - a d or points value that is only ever encoded into the output.
+ *
+ * A {@link #frozenCopy()} rejects every mutation, and {@link #frozenWith(String, String)}
+ * derives a new frozen map that shares the shape - the attribute side of freeze().
+ */
+public class DslAttributeMap extends AbstractMap<String, String> {
+
+    private static final String[] NO_VALUES = new String[0];
+    private static final String NUMBER = new String("#number"); // identity marker - the value is in numbers[]
+    private static final String PATH = new String("#path");     // ... in paths[]
+
+    private DslAttributeShape shape = DslAttributeShape.EMPTY;
+    private String[] values = NO_VALUES;
+    private double[] numbers; // allocated with the first numeric value, at least as long as any NUMBER index
+    private DslPathData[] paths; // likewise for PATH
+    private boolean frozen;
+
+    public DslAttributeMap() {}
+
+    /** Single attribute map - the DslStyledText case */
+    public static DslAttributeMap of(String key, String value) {
+        Objects.requireNonNull(key, "attribute name");
+        var map = new DslAttributeMap();
+        map.shape = DslAttributeShape.EMPTY.withKey(key);
+        map.values = new String[] {value};
+        return map;
+    }
+
+    public DslAttributeShape shape() { return shape; }
+
+    public boolean isFrozen() { return frozen; }
+
+    /** Immutable snapshot of this map - returns this when already frozen */
+    public DslAttributeMap frozenCopy() {
+        if (frozen) return this;
+        var copy = new DslAttributeMap();
+        copy.shape = shape;
+        copy.values = values.length == 0 ? NO_VALUES : values.clone();
+        if (numbers != null) copy.numbers = numbers.clone();
+        if (paths != null) copy.paths = paths.clone();
+        copy.frozen = true;
+        return copy;
+    }
+
+    /** Frozen copy with one attribute set - same shape when the key already exists */
+    public DslAttributeMap frozenWith(String key, String value) {
+        Objects.requireNonNull(key, "attribute name");
+        var copy = new DslAttributeMap();
+        int i = shape.indexOf(key);
+        if (i >= 0) {
+            copy.shape = shape;
+            copy.values = values.clone();
+        } else {
+            copy.shape = shape.withKey(key);
+            copy.values = Arrays.copyOf(values, values.length + 1);
+            i = values.length;
+        }
+        if (numbers != null) copy.numbers = numbers.clone();
+        if (paths != null) copy.paths = paths.clone();
+        copy.values[i] = value;
+        copy.frozen = true;
+        return copy;
+    }
+
+    public String keyAt(int i) { return shape.keyAt(i); }
+
+    /** The value - numeric ones formatted shortest, so prefer numberAt(i) where isNumberAt(i) */
+    public String valueAt(int i) {
+        var value = values[i];
+        if (value == NUMBER) return DslNumbers.toString(numbers[i]);
+        if (value == PATH) return isPoints(shape.keyAt(i)) ? paths[i].pointList() : paths[i].d();
+        return value;
+    }
+
+    public boolean isNumberAt(int i) { return values[i] == NUMBER; }
+
+    /** The primitive value - only meaningful where isNumberAt(i) */
+    public double numberAt(int i) { return numbers[i]; }
+
+    public boolean isPathAt(int i) { return values[i] == PATH; }
+
+    /** The geometry - only meaningful where isPathAt(i) */
+    public DslPathData pathAt(int i) { return paths[i]; }
+
+    /** polyline / polygon points take a plain coordinate list, anything else path data */
+    public static boolean isPoints(String key) { return key.equals("points"); }
+
+    @Override public int size() { return values.length; }
+
+    @Override public boolean containsKey(Object key) { return shape.indexOf(key) >= 0; }
+
+    @Override
+    public String get(Object key) {
+        int i = shape.indexOf(key);
+        return i < 0 ? null : valueAt(i);
+    }
+
+    @Override
+    public String put(String key, String value) {
+        Objects.requireNonNull(key, "attribute name");
+        checkMutable();
+        int i = shape.indexOf(key);
+        if (i >= 0) {
+            var old = valueAt(i);
+            values[i] = value;
+            return old;
+        }
+        shape = shape.withKey(key);
+        values = Arrays.copyOf(values, values.length + 1);
+        values[values.length - 1] = value;
+        return null;
+    }
+
+    /** Sets a numeric value, kept as a double - no String is made for it */
+    public void putNumber(String key, double value) {
+        Objects.requireNonNull(key, "attribute name");
+        checkMutable();
+        int i = shape.indexOf(key);
+        if (i < 0) {
+            shape = shape.withKey(key);
+            values = Arrays.copyOf(values, values.length + 1);
+            i = values.length - 1;
+        }
+        if (numbers == null) {
+            numbers = new double[values.length];
+        } else if (numbers.length <= i) {
+            numbers = Arrays.copyOf(numbers, values.length);
+        }
+        values[i] = NUMBER;
+        numbers[i] = value;
+    }
+
+    /** Sets path geometry (d, or points for polyline / polygon), held by reference */
+    public void putPath(String key, DslPathData value) {
+        Objects.requireNonNull(key, "attribute name");
+        checkMutable();
+        int i = shape.indexOf(key);
+        if (i < 0) {
+            shape = shape.withKey(key);
+            values = Arrays.copyOf(values, values.length + 1);
+            i = values.length - 1;
+        }
+        if (paths == null) {
+            paths = new DslPathData[values.length];
+        } else if (paths.length <= i) {
+            paths = Arrays.copyOf(paths, values.length);
+        }
+        values[i] = PATH;
+        paths[i] = value;
+    }
+
+    @Override
+    public String remove(Object key) {
+        int i = shape.indexOf(key);
+        return i < 0 ? null : removeAt(i);
+    }
+
+    private String removeAt(int i) {
+        checkMutable();
+        var old = valueAt(i);
+        if (numbers != null && i < numbers.length - 1) {
+            System.arraycopy(numbers, i + 1, numbers, i, numbers.length - i - 1);
+        }
+        if (paths != null && i < paths.length - 1) {
+            System.arraycopy(paths, i + 1, paths, i, paths.length - i - 1);
+        }
+        var remaining = new String[values.length - 1];
+        System.arraycopy(values, 0, remaining, 0, i);
+        System.arraycopy(values, i + 1, remaining, i, remaining.length - i);
+        shape = shape.withoutKeyAt(i);
+        values = remaining.length == 0 ? NO_VALUES : remaining;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        checkMutable();
+        shape = DslAttributeShape.EMPTY;
+        values = NO_VALUES;
+        numbers = null;
+        paths = null;
+    }
+
+    private void checkMutable() {
+        if (frozen) throw new UnsupportedOperationException("attributes of a frozen element");
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override public int size() { return values.length; }
+            @Override public Iterator<Map.Entry<String, String>> iterator() { return new EntryIterator(); }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+        private int next;
+        private int last = -1;
+
+        @Override public boolean hasNext() { return next < values.length; }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (next >= values.length) throw new NoSuchElementException();
+            int i = last = next++;
+            return new AbstractMap.SimpleEntry<>(shape.keyAt(i), valueAt(i)) {
+                @Override
+                public String setValue(String value) {
+                    checkMutable();
+                    values[i] = value;
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) throw new IllegalStateException();
+            removeAt(last);
+            next = last;
+            last = -1;
+        }
+    }
+}
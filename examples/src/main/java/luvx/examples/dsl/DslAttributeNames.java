@@ -0,0 +1,46 @@
+package luvx.examples.dsl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attribute-name registry - every name used by DslAttributes, and any name seen at runtime
+ * (withAttribute, setAttribute, decoded snapshots ...), resolves to one canonical String instance.
+ *
+ * Bounded: once MAX_NAMES distinct names are registered, unknown names are returned as-is.
+ */
+public final class DslAttributeNames {
+
+    static final int MAX_NAMES = 4096;
+
+    private static final ConcurrentHashMap<String, String> NAMES = new ConcurrentHashMap<>();
+
+    static {
+        for (var name : new String[] {
+                // HTML
+                "id", "class", "href", "onclick", "type", "placeholder", "value", "name", "content", "charset", "style",
+                // SVG
+                "xmlns", "viewBox", "width", "height", "x", "y", "cx", "cy", "r", "fill", "stroke",
+                "stroke-width", "transform", "text-anchor", "font-size", "font-weight", "offset",
+                "stop-color", "filter", "dx", "dy", "stdDeviation", "d", "points"}) {
+            NAMES.put(name, name);
+        }
+    }
+
+    private DslAttributeNames() {}
+
+    /** Canonical instance for this name */
+    public static String intern(String name) {
+        String canonical = NAMES.get(name);
+        if (canonical != null) return canonical;
+        if (NAMES.size() >= MAX_NAMES) return name;
+        canonical = NAMES.putIfAbsent(name, name);
+        return canonical != null ? canonical : name;
+    }
+
+    /** Every registered name - lets renderers pre-encode their name tokens up front */
+    public static Collection<String> known() {
+        return Collections.unmodifiableCollection(NAMES.values());
+    }
+}
@@ -0,0 +1,127 @@
+package luvx.examples.dsl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable attribute key layout ("hidden class") shared by every DslAttributeMap that was
+ * populated with the same key sequence - e.g. all {@code rect(x, y, width, height, fill, stroke)}
+ * elements point at one shape and only carry their own value array.
+ *
+ * Shapes form a transition tree rooted at {@link #EMPTY}: adding a key moves to the cached child
+ * shape, so building the same kind of element again allocates no new layout.
+ *
+ * The tree is bounded: past {@link #MAX_SHARED_KEYS} keys, {@link #MAX_TRANSITIONS} children
+ * of one shape or {@link #MAX_SHARED_SHAPES} shapes in all, a map gets a detached shape of its
+ * own (dictionary mode) - nothing is cached for it, and keys added to it stay detached.
+ */
+public final class DslAttributeShape {
+
+    public static final DslAttributeShape EMPTY = new DslAttributeShape(new String[0], true);
+
+    /** Up to this many keys a linear identity/equals scan beats hashing */
+    private static final int LINEAR_SCAN_LIMIT = 8;
+
+    static final int MAX_SHARED_KEYS = 32;
+    static final int MAX_TRANSITIONS = 256;
+    static final int MAX_SHARED_SHAPES = 1 << 14;
+
+    private static final AtomicInteger SHARED_SHAPES = new AtomicInteger();
+
+    private final String[] keys;
+    private final Map<String, Integer> index; // only for wide shapes
+    private final boolean shared;             // reachable from EMPTY - false in dictionary mode
+    private volatile ConcurrentHashMap<String, DslAttributeShape> transitions; // with the first transition - most shapes are leaves
+
+    private DslAttributeShape(String[] keys, boolean shared) {
+        this.keys = keys;
+        this.shared = shared;
+        if (keys.length > LINEAR_SCAN_LIMIT) {
+            var map = new HashMap<String, Integer>(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) map.put(keys[i], i);
+            this.index = map;
+        } else {
+            this.index = null;
+        }
+    }
+
+    public int size() { return keys.length; }
+
+    public String keyAt(int i) { return keys[i]; }
+
+    /** False for a dictionary-mode shape, which belongs to one map and its copies */
+    public boolean isShared() { return shared; }
+
+    /** Slot of the key in this layout, -1 if absent */
+    public int indexOf(Object key) {
+        if (index != null) {
+            Integer i = index.get(key);
+            return i == null ? -1 : i;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == key) return i; // canonical names from DslAttributeNames hit here
+        }
+        if (key == null) return -1;
+        for (int i = 0; i < keys.length; i++) {
+            if (key.equals(keys[i])) return i;
+        }
+        return -1;
+    }
+
+    /** The shape with this key appended - the new key's slot is {@code size()} */
+    public DslAttributeShape withKey(String key) {
+        Objects.requireNonNull(key, "attribute name");
+        if (!shared || keys.length >= MAX_SHARED_KEYS) return detached(key);
+        var table = transitions;
+        if (table != null) {
+            var next = table.get(key);
+            if (next != null) return next;
+        }
+        var name = DslAttributeNames.intern(key);
+        table = transitions();
+        if (table.size() >= MAX_TRANSITIONS || SHARED_SHAPES.get() >= MAX_SHARED_SHAPES) return detached(name);
+        return table.computeIfAbsent(name, k -> {
+            SHARED_SHAPES.incrementAndGet();
+            return new DslAttributeShape(append(k), true);
+        });
+    }
+
+    /** The shape without the key at this slot, reached through the regular transitions */
+    public DslAttributeShape withoutKeyAt(int slot) {
+        if (!shared) {
+            var remaining = new String[keys.length - 1];
+            System.arraycopy(keys, 0, remaining, 0, slot);
+            System.arraycopy(keys, slot + 1, remaining, slot, remaining.length - slot);
+            return new DslAttributeShape(remaining, false);
+        }
+        var shape = EMPTY;
+        for (int i = 0; i < keys.length; i++) {
+            if (i != slot) shape = shape.withKey(keys[i]);
+        }
+        return shape;
+    }
+
+    private DslAttributeShape detached(String key) {
+        return new DslAttributeShape(append(DslAttributeNames.intern(key)), false);
+    }
+
+    private String[] append(String key) {
+        var nextKeys = Arrays.copyOf(keys, keys.length + 1);
+        nextKeys[keys.length] = key;
+        return nextKeys;
+    }
+
+    private ConcurrentHashMap<String, DslAttributeShape> transitions() {
+        var table = transitions;
+        if (table == null) {
+            synchronized (this) {
+                if ((table = transitions) == null) transitions = table = new ConcurrentHashMap<>(4);
+            }
+        }
+        return table;
+    }
+}
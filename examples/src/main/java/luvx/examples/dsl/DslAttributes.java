@@ -0,0 +1,59 @@
+package luvx.examples.dsl;
+
+/**
+ * Static factory methods for DSL attributes
+ * 
+ * The String ones hand out interned flyweights via DslAttribute.of(...), so constants like
+ * charset("UTF-8") or className("revolution") are one shared, pre-encoded instance.
+ * Numeric ones (width, x, r ...) keep their double and are formatted shortest when rendered -
+ * width(400) is {@code width="400"}.
+ */
+public class DslAttributes {
+    
+    // Common HTML attributes
+    public static DslAttribute id(String value) { return DslAttribute.of("id", value); }
+    public static DslAttribute className(String value) { return DslAttribute.of("class", value); }
+    public static DslAttribute href(String value) { return DslAttribute.of("href", value); }
+    public static DslAttribute onClick(String value) { return DslAttribute.of("onclick", value); }
+    public static DslAttribute type(String value) { return DslAttribute.of("type", value); }
+    public static DslAttribute placeholder(String value) { return DslAttribute.of("placeholder", value); }
+    public static DslAttribute value(String value) { return DslAttribute.of("value", value); }
+    public static DslAttribute name(String value) { return DslAttribute.of("name", value); }
+    public static DslAttribute content(String value) { return DslAttribute.of("content", value); }
+    public static DslAttribute charset(String value) { return DslAttribute.of("charset", value); }
+    
+    // Template holes for an attribute value - filled per render by MarkupTemplate / MarkupComponent
+    public static DslAttribute slotAttr(String name, String slotName) { return new DslAttribute(name, DslSlot.attributeMarker(slotName)); }
+    public static DslAttribute slotFormat(String name, String pattern) { return new DslAttribute(name, DslSlot.attributePattern(pattern)); }
+    
+    // SVG attributes
+    public static DslAttribute xmlns(String value) { return DslAttribute.of("xmlns", value); }
+    public static DslAttribute viewBox(double x, double y, double width, double height) { 
+        var value = new StringBuilder(24);
+        DslNumbers.append(value, x, -1).append(' ');
+        DslNumbers.append(value, y, -1).append(' ');
+        DslNumbers.append(value, width, -1).append(' ');
+        DslNumbers.append(value, height, -1);
+        return DslAttribute.of("viewBox", value.toString()); 
+    }
+    public static DslAttribute width(double value) { return DslAttribute.of("width", value); }
+    public static DslAttribute height(double value) { return DslAttribute.of("height", value); }
+    public static DslAttribute x(double value) { return DslAttribute.of("x", value); }
+    public static DslAttribute y(double value) { return DslAttribute.of("y", value); }
+    public static DslAttribute cx(double value) { return DslAttribute.of("cx", value); }
+    public static DslAttribute cy(double value) { return DslAttribute.of("cy", value); }
+    public static DslAttribute r(double value) { return DslAttribute.of("r", value); }
+    public static DslAttribute fill(String value) { return DslAttribute.of("fill", value); }
+    public static DslAttribute stroke(String value) { return DslAttribute.of("stroke", value); }
+    public static DslAttribute strokeWidth(double value) { return DslAttribute.of("stroke-width", value); }
+    public static DslAttribute transform(String value) { return DslAttribute.of("transform", value); }
+    public static DslAttribute textAnchor(String value) { return DslAttribute.of("text-anchor", value); }
+    public static DslAttribute fontSize(double value) { return DslAttribute.of("font-size", value); }
+    public static DslAttribute fontWeight(String value) { return DslAttribute.of("font-weight", value); }
+    public static DslAttribute offset(String value) { return DslAttribute.of("offset", value); }
+    public static DslAttribute stopColor(String value) { return DslAttribute.of("stop-color", value); }
+    public static DslAttribute filter(String value) { return DslAttribute.of("filter", value); }
+    public static DslAttribute dx(double value) { return DslAttribute.of("dx", value); }
+    public static DslAttribute dy(double value) { return DslAttribute.of("dy", value); }
+    public static DslAttribute stdDeviation(double value) { return DslAttribute.of("stdDeviation", value); }
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package luvx.examples.dsl;
+
+import luvx.composable.*;
+import luvx.ContainerElement_I;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import luvx.examples.walk.TreeWalker;
+import luvx.rendering_behavior.BlockMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Container element implementation - composable design using interfaces
+ *
+ * {@link #freeze()} turns a built tree into an immutable, exactly-sized copy that can be shared
+ * across threads. Frozen trees are edited by path copying ({@link #copyWithAttribute},
+ * {@link #copyWithChild}, {@link #copyWithNodeAt}): only the edited node and its ancestors are
+ * copied, every untouched subtree is shared with the original.
+ */
+public class DslContainerElement implements DslFrag_I, DslTagged, ContainerElement_I<DslContainerElement>, HasAttributes<DslContainerElement>, HasChildNodes<DslContainerElement> {
+    private final int tag; // DslTags id, -1 if the name isn't registered
+    private final String unregisteredName; // only with tag -1
+    private final List<luvx.Node_I<?>> children;
+    private final DslAttributeMap attributes;
+    private final boolean frozen;
+
+    /** Registers the name on first use - past DslTags.MAX_TAGS names it stays with the element, unregistered */
+    public DslContainerElement(String tagName) { this(DslTags.id(tagName), tagName); }
+
+    private DslContainerElement(int tag, String tagName) {
+        this(tag, tag < 0 ? tagName : null, new ArrayList<>(), new DslAttributeMap(), false);
+    }
+
+    public DslContainerElement(int tag) { this(tag, null, new ArrayList<>(), new DslAttributeMap(), false); }
+
+    /**
+     * Element for a tag name from outside the code - a file, the network. Known names get their
+     * id, any other name is kept by this element (tagId() -1) instead of growing the registry.
+     */
+    public static DslContainerElement ofUntrustedTag(String tagName) {
+        int id = DslTags.lookup(tagName);
+        return new DslContainerElement(id, id < 0 ? tagName : null, new ArrayList<>(), new DslAttributeMap(), false);
+    }
+
+    private DslContainerElement(int tag, String unregisteredName, List<luvx.Node_I<?>> children, DslAttributeMap attributes, boolean frozen) {
+        this.tag = tag;
+        this.unregisteredName = unregisteredName;
+        this.children = children;
+        this.attributes = attributes;
+        this.frozen = frozen;
+    }
+
+    @Override public DslContainerElement self() { return this; }
+    @Override public String tagName() { return tag >= 0 ? DslTags.name(tag) : unregisteredName; }
+    @Override public int tagId() { return tag; }
+    @Override public List<? extends luvx.Node_I<?>> childNodes() { return children; }
+    @Override public Map<String, String> attributes() { return attributes; }
+    @Override public String attr(String name) { return attributes.get(name); }
+
+    public DslContainerElement addChild(Object child) {
+        if (child instanceof luvx.Node_I<?> node) {
+            children.add(node);
+        }
+        return self();
+    }
+
+    public DslContainerElement setAttribute(String name, String value) {
+        attributes.put(name, value);
+        return self();
+    }
+
+    public DslContainerElement withAttribute(String name, String value) {
+        return setAttribute(name, value);
+    }
+
+    /** Numeric value, stored as a double and formatted by the renderer */
+    public DslContainerElement setAttribute(String name, double value) {
+        attributes.putNumber(name, value);
+        return self();
+    }
+
+    public DslContainerElement withAttribute(String name, double value) {
+        return setAttribute(name, value);
+    }
+
+    /** Path geometry (d, or points of a polyline / polygon), encoded by the renderer */
+    public DslContainerElement setAttribute(String name, DslPathData value) {
+        attributes.putPath(name, value);
+        return self();
+    }
+
+    public boolean isFrozen() { return frozen; }
+
+    /**
+     * Immutable copy of this subtree: exactly-sized child lists, frozen attributes, adjacent
+     * DslText children coalesced into one. Node types it does not know are shared as they are.
+     * Built bottom-up on an explicit stack, so any depth freezes without StackOverflowError.
+     */
+    public DslContainerElement freeze() {
+        if (frozen) return this;
+        var freezing = new Freezing();
+        new TreeWalker().walk(this, freezing);
+        return (DslContainerElement) freezing.result;
+    }
+
+    static luvx.Node_I<?> freeze(luvx.Node_I<?> node) {
+        return switch (node) {
+            case DslContainerElement container -> container.freeze();
+            case DslSelfClosingElement selfClosing -> selfClosing.freeze();
+            case DslStyledText styled -> styled.freeze();
+            default -> node; // DslText is immutable already
+        };
+    }
+
+    /** Collects frozen children per open container, builds each container when the walk leaves it */
+    private static final class Freezing implements TreeWalker.Visitor<RuntimeException> {
+        private final ArrayDeque<Frame> open = new ArrayDeque<>();
+        luvx.Node_I<?> result;
+
+        @Override
+        public TreeWalker.Action enter(luvx.Node_I<?> node, int depth) {
+            if (node instanceof DslContainerElement container && !container.frozen) {
+                open.push(new Frame(container));
+                return TreeWalker.Action.CONTINUE;
+            }
+            return TreeWalker.Action.SKIP_CHILDREN; // leaves, frozen subtrees and foreign nodes
+        }
+
+        @Override
+        public void leave(luvx.Node_I<?> node, int depth) {
+            luvx.Node_I<?> frozenNode;
+            if (!open.isEmpty() && open.peek().element == node) {
+                var frame = open.pop();
+                frame.flushText();
+                frozenNode = new DslContainerElement(frame.element.tag, frame.element.unregisteredName, List.copyOf(frame.children), frame.element.attributes.frozenCopy(), true);
+            } else if (node instanceof DslText text && !open.isEmpty()) {
+                open.peek().text(text);
+                return;
+            } else {
+                frozenNode = freeze(node);
+            }
+            if (open.isEmpty()) result = frozenNode;
+            else open.peek().add(frozenNode);
+        }
+    }
+
+    private static final class Frame {
+        final DslContainerElement element;
+        final ArrayList<luvx.Node_I<?>> children;
+        DslText pendingText;
+        StringBuilder coalesced;
+
+        Frame(DslContainerElement element) {
+            this.element = element;
+            this.children = new ArrayList<>(element.children.size());
+        }
+
+        void text(DslText text) {
+            if (pendingText == null) {
+                pendingText = text;
+            } else {
+                if (coalesced == null) coalesced = new StringBuilder(pendingText.text());
+                coalesced.append(text.text());
+            }
+        }
+
+        void add(luvx.Node_I<?> child) {
+            flushText();
+            children.add(child);
+        }
+
+        void flushText() {
+            if (pendingText != null) {
+                children.add(coalesced == null ? pendingText : new DslText(coalesced.toString()));
+                pendingText = null;
+                coalesced = null;
+            }
+        }
+    }
+
+    /** Frozen copy with one attribute set, sharing all children */
+    public DslContainerElement copyWithAttribute(String name, String value) {
+        requireFrozen();
+        return new DslContainerElement(tag, unregisteredName, children, attributes.frozenWith(name, value), true);
+    }
+
+    /** Frozen copy with the child at index replaced, sharing all other children */
+    public DslContainerElement copyWithChild(int index, luvx.Node_I<?> child) {
+        requireFrozen();
+        var copy = children.toArray(new luvx.Node_I<?>[0]);
+        copy[index] = freeze(child);
+        return new DslContainerElement(tag, unregisteredName, List.of(copy), attributes, true);
+    }
+
+    /**
+     * Path-copying edit: replaces the node reached by following child indexes from this root
+     * with edit(node) and returns the new root. Costs one copy per level of the path.
+     */
+    public DslContainerElement copyWithNodeAt(int[] path, UnaryOperator<luvx.Node_I<?>> edit) {
+        requireFrozen();
+        var containers = new DslContainerElement[path.length]; // down the path, then copied back up
+        luvx.Node_I<?> node = this;
+        for (int depth = 0; depth < path.length; depth++) {
+            if (!(node instanceof DslContainerElement container)) {
+                throw new IllegalArgumentException("Path step " + depth + " runs into a non-container: " + node.getClass().getSimpleName());
+            }
+            containers[depth] = container;
+            node = container.children.get(path[depth]);
+        }
+        node = edit.apply(node);
+        for (int depth = path.length - 1; depth >= 0; depth--) {
+            node = containers[depth].copyWithChild(path[depth], node);
+        }
+        if (node instanceof DslContainerElement root) {
+            return root;
+        }
+        throw new IllegalArgumentException("Root must stay a DslContainerElement");
+    }
+
+    private void requireFrozen() {
+        if (!frozen) throw new IllegalStateException("Path-copying edits need a frozen tree - call freeze() first");
+    }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return BlockMarkupRendering.I;
+    }
+}
@@ -0,0 +1,186 @@
+package luvx.examples.dsl;
+
+import luvx.composable.*;
+import luvx.ftype.*;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Static factory methods for beautiful DSL syntax (similar to luvml/luvg patterns)
+ */
+public class DslElements {
+    
+    // Simple text function - accepts String varargs for plain text nodes
+    public static DslText text(String... strings) {
+        return new DslText(strings.length == 1 ? strings[0] : String.join("", strings));
+    }
+
+    // SVG geometry in primitive buffers - see path / polyline / polygon
+    public static DslPathData pathData() { return DslPathData.create(); }
+
+    // Large texts without copying - a range of a CharSequence, or a UTF-8 file region read while rendering
+    public static DslTextSlice textSlice(CharSequence source, int start, int end) {
+        return new DslTextSlice(source, start, end);
+    }
+
+    public static DslFileText fileText(Path path) {
+        return new DslFileText(path, 0, -1);
+    }
+
+    public static DslFileText fileText(Path path, long offset, long length) {
+        return new DslFileText(path, offset, length);
+    }
+    
+    public static DslStyledText styledText(String content, String style){
+        return new DslStyledText(content, style);
+    }
+    
+    // Clever utility methods using DslFrags pseudo-carrier
+    public static DslFrags multiLineTexts(String... lines) {
+        var fragments = new DslFrag_I[lines.length * 2 - 1];
+        for (int i = 0; i < lines.length; i++) {
+            fragments[i * 2] = new DslText(lines[i]);
+            if (i < lines.length - 1) {
+                fragments[i * 2 + 1] = br();
+            }
+        }
+        return new DslFrags(fragments);
+    }
+    
+    public static DslFrags frags(DslFrag_I... fragments) {
+        return new DslFrags(fragments);
+    }
+    
+    // Template holes - filled per render by MarkupTemplate
+    public static DslSlot slot(String name) { return new DslSlot(name, ""); }
+    public static DslSlot slot(String name, String defaultText) { return new DslSlot(name, defaultText); }
+    
+    // HTML elements
+    public static DslContainerElement html(DslFrag_I... fragments) { return element(DslTags.HTML, fragments); }
+    public static DslContainerElement head(DslFrag_I... fragments) { return element(DslTags.HEAD, fragments); }
+    public static DslContainerElement body(DslFrag_I... fragments) { return element(DslTags.BODY, fragments); }
+    public static DslContainerElement div(DslFrag_I... fragments) { return element(DslTags.DIV, fragments); }
+    public static DslContainerElement span(String... fragments) { return element(DslTags.SPAN, fragments);}
+    public static DslContainerElement span(DslFrag_I... fragments) { return element(DslTags.SPAN, fragments); }
+    public static DslContainerElement p(String... strings) { return element(DslTags.P, strings);}
+    public static DslContainerElement p(DslFrag_I... fragments) { return element(DslTags.P, fragments); }
+    public static DslContainerElement h1(String... strings) { return element(DslTags.H1, strings); }
+    public static DslContainerElement h1(DslFrag_I... fragments) { return element(DslTags.H1, fragments); }
+    public static DslContainerElement h2(String... strings) { return element(DslTags.H2, strings); }
+    public static DslContainerElement h2(DslFrag_I... fragments) { return element(DslTags.H2, fragments); }
+    public static DslContainerElement h3(String... strings) { return element(DslTags.H3, strings); }
+    public static DslContainerElement h3(DslFrag_I... fragments) { return element(DslTags.H3, fragments); }
+    public static DslContainerElement title(String text) { return element(DslTags.TITLE, new DslText(text)); }
+    public static DslContainerElement header(DslFrag_I... fragments) { return element(DslTags.HEADER, fragments); }
+    public static DslContainerElement main(DslFrag_I... fragments) { return element(DslTags.MAIN, fragments); }
+    public static DslContainerElement section(DslFrag_I... fragments) { return element(DslTags.SECTION, fragments); }
+    public static DslContainerElement article(DslFrag_I... fragments) { return element(DslTags.ARTICLE, fragments); }
+    public static DslContainerElement footer(DslFrag_I... fragments) { return element(DslTags.FOOTER, fragments); }
+    public static DslContainerElement ul(DslFrag_I... fragments) { return element(DslTags.UL, fragments); }
+    public static DslContainerElement li(String text) { return element(DslTags.LI, new DslText(text)); }
+    public static DslContainerElement li(DslFrag_I... fragments) { return element(DslTags.LI, fragments); }
+    public static DslContainerElement button(DslFrag_I... fragments) { return element(DslTags.BUTTON, fragments); }
+    public static DslContainerElement button(String text) { return element(DslTags.BUTTON, new DslText(text)); }
+    public static DslContainerElement input(DslFrag_I... fragments) { return element(DslTags.INPUT, fragments); }
+    public static DslContainerElement select(DslFrag_I... fragments) { return element(DslTags.SELECT, fragments); }
+    public static DslContainerElement option(DslFrag_I... fragments) { return element(DslTags.OPTION, fragments); }
+    public static DslContainerElement a(DslFrag_I... fragments) { return element(DslTags.A, fragments); }
+    public static DslContainerElement meta(DslFrag_I... fragments) { return element(DslTags.META, fragments); }
+    public static DslContainerElement style(String ... cssLines) { return element(DslTags.STYLE, cssLines); }
+    public static DslContainerElement style(String css) { return element(DslTags.STYLE, new DslText(css)); }
+    public static DslContainerElement style(DslFrag_I... fragments) { return element(DslTags.STYLE, fragments); }
+    public static DslSelfClosingElement br() { return new DslSelfClosingElement(DslTags.BR); }
+    public static DslContainerElement pre(DslFrag_I... fragments) { return element(DslTags.PRE, fragments); }
+    
+    // SVG elements
+    public static DslContainerElement svg(DslFrag_I... fragments) { return element(DslTags.SVG, fragments); }
+    public static DslContainerElement defs(DslFrag_I... fragments) { return element(DslTags.DEFS, fragments); }
+    public static DslContainerElement g(DslFrag_I... fragments) { return element(DslTags.G, fragments); }
+    public static DslContainerElement rect(DslFrag_I... fragments) { return element(DslTags.RECT, fragments); }
+    public static DslContainerElement circle(DslFrag_I... fragments) { return element(DslTags.CIRCLE, fragments); }
+    public static DslText textSvg(String content) { return new DslText(content); }
+    public static DslContainerElement textSvg(double x, double y, String content) { 
+        return element(DslTags.TEXT, new DslText(content)).withAttribute("x", x).withAttribute("y", y);
+    }
+    public static DslContainerElement textSvg(double x, double y, DslFrag_I content) { 
+        return element(DslTags.TEXT, content).withAttribute("x", x).withAttribute("y", y);
+    }
+    public static DslContainerElement path(DslPathData d, DslFrag_I... fragments) { return geometry(DslTags.PATH, "d", d, fragments); }
+    public static DslContainerElement polyline(DslPathData points, DslFrag_I... fragments) { return geometry(DslTags.POLYLINE, "points", points, fragments); }
+    public static DslContainerElement polygon(DslPathData points, DslFrag_I... fragments) { return geometry(DslTags.POLYGON, "points", points, fragments); }
+    public static DslContainerElement linearGradient(DslFrag_I... fragments) { return element(DslTags.LINEAR_GRADIENT, fragments); }
+    public static DslContainerElement stop(DslFrag_I... fragments) { return element(DslTags.STOP, fragments); }
+    public static DslContainerElement filter(DslFrag_I... fragments) { return element(DslTags.FILTER, fragments); }
+    public static DslContainerElement feDropShadow(DslFrag_I... fragments) { return element(DslTags.FE_DROP_SHADOW, fragments); }
+    
+    
+    private static DslContainerElement element(int tag, String ... strings){
+        return element(tag, (DslFrag_I[]) List.of(strings).stream().map(s->text(s)).toArray(i->new DslText[i]));
+    }
+    private static DslContainerElement element(int tag, DslFrag_I... fragments) {
+        var element = new DslContainerElement(tag);
+        addFragments(element, Arrays.asList(fragments));
+        return element;
+    }
+    
+    private static DslContainerElement geometry(int tag, String name, DslPathData data, DslFrag_I... fragments) {
+        var element = new DslContainerElement(tag).setAttribute(name, data); // geometry first, like hand-written SVG
+        addFragments(element, Arrays.asList(fragments));
+        return element;
+    }
+    
+    // Flattens nested DslFrags with an explicit stack instead of recursion - any nesting depth
+    @SuppressWarnings("unchecked")
+    private static void addFragments(DslContainerElement element, List<DslFrag_I> fragments) {
+        List<DslFrag_I>[] pendingLists = null; // the enclosing lists we descended from
+        int[] pendingIndexes = null;
+        int depth = 0;
+        var current = fragments;
+        int i = 0;
+        while (true) {
+            if (i == current.size()) {
+                if (depth == 0) return;
+                depth--;
+                current = pendingLists[depth];
+                i = pendingIndexes[depth];
+                pendingLists[depth] = null;
+                continue;
+            }
+            switch (current.get(i++)) {
+                case DslAttribute attr -> {
+                    if (attr.isNumber()) element.setAttribute(attr.name(), attr.number());
+                    else element.setAttribute(attr.name(), attr.value());
+                }
+                case DslContainerElement container -> element.addChild(container);
+                case DslSelfClosingElement selfClosing -> element.addChild(selfClosing);
+                case DslText text -> element.addChild(text);
+                case DslTextSlice slice -> element.addChild(slice);
+                case DslFileText file -> element.addChild(file);
+                case DslStyledText styled -> element.addChild(styled);
+                case DslSlot slot -> element.addChild(slot);
+                case DslLazyContainerElement lazy -> element.addChild(lazy);
+                case DslFrags frags -> {
+                    if (pendingLists == null) {
+                        pendingLists = (List<DslFrag_I>[]) new List<?>[8];
+                        pendingIndexes = new int[8];
+                    } else if (depth == pendingLists.length) {
+                        pendingLists = Arrays.copyOf(pendingLists, depth * 2);
+                        pendingIndexes = Arrays.copyOf(pendingIndexes, depth * 2);
+                    }
+                    pendingLists[depth] = current;
+                    pendingIndexes[depth] = i;
+                    depth++;
+                    current = frags.fragments();
+                    i = 0;
+                }
+                case DslFrag_I fragment -> throw new IllegalArgumentException("Unknown fragment type: " + fragment.getClass());
+            }
+        }
+    }
+    
+    // Additional overloaded methods for mixed attribute+text convenience
+    public static DslContainerElement button(DslAttribute attr, String text) { return element(DslTags.BUTTON, attr, new DslText(text)); }
+    public static DslContainerElement a(DslAttribute attr, String text) { return element(DslTags.A, attr, new DslText(text)); }
+    public static DslContainerElement option(DslAttribute attr, String text) { return element(DslTags.OPTION, attr, new DslText(text)); }
+}
\ No newline at end of file
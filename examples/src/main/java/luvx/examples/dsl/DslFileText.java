@@ -0,0 +1,119 @@
+package luvx.examples.dsl;
+
+import luvx.composable.*;
+import luvx.Text_I;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import luvx.rendering_behavior.InlineMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Text that lives in a region of a UTF-8 file - log excerpts, source listings - and is read
+ * while rendering, never held by the tree. Utf8ByteRenderer reads it into a reused direct
+ * buffer and hands clean stretches to the output channel from there, escaping the rest;
+ * MarkupSerializer decodes it chunk by chunk.
+ *
+ * The file is opened per render. A length of -1 means up to the end of the file at render
+ * time. The bytes are written as they are, so the region should start and end on character
+ * boundaries. {@link #read} streams the region through a caller's buffer - what the
+ * renderers, hashing, snapshots and the document store use; text() / textContent() read the
+ * whole region into a String.
+ */
+public class DslFileText implements DslFrag_I, Text_I<DslFileText>, HasTextContent<DslFileText> {
+    private final Path path;
+    private final long offset;
+    private final long length;
+
+    public DslFileText(Path path, long offset, long length) {
+        if (offset < 0 || length < -1) throw new IllegalArgumentException("Bad file region " + offset + " +" + length);
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public Path path() { return path; }
+    public long offset() { return offset; }
+    /** Bytes in the region, -1 for "to the end of the file" */
+    public long length() { return length; }
+
+    /** Opens the file for reading - the caller closes it */
+    public FileChannel open() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    /** End position of the region in the opened file, checked against its size */
+    public long end(FileChannel file) throws IOException {
+        long size = file.size();
+        long end = length == -1 ? size : offset + length;
+        if (offset > size || end > size) {
+            throw new IOException(path + " has " + size + " bytes, text region is [" + offset + ", " + end + ")");
+        }
+        return end;
+    }
+
+    /** Takes the region a chunk at a time */
+    public interface Chunks {
+        /** Called before the first chunk, with the length of the region in the opened file */
+        default void start(long length) throws IOException {}
+
+        /**
+         * @param chunk flipped for reading; bytes left in it come first in the next chunk
+         * @param last no bytes follow
+         */
+        void accept(ByteBuffer chunk, boolean last) throws IOException;
+    }
+
+    /**
+     * Reads the region through buffer, a buffer-full at a time, handing each to chunks. The
+     * buffer is the caller's - a direct one lets channels write from it without a copy.
+     */
+    public void read(ByteBuffer buffer, Chunks chunks) throws IOException {
+        try (var file = open()) {
+            long position = offset, end = end(file);
+            chunks.start(end - offset);
+            buffer.clear();
+            boolean last;
+            do {
+                buffer.limit(buffer.position() + (int) Math.min(buffer.remaining(), end - position));
+                while (buffer.hasRemaining()) {
+                    int n = file.read(buffer, position);
+                    if (n < 0) throw new IOException(path + " shrank while reading " + this);
+                    position += n;
+                }
+                last = position == end;
+                chunks.accept(buffer.flip(), last);
+                buffer.compact();
+            } while (!last);
+        }
+    }
+
+    @Override public DslFileText self() { return this; }
+
+    @Override
+    public String text() {
+        try (var file = open()) {
+            long end = end(file);
+            if (end - offset > Integer.MAX_VALUE - 8) throw new IllegalStateException(path + " region too large for a String");
+            var bytes = ByteBuffer.allocate((int) (end - offset));
+            while (bytes.hasRemaining()) {
+                if (file.read(bytes, offset + bytes.position()) < 0) break; // truncated meanwhile
+            }
+            return new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override public String textContent() { return text(); }
+    @Override public String toString() { return "DslFileText[" + path + " @" + offset + (length == -1 ? "" : " +" + length) + "]"; }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return InlineMarkupRendering.I;
+    }
+}
@@ -0,0 +1,206 @@
+package luvx.examples.dsl;
+
+import luvx.composable.*;
+import luvx.ContainerElement_I;
+import luvx.Node_I;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import luvx.examples.walk.LazyChildNodes;
+import luvx.rendering_behavior.BlockMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Container whose children are pulled from a source while rendering instead of held in a
+ * list - a 1M row table from a database cursor renders with one row in memory at a time.
+ *
+ * Sources: an Iterator or Stream (one-shot - render once), a Supplier of Streams (a fresh
+ * stream per render) or an indexed row function (random access). {@link #window} renders
+ * rows [from, to) only; an indexed source never touches the rows outside, the others skip
+ * them without keeping them.
+ *
+ * Attribute values may be Suppliers, evaluated each time the element is rendered.
+ * childNodes() materializes the whole source - renderers don't call it (see LazyChildNodes).
+ */
+public class DslLazyContainerElement implements DslFrag_I, DslTagged, ContainerElement_I<DslLazyContainerElement>, HasAttributes<DslLazyContainerElement>, HasChildNodes<DslLazyContainerElement>, LazyChildNodes {
+
+    /** Opens the children [from, to) - to may be Integer.MAX_VALUE for "all" */
+    private interface Source {
+        Iterator<? extends Node_I<?>> open(int from, int to);
+    }
+
+    private final int tag; // DslTags id, -1 if the name isn't registered
+    private final String unregisteredName; // only with tag -1
+    private final Source source;
+    private final DslAttributeMap attributeValues;          // typed as set - a Supplier's slot holds null
+    private final Map<String, Supplier<String>> suppliers; // by name, evaluated per attributes() call
+
+    private DslLazyContainerElement(int tag, String unregisteredName, Source source, DslAttributeMap attributeValues,
+                                    Map<String, Supplier<String>> suppliers) {
+        this.tag = tag;
+        this.unregisteredName = unregisteredName;
+        this.source = source;
+        this.attributeValues = attributeValues;
+        this.suppliers = suppliers;
+    }
+
+    private DslLazyContainerElement(String tagName, Source source) {
+        this(DslTags.id(tagName), tagName, source);
+    }
+
+    private DslLazyContainerElement(int tag, String tagName, Source source) {
+        this(tag, tag < 0 ? tagName : null, source, new DslAttributeMap(), new HashMap<>());
+    }
+
+    /** One-shot: the iterator is consumed by the first render */
+    public static DslLazyContainerElement of(String tagName, Iterator<? extends Node_I<?>> children) {
+        return new DslLazyContainerElement(tagName, oneShot(children));
+    }
+
+    /** One-shot: the stream is consumed by the first render */
+    public static DslLazyContainerElement of(String tagName, Stream<? extends Node_I<?>> children) {
+        return new DslLazyContainerElement(tagName, oneShot(children.iterator()));
+    }
+
+    /** Asks the supplier for a fresh stream on every render */
+    public static DslLazyContainerElement of(String tagName, Supplier<? extends Stream<? extends Node_I<?>>> children) {
+        return new DslLazyContainerElement(tagName, (from, to) -> children.get().skip(from).limit((long) to - from).iterator());
+    }
+
+    /** Row i is row.apply(i) for i in [0, size) - windows touch only their own rows */
+    public static DslLazyContainerElement indexed(String tagName, int size, IntFunction<? extends Node_I<?>> row) {
+        return new DslLazyContainerElement(tagName, (from, to) -> new Iterator<Node_I<?>>() {
+            int i = Math.max(0, from);
+            final int end = Math.min(size, to);
+
+            @Override public boolean hasNext() { return i < end; }
+
+            @Override
+            public Node_I<?> next() {
+                if (i >= end) throw new NoSuchElementException();
+                return row.apply(i++);
+            }
+        });
+    }
+
+    private static Source oneShot(Iterator<? extends Node_I<?>> children) {
+        boolean[] opened = {false};
+        return (from, to) -> {
+            if (opened[0]) throw new IllegalStateException("One-shot child source already consumed - use a Supplier or indexed source to render more than once");
+            opened[0] = true;
+            for (int skipped = 0; skipped < from && children.hasNext(); skipped++) children.next();
+            return new Iterator<Node_I<?>>() {
+                int left = to - from;
+
+                @Override public boolean hasNext() { return left > 0 && children.hasNext(); }
+
+                @Override
+                public Node_I<?> next() {
+                    if (left <= 0) throw new NoSuchElementException();
+                    left--;
+                    return children.next();
+                }
+            };
+        };
+    }
+
+    /** Same element over children [from, to) of this one's source; attributes are copied */
+    public DslLazyContainerElement window(int from, int to) {
+        if (from < 0 || to < from) throw new IllegalArgumentException("Bad window [" + from + ", " + to + ")");
+        return new DslLazyContainerElement(tag, unregisteredName, (f, t) -> source.open(from + f, (int) Math.min(to, (long) from + t)),
+                copy(attributeValues, null), new HashMap<>(suppliers));
+    }
+
+    @Override public DslLazyContainerElement self() { return this; }
+    @Override public String tagName() { return tag >= 0 ? DslTags.name(tag) : unregisteredName; }
+    @Override public int tagId() { return tag; }
+
+    @Override
+    public Iterator<? extends Node_I<?>> childIterator() {
+        return source.open(0, Integer.MAX_VALUE);
+    }
+
+    /** Pulls every child into a list - opens the source, so a one-shot source is consumed */
+    @Override
+    public List<? extends Node_I<?>> childNodes() {
+        var children = new ArrayList<Node_I<?>>();
+        childIterator().forEachRemaining(children::add);
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Numbers and paths typed as in an eager element. With Supplier values it is a fresh
+     * read-only map per call, holding what the suppliers return now.
+     */
+    @Override
+    public Map<String, String> attributes() {
+        return suppliers.isEmpty() ? attributeValues : copy(attributeValues, suppliers).frozenCopy();
+    }
+
+    @Override
+    public String attr(String name) {
+        var supplier = suppliers.get(name);
+        return supplier != null ? supplier.get() : attributeValues.get(name);
+    }
+
+    public DslLazyContainerElement setAttribute(String name, String value) {
+        suppliers.remove(name);
+        attributeValues.put(name, value);
+        return self();
+    }
+
+    /** Numeric value, stored as a double and formatted by the renderer */
+    public DslLazyContainerElement setAttribute(String name, double value) {
+        suppliers.remove(name);
+        attributeValues.putNumber(name, value);
+        return self();
+    }
+
+    /** Path geometry (d, or points of a polyline / polygon), encoded by the renderer */
+    public DslLazyContainerElement setAttribute(String name, DslPathData value) {
+        suppliers.remove(name);
+        attributeValues.putPath(name, value);
+        return self();
+    }
+
+    /** The value is asked for each time the element renders */
+    public DslLazyContainerElement setAttribute(String name, Supplier<String> value) {
+        attributeValues.put(name, null); // keeps the attribute's place in the order
+        suppliers.put(name, value);
+        return self();
+    }
+
+    public DslLazyContainerElement with(DslAttribute... attributes) {
+        for (var attribute : attributes) {
+            if (attribute.isNumber()) setAttribute(attribute.name(), attribute.number());
+            else setAttribute(attribute.name(), attribute.value());
+        }
+        return self();
+    }
+
+    /** A mutable copy of the typed values, supplier slots filled in if suppliers are given */
+    private static DslAttributeMap copy(DslAttributeMap values, Map<String, Supplier<String>> suppliers) {
+        var copy = new DslAttributeMap();
+        for (int i = 0, n = values.size(); i < n; i++) {
+            var name = values.keyAt(i);
+            var supplier = suppliers == null ? null : suppliers.get(name);
+            if (supplier != null) copy.put(name, supplier.get());
+            else if (values.isNumberAt(i)) copy.putNumber(name, values.numberAt(i));
+            else if (values.isPathAt(i)) copy.putPath(name, values.pathAt(i));
+            else copy.put(name, values.valueAt(i));
+        }
+        return copy;
+    }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return BlockMarkupRendering.I;
+    }
+}
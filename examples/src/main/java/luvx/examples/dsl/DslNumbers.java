@@ -0,0 +1,185 @@
+package luvx.examples.dsl;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Number formatting for attribute values - straight into a byte[], no String, no
+ * StringBuilder, no BigDecimal for anything between 0.001 and 2^53.
+ *
+ * Shortest mode ({@code decimals < 0}) writes the fewest digits that parse back to the same
+ * double: 400 instead of 400.0, 0.1 instead of 0.1000000000000000055..., matching the digits of
+ * Double.toString. Whole numbers up to 2^53 are written plain and without a fraction; below
+ * 0.001 (where Double.toString switches too) and beyond 2^53 an exponent is shorter
+ * ({@code 1.5e-9}, {@code 1e21}) - valid in SVG and CSS numbers.
+ * Fixed mode rounds to at most {@code decimals} fraction digits and drops trailing zeros, so
+ * with 2 decimals 3.14159 becomes 3.14 and 2.5 stays 2.5. It rounds like
+ * {@code Math.round(v * 10^decimals)}, so a value within an ulp of a midpoint may go either way.
+ *
+ * -0 is written as 0; NaN and infinities as Double.toString spells them. The float overload
+ * does the same with float precision - 0.1f is 0.1, not 0.10000000149011612.
+ */
+public final class DslNumbers {
+
+    /** Longest output of {@link #write(double, int, byte[], int)} */
+    public static final int MAX_LENGTH = 32;
+
+    private static final long MAX_EXACT = 1L << 53; // longs up to here convert to double exactly
+    private static final long MAX_EXACT_FLOAT = 1L << 24;
+    private static final int MAX_DECIMALS = 17;     // more than any double needs
+
+    private static final double[] POW10 = new double[MAX_DECIMALS + 1];
+    static {
+        double p = 1;
+        for (int i = 0; i < POW10.length; i++, p *= 10) POW10[i] = p; // exact up to 10^22
+    }
+
+    private DslNumbers() {}
+
+    /**
+     * Writes v at {@code at}, which needs MAX_LENGTH bytes of room.
+     * @param decimals fraction digits to round to, negative for the shortest round trip
+     * @return the position after the last byte written
+     */
+    public static int write(double v, int decimals, byte[] out, int at) {
+        return write(v, false, decimals, out, at);
+    }
+
+    /** {@link #write(double, int, byte[], int)} with the shortest digits that identify the float */
+    public static int write(float v, int decimals, byte[] out, int at) {
+        return write(v, true, decimals, out, at);
+    }
+
+    private static int write(double v, boolean single, int decimals, byte[] out, int at) {
+        if (v == 0) { // and -0
+            out[at] = '0';
+            return at + 1;
+        }
+        if (v != v || Double.isInfinite(v)) return fallback(v, single, out, at);
+        int start = at;
+        if (v < 0) {
+            out[at++] = '-';
+            v = -v;
+        }
+        if (decimals >= 0) {
+            int d = Math.min(decimals, MAX_DECIMALS);
+            double scaled = v * POW10[d];
+            if (scaled < MAX_EXACT) {
+                long m = Math.round(scaled);
+                if (m == 0) { // rounded away - no "-0"
+                    out[start] = '0';
+                    return start + 1;
+                }
+                while (d > 0 && m % 10 == 0) {
+                    m /= 10;
+                    d--;
+                }
+                return plain(m, d, out, at);
+            }
+            // too large to round in a long - shortest is as precise as it gets
+        }
+        long exact = single ? MAX_EXACT_FLOAT : MAX_EXACT;
+        if (v < exact && v == Math.rint(v)) return plain((long) v, 0, out, at);
+        if (v >= 1e-3 && v < exact) return shortest(v, single, out, at);
+        return fallback(v, single, out, at);
+    }
+
+    public static String toString(double v) {
+        return toString(v, -1);
+    }
+
+    public static String toString(double v, int decimals) {
+        var bytes = new byte[MAX_LENGTH];
+        return new String(bytes, 0, write(v, decimals, bytes, 0), StandardCharsets.ISO_8859_1);
+    }
+
+    /** Appends v without an intermediate String */
+    public static StringBuilder append(StringBuilder sb, double v, int decimals) {
+        var bytes = new byte[MAX_LENGTH];
+        for (int i = 0, n = write(v, decimals, bytes, 0); i < n; i++) sb.append((char) bytes[i]);
+        return sb;
+    }
+
+    /**
+     * Fraction digits of a non-integral v in [0.001, 2^53) - Steele and White's free-format
+     * digit generation, exact in 64-bit fixed point: emit digits until the rest of v lies within
+     * half an ulp, then round the last one towards v. (The narrower gap below a power of two
+     * doesn't matter here: 2^-1 .. 2^-9 end in a digit long before half an ulp.)
+     */
+    private static int shortest(double v, boolean single, byte[] out, int at) {
+        int origin = at;
+        long f;
+        int e; // v = f * 2^e with -62 <= e < 0 in this range
+        if (single) {
+            int bits = Float.floatToRawIntBits((float) v);
+            f = bits & (1 << 23) - 1 | 1 << 23;
+            e = (bits >>> 23) - 150;
+        } else {
+            long bits = Double.doubleToRawLongBits(v);
+            f = bits & (1L << 52) - 1 | 1L << 52;
+            e = (int) (bits >>> 52) - 1075;
+        }
+        int k = 1 - e;                      // so v = 2f / 2^k and half an ulp is 1 / 2^k
+        long mask = (1L << k) - 1;
+        at = plain(f >>> -e, 0, out, at);   // the interval around v holds no integer, so this is final
+        out[at++] = '.';
+        int point = at;
+        long rest = f << 1 & mask;          // fraction of v, in 2^-k
+        long margin = 1;                    // half an ulp, scaled along with it
+        while (true) {
+            long high = Math.multiplyHigh(rest, 10);
+            long low = rest * 10;
+            int digit = (int) (high << 64 - k | low >>> k);
+            rest = low & mask;
+            margin = margin > Long.MAX_VALUE / 10 ? Long.MAX_VALUE : margin * 10; // past 2^k - stops now
+            boolean down = rest < margin;            // dropping the rest stays within half an ulp
+            boolean up = margin - 1 > mask - rest;   // so does rounding this digit up
+            if (!down && !up) {
+                out[at++] = (byte) ('0' + digit);
+                continue;
+            }
+            long toNext = mask - rest + 1;           // 2^k - rest, what rounding up adds
+            if (up && (!down || rest > toNext || rest == toNext && (digit & 1) == 1)) digit++;
+            out[at++] = (byte) ('0' + digit);
+            break;
+        }
+        while (out[at - 1] == '0' + 10) { // carry, e.g. 0.19 -> 0.2
+            if (--at == point) return fallback(v, single, out, origin); // would reach the integer part
+            out[at - 1]++;
+        }
+        return at;
+    }
+
+    /** m with a decimal point {@code decimals} digits from the right */
+    private static int plain(long m, int decimals, byte[] out, int at) {
+        int digits = 1;
+        for (long t = m; t >= 10; t /= 10) digits++;
+        if (decimals >= digits) { // 0.00ddd
+            out[at++] = '0';
+            out[at++] = '.';
+            for (int i = digits; i < decimals; i++) out[at++] = '0';
+            decimals = 0; // no point among the digits
+        }
+        int end = at + digits + (decimals > 0 ? 1 : 0);
+        int p = end;
+        for (int i = 0; i < digits; i++) {
+            if (i == decimals && decimals > 0) out[--p] = '.';
+            out[--p] = (byte) ('0' + m % 10);
+            m /= 10;
+        }
+        return end;
+    }
+
+    /** Rare values (17 significant digits, extreme exponents): Double.toString, tidied */
+    private static int fallback(double v, boolean single, byte[] out, int at) {
+        String s = single ? Float.toString((float) v) : Double.toString(v); // 1.0E21, 1.2345678901234567, NaN ...
+        int exponent = s.indexOf('E');
+        int mantissaEnd = exponent < 0 ? s.length() : exponent;
+        if (s.startsWith(".0", mantissaEnd - 2)) mantissaEnd -= 2;
+        for (int i = 0; i < mantissaEnd; i++) out[at++] = (byte) s.charAt(i);
+        if (exponent >= 0) {
+            out[at++] = 'e';
+            for (int i = exponent + 1; i < s.length(); i++) out[at++] = (byte) s.charAt(i);
+        }
+        return at;
+    }
+}
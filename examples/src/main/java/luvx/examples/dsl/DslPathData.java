@@ -0,0 +1,344 @@
+package luvx.examples.dsl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * SVG geometry as primitive buffers - a byte per command (M L C Q Z, lowercase for relative)
+ * plus a growable double[] of coordinates, or a float[] for half the memory. Set it as the
+ * {@code d} of a path or the {@code points} of a polyline / polygon:
+ *
+ * <pre>
+ * var line = DslPathData.create().moveTo(0, 100);
+ * for (int i = 0; i &lt; values.length; i++) line.lineTo(i * 4, 100 - values[i]);
+ * path(line.relative().precision(1), stroke("#667eea"), fill("none"))
+ * </pre>
+ *
+ * The renderers encode it straight into their output through an {@link Encoder}: no command
+ * letter where the previous one repeats, no separator before a minus sign, no leading zero.
+ * {@link #relative()} rewrites every command relative to the point before it - small deltas
+ * instead of full coordinates, rounded against the point the client will have reached so errors
+ * don't add up - and {@link #precision(int)} rounds the numbers (default: the renderer's number
+ * precision, shortest round trip unless configured). Use the two together: the difference of
+ * two arbitrary doubles has as many digits as either, so relative only shrinks rounded output.
+ * points ignores both relative and control points: it lists the absolute end point of every
+ * command.
+ *
+ * Elements hold the data by reference - changes show up in the next render.
+ */
+public final class DslPathData {
+
+    private static final byte[] NO_COMMANDS = new byte[0];
+
+    private byte[] commands = NO_COMMANDS;
+    private int commandCount;
+    private double[] doubles;
+    private float[] floats;
+    private int size; // coordinates used
+    private boolean relative;
+    private int precision = -1;
+
+    private DslPathData(boolean single) {
+        if (single) floats = new float[16];
+        else doubles = new double[16];
+    }
+
+    public static DslPathData create() { return new DslPathData(false); }
+
+    /** Coordinates stored (and written) as floats */
+    public static DslPathData createFloat() { return new DslPathData(true); }
+
+    /** A polyline through x0,y0, x1,y1 ... - M then L per pair */
+    public static DslPathData points(double... xy) {
+        return create().lineTo(xy, 0, xy.length);
+    }
+
+    public static DslPathData points(float... xy) {
+        return createFloat().lineTo(xy, 0, xy.length);
+    }
+
+    public DslPathData moveTo(double x, double y) { return add('M', x, y); }
+    public DslPathData moveBy(double dx, double dy) { return add('m', dx, dy); }
+    public DslPathData lineTo(double x, double y) { return add('L', x, y); }
+    public DslPathData lineBy(double dx, double dy) { return add('l', dx, dy); }
+
+    public DslPathData quadTo(double x1, double y1, double x, double y) {
+        return command('Q', 4).put(x1).put(y1).put(x).put(y);
+    }
+
+    public DslPathData quadBy(double dx1, double dy1, double dx, double dy) {
+        return command('q', 4).put(dx1).put(dy1).put(dx).put(dy);
+    }
+
+    public DslPathData curveTo(double x1, double y1, double x2, double y2, double x, double y) {
+        return command('C', 6).put(x1).put(y1).put(x2).put(y2).put(x).put(y);
+    }
+
+    public DslPathData curveBy(double dx1, double dy1, double dx2, double dy2, double dx, double dy) {
+        return command('c', 6).put(dx1).put(dy1).put(dx2).put(dy2).put(dx).put(dy);
+    }
+
+    public DslPathData close() { return command('Z', 0); }
+
+    /** Lines through the pairs in xy[from, to) - starts with a move when the data is empty */
+    public DslPathData lineTo(double[] xy, int from, int to) {
+        if ((to - from & 1) != 0) throw new IllegalArgumentException("Odd number of coordinates: " + (to - from));
+        reserve((to - from) / 2, to - from);
+        for (int i = from; i < to; i += 2) add(commandCount == 0 ? 'M' : 'L', xy[i], xy[i + 1]);
+        return this;
+    }
+
+    public DslPathData lineTo(float[] xy, int from, int to) {
+        if ((to - from & 1) != 0) throw new IllegalArgumentException("Odd number of coordinates: " + (to - from));
+        reserve((to - from) / 2, to - from);
+        for (int i = from; i < to; i += 2) add(commandCount == 0 ? 'M' : 'L', xy[i], xy[i + 1]);
+        return this;
+    }
+
+    /** Lines through (xs[i], ys[i]) - column data as charts have it */
+    public DslPathData lineTo(double[] xs, double[] ys) {
+        if (xs.length != ys.length) throw new IllegalArgumentException(xs.length + " x but " + ys.length + " y");
+        reserve(xs.length, xs.length * 2);
+        for (int i = 0; i < xs.length; i++) add(commandCount == 0 ? 'M' : 'L', xs[i], ys[i]);
+        return this;
+    }
+
+    /** Write every command relative to the previous point */
+    public DslPathData relative() {
+        this.relative = true;
+        return this;
+    }
+
+    /** Write commands as they were added (the default) */
+    public DslPathData absolute() {
+        this.relative = false;
+        return this;
+    }
+
+    public boolean isRelative() { return relative; }
+
+    /** Round written numbers to at most this many fraction digits, negative for the renderer's setting */
+    public DslPathData precision(int decimals) {
+        this.precision = decimals;
+        return this;
+    }
+
+    public int precision() { return precision; }
+
+    public boolean isFloat() { return floats != null; }
+    public int commandCount() { return commandCount; }
+    public char command(int i) { return (char) commands[i]; }
+    public int size() { return size; }
+    public double coordinate(int i) { return floats != null ? floats[i] : doubles[i]; }
+
+    /** Same commands, coordinates and settings - the same output whichever instance is written */
+    public boolean sameGeometry(DslPathData other) {
+        if (other == this) return true;
+        if (other.commandCount != commandCount || other.size != size || other.relative != relative
+                || other.precision != precision || other.isFloat() != isFloat()) {
+            return false;
+        }
+        if (!Arrays.equals(commands, 0, commandCount, other.commands, 0, commandCount)) return false;
+        return floats != null ? Arrays.equals(floats, 0, size, other.floats, 0, size) : Arrays.equals(doubles, 0, size, other.doubles, 0, size);
+    }
+
+    /** Removes all commands, keeping the buffers and settings */
+    public DslPathData clear() {
+        commandCount = 0;
+        size = 0;
+        return this;
+    }
+
+    /** The {@code d} value as a String - renderers don't need it */
+    public String d() { return encode(false); }
+
+    /** The {@code points} value as a String */
+    public String pointList() { return encode(true); }
+
+    @Override public String toString() { return d(); }
+
+    private String encode(boolean points) {
+        var encoder = new Encoder().reset(this, points, -1);
+        var bytes = new byte[Math.max(Encoder.MAX_COMMAND_BYTES, commandCount * 8)];
+        int n = 0;
+        while (!encoder.done()) {
+            if (bytes.length - n < Encoder.MAX_COMMAND_BYTES) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            n = encoder.write(bytes, n, bytes.length);
+        }
+        return new String(bytes, 0, n, StandardCharsets.ISO_8859_1);
+    }
+
+    private DslPathData add(char command, double x, double y) {
+        return command(command, 2).put(x).put(y);
+    }
+
+    private DslPathData command(char command, int coordinates) {
+        reserve(1, coordinates);
+        commands[commandCount++] = (byte) command;
+        return this;
+    }
+
+    private DslPathData put(double v) {
+        if (floats != null) floats[size++] = (float) v;
+        else doubles[size++] = v;
+        return this;
+    }
+
+    private void reserve(int moreCommands, int moreCoordinates) {
+        if (commandCount + moreCommands > commands.length) {
+            commands = Arrays.copyOf(commands, Math.max(commandCount + moreCommands, commands.length * 2 + 16));
+        }
+        int capacity = floats != null ? floats.length : doubles.length;
+        if (size + moreCoordinates > capacity) {
+            capacity = Math.max(size + moreCoordinates, capacity * 2);
+            if (floats != null) floats = Arrays.copyOf(floats, capacity);
+            else doubles = Arrays.copyOf(doubles, capacity);
+        }
+    }
+
+    /**
+     * Writes path data as ASCII bytes a command at a time, so callers can stream any amount
+     * through a small buffer. Reusable through reset(...) - renderers keep one.
+     */
+    public static final class Encoder {
+
+        /** Room one command can take: a letter and six numbers with separators */
+        public static final int MAX_COMMAND_BYTES = 1 + 6 * (DslNumbers.MAX_LENGTH + 1);
+
+        private DslPathData data;
+        private boolean points;
+        private boolean relative;
+        private int decimals;
+        private double scale; // 10^decimals when rounding
+        private int next;     // command
+        private int at;       // coordinate
+        private char last;    // command letter written last, 0 before the first
+        private boolean afterNumber;
+        private boolean afterDot; // the last number has a '.' and no exponent - ".5.5" is two numbers
+        // absolute position in the data, and where the reader of our output has got to
+        private double x, y, startX, startY;
+        private double outX, outY, outStartX, outStartY;
+
+        /**
+         * @param points write {@code points} (absolute end points) instead of {@code d}
+         * @param decimals the renderer's number precision, used unless the data sets its own
+         */
+        public Encoder reset(DslPathData data, boolean points, int decimals) {
+            this.data = data;
+            this.points = points;
+            this.relative = data.relative && !points;
+            this.decimals = data.precision >= 0 ? data.precision : decimals;
+            this.scale = this.decimals >= 0 ? Math.pow(10, Math.min(this.decimals, 17)) : 0;
+            next = 0;
+            at = 0;
+            last = 0;
+            afterNumber = false;
+            afterDot = false;
+            x = y = startX = startY = 0;
+            outX = outY = outStartX = outStartY = 0;
+            return this;
+        }
+
+        public boolean done() { return next == data.commandCount; }
+
+        /**
+         * Writes whole commands into out from {@code pos} while one more surely fits before
+         * {@code limit} (at least MAX_COMMAND_BYTES) - returns the position after them.
+         */
+        public int write(byte[] out, int pos, int limit) {
+            while (next < data.commandCount && limit - pos >= MAX_COMMAND_BYTES) {
+                char command = (char) data.commands[next++];
+                char upper = Character.toUpperCase(command);
+                boolean given = command != upper; // stored relative
+                if (upper == 'Z') {
+                    x = startX;
+                    y = startY;
+                    outX = outStartX;
+                    outY = outStartY;
+                    if (!points) pos = letter(relative ? 'z' : command, out, pos);
+                    continue;
+                }
+                int n = upper == 'C' ? 6 : upper == 'Q' ? 4 : 2;
+                double baseX = given ? x : 0, baseY = given ? y : 0; // stored coordinates are relative to this
+                if (points) {
+                    x = baseX + data.coordinate(at + n - 2);
+                    y = baseY + data.coordinate(at + n - 1);
+                    at += n;
+                    pos = number(round(x), out, pos);
+                    pos = number(round(y), out, pos);
+                } else if (relative) {
+                    pos = letter(Character.toLowerCase(command), out, pos);
+                    double endX = 0, endY = 0;
+                    for (int i = 0; i < n; i += 2) {
+                        double px = baseX + data.coordinate(at++), py = baseY + data.coordinate(at++);
+                        endX = round(px - outX);
+                        endY = round(py - outY);
+                        pos = number(endX, out, pos);
+                        pos = number(endY, out, pos);
+                        if (i == n - 2) {
+                            x = px;
+                            y = py;
+                        }
+                    }
+                    outX += endX; // where the client is now - the next delta corrects our rounding
+                    outY += endY;
+                } else {
+                    pos = letter(command, out, pos);
+                    for (int i = 0; i < n; i++) pos = number(round(data.coordinate(at++)), out, pos);
+                    x = baseX + data.coordinate(at - 2);
+                    y = baseY + data.coordinate(at - 1);
+                    outX = x;
+                    outY = y;
+                }
+                if (upper == 'M') {
+                    startX = x;
+                    startY = y;
+                    outStartX = outX;
+                    outStartY = outY;
+                }
+            }
+            return pos;
+        }
+
+        private double round(double v) {
+            return scale == 0 ? v : Math.round(v * scale) / scale;
+        }
+
+        /** The letter, unless the previous command makes it implicit (L after L or M, C after C ...) */
+        private int letter(char command, byte[] out, int pos) {
+            boolean implicit = command == last && command != 'M' && command != 'm' && command != 'Z' && command != 'z'
+                    || last == 'M' && command == 'L' || last == 'm' && command == 'l';
+            last = command;
+            if (implicit) return pos;
+            out[pos++] = (byte) command;
+            afterNumber = false;
+            return pos;
+        }
+
+        /** The number with the shortest separator the grammar allows - none before '-' */
+        private int number(double v, byte[] out, int pos) {
+            int start = pos + 1; // room for a separator
+            int end = data.floats != null ? DslNumbers.write((float) v, decimals, out, start) : DslNumbers.write(v, decimals, out, start);
+            int digits = out[start] == '-' ? start + 1 : start;
+            if (out[digits] == '0' && end > digits + 1 && out[digits + 1] == '.') { // 0.5 -> .5
+                System.arraycopy(out, digits + 1, out, digits, end - digits - 1);
+                end--;
+            }
+            byte first = out[start];
+            boolean separator = afterNumber && first != '-' && !(first == '.' && afterDot);
+            if (separator) {
+                out[pos] = ' ';
+            } else {
+                System.arraycopy(out, start, out, pos, end - start);
+                end--;
+            }
+            afterNumber = true;
+            afterDot = false;
+            for (int i = end - 1; i >= pos; i--) {
+                if (out[i] == 'e') break;
+                if (out[i] == '.') afterDot = true;
+            }
+            return end;
+        }
+    }
+}
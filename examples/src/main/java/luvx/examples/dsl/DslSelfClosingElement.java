@@ -0,0 +1,74 @@
+package luvx.examples.dsl;
+
+import luvx.composable.*;
+import luvx.VoidElement_I;
+import java.util.List;
+import java.util.Map;
+import luvx.rendering_behavior.InlineMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Self-closing element implementation - composable design using interfaces
+ */
+public class DslSelfClosingElement implements DslFrag_I, DslTagged, VoidElement_I<DslSelfClosingElement>, HasAttributes<DslSelfClosingElement> {
+    private final int tag; // DslTags id, -1 if the name isn't registered
+    private final String unregisteredName; // only with tag -1
+    private final DslAttributeMap attributes;
+    
+    /** Registers the name on first use - past DslTags.MAX_TAGS names it stays with the element, unregistered */
+    public DslSelfClosingElement(String tagName) { this(DslTags.id(tagName), tagName); }
+    
+    private DslSelfClosingElement(int tag, String tagName) { this(tag, tag < 0 ? tagName : null, new DslAttributeMap()); }
+    
+    public DslSelfClosingElement(int tag) { this(tag, null, new DslAttributeMap()); }
+    
+    /** Element for a tag name from outside the code - see DslContainerElement.ofUntrustedTag */
+    public static DslSelfClosingElement ofUntrustedTag(String tagName) {
+        int id = DslTags.lookup(tagName);
+        return new DslSelfClosingElement(id, id < 0 ? tagName : null, new DslAttributeMap());
+    }
+    
+    private DslSelfClosingElement(int tag, String unregisteredName, DslAttributeMap attributes) {
+        this.tag = tag;
+        this.unregisteredName = unregisteredName;
+        this.attributes = attributes;
+    }
+    
+    @Override public DslSelfClosingElement self() { return this; }
+    @Override public String tagName() { return tag >= 0 ? DslTags.name(tag) : unregisteredName; }
+    @Override public int tagId() { return tag; }
+    
+    @Override public Map<String, String> attributes() { return attributes; }
+    @Override public String attr(String name) { return attributes.get(name); }
+    
+    public DslSelfClosingElement setAttribute(String name, String value) {
+        attributes.put(name, value);
+        return self();
+    }
+    
+    public DslSelfClosingElement withAttribute(String name, String value) {
+        return setAttribute(name, value);
+    }
+    
+    /** Numeric value, stored as a double and formatted by the renderer */
+    public DslSelfClosingElement setAttribute(String name, double value) {
+        attributes.putNumber(name, value);
+        return self();
+    }
+    
+    public DslSelfClosingElement withAttribute(String name, double value) {
+        return setAttribute(name, value);
+    }
+    
+    /** Immutable copy - see DslContainerElement.freeze() */
+    public DslSelfClosingElement freeze() {
+        return attributes.isFrozen() ? this : new DslSelfClosingElement(tag, unregisteredName, attributes.frozenCopy());
+    }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return InlineMarkupRendering.I;
+    }
+    
+    
+}
\ No newline at end of file
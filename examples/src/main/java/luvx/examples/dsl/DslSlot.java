@@ -0,0 +1,83 @@
+package luvx.examples.dsl;
+
+import luvx.Text_I;
+import luvx.composable.HasTextContent;
+import luvx.rendering_behavior.InlineMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Named hole in a template tree - a text node whose content is supplied per render by
+ * MarkupTemplate. Rendered without a template it is just its default text.
+ *
+ * Attribute values can be holes too: {@link #attributeMarker(String)} produces the value
+ * DslAttributes.slotAttr(...) stores, and {@link #slotNameOf(String)} recognises it.
+ * {@link #attributePattern(String)} mixes holes into static text - {@code translate({x}, {y})}.
+ */
+public class DslSlot implements DslFrag_I, Text_I<DslSlot>, HasTextContent<DslSlot> {
+
+    /** Unicode noncharacters - never part of interchanged text, so they cannot clash with real values */
+    private static final char MARKER = '\uFDD0';  // starts a one-slot value, separates holes in a pattern
+    private static final char PATTERN = '\uFDD1'; // starts a pattern value
+
+    private final String name;
+    private final String defaultText;
+
+    public DslSlot(String name, String defaultText) {
+        this.name = name;
+        this.defaultText = defaultText;
+    }
+
+    public String name() { return name; }
+
+    @Override public DslSlot self() { return this; }
+    @Override public String text() { return defaultText; }
+    @Override public String textContent() { return defaultText; }
+    @Override public String toString() { return "${" + name + "}"; }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return InlineMarkupRendering.I;
+    }
+
+    /** Attribute value standing for the named slot */
+    public static String attributeMarker(String slotName) {
+        return MARKER + slotName;
+    }
+
+    /**
+     * Attribute value with {@code {name}} holes in static text, stored as PATTERN text MARKER
+     * name MARKER text ..., so {@link #attributeParts(String)} is a plain split. Without holes
+     * it is the pattern itself - an ordinary value.
+     */
+    public static String attributePattern(String pattern) {
+        if (pattern.indexOf('{') < 0) return pattern;
+        var value = new StringBuilder(pattern.length() + 4).append(PATTERN);
+        int i = 0;
+        for (int open; (open = pattern.indexOf('{', i)) >= 0; ) {
+            int close = pattern.indexOf('}', open);
+            if (close < 0) throw new IllegalArgumentException("Unclosed slot in " + pattern);
+            value.append(pattern, i, open).append(MARKER).append(pattern, open + 1, close).append(MARKER);
+            i = close + 1;
+        }
+        return value.append(pattern, i, pattern.length()).toString();
+    }
+
+    /** Slot name if the whole attribute value is one slot marker, otherwise null */
+    public static String slotNameOf(String attributeValue) {
+        return attributeValue != null && !attributeValue.isEmpty() && attributeValue.charAt(0) == MARKER
+                && attributeValue.indexOf(MARKER, 1) < 0 ? attributeValue.substring(1) : null;
+    }
+
+    /** A slot or pattern value - decided by the first char only, other values may hold anything */
+    public static boolean isAttributeMarker(String attributeValue) {
+        if (attributeValue == null || attributeValue.isEmpty()) return false;
+        char first = attributeValue.charAt(0);
+        return first == MARKER || first == PATTERN;
+    }
+
+    /** Static text at even indices, slot names at odd ones - for a value isAttributeMarker() accepts */
+    public static String[] attributeParts(String attributeValue) {
+        if (attributeValue.charAt(0) == MARKER) return new String[] {"", attributeValue.substring(1), ""};
+        return attributeValue.substring(1).split(String.valueOf(MARKER), -1);
+    }
+}
@@ -0,0 +1,164 @@
+package luvx.examples.dsl;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Property -> value view of an element's style attribute, in declaration order. Nothing is
+ * stored here: reads parse the attribute and writes put it back, so styles set through the map
+ * render, hash, diff and snapshot like any other attribute. The entry set writes through too -
+ * setValue and the iterator's remove - and putting a null value removes the property.
+ */
+public final class DslStyleMap extends AbstractMap<String, String> {
+
+    private final Map<String, String> attributes;
+
+    public DslStyleMap(Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Entries(new ArrayList<>(parse().entrySet()).iterator());
+            }
+
+            @Override
+            public int size() {
+                return parse().size();
+            }
+
+            @Override
+            public void clear() {
+                DslStyleMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public String get(Object property) {
+        return parse().get(property);
+    }
+
+    @Override
+    public String put(String property, String value) {
+        if (value == null) return remove(property);
+        var styles = parse();
+        var previous = styles.put(property, value);
+        write(styles);
+        return previous;
+    }
+
+    @Override
+    public String remove(Object property) {
+        var styles = parse();
+        var previous = styles.remove(property);
+        if (previous != null) write(styles);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        attributes.remove("style");
+    }
+
+    /** Iterates a snapshot of the declarations; entries and remove() write back to the attribute */
+    private final class Entries implements Iterator<Entry<String, String>> {
+        private final Iterator<Entry<String, String>> snapshot;
+        private String last;
+
+        Entries(Iterator<Entry<String, String>> snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return snapshot.hasNext();
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            var entry = snapshot.next();
+            last = entry.getKey();
+            return new SimpleEntry<>(entry) {
+                @Override
+                public String setValue(String value) {
+                    put(getKey(), value);
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) throw new IllegalStateException();
+            DslStyleMap.this.remove(last);
+            last = null;
+        }
+    }
+
+    private Map<String, String> parse() {
+        var styles = new LinkedHashMap<String, String>();
+        for (var declaration : declarations(attributes.get("style"))) {
+            int colon = declaration.indexOf(':');
+            if (colon > 0) styles.put(declaration.substring(0, colon).trim(), declaration.substring(colon + 1).trim());
+        }
+        return styles;
+    }
+
+    private void write(Map<String, String> styles) {
+        if (styles.isEmpty()) {
+            attributes.remove("style");
+            return;
+        }
+        var style = new StringBuilder();
+        for (var entry : styles.entrySet()) {
+            if (!style.isEmpty()) style.append("; ");
+            style.append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        attributes.put("style", style.toString());
+    }
+
+    /**
+     * Declarations of a style attribute, trimmed, empty ones dropped. Split on the ';' between
+     * declarations only - not inside quotes or parentheses, as in url(data:image/png;base64,...).
+     */
+    public static List<String> declarations(String style) {
+        if (style == null) return List.of();
+        var declarations = new ArrayList<String>();
+        char quote = 0;
+        int depth = 0, start = 0;
+        for (int i = 0; i < style.length(); i++) {
+            char c = style.charAt(i);
+            if (c == '\\') {
+                i++; // escaped char, never a delimiter
+            } else if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth = Math.max(0, depth - 1);
+            } else if (c == ';' && depth == 0) {
+                add(declarations, style, start, i);
+                start = i + 1;
+            }
+        }
+        add(declarations, style, start, style.length());
+        return declarations;
+    }
+
+    private static void add(List<String> declarations, String style, int from, int to) {
+        var declaration = style.substring(from, to).trim();
+        if (!declaration.isEmpty()) declarations.add(declaration);
+    }
+}
@@ -4,7 +4,6 @@ import luvx.composable.*;
 import luvx.VoidElement_I;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 import luvx.rendering_behavior.InlineMarkupRendering;
 import luvx.rendering_behavior.MarkupRenderingBehavior_I;
 
@@ -12,18 +11,23 @@ import luvx.rendering_behavior.MarkupRenderingBehavior_I;
  * Styled text element - like HTML span with style attribute
  * This IS an element (span), not pure text
  */
-public class DslStyledText implements DslFrag_I, VoidElement_I<DslStyledText>, HasAttributes<DslStyledText>, HasTextContent<DslStyledText> {
+public class DslStyledText implements DslFrag_I, DslTagged, VoidElement_I<DslStyledText>, HasAttributes<DslStyledText>, HasTextContent<DslStyledText> {
     private final String content;
-    private final Map<String, String> attributes = new HashMap<>();
+    private final DslAttributeMap attributes;
     
     public DslStyledText(String content, String style) { 
-        this.content = content; 
-        this.attributes.put("style", style);
+        this(content, DslAttributeMap.of("style", style)); // all styled texts share one shape
+    }
+    
+    private DslStyledText(String content, DslAttributeMap attributes) {
+        this.content = content;
+        this.attributes = attributes;
     }
     
     @Override public DslStyledText self() { return this; }
     @Override public String textContent() { return content; }
     @Override public String tagName() { return "span"; }
+    @Override public int tagId() { return DslTags.SPAN; }
     
     // HasAttributes implementation
     @Override public Map<String, String> attributes() { return attributes; }
@@ -34,6 +38,11 @@ public class DslStyledText implements DslFrag_I, VoidElement_I<DslStyledText>, H
         return self();
     }
     
+    /** Immutable copy - see DslContainerElement.freeze() */
+    public DslStyledText freeze() {
+        return attributes.isFrozen() ? this : new DslStyledText(content, attributes.frozenCopy());
+    }
+    
     @Override public String toString() { return content; }
     
     
@@ -0,0 +1,10 @@
+package luvx.examples.dsl;
+
+/**
+ * DSL element that carries a {@link DslTags} id - renderers take its pre-encoded tokens and
+ * content model from the registry instead of working from the tag name
+ */
+public interface DslTagged {
+    /** The registry id, or -1 for a name that was never registered - renderers then use tagName() */
+    int tagId();
+}
@@ -0,0 +1,130 @@
+package luvx.examples.dsl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global tag registry - DSL nodes keep a small int id instead of a tag String, and renderers
+ * index per-tag tables by it: pre-encoded {@code <tag} / {@code </tag>} as UTF-8 bytes and as
+ * chars, and the content model.
+ *
+ * Known HTML/SVG tags have fixed ids (the constants below, usable as switch labels); any
+ * other tag name gets the next id on first use. Ids are never reused, so the registry is
+ * capped at {@link #MAX_TAGS} distinct names - tag names come from code, not from users. Past
+ * the cap new names are not registered: {@link #id} returns -1 and the element keeps its name,
+ * as for an untrusted one.
+ * Names read from a file or the network go through {@link #lookup} instead (see
+ * DslContainerElement.ofUntrustedTag): unknown ones stay with their element, unregistered.
+ *
+ * Renderers write a childless element with a VOID tag without its end tag, whichever node
+ * class it was built as - {@code meta(charset("UTF-8"))} renders as {@code <meta charset="UTF-8">}.
+ */
+public final class DslTags {
+
+    /** How the element's content is parsed - as RawTextElement_T / EscapableRawTextElement_T classify it */
+    public enum Content {
+        NORMAL,
+        /** No content and no end tag: br, img, meta ... */
+        VOID,
+        /** Text is not escaped: script, style */
+        RAW_TEXT,
+        /** Text is escaped but holds no elements: title, textarea */
+        ESCAPABLE_RAW_TEXT
+    }
+
+    public static final int MAX_TAGS = 1 << 15;
+
+    public static final int HTML = 0, HEAD = 1, BODY = 2, DIV = 3, SPAN = 4, P = 5, H1 = 6, H2 = 7, H3 = 8,
+            TITLE = 9, HEADER = 10, MAIN = 11, SECTION = 12, ARTICLE = 13, FOOTER = 14, UL = 15, LI = 16,
+            BUTTON = 17, INPUT = 18, SELECT = 19, OPTION = 20, A = 21, META = 22, STYLE = 23, BR = 24, PRE = 25,
+            SVG = 26, DEFS = 27, G = 28, RECT = 29, CIRCLE = 30, TEXT = 31, LINEAR_GRADIENT = 32, STOP = 33,
+            FILTER = 34, FE_DROP_SHADOW = 35,
+            SCRIPT = 36, TEXTAREA = 37, IMG = 38, HR = 39, LINK = 40, BASE = 41, AREA = 42, COL = 43, EMBED = 44,
+            SOURCE = 45, TRACK = 46, WBR = 47, NAV = 48, TABLE = 49, THEAD = 50, TBODY = 51, TR = 52, TD = 53,
+            TH = 54, FORM = 55, LABEL = 56, OL = 57, STRONG = 58, EM = 59, CODE = 60, H4 = 61, H5 = 62, H6 = 63,
+            PATH = 64, LINE = 65, POLYLINE = 66, POLYGON = 67, ELLIPSE = 68, TSPAN = 69, USE = 70, SYMBOL = 71,
+            RADIAL_GRADIENT = 72, CLIP_PATH = 73, MASK = 74;
+
+    private record Tag(String name, Content content, byte[] utf8Open, byte[] utf8Close, String open, String close) {
+        Tag(String name, Content content) {
+            this(name, content, ("<" + name).getBytes(StandardCharsets.UTF_8), ("</" + name + ">").getBytes(StandardCharsets.UTF_8),
+                    "<" + name, "</" + name + ">");
+        }
+    }
+
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile Tag[] tags = new Tag[0]; // copy-on-write - registration is rare, reads are plain
+
+    static {
+        String[] normal = {"html", "head", "body", "div", "span", "p", "h1", "h2", "h3"};
+        for (int id = 0; id < normal.length; id++) known(id, normal[id], Content.NORMAL);
+        known(TITLE, "title", Content.ESCAPABLE_RAW_TEXT);
+        String[] more = {"header", "main", "section", "article", "footer", "ul", "li", "button"};
+        for (int i = 0; i < more.length; i++) known(HEADER + i, more[i], Content.NORMAL);
+        known(INPUT, "input", Content.VOID);
+        known(SELECT, "select", Content.NORMAL);
+        known(OPTION, "option", Content.NORMAL);
+        known(A, "a", Content.NORMAL);
+        known(META, "meta", Content.VOID);
+        known(STYLE, "style", Content.RAW_TEXT);
+        known(BR, "br", Content.VOID);
+        String[] svg = {"pre", "svg", "defs", "g", "rect", "circle", "text", "linearGradient", "stop", "filter", "feDropShadow"};
+        for (int i = 0; i < svg.length; i++) known(PRE + i, svg[i], Content.NORMAL);
+        known(SCRIPT, "script", Content.RAW_TEXT);
+        known(TEXTAREA, "textarea", Content.ESCAPABLE_RAW_TEXT);
+        String[] voids = {"img", "hr", "link", "base", "area", "col", "embed", "source", "track", "wbr"};
+        for (int i = 0; i < voids.length; i++) known(IMG + i, voids[i], Content.VOID);
+        String[] rest = {"nav", "table", "thead", "tbody", "tr", "td", "th", "form", "label", "ol", "strong", "em", "code",
+                "h4", "h5", "h6", "path", "line", "polyline", "polygon", "ellipse", "tspan", "use", "symbol",
+                "radialGradient", "clipPath", "mask"};
+        for (int i = 0; i < rest.length; i++) known(NAV + i, rest[i], Content.NORMAL);
+    }
+
+    private DslTags() {}
+
+    private static void known(int id, String name, Content content) {
+        if (register(name, content) != id) throw new AssertionError("Tag table out of order at " + name);
+    }
+
+    /** Id of the tag name, registering it (as NORMAL content) on first use - -1 once the registry is full */
+    public static int id(String name) {
+        var id = IDS.get(name);
+        return id != null ? id : register(name, Content.NORMAL);
+    }
+
+    /** Id of the tag name, or -1 if it was never registered */
+    public static int lookup(String name) {
+        var id = IDS.get(name);
+        return id != null ? id : -1;
+    }
+
+    private static synchronized int register(String name, Content content) {
+        var existing = IDS.get(name);
+        if (existing != null) return existing;
+        int id = tags.length;
+        if (id == MAX_TAGS) return -1; // full - the caller keeps the name
+        var grown = Arrays.copyOf(tags, id + 1);
+        grown[id] = new Tag(name, content);
+        tags = grown;
+        IDS.put(name, id);
+        return id;
+    }
+
+    public static int size() { return tags.length; }
+
+    public static String name(int id) { return tags[id].name; }
+    public static Content content(int id) { return tags[id].content; }
+    public static boolean isVoid(int id) { return tags[id].content == Content.VOID; }
+    public static boolean isRawText(int id) { return tags[id].content == Content.RAW_TEXT; }
+    public static boolean isEscapableRawText(int id) { return tags[id].content == Content.ESCAPABLE_RAW_TEXT; }
+
+    /** {@code <tag} in UTF-8 - shared, do not modify */
+    public static byte[] utf8OpenTag(int id) { return tags[id].utf8Open; }
+    /** {@code </tag>} in UTF-8 - shared, do not modify */
+    public static byte[] utf8CloseTag(int id) { return tags[id].utf8Close; }
+    /** {@code <tag} */
+    public static String openTag(int id) { return tags[id].open; }
+    /** {@code </tag>} */
+    public static String closeTag(int id) { return tags[id].close; }
+}
@@ -0,0 +1,44 @@
+package luvx.examples.dsl;
+
+import luvx.composable.*;
+import luvx.Text_I;
+import luvx.rendering_behavior.InlineMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Text that is a range of a CharSequence held elsewhere - a listing inside a loaded file, a
+ * StringBuilder log buffer, a CharBuffer - without copying it into a node String.
+ *
+ * The renderers escape the range straight from the source. text() / textContent() build the
+ * String (for diffing, hashing, snapshots ...), so keep those off hot paths. The source must not
+ * change while nodes refer to it.
+ */
+public class DslTextSlice implements DslFrag_I, Text_I<DslTextSlice>, HasTextContent<DslTextSlice> {
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+
+    public DslTextSlice(CharSequence source, int start, int end) {
+        if (start < 0 || end < start || end > source.length()) {
+            throw new IndexOutOfBoundsException("Slice [" + start + ", " + end + ") of " + source.length() + " chars");
+        }
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    public CharSequence source() { return source; }
+    public int start() { return start; }
+    public int end() { return end; }
+    public int length() { return end - start; }
+
+    @Override public DslTextSlice self() { return this; }
+    @Override public String text() { return source.subSequence(start, end).toString(); }
+    @Override public String textContent() { return text(); }
+    @Override public String toString() { return text(); }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return InlineMarkupRendering.I;
+    }
+}
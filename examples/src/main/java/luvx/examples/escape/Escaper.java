@@ -0,0 +1,279 @@
+package luvx.examples.escape;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Context-aware escaping - one mode per place a String can land in markup, shared by the
+ * renderers and by DslAttribute interning so every path escapes alike.
+ *
+ * Each mode is a 128 entry table: a scan finds the first char the context rewrites (one table
+ * load per char), the clean run before it is copied in bulk, then the replacement is written.
+ * {@link #encodeUtf8} does this straight into a renderer's ByteBuffer, {@link #indexOfEscape}
+ * and {@link #replacement} serve char output; neither allocates. Text that is already UTF-8
+ * bytes (file regions) is scanned 8 bytes per step by {@link #indexOfEscape(ByteBuffer, int, int, Context)}.
+ */
+public final class Escaper {
+
+    public enum Context {
+        /** Element content: {@code & < >} */
+        TEXT,
+        /** Double-quoted attribute value: {@code & < > "} */
+        ATTRIBUTE,
+        /**
+         * URL-valued attribute (href, src ...), opt-in - see {@link #forAttribute(String, boolean)}:
+         * {@code &} as an entity; spaces, quotes, angle brackets, controls and non-ASCII
+         * percent-encoded as UTF-8. {@code %} is kept, so already encoded URLs pass through
+         * unchanged.
+         */
+        URL,
+        /** script / style content, comments, doctype: written as is */
+        RAW_TEXT
+    }
+
+    /** Worst case UTF-8 bytes per input char: a BMP char percent-encoded in a URL, %E2%82%AC */
+    public static final int MAX_BYTES_PER_CHAR = 9;
+
+    private static final int BULK_MIN = 16; // shorter clean runs are cheaper stored byte by byte
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    // per context ordinal, indexed by ASCII char
+    private static final boolean[][] ESCAPED = new boolean[4][128];
+    private static final String[][] REPLACEMENTS = new String[4][128];
+    private static final byte[][][] UTF8_REPLACEMENTS = new byte[4][128][];
+    private static final byte[][] PERCENT_BYTES = new byte[256][]; // %XX for every byte value
+    static {
+        for (int b = 0; b < 256; b++) {
+            PERCENT_BYTES[b] = new byte[] {'%', (byte) HEX[b >> 4], (byte) HEX[b & 0xF]};
+        }
+        for (var context : new Context[] {Context.TEXT, Context.ATTRIBUTE, Context.URL}) {
+            replace(context, '&', "&amp;");
+        }
+        for (var context : new Context[] {Context.TEXT, Context.ATTRIBUTE}) {
+            replace(context, '<', "&lt;");
+            replace(context, '>', "&gt;");
+        }
+        replace(Context.ATTRIBUTE, '"', "&quot;");
+        for (char c = 0; c < 128; c++) {
+            if (c <= ' ' || c == 0x7F || "\"<>\\^`{|}".indexOf(c) >= 0) {
+                replace(Context.URL, c, "%" + HEX[c >> 4] + HEX[c & 0xF]);
+            }
+        }
+    }
+
+    private Escaper() {}
+
+    private static void replace(Context context, char c, String replacement) {
+        ESCAPED[context.ordinal()][c] = true;
+        REPLACEMENTS[context.ordinal()][c] = replacement;
+        UTF8_REPLACEMENTS[context.ordinal()][c] = replacement.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Context for the value of the named attribute: ATTRIBUTE, or URL for href, src and friends
+     * when the renderer was asked to encode URLs. Off by default - callers pass javascript:
+     * URLs, IRIs and the like through on purpose, and only ATTRIBUTE's escapes are needed to
+     * keep them inside the quotes.
+     */
+    public static Context forAttribute(String name, boolean encodeUrls) {
+        return encodeUrls && isUrlAttribute(name) ? Context.URL : Context.ATTRIBUTE;
+    }
+
+    /** href, src and the other attributes whose value is a URL */
+    public static boolean isUrlAttribute(String name) {
+        return switch (name) {
+            case "href", "src", "action", "formaction", "poster", "cite", "background", "manifest", "xlink:href" -> true;
+            default -> false;
+        };
+    }
+
+    /** Index of the first char in s[from, to) the context rewrites, or to */
+    public static int indexOfEscape(String s, int from, int to, Context context) {
+        boolean[] escaped = ESCAPED[context.ordinal()];
+        boolean nonAscii = context == Context.URL;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80 ? escaped[c] : nonAscii) return i;
+        }
+        return to;
+    }
+
+    /** What the context writes for an ASCII char - the char itself as a String when it is clean */
+    public static String replacement(char c, Context context) {
+        var replacement = REPLACEMENTS[context.ordinal()][c];
+        return replacement != null ? replacement : String.valueOf(c);
+    }
+
+    /**
+     * Writes the char (or surrogate pair) at s[i] percent-encoded as UTF-8.
+     * @return index of the next char
+     */
+    public static int percentEncode(String s, int i, Appendable out) throws IOException {
+        char c = s.charAt(i++);
+        int cp = c;
+        if (Character.isHighSurrogate(c) && i < s.length() && Character.isLowSurrogate(s.charAt(i))) {
+            cp = Character.toCodePoint(c, s.charAt(i++));
+        } else if (Character.isSurrogate(c)) {
+            cp = '?'; // unpaired - same replacement as String.getBytes
+        }
+        if (cp < 0x80) {
+            percent(cp, out);
+        } else if (cp < 0x800) {
+            percent(0xC0 | (cp >> 6), out);
+            percent(0x80 | (cp & 0x3F), out);
+        } else if (cp < 0x10000) {
+            percent(0xE0 | (cp >> 12), out);
+            percent(0x80 | ((cp >> 6) & 0x3F), out);
+            percent(0x80 | (cp & 0x3F), out);
+        } else {
+            percent(0xF0 | (cp >> 18), out);
+            percent(0x80 | ((cp >> 12) & 0x3F), out);
+            percent(0x80 | ((cp >> 6) & 0x3F), out);
+            percent(0x80 | (cp & 0x3F), out);
+        }
+        return i;
+    }
+
+    private static void percent(int b, Appendable out) throws IOException {
+        out.append('%').append(HEX[b >> 4]).append(HEX[b & 0xF]);
+    }
+
+    /** s escaped for the context - s itself when nothing needs escaping */
+    public static String escape(String s, Context context) {
+        int n = s.length(), i = indexOfEscape(s, 0, n, context);
+        if (i == n) return s;
+        var sb = new StringBuilder(n + 16);
+        int start = 0;
+        try {
+            for (; i < n; i = indexOfEscape(s, start, n, context)) {
+                sb.append(s, start, i);
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    sb.append(REPLACEMENTS[context.ordinal()][c]);
+                    start = i + 1;
+                } else {
+                    start = percentEncode(s, i, sb);
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringBuilder never throws
+        }
+        return sb.append(s, start, n).toString();
+    }
+
+    /**
+     * Encodes s[from, to) escaped for the context as UTF-8 into buf at its position, which must
+     * have room for (to - from + 1) * MAX_BYTES_PER_CHAR bytes - a surrogate pair starting at
+     * to - 1 is encoded whole if its low half is before limit. Clean runs are staged through
+     * scratch (any length) and copied in bulk, so callers keep one scratch array per renderer.
+     * @return index of the first char not consumed: to, or to + 1 after a straddling pair
+     */
+    @SuppressWarnings("deprecation")
+    public static int encodeUtf8(String s, int from, int to, int limit, Context context, ByteBuffer buf, byte[] scratch) {
+        boolean[] escaped = ESCAPED[context.ordinal()];
+        byte[][] replacements = UTF8_REPLACEMENTS[context.ordinal()];
+        boolean url = context == Context.URL;
+        int i = from, p = buf.position();
+        while (i < to) {
+            int run = i;
+            while (run < to) {
+                char c = s.charAt(run);
+                if (c >= 0x80 || escaped[c]) break;
+                run++;
+            }
+            if (run - i >= BULK_MIN) {
+                // the run is ASCII, so each char's low byte is its UTF-8 byte - and for Latin-1
+                // Strings getBytes is a plain array copy
+                while (i < run) {
+                    int length = Math.min(run - i, scratch.length);
+                    s.getBytes(i, i + length, scratch, 0);
+                    buf.put(p, scratch, 0, length);
+                    p += length;
+                    i += length;
+                }
+            } else {
+                while (i < run) buf.put(p++, (byte) s.charAt(i++));
+            }
+            if (i == to) break;
+
+            char c = s.charAt(i++);
+            if (c < 0x80) {
+                byte[] replacement = replacements[c];
+                buf.put(p, replacement);
+                p += replacement.length;
+            } else if (c < 0x800) {
+                p = put(buf, p, 0xC0 | (c >> 6), url);
+                p = put(buf, p, 0x80 | (c & 0x3F), url);
+            } else if (Character.isHighSurrogate(c) && i < limit && Character.isLowSurrogate(s.charAt(i))) {
+                int cp = Character.toCodePoint(c, s.charAt(i++));
+                p = put(buf, p, 0xF0 | (cp >> 18), url);
+                p = put(buf, p, 0x80 | ((cp >> 12) & 0x3F), url);
+                p = put(buf, p, 0x80 | ((cp >> 6) & 0x3F), url);
+                p = put(buf, p, 0x80 | (cp & 0x3F), url);
+            } else if (Character.isSurrogate(c)) {
+                p = put(buf, p, '?', url); // unpaired surrogate - same replacement as String.getBytes
+            } else {
+                p = put(buf, p, 0xE0 | (c >> 12), url);
+                p = put(buf, p, 0x80 | ((c >> 6) & 0x3F), url);
+                p = put(buf, p, 0x80 | (c & 0x3F), url);
+            }
+        }
+        buf.position(p);
+        return i;
+    }
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+
+    /**
+     * Index of the first byte of UTF-8 text in utf8[from, to) (absolute positions) that the
+     * context rewrites, or to. Multi-byte sequences never contain ASCII bytes, so TEXT and
+     * ATTRIBUTE only look for their specials - 8 bytes per step, SWAR.
+     */
+    public static int indexOfEscape(ByteBuffer utf8, int from, int to, Context context) {
+        if (context == Context.RAW_TEXT) return to;
+        int i = from;
+        if (context != Context.URL) {
+            boolean quote = context == Context.ATTRIBUTE;
+            boolean little = utf8.order() == ByteOrder.LITTLE_ENDIAN;
+            for (; i <= to - 8; i += 8) {
+                long v = utf8.getLong(i);
+                long found = zeroBytes(v ^ ONES * '&') | zeroBytes(v ^ ONES * '<') | zeroBytes(v ^ ONES * '>')
+                        | (quote ? zeroBytes(v ^ ONES * '"') : 0);
+                if (found != 0) {
+                    return i + (little ? Long.numberOfTrailingZeros(found) : Long.numberOfLeadingZeros(found)) / 8;
+                }
+            }
+        }
+        boolean[] escaped = ESCAPED[context.ordinal()];
+        boolean nonAscii = context == Context.URL;
+        for (; i < to; i++) {
+            byte b = utf8.get(i);
+            if (b < 0 ? nonAscii : escaped[b]) return i;
+        }
+        return to;
+    }
+
+    /** 0x80 in every byte of x that is zero, 0 elsewhere - exact, no false positives from borrows */
+    private static long zeroBytes(long x) {
+        return ~(((x & LOW7) + LOW7) | x | LOW7);
+    }
+
+    /** UTF-8 bytes the context writes for a byte that {@link #indexOfEscape(ByteBuffer, int, int, Context)} found - shared, do not modify */
+    public static byte[] utf8Replacement(byte b, Context context) {
+        return b < 0 ? PERCENT_BYTES[b & 0xFF] : UTF8_REPLACEMENTS[context.ordinal()][b];
+    }
+
+    private static int put(ByteBuffer buf, int p, int b, boolean percentEncoded) {
+        if (!percentEncoded) {
+            buf.put(p, (byte) b);
+            return p + 1;
+        }
+        buf.put(p, (byte) '%');
+        buf.put(p + 1, (byte) HEX[b >> 4]);
+        buf.put(p + 2, (byte) HEX[b & 0xF]);
+        return p + 3;
+    }
+}
@@ -0,0 +1,62 @@
+package luvx.examples.render;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+
+/**
+ * In-memory channel - lets the byte renderers target a growable byte[] (rendering to bytes,
+ * benchmarks) through the same flush path they use for sockets and files.
+ */
+public class ByteArrayChannel implements GatheringByteChannel {
+    private byte[] bytes;
+    private int size;
+    private boolean open = true;
+
+    public ByteArrayChannel() { this(8 * 1024); }
+
+    public ByteArrayChannel(int initialCapacity) {
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        int n = src.remaining();
+        if (size + n > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + n));
+        }
+        src.get(bytes, size, n);
+        size += n;
+        return n;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+        long n = 0;
+        for (int i = offset; i < offset + length; i++) {
+            n += write(srcs[i]);
+        }
+        return n;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs) {
+        return write(srcs, 0, srcs.length);
+    }
+
+    public int size() { return size; }
+
+    /** The content as a read-only view, no copy - valid until the next write or reset() */
+    public ByteBuffer asByteBuffer() { return ByteBuffer.wrap(bytes, 0, size).asReadOnlyBuffer(); }
+
+    public byte[] toByteArray() { return Arrays.copyOf(bytes, size); }
+
+    /** Forgets the content but keeps the backing array for the next render */
+    public ByteArrayChannel reset() {
+        size = 0;
+        return this;
+    }
+
+    @Override public boolean isOpen() { return open; }
+    @Override public void close() { open = false; }
+}
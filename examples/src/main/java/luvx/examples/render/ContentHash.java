@@ -0,0 +1,228 @@
+package luvx.examples.render;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import luvx.CData_I;
+import luvx.Comment_I;
+import luvx.Doctype_I;
+import luvx.Element_I;
+import luvx.Node_I;
+import luvx.ProcessingInstruction_I;
+import luvx.Text_I;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.composable.HasTextContent;
+import luvx.examples.dispatch.FragKind;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslFileText;
+import luvx.examples.dsl.DslPathData;
+import luvx.examples.walk.LazyChildNodes;
+import luvx.examples.walk.TreeWalker;
+
+/**
+ * 128-bit content hash of a subtree - node kind, tag, attributes (in rendering order), text
+ * and children, walked iteratively (lazy children through their iterator, never
+ * childNodes()). Equal trees get equal keys no matter which instances they are made of, so it
+ * works as a content address for rendered fragments. DslFileText is hashed by the bytes of its
+ * region, streamed in chunks - a file's key differs from the same text held in a String.
+ * Numeric and path attributes are hashed as stored - double bits, path commands and
+ * coordinates - so a lookup formats nothing; their keys differ from the same values as Strings.
+ *
+ * Two independent multiply-rotate streams, fast but not cryptographic: fine for caching
+ * trees we build ourselves, not for keys an attacker can choose.
+ */
+public final class ContentHash {
+
+    public record Key(long hi, long lo) {
+        @Override
+        public String toString() {
+            return String.format("%016x%016x", hi, lo);
+        }
+    }
+
+    // kind tags keep e.g. a text "div" apart from an element <div>
+    private static final long TEXT = 1, COMMENT = 2, ELEMENT = 3, DOCTYPE = 4, CDATA = 5, PI = 6, OTHER = 7, NULL = 8, END = 9, FILE = 10,
+            NUMBER = 11, PATH = 12;
+    private static final int FILE_CHUNK = 64 * 1024;
+
+    private long a = 0x243F6A8885A308D3L;
+    private long b = 0x13198A2E03707344L;
+    private ByteBuffer fileChunk;
+
+    private ContentHash() {}
+
+    public static Key of(Node_I<?> node) {
+        var hash = new ContentHash();
+        if (node instanceof HasChildNodes<?> || node instanceof LazyChildNodes) {
+            new TreeWalker().walk(node, hash.visitor()); // iterative - any depth
+        } else {
+            hash.node(node);
+        }
+        return new Key(fmix(hash.a), fmix(hash.b ^ 0x5851F42D4C957F2DL));
+    }
+
+    private TreeWalker.Visitor<RuntimeException> visitor() {
+        return new TreeWalker.Visitor<>() {
+            @Override
+            public TreeWalker.Action enter(Node_I<?> node, int depth) {
+                return node(node) ? TreeWalker.Action.CONTINUE : TreeWalker.Action.SKIP_CHILDREN;
+            }
+
+            @Override
+            public void leave(Node_I<?> node, int depth) {
+                if (hasChildren(node)) mix(END); // closes the child list - lazy children have no count up front
+            }
+        };
+    }
+
+    /** Mixes the node itself - true if its children follow */
+    private boolean node(Node_I<?> node) {
+        switch (FragKind.of(node)) { // class-cached kind - no instanceof chain per node
+            case TEXT -> {
+                mix(TEXT);
+                if (node instanceof DslFileText fileText) fileText(fileText);
+                else string(((Text_I<?>) node).text());
+            }
+            case COMMENT -> {
+                mix(COMMENT);
+                string(((Comment_I<?>) node).comment());
+            }
+            case PROCESSING_INSTRUCTION -> {
+                mix(PI);
+                string(((ProcessingInstruction_I<?>) node).target());
+            }
+            case VOID_ELEMENT, CONTAINER_ELEMENT, RAW_TEXT_ELEMENT, ESCAPABLE_RAW_TEXT_ELEMENT, ELEMENT -> {
+                var element = (Element_I<?>) node;
+                mix(ELEMENT);
+                string(element.tagName());
+                if (element instanceof HasAttributes<?> withAttributes) {
+                    attributes(withAttributes.attributes());
+                }
+                if (hasChildren(element)) return true;
+                if (element instanceof HasTextContent<?> hasText) {
+                    string(hasText.textContent());
+                }
+            }
+            case DOCTYPE -> {
+                mix(DOCTYPE);
+                string(((Doctype_I<?>) node).name());
+            }
+            case CDATA -> {
+                mix(CDATA);
+                string(((CData_I<?>) node).textContent());
+            }
+            default -> {
+                mix(OTHER);
+                string(node.getClass().getName());
+                if (node instanceof HasTextContent<?> hasText) string(hasText.textContent());
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasChildren(Node_I<?> node) {
+        var kind = FragKind.of(node);
+        return kind.isElement() && kind != FragKind.PROCESSING_INSTRUCTION
+                && (node instanceof HasChildNodes<?> || node instanceof LazyChildNodes);
+    }
+
+    private void attributes(Map<String, String> attributes) {
+        mix(attributes.size());
+        if (attributes instanceof DslAttributeMap compact) {
+            for (int i = 0, n = compact.size(); i < n; i++) {
+                string(compact.keyAt(i));
+                if (compact.isNumberAt(i)) {
+                    mix(NUMBER);
+                    mix(Double.doubleToLongBits(compact.numberAt(i)));
+                } else if (compact.isPathAt(i)) {
+                    path(compact.pathAt(i));
+                } else {
+                    string(compact.valueAt(i));
+                }
+            }
+            return;
+        }
+        for (var attribute : attributes.entrySet()) {
+            string(attribute.getKey());
+            string(attribute.getValue());
+        }
+    }
+
+    /** Length-prefixed, four chars per mixing step */
+    private void string(String s) {
+        if (s == null) {
+            mix(NULL);
+            return;
+        }
+        int n = s.length();
+        mix(~(long) n);
+        int i = 0;
+        for (; i + 4 <= n; i += 4) {
+            mix((long) s.charAt(i) | (long) s.charAt(i + 1) << 16 | (long) s.charAt(i + 2) << 32 | (long) s.charAt(i + 3) << 48);
+        }
+        long tail = 0;
+        for (int shift = 0; i < n; i++, shift += 16) {
+            tail |= (long) s.charAt(i) << shift;
+        }
+        mix(tail);
+    }
+
+    /** Path geometry as stored - commands, coordinate bits and the settings that change how it's written */
+    private void path(DslPathData path) {
+        mix(PATH);
+        mix((path.isFloat() ? 1L : 0L) | (path.isRelative() ? 2L : 0L) | (long) path.precision() << 32);
+        int commands = path.commandCount();
+        mix(~(long) commands);
+        long packed = 0;
+        for (int i = 0; i < commands; i++) {
+            packed = packed << 8 | path.command(i);
+            if ((i & 7) == 7) {
+                mix(packed);
+                packed = 0;
+            }
+        }
+        mix(packed);
+        int coordinates = path.size();
+        mix(~(long) coordinates);
+        for (int i = 0; i < coordinates; i++) mix(Double.doubleToLongBits(path.coordinate(i)));
+    }
+
+    /** The region's bytes, read in chunks - a file never becomes one String just to be hashed */
+    private void fileText(DslFileText text) {
+        mix(FILE);
+        if (fileChunk == null) fileChunk = ByteBuffer.allocate(FILE_CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        long[] length = {0};
+        try {
+            text.read(fileChunk, (bytes, last) -> {
+                int i = bytes.position(), n = bytes.limit();
+                for (; i + 8 <= n; i += 8) mix(bytes.getLong(i));
+                if (last) { // up to 7 bytes left - a shorter rest waits for the next chunk
+                    long tail = 0;
+                    for (int shift = 0; i < n; i++, shift += 8) tail |= (bytes.get(i) & 0xFFL) << shift;
+                    mix(tail);
+                }
+                length[0] += i - bytes.position();
+                bytes.position(i);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        mix(~length[0]);
+    }
+
+    private void mix(long v) {
+        a = Long.rotateLeft((a ^ v) * 0x9E3779B97F4A7C15L, 27) * 0x94D049BB133111EBL;
+        b = Long.rotateLeft((b + v) * 0xC2B2AE3D27D4EB4FL, 31) + 0x165667B19E3779F9L;
+    }
+
+    private static long fmix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,166 @@
+package luvx.examples.render;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Map;
+import luvx.Node_I;
+
+/**
+ * Component instancing - a subtree with slots (DslSlot text holes, slotAttr / slotFormat
+ * attribute holes) is compiled once like a MarkupTemplate, then stamped out once per row of
+ * struct-of-arrays columns. There is no node graph per instance: each row copies the static
+ * chunks and writes its cells straight into the renderer's buffer.
+ *
+ * Columns are keyed by slot name. double[] and int[] cells are formatted like numeric
+ * attributes (DslNumbers, in the renderer's precision), so x(45) in a built subtree and 45 in a
+ * column give the same bytes; float[] cells get float digits, as in DslPathData. String[] /
+ * Object[] cells take whatever a MarkupTemplate hole takes - String, Node_I, null - and boxed
+ * numbers, formatted like the primitive columns (longs beyond 2^53 and BigDecimals keep
+ * toString(), a double would round them). The output is byte-identical to rendering the N
+ * subtrees built with the same values.
+ *
+ * Immutable and safe to share; {@link Instances} are too.
+ */
+public final class MarkupComponent {
+
+    private final MarkupTemplate template;
+
+    private MarkupComponent(MarkupTemplate template) {
+        this.template = template;
+    }
+
+    public static MarkupComponent define(Node_I<?> root) {
+        return new MarkupComponent(MarkupTemplate.compile(root));
+    }
+
+    /** Distinct slot names in document order - the columns instances() needs */
+    public List<String> slotNames() { return template.slotNames(); }
+
+    /** Bytes of pre-rendered static markup per instance */
+    public int staticSize() { return template.staticSize(); }
+
+    /**
+     * Binds {@code count} instances to the columns. Every slot needs a column with at least
+     * {@code count} rows; the arrays are read at render time, not copied.
+     */
+    public Instances instances(int count, Map<String, ?> columns) {
+        var bound = new Object[template.holeCount()];
+        for (int i = 0; i < bound.length; i++) {
+            String name = template.holeName(i);
+            Object column = columns.get(name);
+            int rows = switch (column) {
+                case null -> throw new IllegalArgumentException("No column for slot " + name);
+                case double[] values -> values.length;
+                case float[] values -> values.length;
+                case int[] values -> values.length;
+                case Object[] values -> values.length;
+                default -> throw new IllegalArgumentException("Column " + name + " is a " + column.getClass().getSimpleName()
+                        + " - use double[], float[], int[], String[] or Object[]");
+            };
+            if (rows < count) throw new IllegalArgumentException("Column " + name + " has " + rows + " rows, " + count + " needed");
+            bound[i] = column;
+        }
+        return new Instances(template, count, bound);
+    }
+
+    /**
+     * Writes {@code count} instances to the channel.
+     * @return number of bytes written
+     */
+    public long render(int count, Map<String, ?> columns, WritableByteChannel channel, Utf8ByteRenderer renderer) throws IOException {
+        return instances(count, columns).render(channel, renderer);
+    }
+
+    public byte[] renderToBytes(int count, Map<String, ?> columns, Utf8ByteRenderer renderer) {
+        var out = new ByteArrayChannel((int) Math.min(1 << 30, (long) count * template.staticSize()));
+        try {
+            render(count, columns, out, renderer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory channel never throws
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public String toString() {
+        return "MarkupComponent[static=" + template.staticSize() + " bytes, slots=" + template.slotNames() + "]";
+    }
+
+    /**
+     * Instances bound to their columns. Render them on their own, or hand them to a
+     * MarkupTemplate as the value of a text slot to stamp them inside a page.
+     */
+    public static final class Instances {
+
+        private final MarkupTemplate template;
+        private final int count;
+        private final Object[] columns; // per hole, not per slot name - no lookups in the row loop
+
+        private Instances(MarkupTemplate template, int count, Object[] columns) {
+            this.template = template;
+            this.count = count;
+            this.columns = columns;
+        }
+
+        public int count() { return count; }
+
+        public long render(WritableByteChannel channel, Utf8ByteRenderer renderer) throws IOException {
+            try {
+                renderer.begin(channel);
+                write(renderer);
+                return renderer.finish();
+            } finally {
+                renderer.release();
+            }
+        }
+
+        void write(Utf8ByteRenderer renderer) throws IOException {
+            var cells = new Cells(columns);
+            for (cells.row = 0; cells.row < count; cells.row++) {
+                template.write(cells, renderer);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Instances[" + count + " x " + template.slotNames() + "]";
+        }
+    }
+
+    /** The current row's cell for each hole */
+    private static final class Cells implements MarkupTemplate.HoleWriter {
+
+        private final Object[] columns;
+        int row;
+
+        Cells(Object[] columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(int hole, MarkupTemplate.SlotKind kind, Utf8ByteRenderer renderer) throws IOException {
+            switch (columns[hole]) {
+                case double[] values -> renderer.writeNumber(values[row]);
+                case float[] values -> renderer.writeNumber(values[row]);
+                case int[] values -> renderer.writeNumber((double) values[row]);
+                case Object[] values -> writeCell(kind, values[row], renderer);
+                default -> throw new IllegalStateException(); // checked in instances()
+            }
+        }
+
+        /** Boxed numbers like the primitive columns - 45.0 writes 45, as x(45) would */
+        private static void writeCell(MarkupTemplate.SlotKind kind, Object value, Utf8ByteRenderer renderer) throws IOException {
+            switch (value) {
+                case Double d -> renderer.writeNumber(d.doubleValue());
+                case Float f -> renderer.writeNumber(f.floatValue());
+                case Integer i -> renderer.writeNumber(i.doubleValue());
+                case Short v -> renderer.writeNumber(v.doubleValue());
+                case Byte v -> renderer.writeNumber(v.doubleValue());
+                case Long l when Math.abs(l) <= 1L << 53 -> renderer.writeNumber(l.doubleValue()); // exact as a double
+                case null, default -> MarkupTemplate.writeHole(kind, value, renderer); // BigDecimal, big longs: toString()
+            }
+        }
+    }
+}
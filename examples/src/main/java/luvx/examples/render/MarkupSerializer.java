@@ -0,0 +1,498 @@
+package luvx.examples.render;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import luvx.CData_I;
+import luvx.Comment_I;
+import luvx.Doctype_I;
+import luvx.Element_I;
+import luvx.Node_I;
+import luvx.ProcessingInstruction_I;
+import luvx.RawTextElement_I;
+import luvx.Text_I;
+import luvx.VoidElement_I;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.composable.HasTextContent;
+import luvx.examples.dispatch.FragKind;
+import luvx.examples.dsl.DslAttribute;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslFileText;
+import luvx.examples.dsl.DslNumbers;
+import luvx.examples.dsl.DslPathData;
+import luvx.examples.dsl.DslSlot;
+import luvx.examples.dsl.DslTagged;
+import luvx.examples.dsl.DslTags;
+import luvx.examples.dsl.DslTextSlice;
+import luvx.examples.escape.Escaper;
+import luvx.examples.walk.LazyChildNodes;
+import luvx.examples.walk.TreeWalker;
+import luvx.rendering_behavior.BlockMarkupRendering;
+
+/**
+ * Streaming markup serializer - walks any Node_I tree (the luvx.examples.dsl types as well as
+ * the luvx.demo ones) and writes markup straight into an Appendable / Writer.
+ *
+ * Tag names, attribute values and text are copied as runs of the original Strings, escaping
+ * in place, so no per-node String is ever built. Extra memory is O(depth) - an explicit
+ * {@link TreeWalker} stack, so arbitrarily deep trees serialize without StackOverflowError.
+ *
+ * Rendering rules:
+ * - ContainerElement_I: {@code <tag attrs>children</tag>}
+ * - VoidElement_I: {@code <tag attrs>}, or {@code <tag attrs>text</tag>} when it also carries
+ *   text content (DslStyledText is a span with a style attribute)
+ * - Text_I: escaped text, raw inside script/style; DslTextSlice straight from its source and
+ *   DslFileText decoded in chunks, neither copied whole
+ * - Comment_I: {@code <!--comment-->}
+ * - Template slots render unfilled: a DslSlot as its default text, an attribute slot
+ *   (DslAttributes.slotAttr / slotFormat) not at all - fill them through {@link MarkupTemplate}
+ *
+ * Numeric attribute values are written shortest round trip (400, 0.1), or rounded to a fixed
+ * number of fraction digits by a serializer from {@link #withNumberPrecision(int)}. Path geometry
+ * is encoded command by command, never built as one String.
+ *
+ * A serializer {@link #withStyleHoisting(StyleHoisting) with style hoisting} plans each document
+ * first and writes its repeated inline styles as generated classes.
+ *
+ * When an indent is configured, BlockMarkupRendering nodes start on their own indented line and
+ * InlineMarkupRendering nodes stay in the text flow. Without indent the output is compact.
+ */
+public class MarkupSerializer {
+
+    /** No whitespace added - byte for byte what the tree holds */
+    public static final MarkupSerializer COMPACT = new MarkupSerializer("");
+    /** Block nodes on their own line, indented by two spaces per level */
+    public static final MarkupSerializer PRETTY = new MarkupSerializer("  ");
+
+    private final String indent;
+    private final int numberDecimals;
+    private final StyleHoisting styleHoisting;
+    private final boolean encodeUrls;
+
+    public MarkupSerializer(String indent) {
+        this(indent, -1);
+    }
+
+    /** @param numberDecimals fraction digits numeric attributes are rounded to, negative for shortest */
+    public MarkupSerializer(String indent, int numberDecimals) {
+        this(indent, numberDecimals, null, false);
+    }
+
+    private MarkupSerializer(String indent, int numberDecimals, StyleHoisting styleHoisting, boolean encodeUrls) {
+        this.indent = indent;
+        this.numberDecimals = numberDecimals;
+        this.styleHoisting = styleHoisting;
+        this.encodeUrls = encodeUrls;
+    }
+
+    /** Same indent, numeric attribute values rounded to at most this many fraction digits */
+    public MarkupSerializer withNumberPrecision(int decimals) {
+        return new MarkupSerializer(indent, decimals, styleHoisting, encodeUrls);
+    }
+
+    /** Same settings, repeated inline styles moved into generated classes (null for none) */
+    public MarkupSerializer withStyleHoisting(StyleHoisting styleHoisting) {
+        return new MarkupSerializer(indent, numberDecimals, styleHoisting, encodeUrls);
+    }
+
+    /** Same settings, href, src and other URL attribute values percent-encoded - see Escaper.Context.URL */
+    public MarkupSerializer withUrlEncoding(boolean encodeUrls) {
+        return new MarkupSerializer(indent, numberDecimals, styleHoisting, encodeUrls);
+    }
+
+    /**
+     * Renders the tree into a fresh String - convenience for demos and tests,
+     * prefer {@link #serialize(Node_I, Appendable)} for real output.
+     */
+    public String toMarkup(Node_I<?> node) {
+        var sb = new StringBuilder(1024);
+        try {
+            serialize(node, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
+        }
+        return sb.toString();
+    }
+
+    public void serialize(Node_I<?> node, Appendable out) throws IOException {
+        var sink = new Sink(out);
+        new TreeWalker().walk(node, new Writing(sink, styleHoisting != null ? styleHoisting.plan(node) : null));
+        sink.flush();
+    }
+
+    /** One serialization - the per-depth state the recursive version kept in its call frames */
+    private final class Writing implements TreeWalker.Visitor<IOException> {
+        private final Sink out;
+        private final StyleHoisting.Plan styles;
+        // indexed by the depth of an open element
+        private boolean[] rawText = new boolean[64];     // its children are raw text (style, script)
+        private boolean[] lastChildBlock = new boolean[64];
+        private boolean[] open = new boolean[64];        // start tag written, end tag due in leave()
+        private int lazyAt = -1; // depth of the lazy element being written - its subtree keeps inline styles
+
+        Writing(Sink out, StyleHoisting.Plan styles) {
+            this.out = out;
+            this.styles = styles;
+        }
+
+        @Override
+        public TreeWalker.Action enter(Node_I<?> node, int depth) throws IOException {
+            if (depth == rawText.length) grow();
+            boolean inRawText = depth > 0 && rawText[depth - 1];
+            boolean block = isPretty() && node.markupRenderingBehavior() instanceof BlockMarkupRendering;
+            if (block && depth > 0) {
+                newLine(out, depth);
+            }
+            if (depth > 0) lastChildBlock[depth - 1] = block; // the parent closes on a new line after a block
+            open[depth] = false;
+
+            switch (FragKind.of(node)) { // class-cached kind - no instanceof chain over interfaces
+                case TEXT -> {
+                    if (node instanceof DslTextSlice slice) {
+                        writeSlice(slice, inRawText ? Escaper.Context.RAW_TEXT : Escaper.Context.TEXT, out);
+                        return TreeWalker.Action.SKIP_CHILDREN;
+                    }
+                    if (node instanceof DslFileText fileText) {
+                        writeFileText(fileText, inRawText ? Escaper.Context.RAW_TEXT : Escaper.Context.TEXT, out);
+                        return TreeWalker.Action.SKIP_CHILDREN;
+                    }
+                    var text = ((Text_I<?>) node).text();
+                    if (inRawText) {
+                        out.str(text);
+                    } else {
+                        escape(text, Escaper.Context.TEXT, out);
+                    }
+                }
+                case COMMENT -> {
+                    out.str("<!--");
+                    out.str(((Comment_I<?>) node).comment());
+                    out.str("-->");
+                }
+                case VOID_ELEMENT, PROCESSING_INSTRUCTION, CONTAINER_ELEMENT, RAW_TEXT_ELEMENT, ESCAPABLE_RAW_TEXT_ELEMENT, ELEMENT -> {
+                    return startElement((Element_I<?>) node, depth);
+                }
+                case DOCTYPE -> {
+                    out.str("<!DOCTYPE ");
+                    out.str(((Doctype_I<?>) node).name());
+                    out.ch('>');
+                }
+                case CDATA -> {
+                    out.str("<![CDATA[");
+                    out.str(((CData_I<?>) node).textContent());
+                    out.str("]]>");
+                }
+                default -> {
+                    if (node instanceof HasTextContent<?> hasText) {
+                        escape(hasText.textContent(), Escaper.Context.TEXT, out);
+                    }
+                }
+            }
+            return TreeWalker.Action.SKIP_CHILDREN;
+        }
+
+        private TreeWalker.Action startElement(Element_I<?> element, int depth) throws IOException {
+            if (element instanceof ProcessingInstruction_I<?> pi) {
+                out.str("<?");
+                out.str(pi.target());
+                out.str("?>");
+                return TreeWalker.Action.SKIP_CHILDREN;
+            }
+            if (element instanceof DslTagged tagged && tagged.tagId() >= 0) {
+                out.str(DslTags.openTag(tagged.tagId()));
+            } else {
+                out.ch('<');
+                out.str(element.tagName());
+            }
+            if (element instanceof HasAttributes<?> withAttributes) {
+                writeAttributes(withAttributes.attributes(), styles != null && lazyAt < 0 ? styles.classFor(element) : null, out);
+            }
+            out.ch('>');
+
+            if (element instanceof HasChildNodes<?>) {
+                if (isEmptyVoidElement(element)) return TreeWalker.Action.SKIP_CHILDREN; // <meta> built as a container
+                rawText[depth] = isRawTextElement(element);
+                lastChildBlock[depth] = false;
+                open[depth] = true;
+                if (lazyAt < 0 && element instanceof LazyChildNodes) lazyAt = depth; // not in the plan's census
+                return TreeWalker.Action.CONTINUE;
+            }
+            if (element instanceof HasTextContent<?> hasText) {
+                escape(hasText.textContent(), Escaper.Context.TEXT, out);
+            } else if (element instanceof VoidElement_I<?>) {
+                return TreeWalker.Action.SKIP_CHILDREN; // <br>, <meta> ... - no closing tag
+            }
+            endTag(element);
+            return TreeWalker.Action.SKIP_CHILDREN;
+        }
+
+        @Override
+        public void leave(Node_I<?> node, int depth) throws IOException {
+            if (!open[depth]) return;
+            open[depth] = false;
+            if (depth == lazyAt) lazyAt = -1;
+            if (styles != null && node == styles.target()) out.str(styles.insert());
+            if (lastChildBlock[depth]) {
+                newLine(out, depth);
+            }
+            endTag((Element_I<?>) node);
+        }
+
+        private void endTag(Element_I<?> element) throws IOException {
+            if (element instanceof DslTagged tagged && tagged.tagId() >= 0) {
+                out.str(DslTags.closeTag(tagged.tagId()));
+                return;
+            }
+            out.str("</");
+            out.str(element.tagName());
+            out.ch('>');
+        }
+
+        private void grow() {
+            int capacity = rawText.length * 2;
+            rawText = Arrays.copyOf(rawText, capacity);
+            lastChildBlock = Arrays.copyOf(lastChildBlock, capacity);
+            open = Arrays.copyOf(open, capacity);
+        }
+    }
+
+    private void writeAttributes(Map<String, String> attributes, String hoistedClass, Sink out) throws IOException {
+        if (attributes instanceof DslAttributeMap compact) { // shape-backed - no iterator needed
+            for (int i = 0, n = compact.size(); i < n; i++) {
+                if (hoistedClass != null && writeHoisted(compact.keyAt(i), attributes, hoistedClass, out)) continue;
+                if (compact.isNumberAt(i)) {
+                    out.ch(' ');
+                    out.str(compact.keyAt(i));
+                    out.str("=\"");
+                    out.number(compact.numberAt(i), numberDecimals);
+                    out.ch('"');
+                } else if (compact.isPathAt(i)) {
+                    out.ch(' ');
+                    out.str(compact.keyAt(i));
+                    out.str("=\"");
+                    out.path(compact.pathAt(i), DslAttributeMap.isPoints(compact.keyAt(i)), numberDecimals);
+                    out.ch('"');
+                } else {
+                    writeAttribute(compact.keyAt(i), compact.valueAt(i), out);
+                }
+            }
+            return;
+        }
+        for (var attribute : attributes.entrySet()) {
+            if (hoistedClass != null && writeHoisted(attribute.getKey(), attributes, hoistedClass, out)) continue;
+            writeAttribute(attribute.getKey(), attribute.getValue(), out);
+        }
+    }
+
+    /** style goes, its class is added to the class attribute - false for every other attribute */
+    private static boolean writeHoisted(String name, Map<String, String> attributes, String hoistedClass, Sink out) throws IOException {
+        boolean style = name.equals("style");
+        if (!style && !name.equals("class")) return false;
+        if (style && attributes.containsKey("class")) return true; // written with the class attribute
+        var classes = attributes.get("class");
+        out.str(" class=\"");
+        if (classes != null && !classes.isEmpty()) {
+            escape(classes, Escaper.Context.ATTRIBUTE, out);
+            out.ch(' ');
+        }
+        out.str(hoistedClass);
+        out.ch('"');
+        return true;
+    }
+
+    private void writeAttribute(String name, String value, Sink out) throws IOException {
+        if (DslSlot.isAttributeMarker(value)) {
+            return; // unfilled template slot - dropped, see the class comment
+        }
+        var context = Escaper.forAttribute(name, encodeUrls);
+        var flyweight = context == Escaper.Context.ATTRIBUTE ? DslAttribute.lookup(name, value) : null;
+        if (flyweight != null) {
+            out.str(flyweight.markup()); // escaped once, at intern time
+            return;
+        }
+        out.ch(' ');
+        out.str(name);
+        if (value != null) { // null value -> boolean attribute
+            out.str("=\"");
+            escape(value, context, out);
+            out.ch('"');
+        }
+    }
+
+    static boolean isRawTextElement(Element_I<?> element) {
+        if (element instanceof RawTextElement_I<?>) return true;
+        if (!(element instanceof DslTagged tagged)) return isRawTextTag(element.tagName());
+        return tagged.tagId() >= 0 && DslTags.isRawText(tagged.tagId()); // unregistered names are normal content
+    }
+
+    /**
+     * A childless element whose tag the registry knows as void (br, input, meta ...) - written
+     * like a VoidElement_I, without an end tag, even when it was built as a container.
+     */
+    static boolean isEmptyVoidElement(Element_I<?> element) {
+        int id = element instanceof DslTagged tagged ? tagged.tagId() : DslTags.lookup(element.tagName());
+        return id >= 0 && DslTags.isVoid(id) && !(element instanceof LazyChildNodes)
+                && element instanceof HasChildNodes<?> parent && parent.childNodes().isEmpty();
+    }
+
+    static boolean isRawTextTag(String tag) {
+        int id = DslTags.lookup(tag);
+        return id >= 0 && DslTags.isRawText(id);
+    }
+
+    private boolean isPretty() {
+        return !indent.isEmpty();
+    }
+
+    private void newLine(Sink out, int depth) throws IOException {
+        out.ch('\n');
+        for (int i = 0; i < depth; i++) {
+            out.str(indent);
+        }
+    }
+
+    /** Escapes for the context: clean runs of s are copied as they are, only escapes are written char by char */
+    static void escape(String s, Escaper.Context context, Sink out) throws IOException {
+        escape(s, 0, s.length(), context, out);
+    }
+
+    private static void escape(String s, int from, int n, Escaper.Context context, Sink out) throws IOException {
+        int start = from;
+        for (int i; (i = Escaper.indexOfEscape(s, start, n, context)) < n; ) {
+            out.run(s, start, i);
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                out.str(Escaper.replacement(c, context));
+                start = i + 1;
+            } else {
+                start = Escaper.percentEncode(s, i, out); // non-ASCII in a URL
+            }
+        }
+        out.run(s, start, n);
+    }
+
+    private static final int CHUNK_CHARS = 8 * 1024;
+    private static final int FILE_CHUNK = 64 * 1024;   // file text read at a time
+
+    private static void writeSlice(DslTextSlice slice, Escaper.Context context, Sink out) throws IOException {
+        if (slice.source() instanceof String s) {
+            escape(s, slice.start(), slice.end(), context, out);
+            return;
+        }
+        var source = slice.source(); // StringBuilder, CharBuffer ... - bounded String chunks
+        for (int i = slice.start(), end = slice.end(); i < end; ) {
+            int chunkEnd = Math.min(end, i + CHUNK_CHARS);
+            if (chunkEnd < end && Character.isHighSurrogate(source.charAt(chunkEnd - 1))) chunkEnd++; // keep pairs whole
+            escape(source.subSequence(i, chunkEnd).toString(), context, out);
+            i = chunkEnd;
+        }
+    }
+
+    /** Decodes the region chunk by chunk - malformed input becomes U+FFFD, as in new String(bytes, UTF_8) */
+    private static void writeFileText(DslFileText text, Escaper.Context context, Sink out) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        var chars = CharBuffer.allocate(CHUNK_CHARS);
+        text.read(ByteBuffer.allocate(FILE_CHUNK), (bytes, last) -> {
+            CoderResult result;
+            do {
+                result = decoder.decode(bytes, chars, last); // a sequence cut by the chunk waits for the next one
+                writeChunk(chars, context, out);
+            } while (result.isOverflow());
+        });
+        while (decoder.flush(chars).isOverflow()) writeChunk(chars, context, out);
+        writeChunk(chars, context, out);
+    }
+
+    private static void writeChunk(CharBuffer chars, Escaper.Context context, Sink out) throws IOException {
+        chars.flip();
+        if (chars.hasRemaining()) escape(chars.toString(), context, out);
+        chars.clear();
+    }
+
+    /**
+     * Writes String runs without subSequence() copies - Writer.append(csq, start, end) would
+     * allocate a substring per call, so Writers and StringBuilders get their direct paths.
+     */
+    static final class Sink implements Appendable {
+        private final Appendable out;
+        private final Writer writer;
+        private final StringBuilder sb;
+        private byte[] digits;
+        private DslPathData.Encoder pathEncoder;
+        private byte[] pathBytes;
+
+        Sink(Appendable out) {
+            this.out = out;
+            this.writer = out instanceof Writer w ? w : null;
+            this.sb = out instanceof StringBuilder b ? b : null;
+        }
+
+        void run(String s, int start, int end) throws IOException {
+            if (start >= end) return;
+            if (sb != null) sb.append(s, start, end);
+            else if (writer != null) writer.write(s, start, end - start);
+            else out.append(s, start, end);
+        }
+
+        void str(String s) throws IOException {
+            if (sb != null) sb.append(s);
+            else if (writer != null) writer.write(s);
+            else out.append(s);
+        }
+
+        void ch(char c) throws IOException {
+            if (sb != null) sb.append(c);
+            else out.append(c);
+        }
+
+        /** Formatted by DslNumbers - ASCII, so each byte is a char */
+        void number(double v, int decimals) throws IOException {
+            if (digits == null) digits = new byte[DslNumbers.MAX_LENGTH];
+            for (int i = 0, n = DslNumbers.write(v, decimals, digits, 0); i < n; i++) ch((char) digits[i]);
+        }
+
+        void path(DslPathData path, boolean points, int decimals) throws IOException {
+            if (pathEncoder == null) {
+                pathEncoder = new DslPathData.Encoder();
+                pathBytes = new byte[1024];
+            }
+            pathEncoder.reset(path, points, decimals);
+            while (!pathEncoder.done()) { // ASCII, so each byte is a char
+                for (int i = 0, n = pathEncoder.write(pathBytes, 0, pathBytes.length); i < n; i++) ch((char) pathBytes[i]);
+            }
+        }
+
+        @Override
+        public Sink append(char c) throws IOException {
+            ch(c);
+            return this;
+        }
+
+        @Override
+        public Sink append(CharSequence csq) throws IOException {
+            str(String.valueOf(csq));
+            return this;
+        }
+
+        @Override
+        public Sink append(CharSequence csq, int start, int end) throws IOException {
+            if (csq instanceof String s) run(s, start, end);
+            else str(String.valueOf(csq.subSequence(start, end)));
+            return this;
+        }
+
+        void flush() throws IOException {
+            if (writer != null) writer.flush();
+        }
+    }
+}
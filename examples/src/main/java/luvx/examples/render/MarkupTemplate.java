@@ -0,0 +1,150 @@
+package luvx.examples.render;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import luvx.Node_I;
+import luvx.examples.escape.Escaper;
+
+/**
+ * Compiled template - a tree with DslSlot holes (text) and DslAttributes.slotAttr(...) holes
+ * (attribute values) is rendered once into static UTF-8 chunks; each render afterwards copies
+ * the chunks and only serializes the hole values.
+ *
+ * Hole values: a String (escaped for its context - text, attribute value, URL attribute value,
+ * or raw inside script/style), a Node_I or MarkupComponent.Instances (rendered in place, text
+ * holes only) or null (left empty).
+ *
+ * Immutable after compile and safe to share; the renderer passed to render() is the
+ * per-thread state. The largest output seen so far is remembered to presize byte[] targets.
+ */
+public final class MarkupTemplate {
+
+    enum SlotKind { TEXT, RAW_TEXT, ATTRIBUTE, URL }
+
+    interface SlotRecorder {
+        void slot(String name, SlotKind kind) throws IOException;
+    }
+
+    interface HoleWriter {
+        void write(int hole, SlotKind kind, Utf8ByteRenderer renderer) throws IOException;
+    }
+
+    private final byte[] staticBytes;   // every static run back to back
+    private final int[] holeOffsets;    // hole i sits at staticBytes offset holeOffsets[i]
+    private final String[] holeNames;
+    private final SlotKind[] holeKinds;
+    private final List<String> slotNames;
+    private final AtomicInteger observedSize = new AtomicInteger();
+
+    private MarkupTemplate(byte[] staticBytes, int[] holeOffsets, String[] holeNames, SlotKind[] holeKinds) {
+        this.staticBytes = staticBytes;
+        this.holeOffsets = holeOffsets;
+        this.holeNames = holeNames;
+        this.holeKinds = holeKinds;
+        this.slotNames = List.copyOf(new LinkedHashSet<>(List.of(holeNames)));
+    }
+
+    public static MarkupTemplate compile(Node_I<?> root) {
+        var renderer = new Utf8ByteRenderer();
+        var out = new ByteArrayChannel();
+        var offsets = new ArrayList<Integer>();
+        var names = new ArrayList<String>();
+        var kinds = new ArrayList<SlotKind>();
+        renderer.recordSlots((name, kind) -> {
+            offsets.add((int) renderer.position());
+            names.add(name);
+            kinds.add(kind);
+        });
+        try {
+            renderer.render(root, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory channel never throws
+        } finally {
+            renderer.recordSlots(null);
+        }
+        var holeOffsets = new int[offsets.size()];
+        for (int i = 0; i < holeOffsets.length; i++) holeOffsets[i] = offsets.get(i);
+        return new MarkupTemplate(out.toByteArray(), holeOffsets, names.toArray(new String[0]), kinds.toArray(new SlotKind[0]));
+    }
+
+    /** Distinct slot names in document order */
+    public List<String> slotNames() { return slotNames; }
+
+    /** Bytes of pre-rendered static markup */
+    public int staticSize() { return staticBytes.length; }
+
+    /** Best guess for the next output size - the largest render seen so far */
+    public int expectedSize() { return Math.max(staticBytes.length, observedSize.get()); }
+
+    /**
+     * Writes static chunks and hole values to the channel.
+     * @return number of bytes written
+     */
+    public long render(Map<String, ?> values, WritableByteChannel channel, Utf8ByteRenderer renderer) throws IOException {
+        long size;
+        try {
+            renderer.begin(channel);
+            write((hole, kind, r) -> writeHole(kind, values.get(holeNames[hole]), r), renderer);
+            size = renderer.finish();
+        } finally {
+            renderer.release();
+        }
+        observedSize.accumulateAndGet((int) Math.min(Integer.MAX_VALUE, size), Math::max);
+        return size;
+    }
+
+    public byte[] renderToBytes(Map<String, ?> values, Utf8ByteRenderer renderer) {
+        var out = new ByteArrayChannel(expectedSize());
+        try {
+            render(values, out, renderer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory channel never throws
+        }
+        return out.toByteArray();
+    }
+
+    /** Static chunks and holes into the renderer's open output - the holes are written by the caller */
+    void write(HoleWriter holes, Utf8ByteRenderer renderer) throws IOException {
+        int start = 0;
+        for (int i = 0; i < holeOffsets.length; i++) {
+            renderer.writeBytes(staticBytes, start, holeOffsets[i] - start);
+            start = holeOffsets[i];
+            holes.write(i, holeKinds[i], renderer);
+        }
+        renderer.writeBytes(staticBytes, start, staticBytes.length - start);
+    }
+
+    int holeCount() { return holeNames.length; }
+
+    String holeName(int hole) { return holeNames[hole]; }
+
+    static void writeHole(SlotKind kind, Object value, Utf8ByteRenderer renderer) throws IOException {
+        if (value == null) return;
+        if (value instanceof Node_I<?> || value instanceof MarkupComponent.Instances) {
+            if (kind == SlotKind.ATTRIBUTE || kind == SlotKind.URL) {
+                throw new IllegalArgumentException("Attribute slots take Strings, not nodes");
+            }
+            if (value instanceof Node_I<?> node) renderer.writeNode(node, kind == SlotKind.RAW_TEXT);
+            else ((MarkupComponent.Instances) value).write(renderer);
+            return;
+        }
+        var text = value.toString();
+        switch (kind) {
+            case TEXT -> renderer.writeEscapedText(text);
+            case RAW_TEXT -> renderer.writeRawText(text);
+            case ATTRIBUTE -> renderer.writeEscapedAttributeValue(text);
+            case URL -> renderer.writeText(text, Escaper.Context.URL);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MarkupTemplate[static=" + staticBytes.length + " bytes, slots=" + slotNames + "]";
+    }
+}
@@ -0,0 +1,195 @@
+package luvx.examples.render;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import luvx.Element_I;
+import luvx.Node_I;
+import luvx.ProcessingInstruction_I;
+import luvx.composable.HasChildNodes;
+import luvx.demo.Cacheable;
+import luvx.examples.walk.LazyChildNodes;
+import luvx.examples.walk.TreeWalker;
+
+/**
+ * Fork-join version of {@link Utf8ByteRenderer} for big, wide documents (reports with hundreds
+ * of sections).
+ *
+ * A container whose subtree has at least {@code splitThreshold} nodes is split: its start tag,
+ * its children - big ones as their own tasks, runs of small siblings batched into tasks of about
+ * threshold nodes - and its end tag. Every task renders into its own buffer; the buffers are
+ * handed to the channel in document order with one gathering write, never concatenated.
+ * Splitting stops 64 containers down; anything deeper renders in one task, iteratively.
+ *
+ * Output is byte-identical to Utf8ByteRenderer. Trees must not be mutated while rendering
+ * (frozen trees are ideal), and the cache, if any, is shared by all workers.
+ */
+public class ParallelRenderer {
+
+    public static final int DEFAULT_SPLIT_THRESHOLD = 2_000;
+    private static final int TASK_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_SPLIT_DEPTH = 64; // nested splits below this render whole - tasks join recursively
+
+    // per worker thread - the direct buffer is too costly to allocate per task
+    private static final ThreadLocal<Utf8ByteRenderer> RENDERERS =
+            ThreadLocal.withInitial(() -> new Utf8ByteRenderer(TASK_BUFFER_SIZE));
+    private static final ThreadLocal<TreeWalker> COUNTING = ThreadLocal.withInitial(TreeWalker::new);
+
+    private final ForkJoinPool pool;
+    private final int splitThreshold;
+    private RenderCache cache;
+    private int numberDecimals = -1; // shortest round trip
+    private boolean encodeUrls;
+
+    public ParallelRenderer() { this(ForkJoinPool.commonPool(), DEFAULT_SPLIT_THRESHOLD); }
+
+    public ParallelRenderer(ForkJoinPool pool, int splitThreshold) {
+        this.pool = pool;
+        this.splitThreshold = Math.max(2, splitThreshold);
+    }
+
+    /** Serve Cacheable subtrees from this cache (null to switch caching off) */
+    public ParallelRenderer withCache(RenderCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /** Rounds numeric attribute values in every worker - see Utf8ByteRenderer.withNumberPrecision */
+    public ParallelRenderer withNumberPrecision(int decimals) {
+        this.numberDecimals = decimals;
+        return this;
+    }
+
+    /** Percent-encodes URL attribute values in every worker - see Utf8ByteRenderer.withUrlEncoding */
+    public ParallelRenderer withUrlEncoding(boolean encodeUrls) {
+        this.encodeUrls = encodeUrls;
+        return this;
+    }
+
+    /**
+     * Renders the tree to the channel.
+     * @return number of bytes written
+     */
+    public long render(Node_I<?> root, GatheringByteChannel channel) throws IOException {
+        var segments = pool.invoke(new Batch(List.of(root), 0, 1, false, 0)).toArray(ByteBuffer[]::new);
+        long written = 0;
+        for (int first = 0; first < segments.length; ) {
+            written += channel.write(segments, first, segments.length - first);
+            while (first < segments.length && !segments[first].hasRemaining()) first++;
+        }
+        return written;
+    }
+
+    public byte[] renderToBytes(Node_I<?> root) {
+        var out = new ByteArrayChannel();
+        try {
+            render(root, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory channel never throws
+        }
+        return out.toByteArray();
+    }
+
+    /** Siblings [from, to) in document order - rendered in one go, or split if it is one big container */
+    private final class Batch extends RecursiveTask<List<ByteBuffer>> {
+        private final List<? extends Node_I<?>> nodes;
+        private final int from, to;
+        private final boolean rawText;
+        private final int depth; // splits above this one
+
+        Batch(List<? extends Node_I<?>> nodes, int from, int to, boolean rawText, int depth) {
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.rawText = rawText;
+            this.depth = depth;
+        }
+
+        @Override
+        protected List<ByteBuffer> compute() {
+            if (to - from == 1 && depth < MAX_SPLIT_DEPTH && nodes.get(from) instanceof Element_I<?> element
+                    && isSplittable(element) && countUpTo(element, splitThreshold) >= splitThreshold) {
+                return split(element);
+            }
+            var out = new ByteArrayChannel(TASK_BUFFER_SIZE);
+            render(out, renderer -> {
+                for (int i = from; i < to; i++) renderer.writeNode(nodes.get(i), rawText);
+            });
+            return List.of(out.asByteBuffer());
+        }
+
+        private List<ByteBuffer> split(Element_I<?> element) {
+            var children = ((HasChildNodes<?>) element).childNodes();
+            boolean childRawText = MarkupSerializer.isRawTextElement(element);
+
+            var tasks = new ArrayList<Batch>();
+            int start = 0, batched = 0;
+            for (int i = 0, n = children.size(); i < n; i++) {
+                int size = countUpTo(children.get(i), splitThreshold);
+                if (size >= splitThreshold) { // big child - own task, flush the pending run first
+                    if (start < i) tasks.add(new Batch(children, start, i, childRawText, depth + 1));
+                    tasks.add(new Batch(children, i, i + 1, childRawText, depth + 1));
+                    start = i + 1;
+                    batched = 0;
+                } else if ((batched += size) >= splitThreshold) {
+                    tasks.add(new Batch(children, start, i + 1, childRawText, depth + 1));
+                    start = i + 1;
+                    batched = 0;
+                }
+            }
+            if (start < children.size()) tasks.add(new Batch(children, start, children.size(), childRawText, depth + 1));
+
+            for (int i = 1; i < tasks.size(); i++) tasks.get(i).fork();
+            var segments = new ArrayList<ByteBuffer>();
+            var startTag = new ByteArrayChannel(256);
+            render(startTag, renderer -> renderer.writeStartTag(element));
+            segments.add(startTag.asByteBuffer());
+            for (int i = 0; i < tasks.size(); i++) {
+                segments.addAll(i == 0 ? tasks.get(0).compute() : tasks.get(i).join());
+            }
+            var endTag = new ByteArrayChannel(64);
+            render(endTag, renderer -> renderer.writeEndTag(element));
+            segments.add(endTag.asByteBuffer());
+            return segments;
+        }
+    }
+
+    interface RenderStep {
+        void run(Utf8ByteRenderer renderer) throws IOException;
+    }
+
+    private void render(ByteArrayChannel out, RenderStep step) {
+        var renderer = RENDERERS.get().withCache(cache).withNumberPrecision(numberDecimals).withUrlEncoding(encodeUrls);
+        try {
+            renderer.begin(out);
+            step.run(renderer);
+            renderer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory channel never throws
+        } finally {
+            renderer.release();
+        }
+    }
+
+    private boolean isSplittable(Element_I<?> element) {
+        return element instanceof HasChildNodes<?>
+                && !(element instanceof ProcessingInstruction_I<?>)
+                && !(element instanceof LazyChildNodes) // pulled while rendering - one worker streams it
+                && !(cache != null && element instanceof Cacheable<?>); // served whole from the cache
+    }
+
+    /** Subtree size, but stops counting at limit - split decisions stay O(limit) per node */
+    private static int countUpTo(Node_I<?> node, int limit) {
+        var count = new int[1];
+        COUNTING.get().walk(node, (child, depth) -> {
+            if (++count[0] >= limit) return TreeWalker.Action.STOP;
+            return child instanceof LazyChildNodes ? TreeWalker.Action.SKIP_CHILDREN : TreeWalker.Action.CONTINUE;
+        });
+        return count[0];
+    }
+}
@@ -0,0 +1,118 @@
+package luvx.examples.render;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Rendered-fragment cache keyed by {@link ContentHash.Key}.
+ *
+ * - bounded by a byte budget, least recently used fragments are evicted first
+ * - single-flight: concurrent misses on the same key render once, the others wait for it
+ * - hit / miss / eviction counters via {@link #stats()}
+ *
+ * Cached arrays are shared - callers must treat them as read-only.
+ */
+public class RenderCache {
+
+    public record Stats(long hits, long misses, long evictions, int entries, long bytes) {
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<ContentHash.Key, byte[]> lru = new LinkedHashMap<>(256, 0.75f, true); // guarded by this
+    private long bytes; // guarded by this
+    private final ConcurrentHashMap<ContentHash.Key, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RenderCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** Cached bytes or null - counts as a hit or miss */
+    public byte[] get(ContentHash.Key key) {
+        var cached = lookup(key);
+        (cached != null ? hits : misses).increment();
+        return cached;
+    }
+
+    /**
+     * Cached bytes for the key, rendering them at most once across all threads asking
+     * concurrently. A failing render is rethrown to every waiter and not cached.
+     */
+    public byte[] computeIfAbsent(ContentHash.Key key, Supplier<byte[]> render) {
+        var cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        var mine = new CompletableFuture<byte[]>();
+        var leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            hits.increment(); // served by another thread's render
+            return await(leader);
+        }
+        try {
+            cached = lookup(key); // it may have landed between our miss and taking the lead
+            if (cached != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                cached = render.get();
+                put(key, cached);
+            }
+            mine.complete(cached);
+            return cached;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public synchronized void put(ContentHash.Key key, byte[] value) {
+        if (value.length > maxBytes) return; // would evict everything and still not fit
+        var previous = lru.put(key, value);
+        bytes += value.length - (previous == null ? 0 : previous.length);
+        var eldest = lru.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            var entry = eldest.next();
+            bytes -= entry.getValue().length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public synchronized void clear() {
+        lru.clear();
+        bytes = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), lru.size(), bytes);
+    }
+
+    private synchronized byte[] lookup(ContentHash.Key key) {
+        return lru.get(key);
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package luvx.examples.render;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import luvx.Element_I;
+import luvx.Node_I;
+import luvx.Text_I;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.demo.Cacheable;
+import luvx.examples.dispatch.FragKind;
+import luvx.examples.dsl.DslSlot;
+import luvx.examples.dsl.DslStyleMap;
+import luvx.examples.dsl.DslTagged;
+import luvx.examples.dsl.DslTags;
+import luvx.examples.walk.LazyChildNodes;
+import luvx.examples.walk.TreeWalker;
+
+/**
+ * Optional render pass that moves repeated inline styles into generated classes. Before
+ * rendering, the tree is walked once and its style attributes are interned by their
+ * declarations - whitespace, property case and empty declarations don't count. A set used at
+ * least {@code minRepeats} times, whose class saves more bytes than its rule costs, becomes a
+ * rule {@code .lx-s0{font-weight:bold!important}} at the end of the document's first style
+ * element without a media attribute (or of a new one closing head). Its elements write
+ * {@code class="lx-s0"} instead of style="..." - appended to their class attribute if they
+ * have one.
+ *
+ * The rules are !important so they rank above every normal rule whatever its specificity, as
+ * the inline style did. They also rank above what an inline style does not: CSS animations,
+ * and the inline styles a script sets later through {@code el.style}. So a document that may
+ * have either - a script element or on* handler attribute, a style element with @keyframes or
+ * @import or lazy content, a linked stylesheet - is left as it is, unless
+ * {@link #assumingStaticStyles()} says the hoisted properties are never animated or scripted.
+ * The page's own !important rules on the same properties can rank differently too. Sets that
+ * are !important already, or hold comments, braces or '<', stay inline. Subtrees with lazy
+ * children - and with a RenderCache, Cacheable ones - are not walked and keep their inline
+ * styles.
+ *
+ * Immutable and safe to share; the per-document state is the {@link Plan}.
+ */
+public final class StyleHoisting {
+
+    private static final Plan NOTHING = new Plan(Map.of(), null, "", "", 0);
+
+    private final int minRepeats;
+    private final String classPrefix;
+    private final boolean staticStyles;
+
+    private StyleHoisting(int minRepeats, String classPrefix, boolean staticStyles) {
+        this.minRepeats = Math.max(2, minRepeats);
+        this.classPrefix = classPrefix;
+        this.staticStyles = staticStyles;
+    }
+
+    /** Hoists style sets that occur at least this often (2 or more) */
+    public static StyleHoisting repeatedAtLeast(int minRepeats) {
+        return new StyleHoisting(minRepeats, "lx-s", false);
+    }
+
+    /** Generated classes are this prefix plus a base 36 counter - "lx-s" by default */
+    public StyleHoisting withClassPrefix(String classPrefix) {
+        if (!classPrefix.matches("-?[A-Za-z_][A-Za-z0-9_-]*")) throw new IllegalArgumentException("Not a class name: " + classPrefix);
+        return new StyleHoisting(minRepeats, classPrefix, staticStyles);
+    }
+
+    /**
+     * Hoists in documents with scripts, animations or linked stylesheets too - for pages whose
+     * scripts and animations never touch the hoisted properties, which the !important rules
+     * would otherwise override.
+     */
+    public StyleHoisting assumingStaticStyles() {
+        return new StyleHoisting(minRepeats, classPrefix, true);
+    }
+
+    public Plan plan(Node_I<?> root) {
+        return plan(root, false);
+    }
+
+    Plan plan(Node_I<?> root, boolean skipCacheable) {
+        var census = new Census(skipCacheable, classPrefix, staticStyles);
+        if (!new TreeWalker().walk(root, census)) return NOTHING; // scripted or animated
+        var target = census.style != null ? census.style : census.head;
+        if (target == null) return NOTHING; // nowhere to put the rules
+
+        var rules = new StringBuilder();
+        int hoisted = 0, next = 0;
+        for (var tally : census.tallyBySet.values()) {
+            if (tally.uses < minRepeats) continue;
+            String name;
+            while (census.classesInUse.contains(name = classPrefix + Integer.toString(next, 36))) next++;
+            var declarations = DslStyleMap.declarations(tally.declarations);
+            int rule = name.length() + 3 + tally.declarations.length() + "!important".length() * declarations.size();
+            if ((long) tally.uses * (tally.declarations.length() - name.length()) <= rule) continue; // costs more than it saves
+            next++;
+            hoisted++;
+            tally.className = name;
+            rules.append('.').append(name).append('{');
+            for (int i = 0; i < declarations.size(); i++) {
+                rules.append(i == 0 ? "" : ";").append(declarations.get(i)).append("!important");
+            }
+            rules.append('}');
+        }
+        if (hoisted == 0) return NOTHING;
+
+        var classByStyle = new HashMap<String, String>();
+        census.tallyByStyle.forEach((style, tally) -> {
+            if (tally.className != null) classByStyle.put(style, tally.className);
+        });
+        var insert = target == census.style ? rules.toString() : "<style>" + rules + "</style>";
+        return new Plan(classByStyle, target, rules.toString(), insert, hoisted);
+    }
+
+    /**
+     * The declarations of a style attribute as {@code property:value;...}, or "" if it can't be
+     * hoisted. Custom properties (--x) keep their case, everything else is lower case.
+     */
+    static String declarations(String style) {
+        if (style.indexOf('<') >= 0 || style.indexOf('{') >= 0 || style.indexOf('}') >= 0
+                || style.indexOf('!') >= 0 || style.contains("/*")) {
+            return "";
+        }
+        var set = new StringBuilder(style.length());
+        for (var declaration : DslStyleMap.declarations(style)) {
+            int colon = declaration.indexOf(':');
+            if (colon <= 0) return "";
+            var property = declaration.substring(0, colon).trim();
+            var value = declaration.substring(colon + 1).trim();
+            if (value.isEmpty()) return "";
+            if (!set.isEmpty()) set.append(';');
+            set.append(property.startsWith("--") ? property : property.toLowerCase(Locale.ROOT)).append(':').append(value);
+        }
+        return set.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "StyleHoisting[repeated at least " + minRepeats + ", classes " + classPrefix + "*"
+                + (staticStyles ? ", assuming static styles]" : "]");
+    }
+
+    /** Counts style sets and finds where the rules go */
+    private static final class Census implements TreeWalker.Visitor<RuntimeException> {
+        private final boolean skipCacheable;
+        private final String classPrefix;
+        private final boolean staticStyles;
+        final Map<String, Tally> tallyByStyle = new HashMap<>();        // attribute value -> its set - spellings share one
+        final Map<String, Tally> tallyBySet = new LinkedHashMap<>();    // hoistable sets in document order
+        final Set<String> classesInUse = new HashSet<>();                // with the prefix - generated names must not clash
+        Element_I<?> style, head;      // style: the first one without a media attribute
+        private int styleDepth = -1;   // inside a style element, its depth - its text is checked for animations
+
+        Census(boolean skipCacheable, String classPrefix, boolean staticStyles) {
+            this.skipCacheable = skipCacheable;
+            this.classPrefix = classPrefix;
+            this.staticStyles = staticStyles;
+        }
+
+        /** Stops the walk - and so the plan - on anything a script or animation could fight the !important rules with */
+        @Override
+        public TreeWalker.Action enter(Node_I<?> node, int depth) {
+            var kind = FragKind.of(node); // class-cached - text nodes leave without interface checks
+            if (!kind.isElement()) {
+                if (kind == FragKind.TEXT && styleDepth >= 0 && !staticStyles && animates(((Text_I<?>) node).text())) {
+                    return TreeWalker.Action.STOP;
+                }
+                return kind == FragKind.OTHER ? TreeWalker.Action.CONTINUE : TreeWalker.Action.SKIP_CHILDREN;
+            }
+            var element = (Element_I<?>) node;
+            boolean isStyle = element instanceof HasChildNodes<?> && is(element, DslTags.STYLE);
+            if (node instanceof LazyChildNodes || skipCacheable && node instanceof Cacheable<?>) {
+                return isStyle && !staticStyles ? TreeWalker.Action.STOP : TreeWalker.Action.SKIP_CHILDREN; // rendered without the plan
+            }
+            if (!staticStyles && (is(element, DslTags.SCRIPT) || is(element, DslTags.LINK) && linksStylesheet(element))) {
+                return TreeWalker.Action.STOP;
+            }
+            if (isStyle) {
+                styleDepth = depth;
+                if (style == null && !(element instanceof HasAttributes<?> attributed && attributed.attributes().containsKey("media"))) style = element;
+            } else if (head == null && element instanceof HasChildNodes<?> && is(element, DslTags.HEAD)) {
+                head = element;
+            }
+            if (element instanceof HasAttributes<?> withAttributes) {
+                var attributes = withAttributes.attributes();
+                if (!staticStyles) {
+                    for (var name : attributes.keySet()) {
+                        if (name.length() > 2 && name.regionMatches(true, 0, "on", 0, 2)) return TreeWalker.Action.STOP; // event handler
+                    }
+                }
+                var value = attributes.get("style");
+                if (value != null && !DslSlot.isAttributeMarker(value)) {
+                    var tally = tallyByStyle.get(value); // one lookup per element once a spelling was seen
+                    if (tally == null) tallyByStyle.put(value, tally = tallyOf(value));
+                    tally.uses++;
+                }
+                var classes = attributes.get("class");
+                if (classes != null && classes.contains(classPrefix)) {
+                    for (var name : classes.trim().split("\\s+")) classesInUse.add(name);
+                }
+            }
+            return TreeWalker.Action.CONTINUE;
+        }
+
+        @Override
+        public void leave(Node_I<?> node, int depth) {
+            if (depth == styleDepth) styleDepth = -1;
+        }
+
+        /** Style text that may animate or pull in rules we can't see */
+        private static boolean animates(String css) {
+            var lower = css.toLowerCase(Locale.ROOT);
+            return lower.contains("@keyframes") || lower.contains("@-webkit-keyframes") || lower.contains("@import");
+        }
+
+        private static boolean linksStylesheet(Element_I<?> link) {
+            if (!(link instanceof HasAttributes<?> withAttributes)) return false;
+            var rel = withAttributes.attributes().get("rel");
+            if (rel == null) return false;
+            for (var token : rel.trim().split("\\s+")) {
+                if (token.equalsIgnoreCase("stylesheet")) return true;
+            }
+            return false;
+        }
+
+        private Tally tallyOf(String style) {
+            var declarations = declarations(style);
+            return declarations.isEmpty() ? new Tally("") : tallyBySet.computeIfAbsent(declarations, Tally::new);
+        }
+
+        private static boolean is(Element_I<?> element, int tagId) {
+            return element instanceof DslTagged tagged ? tagged.tagId() == tagId : DslTags.name(tagId).equalsIgnoreCase(element.tagName());
+        }
+    }
+
+    /** A set of declarations, how often it occurs and the class it got */
+    private static final class Tally {
+        final String declarations; // "" - can't be hoisted
+        int uses;
+        String className;
+
+        Tally(String declarations) {
+            this.declarations = declarations;
+        }
+    }
+
+    /**
+     * Hoisting decisions for one document: which style attributes become which class, and the
+     * rules to write before the end tag of {@link #target()}.
+     */
+    public static final class Plan {
+        private final Map<String, String> classByStyle;
+        private final Element_I<?> target;
+        private final String rules;
+        private final String insert;
+        private final int hoistedSets;
+
+        private Plan(Map<String, String> classByStyle, Element_I<?> target, String rules, String insert, int hoistedSets) {
+            this.classByStyle = classByStyle;
+            this.target = target;
+            this.rules = rules;
+            this.insert = insert;
+            this.hoistedSets = hoistedSets;
+        }
+
+        /** Number of style sets turned into classes */
+        public int hoistedSets() { return hoistedSets; }
+
+        /** The generated rules, as written into the style element */
+        public String rules() { return rules; }
+
+        /** Class replacing the element's style attribute, null if it stays inline */
+        String classFor(Element_I<?> element) {
+            if (classByStyle.isEmpty() || element instanceof LazyChildNodes || !(element instanceof HasAttributes<?> withAttributes)) {
+                return null;
+            }
+            var style = withAttributes.attributes().get("style");
+            return style == null ? null : classByStyle.get(style);
+        }
+
+        /** The style element (or head) the rules go into */
+        Element_I<?> target() { return target; }
+
+        /** Written right before the target's end tag - the rules, in a style element if the target is head */
+        String insert() { return insert; }
+    }
+}
@@ -0,0 +1,518 @@
+package luvx.examples.render;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Map;
+import luvx.CData_I;
+import luvx.Comment_I;
+import luvx.Doctype_I;
+import luvx.Element_I;
+import luvx.Node_I;
+import luvx.ProcessingInstruction_I;
+import luvx.Text_I;
+import luvx.VoidElement_I;
+import luvx.demo.Cacheable;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.composable.HasTextContent;
+import luvx.examples.dispatch.FragKind;
+import luvx.examples.dsl.DslAttribute;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslFileText;
+import luvx.examples.dsl.DslNumbers;
+import luvx.examples.dsl.DslPathData;
+import luvx.examples.dsl.DslSlot;
+import luvx.examples.dsl.DslTagged;
+import luvx.examples.dsl.DslTags;
+import luvx.examples.dsl.DslTextSlice;
+import luvx.examples.escape.Escaper;
+import luvx.examples.walk.LazyChildNodes;
+import luvx.examples.walk.TreeWalker;
+
+/**
+ * Byte-oriented twin of {@link MarkupSerializer} - renders straight to UTF-8 into a reusable
+ * direct ByteBuffer and flushes it to a WritableByteChannel (SocketChannel, FileChannel, ...)
+ * whenever it fills up. No char[] / String stage and no CharsetEncoder pass in between.
+ *
+ * Tag tokens come pre-encoded from the DslTags registry for DSL elements (by id) and from
+ * {@link Utf8Tokens} for anything else; attribute name tokens from Utf8Tokens, interned DslAttribute
+ * flyweights contribute their whole pre-escaped {@code  name="value"} bytes. Text and attribute
+ * values are escaped for their context by {@link Escaper} straight into the buffer - clean ASCII
+ * runs are copied in bulk, only escapes and non-ASCII chars are written one by one.
+ *
+ * DslTextSlice ranges are escaped straight from their source. DslFileText regions are read
+ * into one direct chunk buffer per renderer and scanned there; long clean stretches go to the
+ * channel straight from it, the rest is escaped through the buffer - the file never hits the heap.
+ *
+ * Numeric attribute values are formatted by {@link DslNumbers} straight into the buffer -
+ * shortest round trip by default, or rounded with {@link #withNumberPrecision(int)}. Path
+ * geometry (DslPathData) is encoded through the scratch array a few commands at a time.
+ *
+ * With a {@link RenderCache} attached, Cacheable elements (SuperElement ...) are served from
+ * the cache by content hash and only rendered on a miss - a hit costs one hash pass over the
+ * subtree, which is what lets equal trees built separately share an entry. With {@link StyleHoisting}, repeated
+ * inline styles become generated classes (render(...) only - template holes stay inline).
+ *
+ * Output is byte-identical to {@code MarkupSerializer.COMPACT} encoded as UTF-8.
+ * A renderer owns its buffer, so use one instance per thread (they are cheap to keep around).
+ */
+public class Utf8ByteRenderer {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int FRAGMENT_BUFFER_SIZE = 8 * 1024;
+    private static final int FRAGMENT_RETAIN_LIMIT = 1 << 20;
+
+    private static final int MAX_BYTES_PER_CHAR = Escaper.MAX_BYTES_PER_CHAR;
+    private static final int SLICE_CHUNK_CHARS = 8 * 1024;
+    private static final int DIRECT_MIN = 32 * 1024;   // shorter clean file runs are copied through the buffer
+    private static final int FILE_CHUNK = 256 * 1024;  // file text read at a time
+
+    private final ByteBuffer buf;
+    private final byte[] scratch = new byte[1024]; // stages clean text runs and numbers for bulk copies
+    private ByteBuffer fileChunk; // direct, reused by every file text this renderer writes
+    private DslPathData.Encoder pathEncoder; // created with the first path
+    private WritableByteChannel channel;
+    private long flushed;
+    private MarkupTemplate.SlotRecorder slotRecorder; // set while MarkupTemplate compiles a tree
+    private RenderCache cache;
+    private int numberDecimals = -1; // shortest round trip
+    private boolean encodeUrls;
+    private StyleHoisting styleHoisting;
+    private StyleHoisting.Plan styles; // the document being rendered, with hoisting on
+    private int lazyAt = -1; // depth of the lazy element being rendered - its subtree keeps inline styles
+    private Element_I<?> uncachedRoot; // the Cacheable being rendered into the cache
+    private Utf8ByteRenderer fragmentRenderer; // renders cache misses, created with the first one
+    private ByteArrayChannel fragmentOut;
+
+    // iterative walk, so arbitrarily deep trees render without StackOverflowError
+    private final TreeWalker walker = new TreeWalker();
+    private boolean rootRawText;
+    private boolean[] rawTextAt = new boolean[64]; // children of the open element at a depth are raw text
+    private boolean[] openAt = new boolean[64];    // end tag due in leave()
+
+    public Utf8ByteRenderer() { this(DEFAULT_BUFFER_SIZE); }
+
+    public Utf8ByteRenderer(int bufferSize) {
+        this.buf = ByteBuffer.allocateDirect(Math.max(256, bufferSize));
+    }
+
+    /** Serve Cacheable subtrees from this cache (null to switch caching off) */
+    public Utf8ByteRenderer withCache(RenderCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Rounds numeric attribute values to at most this many fraction digits (trailing zeros
+     * dropped), negative for the shortest round trip. A RenderCache keeps the bytes of whatever
+     * precision filled it, so don't share one across renderers with different precisions.
+     */
+    public Utf8ByteRenderer withNumberPrecision(int decimals) {
+        this.numberDecimals = decimals;
+        return this;
+    }
+
+    /** Percent-encodes href, src and other URL attribute values - see Escaper.Context.URL */
+    public Utf8ByteRenderer withUrlEncoding(boolean encodeUrls) {
+        this.encodeUrls = encodeUrls;
+        return this;
+    }
+
+    /** Moves repeated inline styles into generated classes (null to switch it off) */
+    public Utf8ByteRenderer withStyleHoisting(StyleHoisting styleHoisting) {
+        this.styleHoisting = styleHoisting;
+        return this;
+    }
+
+    /**
+     * Renders the tree to the channel.
+     * @return number of bytes written
+     */
+    public long render(Node_I<?> root, WritableByteChannel channel) throws IOException {
+        styles = styleHoisting != null ? styleHoisting.plan(root, cache != null) : null;
+        try {
+            begin(channel);
+            writeNode(root, false);
+            return finish();
+        } finally {
+            release();
+            styles = null;
+            lazyAt = -1;
+        }
+    }
+
+    void begin(WritableByteChannel channel) {
+        this.channel = channel;
+        this.flushed = 0;
+        buf.clear();
+    }
+
+    /** Flushes what is left and detaches the channel - returns the total bytes written */
+    long finish() throws IOException {
+        flush();
+        this.channel = null;
+        return flushed;
+    }
+
+    /** Detaches the channel whether or not finish() got there - callers of begin() do this in finally */
+    void release() {
+        this.channel = null;
+    }
+
+    /** Compiling a template: slots are reported here instead of being rendered (null when done) */
+    void recordSlots(MarkupTemplate.SlotRecorder recorder) {
+        this.slotRecorder = recorder;
+    }
+
+    /** Bytes produced since begin(), flushed or not */
+    long position() {
+        return flushed + buf.position();
+    }
+
+    public byte[] renderToBytes(Node_I<?> root) {
+        var out = new ByteArrayChannel();
+        try {
+            render(root, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory channel never throws
+        }
+        return out.toByteArray();
+    }
+
+    void writeNode(Node_I<?> node, boolean rawText) throws IOException {
+        rootRawText = rawText;
+        walker.walk(node, writing);
+    }
+
+    private void writeCached(Element_I<?> element) throws IOException {
+        byte[] fragment = cache.computeIfAbsent(ContentHash.of(element), () -> {
+            // own renderer, so the fragment is complete bytes even if our buffer is mid-flush -
+            // one per renderer, kept for the next miss (nested Cacheables use its own one)
+            if (fragmentRenderer == null) {
+                fragmentRenderer = new Utf8ByteRenderer(FRAGMENT_BUFFER_SIZE);
+                fragmentOut = new ByteArrayChannel(FRAGMENT_BUFFER_SIZE);
+            }
+            var renderer = fragmentRenderer.withCache(cache).withNumberPrecision(numberDecimals).withUrlEncoding(encodeUrls);
+            var out = fragmentOut.reset();
+            try {
+                renderer.begin(out);
+                renderer.uncachedRoot = element; // rendering it - must not look itself up again
+                renderer.writeNode(element, false);
+                renderer.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // in-memory channel never throws
+            } finally {
+                renderer.release();
+                renderer.uncachedRoot = null;
+            }
+            if (out.size() > FRAGMENT_RETAIN_LIMIT) fragmentOut = new ByteArrayChannel(FRAGMENT_BUFFER_SIZE); // don't pin a huge array
+            return out.toByteArray();
+        });
+        writeBytes(fragment);
+    }
+
+    private final TreeWalker.Visitor<IOException> writing = new TreeWalker.Visitor<>() {
+        @Override
+        public TreeWalker.Action enter(Node_I<?> node, int depth) throws IOException {
+            if (depth == openAt.length) {
+                openAt = Arrays.copyOf(openAt, depth * 2);
+                rawTextAt = Arrays.copyOf(rawTextAt, depth * 2);
+            }
+            openAt[depth] = false;
+            boolean rawText = depth == 0 ? rootRawText : rawTextAt[depth - 1];
+            switch (FragKind.of(node)) { // class-cached kind - no instanceof chain over interfaces
+                case TEXT -> {
+                    if (node instanceof DslSlot slot && slotRecorder != null) {
+                        slotRecorder.slot(slot.name(), rawText ? MarkupTemplate.SlotKind.RAW_TEXT : MarkupTemplate.SlotKind.TEXT);
+                    } else if (node instanceof DslTextSlice slice) {
+                        writeSlice(slice, rawText ? Escaper.Context.RAW_TEXT : Escaper.Context.TEXT);
+                    } else if (node instanceof DslFileText fileText) {
+                        writeFileText(fileText, rawText ? Escaper.Context.RAW_TEXT : Escaper.Context.TEXT);
+                    } else {
+                        writeText(((Text_I<?>) node).text(), rawText ? Escaper.Context.RAW_TEXT : Escaper.Context.TEXT);
+                    }
+                }
+                case COMMENT -> {
+                    writeAscii("<!--");
+                    writeText(((Comment_I<?>) node).comment(), Escaper.Context.RAW_TEXT);
+                    writeAscii("-->");
+                }
+                case VOID_ELEMENT, PROCESSING_INSTRUCTION, CONTAINER_ELEMENT, RAW_TEXT_ELEMENT, ESCAPABLE_RAW_TEXT_ELEMENT, ELEMENT -> {
+                    return startElement((Element_I<?>) node, depth);
+                }
+                case DOCTYPE -> {
+                    writeAscii("<!DOCTYPE ");
+                    writeText(((Doctype_I<?>) node).name(), Escaper.Context.RAW_TEXT);
+                    writeAscii(">");
+                }
+                case CDATA -> {
+                    writeAscii("<![CDATA[");
+                    writeText(((CData_I<?>) node).textContent(), Escaper.Context.RAW_TEXT);
+                    writeAscii("]]>");
+                }
+                default -> {
+                    if (node instanceof HasTextContent<?> hasText) {
+                        writeText(hasText.textContent(), Escaper.Context.TEXT);
+                    }
+                }
+            }
+            return TreeWalker.Action.SKIP_CHILDREN;
+        }
+
+        @Override
+        public void leave(Node_I<?> node, int depth) throws IOException {
+            if (openAt[depth]) {
+                openAt[depth] = false;
+                if (depth == lazyAt) lazyAt = -1;
+                if (styles != null && node == styles.target()) writeRawText(styles.insert());
+                writeEndTag((Element_I<?>) node);
+            }
+        }
+    };
+
+    private TreeWalker.Action startElement(Element_I<?> element, int depth) throws IOException {
+        if (cache != null && element instanceof Cacheable<?> && element != uncachedRoot) {
+            writeCached(element);
+            return TreeWalker.Action.SKIP_CHILDREN;
+        }
+        if (element instanceof ProcessingInstruction_I<?> pi) {
+            writeAscii("<?");
+            writeText(pi.target(), Escaper.Context.RAW_TEXT);
+            writeAscii("?>");
+            return TreeWalker.Action.SKIP_CHILDREN;
+        }
+        writeStartTag(element);
+        if (element instanceof HasChildNodes<?>) {
+            if (MarkupSerializer.isEmptyVoidElement(element)) return TreeWalker.Action.SKIP_CHILDREN; // <meta> built as a container
+            rawTextAt[depth] = MarkupSerializer.isRawTextElement(element);
+            openAt[depth] = true;
+            if (styles != null && lazyAt < 0 && element instanceof LazyChildNodes) lazyAt = depth; // not in the plan's census
+            return TreeWalker.Action.CONTINUE;
+        }
+        if (element instanceof HasTextContent<?> hasText) {
+            writeText(hasText.textContent(), Escaper.Context.TEXT);
+        } else if (element instanceof VoidElement_I<?>) {
+            return TreeWalker.Action.SKIP_CHILDREN;
+        }
+        writeEndTag(element);
+        return TreeWalker.Action.SKIP_CHILDREN;
+    }
+
+    void writeStartTag(Element_I<?> element) throws IOException {
+        writeBytes(element instanceof DslTagged tagged && tagged.tagId() >= 0 ? DslTags.utf8OpenTag(tagged.tagId()) : Utf8Tokens.openTag(element.tagName()));
+        if (element instanceof HasAttributes<?> withAttributes) {
+            writeAttributes(withAttributes.attributes(), styles != null && lazyAt < 0 ? styles.classFor(element) : null);
+        }
+        writeByte('>');
+    }
+
+    void writeEndTag(Element_I<?> element) throws IOException {
+        writeBytes(element instanceof DslTagged tagged && tagged.tagId() >= 0 ? DslTags.utf8CloseTag(tagged.tagId()) : Utf8Tokens.closeTag(element.tagName()));
+    }
+
+    private void writeAttributes(Map<String, String> attributes, String hoistedClass) throws IOException {
+        if (attributes instanceof DslAttributeMap compact) { // shape-backed - no iterator needed
+            for (int i = 0, n = compact.size(); i < n; i++) {
+                if (hoistedClass != null && writeHoisted(compact.keyAt(i), attributes, hoistedClass)) continue;
+                if (compact.isNumberAt(i)) writeAttribute(compact.keyAt(i), compact.numberAt(i));
+                else if (compact.isPathAt(i)) writeAttribute(compact.keyAt(i), compact.pathAt(i));
+                else writeAttribute(compact.keyAt(i), compact.valueAt(i));
+            }
+            return;
+        }
+        for (var attribute : attributes.entrySet()) {
+            if (hoistedClass != null && writeHoisted(attribute.getKey(), attributes, hoistedClass)) continue;
+            writeAttribute(attribute.getKey(), attribute.getValue());
+        }
+    }
+
+    /** style goes, its class is added to the class attribute - false for every other attribute */
+    private boolean writeHoisted(String name, Map<String, String> attributes, String hoistedClass) throws IOException {
+        boolean style = name.equals("style");
+        if (!style && !name.equals("class")) return false;
+        if (style && attributes.containsKey("class")) return true; // written with the class attribute
+        var classes = attributes.get("class");
+        writeBytes(Utf8Tokens.attributeName("class"));
+        if (classes != null && !classes.isEmpty()) {
+            writeText(classes, Escaper.Context.ATTRIBUTE);
+            writeByte(' ');
+        }
+        writeAscii(hoistedClass);
+        writeByte('"');
+        return true;
+    }
+
+    void writeAttribute(String name, String value) throws IOException {
+        if (DslSlot.isAttributeMarker(value)) {
+            if (slotRecorder != null) {
+                var context = Escaper.forAttribute(name, encodeUrls);
+                var parts = DslSlot.attributeParts(value);
+                writeBytes(Utf8Tokens.attributeName(name));
+                for (int i = 0; i < parts.length; i++) {
+                    if (i % 2 == 0) writeText(parts[i], context);
+                    else slotRecorder.slot(parts[i], context == Escaper.Context.URL ? MarkupTemplate.SlotKind.URL : MarkupTemplate.SlotKind.ATTRIBUTE);
+                }
+                writeByte('"');
+            }
+            return; // unfilled attribute slot - nothing to write outside a template
+        }
+        var context = Escaper.forAttribute(name, encodeUrls);
+        var flyweight = context == Escaper.Context.ATTRIBUTE ? DslAttribute.lookup(name, value) : null;
+        if (flyweight != null) {
+            writeBytes(flyweight.utf8()); // escaped and encoded once, at intern time
+            return;
+        }
+        if (value == null) {
+            writeByte(' ');
+            writeText(name, Escaper.Context.RAW_TEXT);
+            return;
+        }
+        writeBytes(Utf8Tokens.attributeName(name));
+        writeText(value, context);
+        writeByte('"');
+    }
+
+    void writeAttribute(String name, double value) throws IOException {
+        writeBytes(Utf8Tokens.attributeName(name));
+        if (buf.remaining() < DslNumbers.MAX_LENGTH + 1) flush();
+        buf.put(scratch, 0, DslNumbers.write(value, numberDecimals, scratch, 0));
+        buf.put((byte) '"');
+    }
+
+    void writeAttribute(String name, DslPathData path) throws IOException {
+        writeBytes(Utf8Tokens.attributeName(name));
+        if (pathEncoder == null) pathEncoder = new DslPathData.Encoder();
+        pathEncoder.reset(path, DslAttributeMap.isPoints(name), numberDecimals);
+        while (!pathEncoder.done()) {
+            int n = pathEncoder.write(scratch, 0, scratch.length);
+            if (buf.remaining() < n) flush();
+            buf.put(scratch, 0, n);
+        }
+        writeByte('"');
+    }
+
+    /**
+     * Encodes and escapes a String in chunks that are guaranteed to fit the buffer, so the
+     * encoder has no capacity checks.
+     */
+    void writeText(String s, Escaper.Context context) throws IOException {
+        if (s == null) return;
+        writeText(s, 0, s.length(), context);
+    }
+
+    private void writeText(String s, int from, int to, Escaper.Context context) throws IOException {
+        int i = from;
+        while (i < to) {
+            if (buf.remaining() < MAX_BYTES_PER_CHAR * 2) flush();
+            int end = Math.min(to, i + buf.remaining() / MAX_BYTES_PER_CHAR - 1); // room for a pair straddling end
+            i = Escaper.encodeUtf8(s, i, end, to, context, buf, scratch);
+        }
+    }
+
+    private void writeSlice(DslTextSlice slice, Escaper.Context context) throws IOException {
+        if (slice.source() instanceof String s) {
+            writeText(s, slice.start(), slice.end(), context);
+            return;
+        }
+        var source = slice.source(); // StringBuilder, CharBuffer ... - bounded String chunks
+        for (int i = slice.start(), end = slice.end(); i < end; ) {
+            int chunkEnd = Math.min(end, i + SLICE_CHUNK_CHARS);
+            if (chunkEnd < end && Character.isHighSurrogate(source.charAt(chunkEnd - 1))) chunkEnd++; // keep pairs whole
+            writeText(source.subSequence(i, chunkEnd).toString(), context);
+            i = chunkEnd;
+        }
+    }
+
+    private void writeFileText(DslFileText text, Escaper.Context context) throws IOException {
+        if (fileChunk == null) fileChunk = ByteBuffer.allocateDirect(FILE_CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        text.read(fileChunk, (bytes, last) -> {
+            int from = bytes.position(), size = bytes.limit();
+            for (int start = from; start < size; ) {
+                int special = Escaper.indexOfEscape(bytes, start, size, context);
+                if (special - start >= DIRECT_MIN) {
+                    flush(); // what is buffered goes first
+                    channelWrite(bytes.slice(start, special - start));
+                } else {
+                    writeBytes(bytes, start, special - start);
+                }
+                if (special == size) break;
+                writeBytes(Escaper.utf8Replacement(bytes.get(special), context));
+                start = special + 1;
+            }
+            bytes.position(size);
+        });
+    }
+
+    /** A number in the renderer's precision - digits only, safe in any context */
+    void writeNumber(double value) throws IOException {
+        if (buf.remaining() < DslNumbers.MAX_LENGTH) flush();
+        buf.put(scratch, 0, DslNumbers.write(value, numberDecimals, scratch, 0));
+    }
+
+    void writeNumber(float value) throws IOException {
+        if (buf.remaining() < DslNumbers.MAX_LENGTH) flush();
+        buf.put(scratch, 0, DslNumbers.write(value, numberDecimals, scratch, 0));
+    }
+
+    void writeEscapedText(String s) throws IOException {
+        writeText(s, Escaper.Context.TEXT);
+    }
+
+    void writeEscapedAttributeValue(String s) throws IOException {
+        writeText(s, Escaper.Context.ATTRIBUTE);
+    }
+
+    void writeRawText(String s) throws IOException {
+        writeText(s, Escaper.Context.RAW_TEXT);
+    }
+
+    private void writeAscii(String s) throws IOException {
+        writeText(s, Escaper.Context.RAW_TEXT);
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        if (length > buf.remaining()) {
+            flush();
+            if (length > buf.remaining()) {
+                channelWrite(ByteBuffer.wrap(bytes, offset, length));
+                return;
+            }
+        }
+        buf.put(bytes, offset, length);
+    }
+
+    private void writeBytes(ByteBuffer bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!buf.hasRemaining()) flush();
+            int n = Math.min(length, buf.remaining());
+            buf.put(buf.position(), bytes, offset, n).position(buf.position() + n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    void writeByte(char c) throws IOException {
+        if (!buf.hasRemaining()) flush();
+        buf.put((byte) c);
+    }
+
+    private void flush() throws IOException {
+        buf.flip();
+        channelWrite(buf);
+        buf.clear();
+    }
+
+    private void channelWrite(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            flushed += channel.write(bytes);
+        }
+    }
+}
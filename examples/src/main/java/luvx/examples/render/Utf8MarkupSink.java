@@ -0,0 +1,132 @@
+package luvx.examples.render;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import luvx.examples.dsl.DslPathData;
+import luvx.examples.dsl.DslTags;
+import luvx.examples.stream.MarkupSink;
+
+/**
+ * MarkupSink that encodes events straight to UTF-8 through a {@link Utf8ByteRenderer}'s
+ * buffer - same tokens, escaping and attribute flyweights, so streaming a document yields the
+ * bytes rendering its node tree would. Holds only the open element names: O(depth) memory
+ * however long the stream.
+ */
+public class Utf8MarkupSink implements MarkupSink, AutoCloseable {
+
+    private final Utf8ByteRenderer renderer;
+    private String[] tags = new String[32];
+    private boolean[] rawText = new boolean[32];
+    private int depth;
+    private boolean startTagOpen; // '>' still due, attributes may follow
+
+    public Utf8MarkupSink(WritableByteChannel channel) {
+        this(new Utf8ByteRenderer(), channel);
+    }
+
+    /** Borrows the renderer (and its buffer) until {@link #finish()} */
+    public Utf8MarkupSink(Utf8ByteRenderer renderer, WritableByteChannel channel) {
+        this.renderer = renderer;
+        renderer.begin(channel);
+    }
+
+    @Override
+    public void startElement(String tag) throws IOException {
+        closeStartTag();
+        if (depth == tags.length) {
+            tags = Arrays.copyOf(tags, depth * 2);
+            rawText = Arrays.copyOf(rawText, depth * 2);
+        }
+        int id = DslTags.lookup(tag);
+        tags[depth] = tag;
+        rawText[depth] = id >= 0 && DslTags.isRawText(id);
+        depth++;
+        renderer.writeBytes(id >= 0 ? DslTags.utf8OpenTag(id) : Utf8Tokens.openTag(tag));
+        startTagOpen = true;
+    }
+
+    @Override
+    public void attribute(String name, String value) throws IOException {
+        if (!startTagOpen) {
+            throw new IllegalStateException("Attribute " + name + " after content - attributes must come right after their element starts");
+        }
+        renderer.writeAttribute(name, value);
+    }
+
+    @Override
+    public void attribute(String name, double value) throws IOException {
+        if (!startTagOpen) {
+            throw new IllegalStateException("Attribute " + name + " after content - attributes must come right after their element starts");
+        }
+        renderer.writeAttribute(name, value);
+    }
+
+    @Override
+    public void attribute(String name, DslPathData value) throws IOException {
+        if (!startTagOpen) {
+            throw new IllegalStateException("Attribute " + name + " after content - attributes must come right after their element starts");
+        }
+        renderer.writeAttribute(name, value);
+    }
+
+    @Override
+    public void text(String text) throws IOException {
+        closeStartTag();
+        if (depth > 0 && rawText[depth - 1]) {
+            renderer.writeRawText(text);
+        } else {
+            renderer.writeEscapedText(text);
+        }
+    }
+
+    @Override
+    public void endElement() throws IOException {
+        boolean empty = startTagOpen;
+        closeStartTag();
+        var tag = pop();
+        int id = DslTags.lookup(tag);
+        if (empty && id >= 0 && DslTags.isVoid(id)) return; // <meta> without content - no end tag, as rendering its tree writes
+        renderer.writeBytes(id >= 0 ? DslTags.utf8CloseTag(id) : Utf8Tokens.closeTag(tag));
+    }
+
+    @Override
+    public void endVoidElement() throws IOException {
+        if (!startTagOpen) throw new IllegalStateException("Void element <" + tags[depth - 1] + "> has content");
+        closeStartTag();
+        pop();
+    }
+
+    /**
+     * Flushes the buffer and releases the renderer - released even when this throws, so a
+     * failed stream closed by try-with-resources doesn't leave it attached to the channel.
+     * @return number of bytes written
+     */
+    public long finish() throws IOException {
+        try {
+            if (depth > 0) throw new IllegalStateException("Stream finished with <" + tags[depth - 1] + "> still open");
+            return renderer.finish();
+        } finally {
+            renderer.release();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private String pop() {
+        if (depth == 0) throw new IllegalStateException("No open element to end");
+        var tag = tags[--depth];
+        tags[depth] = null;
+        return tag;
+    }
+
+    private void closeStartTag() throws IOException {
+        if (startTagOpen) {
+            startTagOpen = false;
+            renderer.writeByte('>');
+        }
+    }
+}
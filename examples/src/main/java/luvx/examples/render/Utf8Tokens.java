@@ -0,0 +1,64 @@
+package luvx.examples.render;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import luvx.examples.dsl.DslAttributeNames;
+
+/**
+ * Constant pool of pre-encoded UTF-8 markup tokens - {@code <tag}, {@code </tag>} and
+ * {@code  name="} - shared by all renderers and threads.
+ *
+ * Tags used by DslElements and the names in DslAttributeNames are seeded up front; anything
+ * else is encoded on first use. The pool is bounded so that user-generated tag names cannot
+ * grow it forever - past the limit tokens are encoded per call instead of being cached.
+ */
+public final class Utf8Tokens {
+
+    static final int MAX_POOLED = 4096;
+
+    private static final ConcurrentHashMap<String, byte[]> OPEN_TAGS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, byte[]> CLOSE_TAGS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, byte[]> ATTRIBUTE_NAMES = new ConcurrentHashMap<>();
+
+    static {
+        for (var tag : new String[] {
+                "html", "head", "body", "div", "span", "p", "h1", "h2", "h3", "title", "header", "main",
+                "section", "article", "footer", "ul", "li", "button", "input", "select", "option", "a",
+                "meta", "style", "br", "pre",
+                "svg", "defs", "g", "rect", "circle", "text", "linearGradient", "stop", "filter", "feDropShadow"}) {
+            openTag(tag);
+            closeTag(tag);
+        }
+        for (var name : DslAttributeNames.known()) {
+            attributeName(name);
+        }
+    }
+
+    private Utf8Tokens() {}
+
+    /** {@code <tag} - the renderer appends attributes and {@code >} itself */
+    public static byte[] openTag(String tag) {
+        return pooled(OPEN_TAGS, tag, "<", "");
+    }
+
+    /** {@code </tag>} */
+    public static byte[] closeTag(String tag) {
+        return pooled(CLOSE_TAGS, tag, "</", ">");
+    }
+
+    /** {@code  name="} - leading space included, value and closing quote follow */
+    public static byte[] attributeName(String name) {
+        return pooled(ATTRIBUTE_NAMES, name, " ", "=\"");
+    }
+
+    private static byte[] pooled(ConcurrentHashMap<String, byte[]> pool, String key, String prefix, String suffix) {
+        byte[] token = pool.get(key);
+        if (token != null) return token;
+        token = (prefix + key + suffix).getBytes(StandardCharsets.UTF_8);
+        if (pool.size() < MAX_POOLED) {
+            var raced = pool.putIfAbsent(key, token);
+            if (raced != null) return raced;
+        }
+        return token;
+    }
+}
@@ -0,0 +1,37 @@
+package luvx.examples.snapshot;
+
+/**
+ * Stream layout shared by {@link SnapshotWriter} and {@link SnapshotReader}.
+ *
+ *   header    magic (4 bytes "LUVS"), version (1 byte)
+ *   trees     any number, each a node record followed by its subtree in pre-order
+ *   end       END tag
+ *
+ * All counts and lengths are unsigned varints (7 bits per byte, low group first). Strings go
+ * through a string table that grows as the stream is written - a reference is
+ *
+ *   0         null
+ *   1         new string: varint UTF-8 length, bytes - gets the next table id
+ *   2         a number, 8 bytes IEEE 754 (attribute values only - DslAttributeMap.putNumber)
+ *   3 + id    a string seen before in this stream
+ *
+ * Node kind tags follow the ftype discrimination (Text_T, VoidElement_T, ContainerElement_T),
+ * with the DSL's two text-like variants kept apart:
+ *
+ *   TEXT        text
+ *   SLOT        name, default text                         (DslSlot - a Text_I template hole)
+ *   CONTAINER   tag, attrCount, attributes, childCount     (children follow)
+ *   STREAMED    tag, attrCount, attributes                 (LazyChildNodes - children follow, then END)
+ *   VOID        tag, attrCount, attributes
+ *   STYLED      tag, text, attrCount, attributes           (DslStyledText - a span with text, style first)
+ */
+final class SnapshotFormat {
+    static final int MAGIC = 0x4C555653; // "LUVS"
+    static final int VERSION = 2;
+
+    static final byte END = 0, TEXT = 1, SLOT = 2, CONTAINER = 3, VOID = 4, STYLED = 5, STREAMED = 6;
+
+    static final int NULL_STRING = 0, NEW_STRING = 1, NUMBER = 2, FIRST_ID = 3;
+
+    private SnapshotFormat() {}
+}
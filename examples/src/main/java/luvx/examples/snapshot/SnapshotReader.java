@@ -0,0 +1,238 @@
+package luvx.examples.snapshot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import luvx.Node_I;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslContainerElement;
+import luvx.examples.dsl.DslSelfClosingElement;
+import luvx.examples.dsl.DslSlot;
+import luvx.examples.dsl.DslStyledText;
+import luvx.examples.dsl.DslText;
+
+import static luvx.examples.snapshot.SnapshotFormat.*;
+
+/**
+ * Reads trees written by {@link SnapshotWriter} back into DSL nodes (mutable, like freshly
+ * built ones - freeze() them for sharing). Reads the channel through its own buffer, so it
+ * may read ahead; don't interleave other reads of the same channel. Iterative - trees of
+ * any depth.
+ *
+ * A damaged stream fails with an IOException, never with an unchecked one: lengths and counts
+ * are checked against the bytes left (when the channel knows its size - otherwise long
+ * strings grow as their bytes arrive), names against what the writer can produce.
+ */
+public final class SnapshotReader {
+
+    private final ReadableByteChannel in;
+    private final ByteBuffer buffer;
+    private final List<String> strings = new ArrayList<>();
+    private long unread; // bytes left in the channel, Long.MAX_VALUE if it doesn't know
+    private boolean ended;
+
+    private static final int UNTIL_END = -1; // remaining[] of a STREAMED container
+
+    private DslContainerElement[] parents = new DslContainerElement[64];
+    private int[] remaining = new int[64];
+
+    /** Reads and checks the header right away */
+    public SnapshotReader(ReadableByteChannel in) throws IOException {
+        this(in, 64 * 1024);
+    }
+
+    public SnapshotReader(ReadableByteChannel in, int bufferSize) throws IOException {
+        this.in = in;
+        this.buffer = ByteBuffer.allocate(Math.max(16, bufferSize)).flip();
+        this.unread = in instanceof SeekableByteChannel seekable ? Math.max(0, seekable.size() - seekable.position()) : Long.MAX_VALUE;
+        require(5);
+        if (buffer.getInt() != MAGIC) throw new IOException("Not a LuvX snapshot stream");
+        int version = buffer.get();
+        if (version != VERSION) throw new IOException("Unsupported snapshot version " + version + ", expected " + VERSION);
+    }
+
+    /** The next tree in the stream, or null after the last one */
+    public Node_I<?> read() throws IOException {
+        if (ended) return null;
+        int top = 0;
+        Node_I<?> root = null;
+        do {
+            require(1);
+            byte kind = buffer.get();
+            if (kind == END && top > 0) { // closes a STREAMED container
+                if (remaining[top - 1] != UNTIL_END) throw new IOException("Snapshot stream ends inside a tree");
+                parents[--top] = null;
+                while (top > 0 && remaining[top - 1] == 0) parents[--top] = null;
+                continue;
+            }
+            Node_I<?> node = switch (kind) {
+                case END -> {
+                    ended = true;
+                    yield null;
+                }
+                case TEXT -> new DslText(readString());
+                case SLOT -> new DslSlot(readName("slot"), readString());
+                case CONTAINER, STREAMED -> readAttributes(DslContainerElement.ofUntrustedTag(readName("tag")));
+                case VOID -> readAttributes(DslSelfClosingElement.ofUntrustedTag(readName("tag")));
+                case STYLED -> readStyledText(readName("tag"), readString());
+                default -> throw new IOException("Corrupt snapshot stream: unknown node kind " + kind);
+            };
+            if (node == null) return null;
+
+            if (top == 0) {
+                root = node;
+            } else {
+                parents[top - 1].addChild(node);
+                if (remaining[top - 1] != UNTIL_END) remaining[top - 1]--;
+            }
+            if (node instanceof DslContainerElement container) {
+                int children = kind == STREAMED ? UNTIL_END : readCount("children");
+                if (children != 0) {
+                    if (top == parents.length) {
+                        parents = Arrays.copyOf(parents, top * 2);
+                        remaining = Arrays.copyOf(remaining, top * 2);
+                    }
+                    parents[top] = container;
+                    remaining[top++] = children;
+                }
+            }
+            while (top > 0 && remaining[top - 1] == 0) parents[--top] = null;
+        } while (top > 0);
+        return root;
+    }
+
+    /** All remaining trees */
+    public List<Node_I<?>> readAll() throws IOException {
+        var trees = new ArrayList<Node_I<?>>();
+        for (Node_I<?> tree; (tree = read()) != null; ) trees.add(tree);
+        return trees;
+    }
+
+    private DslContainerElement readAttributes(DslContainerElement element) throws IOException {
+        readAttributes((DslAttributeMap) element.attributes(), readCount("attributes"));
+        return element;
+    }
+
+    private DslSelfClosingElement readAttributes(DslSelfClosingElement element) throws IOException {
+        readAttributes((DslAttributeMap) element.attributes(), readCount("attributes"));
+        return element;
+    }
+
+    private void readAttributes(DslAttributeMap attributes, int count) throws IOException {
+        for (; count > 0; count--) {
+            var name = readName("attribute");
+            int reference = readVarint();
+            if (reference == NUMBER) {
+                require(8);
+                attributes.putNumber(name, buffer.getDouble());
+            } else {
+                attributes.put(name, readString(reference));
+            }
+        }
+    }
+
+    // DslStyledText is a span with its style first - the only void element with text the writer encodes
+    private DslStyledText readStyledText(String tag, String text) throws IOException {
+        if (!"span".equals(tag)) throw new IOException("Corrupt snapshot stream: styled text must be a span, found <" + tag + ">");
+        int count = readCount("attributes");
+        if (count == 0 || !"style".equals(readName("attribute"))) {
+            throw new IOException("Corrupt snapshot stream: styled text must start with its style attribute");
+        }
+        var styled = new DslStyledText(text, readString());
+        readAttributes((DslAttributeMap) styled.attributes(), count - 1);
+        return styled;
+    }
+
+    /** A tag, attribute or slot name - never null, and nothing that would break the markup it is written into */
+    private String readName(String what) throws IOException {
+        var name = readString();
+        if (name == null || name.isEmpty()) throw new IOException("Corrupt snapshot stream: missing " + what + " name");
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c <= ' ' || c == '<' || c == '>' || c == '/' || c == '=' || c == '"' || c == '\'' || c == '&' || c == 0x7F) {
+                throw new IOException("Corrupt snapshot stream: bad " + what + " name " + name);
+            }
+        }
+        return name;
+    }
+
+    /** A count or length - each unit takes at least one byte, so it can't exceed the bytes left */
+    private int readCount(String what) throws IOException {
+        int count = readVarint();
+        if (count < 0 || count > available()) {
+            throw new IOException("Corrupt snapshot stream: " + (count & 0xFFFFFFFFL) + " " + what + " with " + available() + " bytes left");
+        }
+        return count;
+    }
+
+    private long available() {
+        return unread == Long.MAX_VALUE ? Long.MAX_VALUE : buffer.remaining() + unread;
+    }
+
+    private String readString() throws IOException {
+        return readString(readVarint());
+    }
+
+    private String readString(int reference) throws IOException {
+        if (reference == NULL_STRING) return null;
+        if (reference == NUMBER) throw new IOException("Corrupt snapshot stream: a number where a string belongs");
+        if (reference >= FIRST_ID) {
+            int id = reference - FIRST_ID;
+            if (id >= strings.size()) throw new IOException("Corrupt snapshot stream: unknown string id " + id);
+            return strings.get(id);
+        }
+        int length = readCount("string bytes");
+        String s;
+        if (length <= buffer.capacity()) {
+            require(length);
+            s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else { // longer than the buffer - collect it separately, growing as the bytes arrive
+            var bytes = new byte[Math.min(length, 4 * buffer.capacity())];
+            int at = 0;
+            while (at < length) {
+                if (!buffer.hasRemaining()) fill();
+                if (at == bytes.length) bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * at));
+                int n = Math.min(buffer.remaining(), bytes.length - at);
+                buffer.get(bytes, at, n);
+                at += n;
+            }
+            s = new String(bytes, StandardCharsets.UTF_8);
+        }
+        strings.add(s);
+        return s;
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!buffer.hasRemaining()) fill();
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Corrupt snapshot stream: varint longer than 5 bytes");
+    }
+
+    /** Makes at least n (≤ capacity) bytes available */
+    private void require(int n) throws IOException {
+        while (buffer.remaining() < n) fill();
+    }
+
+    private void fill() throws IOException {
+        buffer.compact();
+        try {
+            int n = in.read(buffer);
+            if (n < 0) throw new EOFException("Snapshot stream truncated");
+            if (unread != Long.MAX_VALUE) unread = Math.max(0, unread - n);
+        } finally {
+            buffer.flip();
+        }
+    }
+}
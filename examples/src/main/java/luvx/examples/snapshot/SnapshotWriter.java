@@ -0,0 +1,209 @@
+package luvx.examples.snapshot;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import luvx.Element_I;
+import luvx.Node_I;
+import luvx.Text_I;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.composable.HasTextContent;
+import luvx.examples.dispatch.FragKind;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslFileText;
+import luvx.examples.dsl.DslSlot;
+import luvx.examples.walk.LazyChildNodes;
+import luvx.examples.walk.TreeWalker;
+
+import static luvx.examples.snapshot.SnapshotFormat.*;
+
+/**
+ * Streams trees of the DSL node types in the snapshot format (see {@link SnapshotFormat}).
+ * The string table spans the whole stream, so shipping many trees repeats no tag, attribute
+ * name or common value. Iterative - trees of any depth. Lazy children are pulled once, as the
+ * walk reaches them, and closed by an end marker instead of a count up front.
+ *
+ * Any luvx text, container or void element is accepted (it reads back as the DSL type of the
+ * same kind); comments, raw-text element types and the like are rejected. A void element with
+ * text reads back as a DslStyledText, so only a span whose first attribute is its style is
+ * accepted.
+ */
+public final class SnapshotWriter {
+
+    private static final int FILE_CHUNK = 64 * 1024;
+
+    private final DataOutput out;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final TreeWalker walker = new TreeWalker();
+    private final Encoder encoder = new Encoder();
+    private int stringCount; // ids handed out - file texts take one without an entry in strings
+    private ByteBuffer fileChunk;
+    private boolean finished;
+
+    /** Writes the header right away */
+    public SnapshotWriter(DataOutput out) throws IOException {
+        this.out = out;
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    public SnapshotWriter write(Node_I<?> root) throws IOException {
+        if (finished) throw new IllegalStateException("Snapshot stream already finished");
+        walker.walk(root, encoder);
+        return this;
+    }
+
+    /** Writes the end tag - the stream is complete; flushing/closing the output is the caller's */
+    public void finish() throws IOException {
+        if (finished) return;
+        out.writeByte(END);
+        finished = true;
+    }
+
+    private final class Encoder implements TreeWalker.Visitor<IOException> {
+        @Override
+        public TreeWalker.Action enter(Node_I<?> node, int depth) throws IOException {
+            switch (FragKind.of(node)) {
+                case TEXT -> {
+                    if (node instanceof DslSlot slot) {
+                        out.writeByte(SLOT);
+                        writeString(slot.name());
+                        writeString(slot.text());
+                    } else if (node instanceof DslFileText fileText) {
+                        out.writeByte(TEXT);
+                        writeFileText(fileText);
+                    } else {
+                        out.writeByte(TEXT);
+                        writeString(((Text_I<?>) node).text());
+                    }
+                }
+                case VOID_ELEMENT -> {
+                    var element = (Element_I<?>) node;
+                    if (element instanceof HasTextContent<?> hasText) {
+                        if (!isStyledText(element)) throw unsupported(node);
+                        out.writeByte(STYLED);
+                        writeString(element.tagName());
+                        writeString(hasText.textContent());
+                    } else {
+                        out.writeByte(VOID);
+                        writeString(element.tagName());
+                    }
+                    writeAttributes(element);
+                }
+                case CONTAINER_ELEMENT, ELEMENT -> {
+                    var element = (Element_I<?>) node;
+                    if (node instanceof LazyChildNodes) {
+                        out.writeByte(STREAMED);
+                        writeString(element.tagName());
+                        writeAttributes(element);
+                    } else if (node instanceof HasChildNodes<?> parent) {
+                        out.writeByte(CONTAINER);
+                        writeString(element.tagName());
+                        writeAttributes(element);
+                        writeVarint(parent.childNodes().size());
+                    } else {
+                        throw unsupported(node);
+                    }
+                }
+                default -> throw unsupported(node);
+            }
+            return TreeWalker.Action.CONTINUE;
+        }
+
+        @Override
+        public void leave(Node_I<?> node, int depth) throws IOException {
+            if (node instanceof LazyChildNodes) {
+                var kind = FragKind.of(node);
+                if (kind == FragKind.CONTAINER_ELEMENT || kind == FragKind.ELEMENT) out.writeByte(END); // closes a STREAMED child list
+            }
+        }
+
+        private void writeAttributes(Element_I<?> element) throws IOException {
+            if (!(element instanceof HasAttributes<?> withAttributes)) {
+                writeVarint(0);
+                return;
+            }
+            var attributes = withAttributes.attributes();
+            writeVarint(attributes.size());
+            if (attributes instanceof DslAttributeMap compact) { // numbers stay doubles - precision is the renderer's
+                for (int i = 0, n = compact.size(); i < n; i++) {
+                    writeString(compact.keyAt(i));
+                    if (compact.isNumberAt(i)) {
+                        writeVarint(NUMBER);
+                        out.writeDouble(compact.numberAt(i));
+                    } else {
+                        writeString(compact.valueAt(i));
+                    }
+                }
+                return;
+            }
+            for (var entry : attributes.entrySet()) {
+                writeString(entry.getKey());
+                writeString(entry.getValue());
+            }
+        }
+    }
+
+    /** What SnapshotReader can rebuild as a DslStyledText: a span with its style first */
+    private static boolean isStyledText(Element_I<?> element) {
+        if (!"span".equals(element.tagName()) || !(element instanceof HasAttributes<?> withAttributes)) return false;
+        var names = withAttributes.attributes().keySet().iterator();
+        return names.hasNext() && "style".equals(names.next());
+    }
+
+    private void writeString(String s) throws IOException {
+        if (s == null) {
+            writeVarint(NULL_STRING);
+            return;
+        }
+        var id = strings.get(s);
+        if (id != null) {
+            writeVarint(FIRST_ID + id);
+            return;
+        }
+        strings.put(s, stringCount++);
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(NEW_STRING);
+        writeVarint(utf8.length);
+        out.write(utf8);
+    }
+
+    /**
+     * A file region as a new string, copied in chunks - the file is never held whole. It reads
+     * back as a DslText; not interned, but it takes the next id as the reader counts strings.
+     */
+    private void writeFileText(DslFileText text) throws IOException {
+        if (fileChunk == null) fileChunk = ByteBuffer.allocate(FILE_CHUNK);
+        text.read(fileChunk, new DslFileText.Chunks() {
+            @Override
+            public void start(long length) throws IOException {
+                if (length > Integer.MAX_VALUE) throw new IllegalArgumentException(text + " is too long for a snapshot string");
+                stringCount++;
+                writeVarint(NEW_STRING);
+                writeVarint((int) length);
+            }
+
+            @Override
+            public void accept(ByteBuffer bytes, boolean last) throws IOException {
+                out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                bytes.position(bytes.limit());
+            }
+        });
+    }
+
+    private void writeVarint(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static IllegalArgumentException unsupported(Node_I<?> node) {
+        return new IllegalArgumentException("No snapshot encoding for " + FragKind.of(node).label() + " node " + node.getClass().getName());
+    }
+}
@@ -0,0 +1,76 @@
+package luvx.examples.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+import luvx.Node_I;
+
+/**
+ * Warm start: load a tree from its snapshot file instead of rebuilding it through the DSL
+ * factories. A missing, stale-version or unreadable snapshot is rebuilt and rewritten, so
+ * deleting the file (or bumping {@link SnapshotFormat#VERSION}) is always safe.
+ */
+public final class Snapshots {
+
+    private Snapshots() {}
+
+    public static Node_I<?> loadOrBuild(Path file, Supplier<? extends Node_I<?>> build) {
+        if (Files.isRegularFile(file)) {
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                var tree = new SnapshotReader(channel).read();
+                if (tree != null) return tree;
+            } catch (IOException | IllegalArgumentException e) {
+                // stale or damaged - fall through and rebuild
+            }
+        }
+        var tree = build.get();
+        try {
+            write(file, tree);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write snapshot " + file, e);
+        }
+        return tree;
+    }
+
+    /** Writes via a temp file and a move, so readers never see a half-written snapshot */
+    public static void write(Path file, Node_I<?> tree) throws IOException {
+        var parent = file.toAbsolutePath().getParent();
+        var temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+                new SnapshotWriter(out).write(tree).finish();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static byte[] toBytes(Node_I<?> tree) {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            new SnapshotWriter(out).write(tree).finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory stream never throws
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Node_I<?> fromBytes(byte[] snapshot) {
+        try {
+            return new SnapshotReader(Channels.newChannel(new ByteArrayInputStream(snapshot)), snapshot.length).read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package luvx.examples.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import luvx.ContainerElement_I;
+import luvx.Element_I;
+import luvx.Node_I;
+import luvx.Text_I;
+import luvx.VoidElement_I;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.composable.HasTextContent;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslFileText;
+import luvx.examples.walk.LazyChildNodes;
+import luvx.examples.walk.TreeWalker;
+
+import static luvx.examples.store.StoreFormat.*;
+
+/**
+ * Appends documents to a store file for {@link MappedDocumentStore}; the directory and header
+ * are written by {@link #close()}. Text, container, void and styled-text (void + text) nodes
+ * are stored - anything else (templates' DslSlot holes are plain text here) is rejected.
+ *
+ * Each document is encoded into a heap buffer first (child offsets are patched in as the
+ * children are written), then appended with one channel write. Lazy children are pulled once,
+ * as the walk reaches them; their container's record is written after them, when their count
+ * is known. A DslFileText region is copied file to file with transferTo - the buffer is written
+ * out first, and slots it held are patched in the file from then on.
+ */
+public final class DocumentStoreWriter implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final Map<String, Integer> strings = new HashMap<>(); // written once per store
+    private final Map<Long, Integer> numbers = new HashMap<>();    // by raw bits, written once per store like strings
+    private final List<String> added = new ArrayList<>();          // strings first written by the add() in progress
+    private final List<Long> addedNumbers = new ArrayList<>();     // ... numbers
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameRefs = new HashMap<>();
+    private int[] roots = new int[256];
+
+    private final TreeWalker walker = new TreeWalker();
+    private final Encoder encoder = new Encoder();
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private long base; // file position of buffer[0] - moves on when a file text is copied
+
+    private DocumentStoreWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static DocumentStoreWriter create(Path file) throws IOException {
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        channel.write(ByteBuffer.allocate(HEADER_SIZE)); // header placeholder, filled in by close()
+        return new DocumentStoreWriter(channel);
+    }
+
+    /**
+     * Appends a document under a unique name. If it fails - a node that can't be stored, an
+     * I/O error - the strings it wrote are forgotten, so later documents don't point at bytes
+     * that never reached the file.
+     * @return its index in the store
+     */
+    public int add(String name, ContainerElement_I<?> root) throws IOException {
+        if (nameRefs.containsKey(name)) throw new IllegalArgumentException("Duplicate document name: " + name);
+        long start = base = channel.position();
+        buffer.clear();
+        added.clear();
+        addedNumbers.clear();
+        boolean written = false;
+        int nameRef;
+        try {
+            nameRef = string(name); // keeps the name in the string area, for the index
+            encoder.rootOffset = -1;
+            walker.walk(root, encoder);
+            flush();
+            written = true;
+        } finally {
+            if (!written) {
+                for (var s : added) strings.remove(s);
+                for (var bits : addedNumbers) numbers.remove(bits);
+                channel.truncate(start); // drops a partial write
+            }
+            added.clear();
+            addedNumbers.clear();
+        }
+
+        int index = names.size();
+        if (index == roots.length) roots = Arrays.copyOf(roots, index * 2);
+        roots[index] = encoder.rootOffset;
+        names.add(name);
+        nameRefs.put(name, nameRef);
+        return index;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /** Writes directory, name index and header, and closes the file */
+    @Override
+    public void close() throws IOException {
+        try {
+            base = channel.position();
+            buffer.clear();
+            int count = names.size();
+            int directoryOffset = offset();
+            ensure(4 * count);
+            for (int i = 0; i < count; i++) buffer.putInt(roots[i]);
+
+            var byName = new Integer[count];
+            var nameBytes = new byte[count][];
+            for (int i = 0; i < count; i++) {
+                byName[i] = i;
+                nameBytes[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+            }
+            Arrays.sort(byName, (a, b) -> Arrays.compareUnsigned(nameBytes[a], nameBytes[b]));
+            int nameIndexOffset = offset();
+            ensure(8 * count);
+            for (int i : byName) {
+                buffer.putInt(nameRefs.get(names.get(i))).putInt(i);
+            }
+            flush();
+
+            var header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putInt(VERSION).putInt(count).putInt(directoryOffset).putInt(nameIndexOffset)
+                    .flip();
+            while (header.hasRemaining()) channel.write(header, header.position());
+        } finally {
+            channel.close();
+        }
+    }
+
+    private final class Encoder implements TreeWalker.Visitor<IOException> {
+        private static final int COLLECTING = -1; // slots[] of a lazy container - its record follows its children
+
+        int rootOffset;
+        private int[] slots = new int[64]; // buffer position of the next child slot, per open container
+        private int[][] collected = new int[64][];  // child offsets, per open lazy container
+        private int[] collectedCount = new int[64];
+        private int[] attributeRefs = new int[16];
+
+        @Override
+        public TreeWalker.Action enter(Node_I<?> node, int depth) throws IOException {
+            if (depth == 0 && !(node instanceof ContainerElement_I<?>)) {
+                throw new IllegalArgumentException("Document root must be a container element");
+            }
+            if (isLazy(node)) { // child count unknown until they are pulled - written in leave()
+                open(depth, COLLECTING);
+                collectedCount[depth] = 0;
+            } else {
+                link(depth, write(node, depth));
+            }
+            return TreeWalker.Action.CONTINUE;
+        }
+
+        @Override
+        public void leave(Node_I<?> node, int depth) throws IOException {
+            if (isLazy(node)) link(depth, writeLazy((Element_I<?>) node, depth));
+        }
+
+        private static boolean isLazy(Node_I<?> node) {
+            return node instanceof LazyChildNodes && node instanceof Element_I<?> && !(node instanceof VoidElement_I<?>);
+        }
+
+        /** Puts the record's offset where its parent expects it */
+        private void link(int depth, int offset) throws IOException {
+            if (depth == 0) {
+                rootOffset = offset;
+            } else if (slots[depth - 1] == COLLECTING) {
+                int n = collectedCount[depth - 1]++;
+                if (collected[depth - 1] == null) collected[depth - 1] = new int[64];
+                else if (n == collected[depth - 1].length) collected[depth - 1] = Arrays.copyOf(collected[depth - 1], n * 2);
+                collected[depth - 1][n] = offset;
+            } else {
+                patch(slots[depth - 1], offset);
+                slots[depth - 1] += 4;
+            }
+        }
+
+        private void open(int depth, int slot) {
+            if (depth == slots.length) {
+                slots = Arrays.copyOf(slots, depth * 2);
+                collected = Arrays.copyOf(collected, depth * 2);
+                collectedCount = Arrays.copyOf(collectedCount, depth * 2);
+            }
+            slots[depth] = slot;
+        }
+
+        /** Writes the node's new strings, then its record; returns the record's offset */
+        private int write(Node_I<?> node, int depth) throws IOException {
+            if (node instanceof Text_I<?> text) {
+                int textRef = text instanceof DslFileText fileText ? fileString(fileText) : string(text.text());
+                int offset = offset();
+                ensure(5);
+                buffer.put(TEXT).putInt(textRef);
+                return offset;
+            }
+            if (!(node instanceof Element_I<?> element)) {
+                throw new IllegalArgumentException("Cannot store " + node.getClass().getName());
+            }
+            int tagRef = string(element.tagName());
+            int attributeCount = attributes(element);
+            if (element instanceof VoidElement_I<?>) {
+                if (element instanceof HasTextContent<?> hasText) {
+                    int textRef = string(hasText.textContent());
+                    return record(STYLED, tagRef, textRef, attributeCount, 0);
+                }
+                return record(VOID, tagRef, NO_STRING, attributeCount, 0);
+            }
+            if (!(element instanceof HasChildNodes<?> parent)) {
+                throw new IllegalArgumentException("Cannot store " + node.getClass().getName());
+            }
+            int childCount = parent.childNodes().size();
+            int offset = record(CONTAINER, tagRef, NO_STRING, attributeCount, childCount);
+            open(depth, offset());
+            buffer.position(buffer.position() + 4 * childCount); // slots, patched as children are written
+            return offset;
+        }
+
+        /** A lazy container's record, after its children - their offsets are known by now */
+        private int writeLazy(Element_I<?> element, int depth) {
+            int tagRef = string(element.tagName());
+            int attributeCount = attributes(element);
+            int childCount = collectedCount[depth];
+            int offset = record(CONTAINER, tagRef, NO_STRING, attributeCount, childCount);
+            for (int i = 0; i < childCount; i++) buffer.putInt(collected[depth][i]);
+            return offset;
+        }
+
+        /** Writes the record up to its child slots, with room for them; returns its offset */
+        private int record(byte kind, int tagRef, int textRef, int attributeCount, int childCount) {
+            int offset = offset();
+            ensure(15 + 8 * attributeCount + 4 * childCount);
+            buffer.put(kind).putInt(tagRef);
+            if (kind == STYLED) buffer.putInt(textRef);
+            buffer.putShort((short) attributeCount);
+            if (kind == CONTAINER) buffer.putInt(childCount);
+            for (int a = 0; a < 2 * attributeCount; a++) buffer.putInt(attributeRefs[a]);
+            return offset;
+        }
+
+        /** Interns the attribute strings into attributeRefs; returns the count */
+        private int attributes(Element_I<?> element) {
+            if (!(element instanceof HasAttributes<?> withAttributes)) return 0;
+            var attributes = withAttributes.attributes();
+            int count = attributes.size();
+            if (count > MAX_ATTRIBUTES) throw new IllegalArgumentException("More than " + MAX_ATTRIBUTES + " attributes on <" + element.tagName() + ">");
+            if (2 * count > attributeRefs.length) attributeRefs = new int[2 * count];
+            int a = 0;
+            if (attributes instanceof DslAttributeMap compact) { // numbers stay doubles - precision is the renderer's
+                for (int i = 0; i < count; i++) {
+                    attributeRefs[a++] = string(compact.keyAt(i));
+                    if (compact.isNumberAt(i)) attributeRefs[a++] = number(compact.numberAt(i));
+                    else attributeRefs[a++] = compact.valueAt(i) == null ? NO_STRING : string(compact.valueAt(i));
+                }
+                return count;
+            }
+            for (var entry : attributes.entrySet()) {
+                attributeRefs[a++] = string(entry.getKey());
+                attributeRefs[a++] = entry.getValue() == null ? NO_STRING : string(entry.getValue());
+            }
+            return count;
+        }
+    }
+
+    private int string(String s) {
+        var known = strings.get(s);
+        if (known != null) return known;
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        int offset = offset();
+        ensure(4 + utf8.length);
+        buffer.putInt(utf8.length).put(utf8);
+        strings.put(s, offset);
+        added.add(s);
+        return offset;
+    }
+
+    private int number(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        var known = numbers.get(bits);
+        if (known != null) return known;
+        int offset = offset();
+        ensure(12);
+        buffer.putInt(NUMBER).putDouble(value);
+        numbers.put(bits, offset);
+        addedNumbers.add(bits);
+        return offset;
+    }
+
+    /**
+     * A file region as a string record of its own - not interned, a file isn't read to find
+     * its equal. The buffer goes out first, then the region follows it file to file.
+     */
+    private int fileString(DslFileText text) throws IOException {
+        try (var file = text.open()) {
+            long position = text.offset(), end = text.end(file);
+            if (end - position > Integer.MAX_VALUE) throw new IllegalArgumentException(text + " is too long for a store string");
+            int offset = offset();
+            ensure(4);
+            buffer.putInt((int) (end - position));
+            flush();
+            while (position < end) {
+                long n = file.transferTo(position, end - position, channel);
+                if (n == 0 && position >= file.size()) throw new IOException(text.path() + " shrank while storing " + text);
+                position += n;
+            }
+            base = channel.position();
+            buffer.clear();
+            return offset;
+        }
+    }
+
+    /** Fills a child slot - in the buffer, or in the file once a file text has written the buffer out */
+    private void patch(int at, int value) throws IOException {
+        if (at >= base) {
+            buffer.putInt((int) (at - base), value);
+            return;
+        }
+        var bytes = ByteBuffer.allocate(4).putInt(0, value);
+        while (bytes.hasRemaining()) channel.write(bytes, at + bytes.position());
+    }
+
+    private int offset() {
+        long offset = base + buffer.position();
+        if (offset > Integer.MAX_VALUE) throw new IllegalStateException("Store file exceeds 2 GB - start a new store");
+        return (int) offset;
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() >= bytes) return;
+        var grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        grown.put(buffer.flip());
+        buffer = grown;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+}
@@ -0,0 +1,128 @@
+package luvx.examples.store;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import luvx.Node_I;
+import luvx.examples.dsl.DslAttributeMap;
+
+import static luvx.examples.store.StoreFormat.*;
+
+/**
+ * Read-only view of a store file written by {@link DocumentStoreWriter}, kept off the heap in a
+ * MappedByteBuffer. Opening maps the file and reads the 20 byte header - nothing else - so it
+ * is O(1) whatever the store holds. {@link #document} returns a lazy {@link StoredElement}:
+ * tag, attributes and children are decoded on first access, straight from the mapping, so a
+ * render only faults in the pages of that document (and of the strings it uses).
+ *
+ * All reads are absolute, so one store can be shared by any number of threads. The mapping
+ * goes away when the store and all its views are unreachable.
+ */
+public final class MappedDocumentStore {
+
+    private final MappedByteBuffer buffer;
+    private final int documentCount;
+    private final int directoryOffset;
+    private final int nameIndexOffset;
+
+    private MappedDocumentStore(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a document store file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported document store version " + buffer.getInt(4) + ", expected " + VERSION);
+        }
+        documentCount = buffer.getInt(8);
+        directoryOffset = buffer.getInt(12);
+        nameIndexOffset = buffer.getInt(16);
+    }
+
+    public static MappedDocumentStore open(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Document store larger than 2 GB: " + file);
+            return new MappedDocumentStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)); // mapping outlives the channel
+        }
+    }
+
+    public int size() {
+        return documentCount;
+    }
+
+    public StoredElement document(int index) {
+        if (index < 0 || index >= documentCount) throw new IndexOutOfBoundsException("No document " + index + " in a store of " + documentCount);
+        return (StoredElement) node(buffer.getInt(directoryOffset + 4 * index));
+    }
+
+    /** Binary search over the name index, comparing UTF-8 bytes in place; null if absent */
+    public StoredElement document(String name) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        int low = 0, high = documentCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = nameIndexOffset + 8 * mid;
+            int comparison = compare(buffer.getInt(entry), key);
+            if (comparison < 0) low = mid + 1;
+            else if (comparison > 0) high = mid - 1;
+            else return document(buffer.getInt(entry + 4));
+        }
+        return null;
+    }
+
+    /** Bytes of the store file - all of it off-heap */
+    public long fileSize() {
+        return buffer.capacity();
+    }
+
+    // --- decoding, used by the views ---
+
+    Node_I<?> node(int offset) {
+        return switch (buffer.get(offset)) {
+            case TEXT -> new StoredText(this, offset);
+            case CONTAINER -> new StoredElement(this, offset);
+            case VOID -> new StoredVoidElement(this, offset);
+            case STYLED -> new StoredStyledText(this, offset);
+            default -> throw new IllegalStateException("Corrupt document store: unknown record kind " + buffer.get(offset) + " at " + offset);
+        };
+    }
+
+    int intAt(int offset) {
+        return buffer.getInt(offset);
+    }
+
+    int unsignedShortAt(int offset) {
+        return buffer.getShort(offset) & 0xFFFF;
+    }
+
+    String string(int offset) {
+        if (offset == NO_STRING) return null;
+        var utf8 = new byte[buffer.getInt(offset)];
+        buffer.get(offset + 4, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /** Frozen map of the attribute pairs starting at offset - numbers stay doubles, as they were put */
+    DslAttributeMap attributes(int offset, int count) {
+        var attributes = new DslAttributeMap();
+        for (int i = 0; i < count; i++) {
+            var name = string(buffer.getInt(offset + 8 * i));
+            int value = buffer.getInt(offset + 8 * i + 4);
+            if (value != NO_STRING && buffer.getInt(value) == NUMBER) attributes.putNumber(name, buffer.getDouble(value + 4));
+            else attributes.put(name, string(value));
+        }
+        return attributes.frozenCopy();
+    }
+
+    private int compare(int stringOffset, byte[] key) {
+        int length = buffer.getInt(stringOffset);
+        for (int i = 0, n = Math.min(length, key.length); i < n; i++) {
+            int difference = (buffer.get(stringOffset + 4 + i) & 0xFF) - (key[i] & 0xFF);
+            if (difference != 0) return difference;
+        }
+        return length - key.length;
+    }
+}
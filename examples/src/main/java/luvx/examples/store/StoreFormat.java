@@ -0,0 +1,37 @@
+package luvx.examples.store;
+
+/**
+ * On-disk layout shared by {@link DocumentStoreWriter} and {@link MappedDocumentStore}.
+ * Big-endian, offsets are absolute int file positions (one mapping, so files stay below 2 GB).
+ *
+ *   header      magic, version, documentCount, directoryOffset, nameIndexOffset
+ *   documents   per document, pre-order: each node record followed by its subtree, so
+ *               rendering one document reads one contiguous range (a lazy container's
+ *               record follows its subtree instead - its child count isn't known before)
+ *   strings     interleaved with numbers, each written once per store right before its first use
+ *   directory   documentCount × root offset
+ *   name index  documentCount × (name string offset, document index), sorted by UTF-8 bytes
+ *
+ * Records:
+ *   string      int length, UTF-8 bytes
+ *   number      int NUMBER (never a length), double - a numeric attribute value, as putNumber() set it
+ *   TEXT        kind, text
+ *   CONTAINER   kind, tag, u16 attrCount, int childCount, attrCount × (name, value), childCount × child offset
+ *   VOID        kind, tag, u16 attrCount, attrCount × (name, value)
+ *   STYLED      kind, tag, text, u16 attrCount, attrCount × (name, value)   (void element with text, like DslStyledText)
+ *
+ * An attribute value is the offset of a string or a number; a null value is stored as offset -1.
+ */
+final class StoreFormat {
+    static final int MAGIC = 0x4C555658; // "LUVX"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 20;
+
+    static final byte TEXT = 1, CONTAINER = 2, VOID = 3, STYLED = 4;
+
+    static final int NO_STRING = -1;
+    static final int NUMBER = -2; // in place of a string's length
+    static final int MAX_ATTRIBUTES = 0xFFFF;
+
+    private StoreFormat() {}
+}
@@ -0,0 +1,81 @@
+package luvx.examples.store;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import luvx.ContainerElement_I;
+import luvx.Node_I;
+import luvx.composable.HasAttributes;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.composable.HasChildNodes;
+import luvx.rendering_behavior.BlockMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Lazy container element view - record: kind, tag, u16 attrCount, int childCount, attribute
+ * pairs, child offsets. A child view is created the first time its index is read.
+ */
+public final class StoredElement extends StoredNode implements ContainerElement_I<StoredElement>, HasAttributes<StoredElement>, HasChildNodes<StoredElement> {
+    private String tagName;
+    private DslAttributeMap attributes;
+    private Children children;
+
+    StoredElement(MappedDocumentStore store, int offset) {
+        super(store, offset);
+    }
+
+    @Override public StoredElement self() { return this; }
+
+    @Override
+    public String tagName() {
+        var tag = tagName;
+        if (tag == null) tagName = tag = store.string(store.intAt(offset + 1));
+        return tag;
+    }
+
+    @Override
+    public List<? extends Node_I<?>> childNodes() {
+        var list = children;
+        if (list == null) children = list = new Children(store.intAt(offset + 7));
+        return list;
+    }
+
+    @Override
+    public Map<String, String> attributes() {
+        var map = attributes;
+        if (map == null) attributes = map = store.attributes(offset + 11, attributeCount());
+        return map;
+    }
+
+    @Override public String attr(String name) { return attributes().get(name); }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return BlockMarkupRendering.I;
+    }
+
+    private int attributeCount() {
+        return store.unsignedShortAt(offset + 5);
+    }
+
+    private final class Children extends AbstractList<Node_I<?>> implements RandomAccess {
+        private final Node_I<?>[] nodes;
+        private final int slots;
+
+        Children(int size) {
+            nodes = new Node_I<?>[size];
+            slots = offset + 11 + 8 * attributeCount();
+        }
+
+        @Override
+        public Node_I<?> get(int index) {
+            var node = nodes[Objects.checkIndex(index, nodes.length)];
+            if (node == null) nodes[index] = node = store.node(store.intAt(slots + 4 * index));
+            return node;
+        }
+
+        @Override public int size() { return nodes.length; }
+    }
+}
@@ -0,0 +1,25 @@
+package luvx.examples.store;
+
+/**
+ * Base of the lazy store views: the store and a record offset. Decoded parts are cached in the
+ * subclasses' fields; a race between threads only decodes twice, like String.hashCode.
+ */
+abstract sealed class StoredNode permits StoredElement, StoredVoidElement, StoredStyledText, StoredText {
+    final MappedDocumentStore store;
+    final int offset;
+
+    StoredNode(MappedDocumentStore store, int offset) {
+        this.store = store;
+        this.offset = offset;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        return o instanceof StoredNode other && other.store == store && other.offset == offset;
+    }
+
+    @Override
+    public final int hashCode() {
+        return offset;
+    }
+}
@@ -0,0 +1,54 @@
+package luvx.examples.store;
+
+import java.util.Map;
+import luvx.VoidElement_I;
+import luvx.composable.HasAttributes;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.composable.HasTextContent;
+import luvx.rendering_behavior.InlineMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Lazy view of a void element with text content, as DslStyledText - record: kind, tag, text,
+ * u16 attrCount, attribute pairs
+ */
+public final class StoredStyledText extends StoredNode implements VoidElement_I<StoredStyledText>, HasAttributes<StoredStyledText>, HasTextContent<StoredStyledText> {
+    private String tagName;
+    private String text;
+    private DslAttributeMap attributes;
+
+    StoredStyledText(MappedDocumentStore store, int offset) {
+        super(store, offset);
+    }
+
+    @Override public StoredStyledText self() { return this; }
+
+    @Override
+    public String tagName() {
+        var tag = tagName;
+        if (tag == null) tagName = tag = store.string(store.intAt(offset + 1));
+        return tag;
+    }
+
+    @Override
+    public String textContent() {
+        var content = text;
+        if (content == null) text = content = store.string(store.intAt(offset + 5));
+        return content;
+    }
+
+    @Override
+    public Map<String, String> attributes() {
+        var map = attributes;
+        if (map == null) attributes = map = store.attributes(offset + 11, store.unsignedShortAt(offset + 9));
+        return map;
+    }
+
+    @Override public String attr(String name) { return attributes().get(name); }
+    @Override public String toString() { return textContent(); }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return InlineMarkupRendering.I;
+    }
+}
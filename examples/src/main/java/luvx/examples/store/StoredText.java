@@ -0,0 +1,34 @@
+package luvx.examples.store;
+
+import luvx.Text_I;
+import luvx.composable.HasTextContent;
+import luvx.rendering_behavior.InlineMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Lazy text view - record: kind, text
+ */
+public final class StoredText extends StoredNode implements Text_I<StoredText>, HasTextContent<StoredText> {
+    private String text;
+
+    StoredText(MappedDocumentStore store, int offset) {
+        super(store, offset);
+    }
+
+    @Override public StoredText self() { return this; }
+
+    @Override
+    public String text() {
+        var content = text;
+        if (content == null) text = content = store.string(store.intAt(offset + 1));
+        return content;
+    }
+
+    @Override public String textContent() { return text(); }
+    @Override public String toString() { return text(); }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return InlineMarkupRendering.I;
+    }
+}
@@ -0,0 +1,43 @@
+package luvx.examples.store;
+
+import java.util.Map;
+import luvx.VoidElement_I;
+import luvx.composable.HasAttributes;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.rendering_behavior.InlineMarkupRendering;
+import luvx.rendering_behavior.MarkupRenderingBehavior_I;
+
+/**
+ * Lazy void element view (&lt;img&gt;, &lt;meta&gt; ...) - record: kind, tag, u16 attrCount, attribute pairs
+ */
+public final class StoredVoidElement extends StoredNode implements VoidElement_I<StoredVoidElement>, HasAttributes<StoredVoidElement> {
+    private String tagName;
+    private DslAttributeMap attributes;
+
+    StoredVoidElement(MappedDocumentStore store, int offset) {
+        super(store, offset);
+    }
+
+    @Override public StoredVoidElement self() { return this; }
+
+    @Override
+    public String tagName() {
+        var tag = tagName;
+        if (tag == null) tagName = tag = store.string(store.intAt(offset + 1));
+        return tag;
+    }
+
+    @Override
+    public Map<String, String> attributes() {
+        var map = attributes;
+        if (map == null) attributes = map = store.attributes(offset + 7, store.unsignedShortAt(offset + 5));
+        return map;
+    }
+
+    @Override public String attr(String name) { return attributes().get(name); }
+
+    @Override
+    public MarkupRenderingBehavior_I markupRenderingBehavior() {
+        return InlineMarkupRendering.I;
+    }
+}
@@ -0,0 +1,227 @@
+package luvx.examples.stream;
+
+import java.io.IOException;
+import luvx.Element_I;
+import luvx.Node_I;
+import luvx.Text_I;
+import luvx.VoidElement_I;
+import luvx.composable.HasAttributes;
+import luvx.composable.HasChildNodes;
+import luvx.composable.HasTextContent;
+import luvx.examples.dsl.DslAttribute;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslPathData;
+import luvx.examples.walk.TreeWalker;
+
+/**
+ * Streaming flavour of DslElements - children are supplied as lambdas and every call emits
+ * straight to a {@link MarkupSink}, so no node objects exist and memory is O(depth) whatever
+ * the document size:
+ *
+ * <pre>
+ * DslStream.write(sink, c -> c.svg(s -> {
+ *     s.attr(width(4000), height(3000));
+ *     for (var bar : bars) s.rect(x(bar.x()), y(bar.y()), width(8), height(bar.h()));
+ * }));
+ * </pre>
+ *
+ * Attributes are the DslAttributes helpers (or name/value pairs) and must come first in a
+ * body. Tags and their container/void split mirror DslElements, so a page streams to the
+ * same bytes its node tree renders to. The emitter handed to every body is the same object -
+ * a call always goes to the innermost open element.
+ */
+public final class DslStream {
+
+    @FunctionalInterface
+    public interface Body {
+        void emit(DslStream c) throws IOException;
+    }
+
+    private final MarkupSink sink;
+    private TreeWalker walker; // for node(), created on first use
+
+    private DslStream(MarkupSink sink) {
+        this.sink = sink;
+    }
+
+    public static void write(MarkupSink sink, Body body) throws IOException {
+        body.emit(new DslStream(sink));
+    }
+
+    // --- content ---
+
+    public DslStream attr(DslAttribute... attributes) throws IOException {
+        for (var attribute : attributes) {
+            if (attribute.isNumber()) sink.attribute(attribute.name(), attribute.number());
+            else sink.attribute(attribute.name(), attribute.value());
+        }
+        return this;
+    }
+
+    public DslStream attr(String name, String value) throws IOException {
+        sink.attribute(name, value);
+        return this;
+    }
+
+    public DslStream attr(String name, double value) throws IOException {
+        sink.attribute(name, value);
+        return this;
+    }
+
+    public DslStream attr(String name, DslPathData value) throws IOException {
+        sink.attribute(name, value);
+        return this;
+    }
+
+    public DslStream text(String... strings) throws IOException {
+        for (var s : strings) sink.text(s);
+        return this;
+    }
+
+    public DslStream styledText(String content, String style) throws IOException {
+        sink.startElement("span");
+        sink.attribute("style", style);
+        sink.text(content);
+        sink.endElement();
+        return this;
+    }
+
+    public DslStream element(String tag, Body body) throws IOException {
+        sink.startElement(tag);
+        body.emit(this);
+        sink.endElement();
+        return this;
+    }
+
+    public DslStream element(String tag, String... texts) throws IOException {
+        sink.startElement(tag);
+        for (var s : texts) sink.text(s);
+        sink.endElement();
+        return this;
+    }
+
+    public DslStream element(String tag, DslAttribute... attributes) throws IOException {
+        sink.startElement(tag);
+        attr(attributes);
+        sink.endElement();
+        return this;
+    }
+
+    /** Emits a prebuilt node tree in place - text, container, void and styled-text nodes */
+    public DslStream node(Node_I<?> node) throws IOException {
+        if (walker == null) walker = new TreeWalker();
+        walker.walk(node, nodes);
+        return this;
+    }
+
+    private final TreeWalker.Visitor<IOException> nodes = new TreeWalker.Visitor<>() {
+        @Override
+        public TreeWalker.Action enter(Node_I<?> node, int depth) throws IOException {
+            if (node instanceof Text_I<?> text) {
+                sink.text(text.text());
+                return TreeWalker.Action.SKIP_CHILDREN;
+            }
+            if (!(node instanceof Element_I<?> element)) {
+                throw new IllegalArgumentException("Cannot stream " + node.getClass().getName());
+            }
+            sink.startElement(element.tagName());
+            if (element instanceof HasAttributes<?> withAttributes) {
+                if (withAttributes.attributes() instanceof DslAttributeMap compact) { // numbers stay primitive
+                    for (int i = 0, n = compact.size(); i < n; i++) {
+                        if (compact.isNumberAt(i)) sink.attribute(compact.keyAt(i), compact.numberAt(i));
+                        else if (compact.isPathAt(i)) sink.attribute(compact.keyAt(i), compact.pathAt(i));
+                        else sink.attribute(compact.keyAt(i), compact.valueAt(i));
+                    }
+                } else {
+                    for (var attribute : withAttributes.attributes().entrySet()) sink.attribute(attribute.getKey(), attribute.getValue());
+                }
+            }
+            if (element instanceof HasTextContent<?> hasText) {
+                sink.text(hasText.textContent());
+            }
+            return element instanceof HasChildNodes<?> ? TreeWalker.Action.CONTINUE : TreeWalker.Action.SKIP_CHILDREN;
+        }
+
+        @Override
+        public void leave(Node_I<?> node, int depth) throws IOException {
+            if (node instanceof Element_I<?> element) {
+                if (element instanceof VoidElement_I<?> && !(element instanceof HasTextContent<?>)) sink.endVoidElement();
+                else sink.endElement();
+            }
+        }
+    };
+
+    // --- HTML elements ---
+
+    public DslStream html(Body body) throws IOException { return element("html", body); }
+    public DslStream head(Body body) throws IOException { return element("head", body); }
+    public DslStream body(Body body) throws IOException { return element("body", body); }
+    public DslStream div(Body body) throws IOException { return element("div", body); }
+    public DslStream span(Body body) throws IOException { return element("span", body); }
+    public DslStream span(String... texts) throws IOException { return element("span", texts); }
+    public DslStream p(Body body) throws IOException { return element("p", body); }
+    public DslStream p(String... texts) throws IOException { return element("p", texts); }
+    public DslStream h1(Body body) throws IOException { return element("h1", body); }
+    public DslStream h1(String... texts) throws IOException { return element("h1", texts); }
+    public DslStream h2(Body body) throws IOException { return element("h2", body); }
+    public DslStream h2(String... texts) throws IOException { return element("h2", texts); }
+    public DslStream h3(Body body) throws IOException { return element("h3", body); }
+    public DslStream h3(String... texts) throws IOException { return element("h3", texts); }
+    public DslStream title(String text) throws IOException { return element("title", text); }
+    public DslStream header(Body body) throws IOException { return element("header", body); }
+    public DslStream main(Body body) throws IOException { return element("main", body); }
+    public DslStream section(Body body) throws IOException { return element("section", body); }
+    public DslStream article(Body body) throws IOException { return element("article", body); }
+    public DslStream footer(Body body) throws IOException { return element("footer", body); }
+    public DslStream ul(Body body) throws IOException { return element("ul", body); }
+    public DslStream li(Body body) throws IOException { return element("li", body); }
+    public DslStream li(String text) throws IOException { return element("li", text); }
+    public DslStream button(Body body) throws IOException { return element("button", body); }
+    public DslStream button(String text) throws IOException { return element("button", text); }
+    public DslStream input(DslAttribute... attributes) throws IOException { return element("input", attributes); }
+    public DslStream select(Body body) throws IOException { return element("select", body); }
+    public DslStream option(Body body) throws IOException { return element("option", body); }
+    public DslStream a(Body body) throws IOException { return element("a", body); }
+    public DslStream meta(DslAttribute... attributes) throws IOException { return element("meta", attributes); }
+    public DslStream style(String... cssLines) throws IOException { return element("style", cssLines); }
+    public DslStream pre(Body body) throws IOException { return element("pre", body); }
+
+    public DslStream br() throws IOException {
+        sink.startElement("br");
+        sink.endVoidElement();
+        return this;
+    }
+
+    // --- SVG elements ---
+
+    public DslStream svg(Body body) throws IOException { return element("svg", body); }
+    public DslStream defs(Body body) throws IOException { return element("defs", body); }
+    public DslStream g(Body body) throws IOException { return element("g", body); }
+    public DslStream rect(DslAttribute... attributes) throws IOException { return element("rect", attributes); }
+    public DslStream circle(DslAttribute... attributes) throws IOException { return element("circle", attributes); }
+    public DslStream linearGradient(Body body) throws IOException { return element("linearGradient", body); }
+    public DslStream stop(DslAttribute... attributes) throws IOException { return element("stop", attributes); }
+    public DslStream filter(Body body) throws IOException { return element("filter", body); }
+    public DslStream feDropShadow(DslAttribute... attributes) throws IOException { return element("feDropShadow", attributes); }
+
+    public DslStream path(DslPathData d, DslAttribute... attributes) throws IOException { return geometry("path", "d", d, attributes); }
+    public DslStream polyline(DslPathData points, DslAttribute... attributes) throws IOException { return geometry("polyline", "points", points, attributes); }
+    public DslStream polygon(DslPathData points, DslAttribute... attributes) throws IOException { return geometry("polygon", "points", points, attributes); }
+
+    private DslStream geometry(String tag, String name, DslPathData data, DslAttribute... attributes) throws IOException {
+        sink.startElement(tag);
+        sink.attribute(name, data);
+        attr(attributes);
+        sink.endElement();
+        return this;
+    }
+
+    public DslStream textSvg(double x, double y, String content) throws IOException {
+        sink.startElement("text");
+        sink.attribute("x", x);
+        sink.attribute("y", y);
+        sink.text(content);
+        sink.endElement();
+        return this;
+    }
+}
@@ -0,0 +1,38 @@
+package luvx.examples.stream;
+
+import java.io.IOException;
+import luvx.examples.dsl.DslAttributeMap;
+import luvx.examples.dsl.DslNumbers;
+import luvx.examples.dsl.DslPathData;
+
+/**
+ * Receiver of markup events in document order - what {@link DslStream} writes to instead of
+ * building nodes. Attributes belong to the element started last and must come before its
+ * first child or text; end events close the innermost open element.
+ */
+public interface MarkupSink {
+
+    void startElement(String tag) throws IOException;
+
+    /** A null value is a boolean attribute */
+    void attribute(String name, String value) throws IOException;
+
+    /** Numeric value - sinks that write bytes format it in place, the default makes a String */
+    default void attribute(String name, double value) throws IOException {
+        attribute(name, DslNumbers.toString(value));
+    }
+
+    /** Path geometry - d, or points of a polyline / polygon */
+    default void attribute(String name, DslPathData value) throws IOException {
+        attribute(name, DslAttributeMap.isPoints(name) ? value.pointList() : value.d());
+    }
+
+    /** Escaped, or written as is inside raw-text elements (style, script) */
+    void text(String text) throws IOException;
+
+    /** Closes the innermost element with its end tag */
+    void endElement() throws IOException;
+
+    /** Closes the innermost element as a void element (&lt;br&gt;) - no end tag */
+    void endVoidElement() throws IOException;
+}
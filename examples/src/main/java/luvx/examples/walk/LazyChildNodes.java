@@ -0,0 +1,13 @@
+package luvx.examples.walk;
+
+import java.util.Iterator;
+import luvx.Node_I;
+
+/**
+ * Children produced on demand instead of held in a list (database cursors, generated rows).
+ * {@link TreeWalker} - and so the renderers - pull them one at a time through a fresh
+ * childIterator() per walk and never call childNodes(), so a walk holds one child per level.
+ */
+public interface LazyChildNodes {
+    Iterator<? extends Node_I<?>> childIterator();
+}
@@ -0,0 +1,108 @@
+package luvx.examples.walk;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import luvx.Node_I;
+import luvx.composable.HasChildNodes;
+
+/**
+ * Iterative depth-first walk over Node_I / HasChildNodes trees - an explicit array stack
+ * instead of the call stack, so documents of any depth (1M+ levels) walk without
+ * StackOverflowError and without a call frame per level.
+ *
+ * The visitor gets {@code enter} before a node's children and {@code leave} after them (right
+ * away for leaves and skipped subtrees), and steers the walk with the returned {@link Action}.
+ * Visitors may throw a checked exception of their choosing (IOException for serializers).
+ *
+ * Children of {@link LazyChildNodes} nodes are pulled from their iterator as the walk reaches
+ * them rather than read from childNodes().
+ *
+ * The stack arrays are kept between walks, so keep one walker per renderer / thread.
+ * Not reentrant: start nested walks on a separate walker.
+ */
+public final class TreeWalker {
+
+    public enum Action {
+        CONTINUE,
+        /** Don't descend - leave() still follows */
+        SKIP_CHILDREN,
+        /** End the whole walk now, no further enter/leave calls */
+        STOP
+    }
+
+    public interface Visitor<X extends Exception> {
+        Action enter(Node_I<?> node, int depth) throws X;
+
+        default void leave(Node_I<?> node, int depth) throws X {}
+    }
+
+    private Node_I<?>[] nodes = new Node_I<?>[64];
+    @SuppressWarnings("unchecked")
+    private List<? extends Node_I<?>>[] children = (List<? extends Node_I<?>>[]) new List<?>[64];
+    @SuppressWarnings("unchecked")
+    private Iterator<? extends Node_I<?>>[] lazyChildren = (Iterator<? extends Node_I<?>>[]) new Iterator<?>[64]; // frames of LazyChildNodes
+    private int[] next = new int[64];
+    private int top = -1; // -1 when idle
+
+    /** @return false if the visitor stopped the walk */
+    public <X extends Exception> boolean walk(Node_I<?> root, Visitor<X> visitor) throws X {
+        if (top != -1) throw new IllegalStateException("TreeWalker is already walking - use a separate walker for nested walks");
+        top = 0;
+        try {
+            if (!visit(root, 0, visitor)) return false;
+            while (top > 0) {
+                int frame = top - 1;
+                var siblings = children[frame];
+                var pulled = lazyChildren[frame];
+                if (siblings != null ? next[frame] < siblings.size() : pulled.hasNext()) {
+                    if (!visit(siblings != null ? siblings.get(next[frame]++) : pulled.next(), top, visitor)) return false;
+                } else {
+                    var node = nodes[frame];
+                    nodes[frame] = null;
+                    children[frame] = null;
+                    lazyChildren[frame] = null;
+                    top = frame;
+                    visitor.leave(node, frame);
+                }
+            }
+            return true;
+        } finally {
+            if (top > 0) { // stopped or thrown mid-walk - drop the references we still hold
+                Arrays.fill(nodes, 0, top, null);
+                Arrays.fill(children, 0, top, null);
+                Arrays.fill(lazyChildren, 0, top, null);
+            }
+            top = -1;
+        }
+    }
+
+    /** Enters the node at depth == top, pushing it if its children are to be walked */
+    private <X extends Exception> boolean visit(Node_I<?> node, int depth, Visitor<X> visitor) throws X {
+        var action = visitor.enter(node, depth);
+        if (action == Action.STOP) return false;
+        if (action == Action.CONTINUE && node instanceof LazyChildNodes lazy) {
+            push(node, null, lazy.childIterator());
+        } else if (action == Action.CONTINUE && node instanceof HasChildNodes<?> parent) {
+            push(node, parent.childNodes(), null);
+        } else {
+            visitor.leave(node, depth);
+        }
+        return true;
+    }
+
+    private void push(Node_I<?> node, List<? extends Node_I<?>> nodeChildren, Iterator<? extends Node_I<?>> pulled) {
+        if (top == nodes.length) {
+            int capacity = top * 2;
+            nodes = Arrays.copyOf(nodes, capacity);
+            children = Arrays.copyOf(children, capacity);
+            lazyChildren = Arrays.copyOf(lazyChildren, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        nodes[top] = node;
+        children[top] = nodeChildren;
+        lazyChildren[top] = pulled;
+        next[top] = 0;
+        top++;
+    }
+}
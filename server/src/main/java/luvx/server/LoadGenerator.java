@@ -0,0 +1,126 @@
+package luvx.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Closed-loop load generator for {@link PageServer}: every client sends a request, waits for
+ * the full response, and immediately sends the next one. Reports throughput and latency
+ * percentiles of successful requests; the warmup period is driven but not recorded, errors
+ * included. A client whose request fails backs off (1 ms, doubling up to 100 ms) before the next.
+ *
+ * Without arguments it starts the server in-process and runs the same load against
+ * virtual threads and against a platform thread pool:
+ *
+ *   java -cp server/target/server.jar luvx.server.LoadGenerator [clients] [seconds] [platformThreads]
+ */
+public class LoadGenerator {
+
+    private static final long MAX_BACKOFF_MILLIS = 100;
+
+    public record Result(long requests, long errors, double seconds, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        public double throughput() { return requests / seconds; }
+
+        @Override
+        public String toString() {
+            return String.format("%,8.0f req/s  p50 %7.2f ms  p99 %7.2f ms  p999 %7.2f ms  max %7.2f ms  (%,d requests, %d errors)",
+                    throughput(), p50Nanos / 1e6, p99Nanos / 1e6, p999Nanos / 1e6, maxNanos / 1e6, requests, errors);
+        }
+    }
+
+    /** Drives the paths round-robin with `clients` concurrent loops for warmup + measured time */
+    public static Result run(URI base, List<String> paths, int clients, Duration warmup, Duration measured) throws InterruptedException {
+        var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        var requests = paths.stream().map(path -> HttpRequest.newBuilder(base.resolve(path)).GET().build()).toList();
+        long start = System.nanoTime();
+        long recordFrom = start + warmup.toNanos();
+        long stopAt = recordFrom + measured.toNanos();
+
+        var latencies = new long[clients][];
+        var counts = new int[clients];
+        var errors = new long[clients];
+        try (var loops = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int me = c;
+                loops.submit(() -> {
+                    long[] mine = new long[4096];
+                    int n = 0;
+                    long backoffMillis = 1;
+                    for (int i = me; ; i++) {
+                        long sent = System.nanoTime();
+                        if (sent >= stopAt) break;
+                        boolean failed;
+                        try {
+                            var response = client.send(requests.get(i % requests.size()), HttpResponse.BodyHandlers.ofByteArray());
+                            failed = response.statusCode() != 200;
+                        } catch (IOException e) {
+                            failed = true;
+                        }
+                        if (failed) {
+                            if (sent >= recordFrom) errors[me]++;
+                            Thread.sleep(backoffMillis); // a server failing fast would otherwise be hammered in a spin
+                            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+                            continue;
+                        }
+                        backoffMillis = 1;
+                        if (sent < recordFrom) continue;
+                        if (n == mine.length) mine = Arrays.copyOf(mine, n * 2);
+                        mine[n++] = System.nanoTime() - sent;
+                    }
+                    latencies[me] = mine;
+                    counts[me] = n;
+                    return null;
+                });
+            }
+        }
+        client.close();
+
+        int total = 0;
+        for (int count : counts) total += count;
+        var all = new long[total];
+        long errorCount = 0;
+        for (int c = 0, at = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, at, counts[c]);
+            at += counts[c];
+            errorCount += errors[c];
+        }
+        Arrays.sort(all);
+        return new Result(total, errorCount, measured.toNanos() / 1e9,
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), total == 0 ? 0 : all[total - 1]);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int platformThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors() * 2;
+
+        System.out.println("Page Server Load Test");
+        System.out.println("=====================");
+        System.out.printf("%d closed-loop clients, %ds measured after 2s warmup, / and /svg alternating, %d cores%n%n",
+                clients, seconds, Runtime.getRuntime().availableProcessors());
+
+        var results = new ArrayList<String>();
+        for (var threads : PageServer.Threads.values()) {
+            try (var server = PageServer.start(0, threads, platformThreads)) {
+                var base = URI.create("http://127.0.0.1:" + server.port() + "/");
+                var result = run(base, List.of("/", "/svg"), clients, Duration.ofSeconds(2), Duration.ofSeconds(seconds));
+                var label = threads == PageServer.Threads.VIRTUAL ? "virtual" : "platform:" + platformThreads;
+                results.add(String.format("%-12s %s", label, result));
+            }
+        }
+        results.forEach(System.out::println);
+    }
+}
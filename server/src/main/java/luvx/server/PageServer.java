@@ -0,0 +1,92 @@
+package luvx.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import luvx.Node_I;
+import luvx.examples.LuvMLStyleDslDemo;
+import luvx.examples.render.ByteArrayChannel;
+import luvx.examples.render.Utf8ByteRenderer;
+
+/**
+ * Minimal page server on the JDK's com.sun.net.httpserver - every request builds the
+ * LuvMLStyleDslDemo document (/) or SVG (/svg) from scratch and renders it, so it measures
+ * tree construction + rendering, not a cache.
+ *
+ * Requests run either one virtual thread each or on a fixed pool of platform threads:
+ *
+ *   java -jar server/target/server.jar [port] [virtual | platform:N]
+ */
+public class PageServer implements AutoCloseable {
+
+    public enum Threads { VIRTUAL, PLATFORM }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // renderers own a direct buffer - recycled, not allocated per request (or per virtual thread)
+    private final ConcurrentLinkedQueue<Utf8ByteRenderer> renderers = new ConcurrentLinkedQueue<>();
+
+    private PageServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /** Starts serving on the port (0 picks a free one); platformThreads is ignored for VIRTUAL */
+    public static PageServer start(int port, Threads threads, int platformThreads) throws IOException {
+        var executor = threads == Threads.VIRTUAL
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(platformThreads);
+        var server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        var pageServer = new PageServer(server, executor);
+        server.createContext("/svg", exchange -> pageServer.serve(exchange, LuvMLStyleDslDemo::createBeautifulSVG, "image/svg+xml"));
+        server.createContext("/", exchange -> pageServer.serve(exchange, LuvMLStyleDslDemo::createBeautifulDocument, "text/html; charset=utf-8"));
+        server.setExecutor(executor);
+        server.start();
+        return pageServer;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void serve(HttpExchange exchange, Supplier<? extends Node_I<?>> page, String contentType) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            var renderer = renderers.poll();
+            if (renderer == null) renderer = new Utf8ByteRenderer(16 * 1024);
+            var body = new ByteArrayChannel(32 * 1024);
+            try {
+                renderer.render(page.get(), body);
+            } finally {
+                renderers.offer(renderer);
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, body.size());
+            Channels.newChannel(exchange.getResponseBody()).write(body.asByteBuffer());
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        var mode = args.length > 1 ? args[1] : "virtual";
+        var server = mode.startsWith("platform")
+                ? start(port, Threads.PLATFORM, mode.contains(":") ? Integer.parseInt(mode.substring(mode.indexOf(':') + 1)) : 200)
+                : start(port, Threads.VIRTUAL, 0);
+        System.out.println("Serving http://127.0.0.1:" + server.port() + "/ and /svg on " + mode + " threads");
+    }
+}